@@ -0,0 +1,146 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import util.LaunchParameters;
+import util.LogEntity;
+import util.SBinBlockType;
+import util.SBinContext;
+import util.SBinUnpackCache;
+import util.SBXFile;
+
+// Folder-wide unpack & repack. Each file is processed as a separate job with its own SBinContext,
+// so the files are spread over a fixed pool of worker threads
+public class BatchProcessor {
+
+	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
+
+	private static final String FILE_JSON = ".json";
+	private static final String HCSTRUCTS_FILE_ARRAY = "HCStructFileArray.json";
+
+	private interface BatchTask {
+		void process(Path file) throws IOException, InterruptedException;
+	}
+
+	public static void unpackFolder(String[] args) throws IOException, InterruptedException {
+		Path inputDir = Paths.get(args[1]).toAbsolutePath().normalize();
+		Path outputDir = Paths.get(args[2]).toAbsolutePath().normalize();
+		SBinContext batchCtx = SBin.startup(args);
+		int threads = LaunchParameters.checkBatchLaunchParameters(args, 3, batchCtx);
+
+		List<Path> files = listFiles(inputDir, BatchProcessor::isSBinFile);
+		runBatch("Unpacked", files, threads, file -> {
+			SBinContext ctx = batchCtx.newJobContext();
+			ctx.getSBinJson().setSBinType(LaunchParameters.getSBinTypeByFileName(file.getFileName().toString()));
+			ctx.setOutputDir(prepareOutputDir(inputDir, outputDir, file));
+			new SBin(ctx).unpackSBin(file.toString(), true);
+		});
+		if (batchCtx.isUnpackCache()) {
+			SBinUnpackCache.prune(SBinUnpackCache.DEFAULT_MAX_SIZE);
+		}
+	}
+
+	public static void repackFolder(String[] args) throws IOException, InterruptedException {
+		Path inputDir = Paths.get(args[1]).toAbsolutePath().normalize();
+		Path outputDir = Paths.get(args[2]).toAbsolutePath().normalize();
+		SBinContext batchCtx = SBin.startup(args);
+		int threads = LaunchParameters.checkBatchLaunchParameters(args, 3, batchCtx);
+
+		List<Path> files = listFiles(inputDir, file -> {
+			String fileName = file.getFileName().toString();
+			return (fileName.endsWith(FILE_JSON) && !fileName.contentEquals(HCSTRUCTS_FILE_ARRAY)) || SBXFile.isSBXFile(file);
+		});
+		runBatch("Repacked", files, threads, file -> {
+			SBinContext ctx = batchCtx.newJobContext();
+			ctx.setInputDir(file.getParent()); // Textures are taken from the Json folder
+			ctx.setOutputDir(prepareOutputDir(inputDir, outputDir, file));
+			new SBin(ctx).repackSBin(file.toString(), true);
+		});
+	}
+
+	private static void runBatch(String operation, List<Path> files, int threads, BatchTask task) throws IOException, InterruptedException {
+		long totalSize = sortBiggestFirst(files);
+
+		jl.log(Level.INFO, "Batch started: {0} files, {1} threads.", new Object[] {files.size(), threads});
+		AtomicInteger failedCount = new AtomicInteger();
+		long startTime = System.nanoTime();
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		for (Path file : files) {
+			pool.execute(() -> {
+				try {
+					task.process(file);
+				} catch (InterruptedException ex) {
+					failedCount.incrementAndGet();
+					Thread.currentThread().interrupt();
+				} catch (Exception ex) { // One broken file must not stop the whole batch
+					failedCount.incrementAndGet();
+					jl.log(Level.SEVERE, "Batch job failed for " + file, ex);
+				}
+			});
+		}
+		pool.shutdown();
+		pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+		double seconds = Math.max(System.nanoTime() - startTime, 1) / 1_000_000_000.0;
+		jl.log(Level.INFO, "{0} {1} files ({2} failed) in {3} s: {4} files/s, {5} MB/s.", new Object[] {
+				operation, files.size(), failedCount.get(), String.format("%.2f", seconds),
+				String.format("%.2f", files.size() / seconds),
+				String.format("%.2f", totalSize / (1024.0 * 1024.0) / seconds)});
+	}
+
+	// Biggest files goes first, otherwise one of them could be left alone at the end of batch. Returns total size
+	static long sortBiggestFirst(List<Path> files) throws IOException {
+		Map<Path, Long> fileSizes = new HashMap<>();
+		long totalSize = 0;
+		for (Path file : files) {
+			long size = Files.size(file);
+			fileSizes.put(file, size);
+			totalSize += size;
+		}
+		files.sort((a, b) -> Long.compare(fileSizes.get(b), fileSizes.get(a)));
+		return totalSize;
+	}
+
+	static List<Path> listFiles(Path folder, Predicate<Path> filter) throws IOException {
+		try (Stream<Path> stream = Files.walk(folder)) {
+			return stream.filter(Files::isRegularFile)
+					.filter(filter)
+					.collect(Collectors.toList());
+		}
+	}
+
+	// Sub-folders of the input folder are re-created in the target folder
+	private static Path prepareOutputDir(Path inputDir, Path outputDir, Path file) throws IOException {
+		Path fileOutputDir = outputDir.resolve(inputDir.relativize(file.getParent()));
+		Files.createDirectories(fileOutputDir);
+		return fileOutputDir;
+	}
+
+	// Game folders contains M3G models & other stuff next to SBin files
+	static boolean isSBinFile(Path file) {
+		byte[] header = new byte[4];
+		try (InputStream stream = Files.newInputStream(file)) {
+			return stream.read(header) == header.length
+					&& Arrays.equals(header, SBinBlockType.getBytes(SBinBlockType.SBIN));
+		} catch (IOException ex) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,266 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Checksum;
+
+import com.google.gson.GsonBuilder;
+
+import util.DataClasses.SBinBenchResult;
+import util.DataClasses.SBinCDATEntry;
+import util.DataUtils;
+import util.FNV1;
+import util.HEXUtils;
+import util.LaunchParameters;
+import util.LogEntity;
+import util.SBXFile;
+import util.SBinContext;
+import util.SBinProfiler;
+import util.SBinProfiler.Stage;
+import util.SBinType;
+
+// Throughput & allocation rate of the SBin hot paths, measured on each file of the corpus folder.
+// Same scheme as JMH: warmup iterations first, then the measured ones of fixed time. One benchmark runs at a time,
+// large DATA blocks goes to the ForkJoin common pool as usual: allocation is counted on all threads
+public class Benchmark {
+
+	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
+
+	private static final String DEFAULT_REPORT = "bench_report.csv";
+	private static final String FILE_JSON = ".json";
+	private static final String CSV_HEADER = "File,Benchmark,OpsPerSec,OpsPerSecError,AllocBytesPerOp,AllocMBPerSec";
+
+	private static final int WARMUP_ITERATIONS = 2;
+	private static final long ITERATION_NANOS = TimeUnit.SECONDS.toNanos(1);
+	private static final double MB = 1024 * 1024;
+
+	private interface BenchOp {
+		long run() throws Exception; // Result is consumed, so the JIT cannot drop the measured code
+	}
+
+	private static long sink;
+
+	// Report file is optional, CSV or Json by the extension
+	public static void runBenchmarks(String[] args) throws IOException {
+		Path folder = Paths.get(args[1]).toAbsolutePath().normalize();
+		boolean hasReportPath = args.length > 2 && !args[2].startsWith("-");
+		Path reportPath = Paths.get(hasReportPath ? args[2] : DEFAULT_REPORT);
+		SBinContext benchCtx = SBin.startup(args);
+		int iterations = LaunchParameters.checkBenchLaunchParameters(args, hasReportPath ? 3 : 2, benchCtx);
+		if (SBinProfiler.getAllocatedBytes() < 0) {
+			jl.log(Level.WARNING, "Allocation rate is not provided by this JVM, -1 is reported instead.");
+		}
+
+		List<Path> benchList = BatchProcessor.listFiles(folder, BatchProcessor::isSBinFile);
+		benchList.sort(Comparator.naturalOrder());
+		Path workDir = Files.createTempDirectory("sbin-bench");
+		List<SBinBenchResult> results = new ArrayList<>();
+		Level logLevel = jl.getLevel();
+		try {
+			for (Path file : benchList) {
+				String fileName = folder.relativize(file).toString();
+				jl.log(Level.INFO, "Benchmark of {0} ({1} iterations)...", new Object[] {fileName, iterations});
+				jl.setLevel(Level.WARNING); // Otherwise each run logs its steps during the measurement
+				try {
+					results.addAll(benchFile(benchCtx, fileName, file, workDir, iterations));
+				} catch (Exception ex) { // Broken file must not stop the others
+					jl.log(Level.WARNING, "Benchmark failed for " + fileName, ex);
+				} finally {
+					jl.setLevel(logLevel);
+				}
+			}
+		} finally {
+			deleteFolder(workDir);
+		}
+		for (SBinBenchResult result : results) {
+			jl.log(Level.INFO, "{0} {1}: {2} +- {3} ops/s, {4} B/op, {5} MB/s allocated.", new Object[] {
+					result.getFile(), result.getBenchmark(), String.format("%.2f", result.getOpsPerSec()),
+					String.format("%.2f", result.getOpsPerSecError()), result.getAllocBytesPerOp(),
+					String.format("%.2f", result.getAllocMBPerSec())});
+		}
+		writeReport(reportPath, results);
+		jl.log(Level.INFO, "Benchmark done for {0} files, report: {1}.", new Object[] {benchList.size(), reportPath});
+	}
+
+	private static List<SBinBenchResult> benchFile(SBinContext benchCtx, String fileName, Path file,
+			Path workDir, int iterations) throws Exception {
+		List<SBinBenchResult> results = new ArrayList<>();
+		Path fileDir = Files.createDirectories(workDir.resolve(Integer.toString(fileName.hashCode(), 16)));
+		SBinType sbinType = LaunchParameters.getSBinTypeByFileName(file.getFileName().toString());
+
+		// Unpack once for the inputs: Json or .sbx for repack, CDAT strings & file bytes for the helpers
+		SBinContext unpackedCtx = newJobContext(benchCtx, sbinType, fileDir);
+		if (new SBin(unpackedCtx).unpackSBin(file.toString(), false) == null) {
+			jl.log(Level.WARNING, "Benchmark skipped for {0}: file is not supported for unpack.", fileName);
+			return results;
+		}
+		new SBin(newJobContext(benchCtx, sbinType, fileDir)).unpackSBin(file.toString(), true);
+		Path unpackedPath = fileDir.resolve(file.getFileName().toString() + (benchCtx.isSBXOutput() ? SBXFile.FILE_SBX : FILE_JSON));
+		List<String> cdatStrings = unpackedCtx.getSBinJson().getCDATStrings().stream()
+				.map(SBinCDATEntry::getString).collect(Collectors.toList());
+		byte[] fileBytes = Files.readAllBytes(file);
+		String fileHex = HEXUtils.hexToString(fileBytes);
+
+		// Parsing only, then the same with Json or .sbx output written into its own folder
+		SBinProfiler profiler = new SBinProfiler();
+		results.add(measure(fileName, "unpack", iterations, profiler, () -> {
+			SBinContext ctx = newJobContext(benchCtx, sbinType, fileDir);
+			ctx.setProfiler(profiler);
+			return new SBin(ctx).unpackSBin(file.toString(), false).getValue();
+		}));
+		for (Stage stage : Stage.values()) {
+			results.add(createStageResult(fileName, profiler, stage));
+		}
+		Path outputDir = Files.createDirectories(fileDir.resolve("output"));
+		results.add(measure(fileName, "unpackWithOutput", iterations, null, () -> {
+			SBinContext ctx = newJobContext(benchCtx, sbinType, fileDir);
+			ctx.setOutputDir(outputDir);
+			new SBin(ctx).unpackSBin(file.toString(), true);
+			return ctx.getOutputFiles().size();
+		}));
+		results.add(measure(fileName, "repack", iterations, null, () -> {
+			Checksum crc = new SBin(newJobContext(benchCtx, sbinType, fileDir)).repackSBin(unpackedPath.toString(), true);
+			return crc.getValue();
+		}));
+		results.add(measure(fileName, "DataUtils.processStringInCDAT", iterations, null, () -> {
+			long result = 0;
+			for (String string : cdatStrings) {
+				result += DataUtils.processStringInCDAT(unpackedCtx, string)[0];
+			}
+			return result;
+		}));
+		results.add(measure(fileName, "HEXUtils.hexToString", iterations, null,
+				() -> HEXUtils.hexToString(fileBytes).length()));
+		results.add(measure(fileName, "HEXUtils.decodeHexStr", iterations, null,
+				() -> HEXUtils.decodeHexStr(fileHex).length));
+		results.add(measure(fileName, "FNV1.hash32", iterations, null,
+				() -> FNV1.hash32(fileBytes)));
+		return results;
+	}
+
+	// Files are read & written in the temporary folder, original files stays untouched
+	private static SBinContext newJobContext(SBinContext benchCtx, SBinType sbinType, Path fileDir) {
+		SBinContext ctx = benchCtx.newJobContext();
+		ctx.getSBinJson().setSBinType(sbinType);
+		ctx.setInputDir(fileDir);
+		ctx.setOutputDir(fileDir);
+		return ctx;
+	}
+
+	private static SBinBenchResult measure(String fileName, String benchName, int iterations,
+			SBinProfiler profiler, BenchOp op) throws Exception {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			runIteration(op);
+		}
+		if (profiler != null) {
+			profiler.reset(); // Stages are measured along with the main iterations
+		}
+		double[] opsPerSec = new double[iterations];
+		long totalOps = 0;
+		long totalNanos = 0;
+		long totalAllocBytes = 0;
+		for (int i = 0; i < iterations; i++) {
+			long[] iteration = runIteration(op);
+			opsPerSec[i] = iteration[0] * 1_000_000_000.0 / iteration[1];
+			totalOps += iteration[0];
+			totalNanos += iteration[1];
+			totalAllocBytes += iteration[2];
+		}
+		double meanOpsPerSec = 0;
+		for (double value : opsPerSec) {
+			meanOpsPerSec += value / iterations;
+		}
+		double variance = 0;
+		for (double value : opsPerSec) {
+			variance += (value - meanOpsPerSec) * (value - meanOpsPerSec) / iterations;
+		}
+		boolean hasAlloc = SBinProfiler.getAllocatedBytes() >= 0;
+		return createResult(fileName, benchName, meanOpsPerSec, Math.sqrt(variance),
+				hasAlloc ? totalAllocBytes / totalOps : -1,
+				hasAlloc ? totalAllocBytes * 1_000_000_000.0 / totalNanos / MB : -1);
+	}
+
+	// Ops count, time & allocated bytes
+	private static long[] runIteration(BenchOp op) throws Exception {
+		long ops = 0;
+		long startAllocBytes = SBinProfiler.getAllocatedBytes();
+		long startTime = System.nanoTime();
+		long endTime = startTime + ITERATION_NANOS;
+		long time;
+		do {
+			sink += op.run();
+			ops++;
+			time = System.nanoTime();
+		} while (time < endTime);
+		return new long[] {ops, time - startTime, SBinProfiler.getAllocatedBytes() - startAllocBytes};
+	}
+
+	// Stage time is only a part of the unpack run, so its rates are taken from the stage time itself
+	private static SBinBenchResult createStageResult(String fileName, SBinProfiler profiler, Stage stage) {
+		int calls = Math.max(1, profiler.getCalls(stage));
+		long nanos = Math.max(1, profiler.getNanos(stage));
+		boolean hasAlloc = SBinProfiler.getAllocatedBytes() >= 0;
+		return createResult(fileName, stage.getBenchName(), calls * 1_000_000_000.0 / nanos, 0,
+				hasAlloc ? profiler.getAllocBytes(stage) / calls : -1,
+				hasAlloc ? profiler.getAllocBytes(stage) * 1_000_000_000.0 / nanos / MB : -1);
+	}
+
+	private static SBinBenchResult createResult(String fileName, String benchName, double opsPerSec,
+			double opsPerSecError, long allocBytesPerOp, double allocMBPerSec) {
+		SBinBenchResult result = new SBinBenchResult();
+		result.setFile(fileName);
+		result.setBenchmark(benchName);
+		result.setOpsPerSec(opsPerSec);
+		result.setOpsPerSecError(opsPerSecError);
+		result.setAllocBytesPerOp(allocBytesPerOp);
+		result.setAllocMBPerSec(allocMBPerSec);
+		return result;
+	}
+
+	private static void writeReport(Path reportPath, List<SBinBenchResult> results) throws IOException {
+		String report;
+		if (reportPath.getFileName().toString().endsWith(FILE_JSON)) {
+			report = new GsonBuilder().setPrettyPrinting().create().toJson(results);
+		} else {
+			StringBuilder csv = new StringBuilder(CSV_HEADER).append(System.lineSeparator());
+			for (SBinBenchResult result : results) {
+				csv.append(csvValue(result.getFile())).append(',')
+						.append(result.getBenchmark()).append(',')
+						.append(String.format(Locale.ROOT, "%.3f", result.getOpsPerSec())).append(',')
+						.append(String.format(Locale.ROOT, "%.3f", result.getOpsPerSecError())).append(',')
+						.append(result.getAllocBytesPerOp()).append(',')
+						.append(String.format(Locale.ROOT, "%.3f", result.getAllocMBPerSec())).append(System.lineSeparator());
+			}
+			report = csv.toString();
+		}
+		Files.write(reportPath, report.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String csvValue(String value) {
+		if (value.contains(",") || value.contains("\"")) {
+			return "\"" + value.replace("\"", "\"\"") + "\"";
+		}
+		return value;
+	}
+
+	private static void deleteFolder(Path folder) throws IOException {
+		List<Path> paths;
+		try (Stream<Path> stream = Files.walk(folder)) {
+			paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+		}
+		for (Path path : paths) {
+			Files.deleteIfExists(path);
+		}
+	}
+
+}
@@ -0,0 +1,31 @@
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import util.LogEntity;
+import util.SBinUnpackCache;
+
+// Unpack cache maintenance: 'cache stats' & 'cache prune [size in MB]'
+public class CacheTools {
+
+	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
+
+	private static final long MB = 1024L * 1024;
+
+	public static void runCacheCommand(String[] args) throws IOException {
+		switch(args[1]) {
+		case "stats":
+			SBinUnpackCache.logStats();
+			break;
+		case "prune":
+			long maxSize = args.length > 2 ? Math.max(0, Long.parseLong(args[2])) * MB : SBinUnpackCache.DEFAULT_MAX_SIZE;
+			int removedCount = SBinUnpackCache.prune(maxSize);
+			jl.log(Level.INFO, "Unpack cache pruned to {0} MB: {1} files removed.", new Object[] {maxSize / MB, removedCount});
+			SBinUnpackCache.logStats();
+			break;
+		default:
+			jl.log(Level.INFO, "Wrong cache command: {0}, \"stats\" or \"prune\" expected.", args[1]);
+			break;
+		}
+	}
+}
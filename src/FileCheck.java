@@ -1,49 +1,184 @@
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import java.util.zip.Checksum;
 
-import util.SBJson;
+import com.google.gson.GsonBuilder;
+
+import util.ByteSlice;
+import util.DataClasses.SBinCheckResult;
 import util.LaunchParameters;
 import util.LogEntity;
+import util.SBinBlockType;
+import util.SBinContext;
+import util.SBinReader;
 
 public class FileCheck {
-	
+
 	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
-	
-	public static void checkFiles(String folder, SBin sbin) throws IOException, InterruptedException {
-		List<String> checkList = null;
-		
-		try (Stream<Path> stream = Files.list(Paths.get(folder))) {
-	        checkList = stream.filter(file -> !Files.isDirectory(file))
-	        		.map(Path::getFileName)
-	        		.map(Path::toString)
-	        		.collect(Collectors.toList());
-	    }
-		int failedCount = 0;
-		for (String origFile : checkList) {
-			String origTotalPath = folder + origFile;
-			
-			SBJson.initNewSBJson();
-			SBin.setCurPos(0x0);
-			SBJson.get().setSBinType(LaunchParameters.getSBinTypeByFileName(origFile));
-			Checksum origCRC = sbin.unpackSBin(origTotalPath, false);
-			Checksum newCRC = sbin.repackSBin(origTotalPath, false);
-			
-			boolean check = origCRC.getValue() == newCRC.getValue();
-			jl.log(Level.FINE, "FileCheck for {0}: {1}.", new Object[] {origFile, check});
-			if (!check) {failedCount++;}
+
+	private static final String RESULT_OK = "OK";
+	private static final String RESULT_MISMATCH = "MISMATCH";
+	private static final String RESULT_ERROR = "ERROR";
+	private static final String MISMATCH_PADDING = "PADDING";
+
+	private static final String DEFAULT_REPORT = "check_report.csv";
+	private static final String FILE_JSON = ".json";
+	private static final String CSV_HEADER = "File,Result,UnpackMs,RepackMs,Size,FirstMismatchBlock,Error";
+
+	private static final int SBIN_HEADER_SIZE = 0x8; // SBin header + version
+	private static final int BLOCK_HEADER_SIZE = 0xC; // Header + size + hash
+
+	// Report file is optional, CSV or Json by the extension
+	public static void checkFiles(String[] args) throws IOException, InterruptedException {
+		Path folder = Paths.get(args[1]).toAbsolutePath().normalize();
+		boolean hasReportPath = args.length > 2 && !args[2].startsWith("-");
+		Path reportPath = Paths.get(hasReportPath ? args[2] : DEFAULT_REPORT);
+		SBinContext checkCtx = SBin.startup(args);
+		int threads = LaunchParameters.checkBatchLaunchParameters(args, hasReportPath ? 3 : 2, checkCtx);
+
+		List<Path> checkList = BatchProcessor.listFiles(folder, BatchProcessor::isSBinFile);
+		BatchProcessor.sortBiggestFirst(checkList);
+
+		long startTime = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<SBinCheckResult>> futures = new ArrayList<>();
+		for (Path file : checkList) {
+			futures.add(pool.submit(() -> checkFile(folder, file, checkCtx)));
 		}
+		pool.shutdown();
+
+		List<SBinCheckResult> results = new ArrayList<>();
+		for (Future<SBinCheckResult> future : futures) {
+			try {
+				results.add(future.get());
+			} catch (ExecutionException ex) {
+				throw new IOException(ex.getCause());
+			}
+		}
+		pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		results.sort(Comparator.comparing(SBinCheckResult::getFile));
+		writeReport(reportPath, results);
+
+		long failedCount = results.stream().filter(result -> !result.getResult().contentEquals(RESULT_OK)).count();
+		jl.log(Level.INFO, "FileCheck done for {0} files with {1} threads in {2} s, report: {3}.", new Object[] {
+				results.size(), threads, String.format("%.2f", (System.nanoTime() - startTime) / 1_000_000_000.0), reportPath});
 		if (failedCount != 0) {
 			jl.log(Level.WARNING, "FileCheck failed with {0} files during re-compilation.", failedCount);
 		}
 	}
-	
+
+	private static SBinCheckResult checkFile(Path folder, Path file, SBinContext checkCtx) {
+		SBinCheckResult result = new SBinCheckResult();
+		result.setFile(folder.relativize(file).toString());
+		SBinContext ctx = checkCtx.newJobContext(); // Nothing is left from the previous file
+		ctx.getSBinJson().setSBinType(LaunchParameters.getSBinTypeByFileName(file.getFileName().toString()));
+		SBin sbin = new SBin(ctx);
+
+		try {
+			result.setSize(Files.size(file));
+			long startTime = System.nanoTime();
+			Checksum origCRC = sbin.unpackSBin(file.toString(), false);
+			result.setUnpackMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+			if (origCRC == null) {
+				result.setResult(RESULT_ERROR);
+				result.setError("File is not supported for unpack.");
+				return result;
+			}
+
+			startTime = System.nanoTime();
+			byte[] newBytes = sbin.repackSBinBytes();
+			result.setRepackMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+			SBinReader origReader = ctx.getReader();
+			ByteSlice origData = origReader.getSlice(0, origReader.size());
+			ByteSlice newData = ByteSlice.wrap(newBytes);
+			if (origData.contentEquals(newData)) {
+				result.setResult(RESULT_OK);
+			} else {
+				result.setResult(RESULT_MISMATCH);
+				result.setFirstMismatchBlock(findFirstMismatchBlock(origData, newData));
+			}
+		} catch (Exception ex) { // Broken file must not stop the check of others
+			result.setResult(RESULT_ERROR);
+			result.setError(ex.toString());
+		}
+		jl.log(Level.FINE, "FileCheck for {0}: {1}.", new Object[] {result.getFile(), result.getResult()});
+		return result;
+	}
+
+	// Blocks are compared in the file order, any difference in header, size, hash or contents counts
+	private static String findFirstMismatchBlock(ByteSlice origData, ByteSlice newData) {
+		if (!origData.slice(0, SBIN_HEADER_SIZE).contentEquals(newData.slice(0, SBIN_HEADER_SIZE))) {
+			return SBinBlockType.SBIN.toString();
+		}
+		List<ByteSlice> origBlocks = splitBlocks(origData);
+		List<ByteSlice> newBlocks = splitBlocks(newData);
+		for (int i = 0; i < Math.max(origBlocks.size(), newBlocks.size()); i++) {
+			if (i >= origBlocks.size()) {
+				return getBlockName(newBlocks.get(i));
+			}
+			if (i >= newBlocks.size() || !origBlocks.get(i).contentEquals(newBlocks.get(i))) {
+				return getBlockName(origBlocks.get(i));
+			}
+		}
+		return MISMATCH_PADDING; // All blocks are the same
+	}
+
+	private static List<ByteSlice> splitBlocks(ByteSlice fileData) {
+		List<ByteSlice> blocks = new ArrayList<>();
+		int pos = SBIN_HEADER_SIZE;
+		while (pos + BLOCK_HEADER_SIZE <= fileData.length()) {
+			long blockSize = fileData.getInt(pos + 0x4) & 0xFFFFFFFFL;
+			int blockEnd = (int)Math.min(pos + BLOCK_HEADER_SIZE + blockSize, fileData.length());
+			blocks.add(fileData.slice(pos, blockEnd));
+			pos = (blockEnd + 0x3) & ~0x3; // Padding after the block
+		}
+		return blocks;
+	}
+
+	private static String getBlockName(ByteSlice block) {
+		return new String(block.toByteArray(0, 4), StandardCharsets.US_ASCII);
+	}
+
+	private static void writeReport(Path reportPath, List<SBinCheckResult> results) throws IOException {
+		String report;
+		if (reportPath.getFileName().toString().endsWith(FILE_JSON)) {
+			report = new GsonBuilder().setPrettyPrinting().create().toJson(results);
+		} else {
+			StringBuilder csv = new StringBuilder(CSV_HEADER).append(System.lineSeparator());
+			for (SBinCheckResult result : results) {
+				csv.append(csvValue(result.getFile())).append(',')
+						.append(result.getResult()).append(',')
+						.append(result.getUnpackMs()).append(',')
+						.append(result.getRepackMs()).append(',')
+						.append(result.getSize()).append(',')
+						.append(csvValue(result.getFirstMismatchBlock())).append(',')
+						.append(csvValue(result.getError())).append(System.lineSeparator());
+			}
+			report = csv.toString();
+		}
+		Files.write(reportPath, report.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String csvValue(String value) {
+		if (value == null) {return "";}
+		if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+			return "\"" + value.replace("\"", "\"\"") + "\"";
+		}
+		return value;
+	}
 
 }
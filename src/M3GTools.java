@@ -131,7 +131,7 @@ public class M3GTools {
 		obj.setOrderId(getCurOrderId());
 		obj.setStartAddr(getCurPos());
 		obj.setType(passByteFromCurPos(m3gBytes));
-		obj.setSize(passBytesFromCurPos(m3gBytes, 0x4));
+		obj.setSize(passIntFromCurPos(m3gBytes));
 		// Keep the UUID object references instead of direct ID values, for easier edits & re-ordering
 		obj.setUUID(UUID.randomUUID());
 		orderMap.putIfAbsent(obj.getOrderId(), obj.getUUID());
@@ -145,8 +145,7 @@ public class M3GTools {
 				: "0x" + HEXUtils.byteToHexString(obj.getTypeByte());
 		strLog.append(String.format("Object #%d type: %s, size: %d (0x%s - 0x%s)%n", 
 				obj.getOrderId(), objTypeStr, obj.getSize(), 
-				HEXUtils.hexToString(HEXUtils.intToByteArrayBE(obj.getStartAddr())), 
-				HEXUtils.hexToString(HEXUtils.intToByteArrayBE(endAddr)) ));
+				String.format("%08X", obj.getStartAddr()), String.format("%08X", endAddr) ));
 		for (String out : objLogCollection) {
 			strLog.append(out);
 		}
@@ -195,8 +194,8 @@ public class M3GTools {
 	
 	private M3GSubObjParameter readSubParameterObject(byte[] m3gBytes) {
 		M3GSubObjParameter subParam = new M3GSubObjParameter();
-		subParam.setType(passBytesFromCurPos(m3gBytes, 0x4));
-		subParam.setSize(passBytesFromCurPos(m3gBytes, 0x4));
+		subParam.setType(passIntFromCurPos(m3gBytes));
+		subParam.setSize(passIntFromCurPos(m3gBytes));
 		switch(subParam.getType()) {
 		case 0x0: case 0x384:
 			subParam.setStrValue(HEXUtils.utf8BytesToString(
@@ -207,17 +206,17 @@ public class M3GTools {
 			propertyObj.setObjLabelOffset(passByteFromCurPos(m3gBytes));
 			propertyObj.setObjLabel(HEXUtils.utf8BytesToString(
 					passBytesFromCurPos(m3gBytes, propertyObj.getObjLabelOffset())));
-			propertyObj.setPropertyLabelOffset(passBytesFromCurPos(m3gBytes, 0x4));
+			propertyObj.setPropertyLabelOffset(passIntFromCurPos(m3gBytes));
 			propertyObj.setProperty(HEXUtils.utf8BytesToString(
 					passBytesFromCurPos(m3gBytes, propertyObj.getPropertyLabelOffset())));
 			subParam.setPropertyObj(propertyObj);
 			break;
 		case 0x259:
 			subParam.setRGBAColorValue(new float[] {
-					HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4)),
-					HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4)),
-					HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4)),
-					HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4))
+					passFloatFromCurPos(m3gBytes),
+					passFloatFromCurPos(m3gBytes),
+					passFloatFromCurPos(m3gBytes),
+					passFloatFromCurPos(m3gBytes)
 			});
 			break;
 		default:
@@ -231,7 +230,7 @@ public class M3GTools {
 		newObj.setOrderId(objTemp.getOrderId());
 		newObj.setStartAddr(objTemp.getStartAddr());
 		newObj.setType(objTemp.getTypeByte());
-		newObj.setSize(objTemp.getSizeBytes());
+		newObj.setSize(objTemp.getSize());
 		newObj.setUUID(objTemp.getUUID());
 	}
 	
@@ -257,11 +256,11 @@ public class M3GTools {
 		
 		changeCurPos(animationTrackObj.getPadding().length);
 		//
-		animationTrackObj.setAnimationBufferObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		animationTrackObj.setAnimationBufferObjIndex(passIntFromCurPos(m3gBytes));
 		animationTrackObj.setAnimationBufferObjUUID(getOrderReferenceUUID(
 				animationTrackObj.getAnimationBufferObjIndex()));
 		//
-		animationTrackObj.setAnimationTrackSettingsObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		animationTrackObj.setAnimationTrackSettingsObjIndex(passIntFromCurPos(m3gBytes));
 		animationTrackObj.setAnimationTrackSettingsObjUUID(getOrderReferenceUUID(
 				animationTrackObj.getAnimationTrackSettingsObjIndex()));
 		//
@@ -278,37 +277,37 @@ public class M3GTools {
 		copyBasicObjInfo(appearanceObj, objTemp);
 		
 		appearanceObj.setAnimationControllers(passBytesFromCurPos(m3gBytes, 0x4));
-		appearanceObj.setAnimationTracks(passBytesFromCurPos(m3gBytes, 0x4));
+		appearanceObj.setAnimationTracks(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < appearanceObj.getAnimationTracks(); i++) {
-			int orderId = HEXUtils.byteArrayToInt(passBytesFromCurPos(m3gBytes, 0x4));
+			int orderId = passIntFromCurPos(m3gBytes);
 			appearanceObj.addToAnimationArray(orderId);
 			appearanceObj.addToAnimationArrayObjUUIDArray(getOrderReferenceUUID(orderId));
 		}
-		appearanceObj.setParameterCount(passBytesFromCurPos(m3gBytes, 0x4));
+		appearanceObj.setParameterCount(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < appearanceObj.getParameterCount(); i++) {
 			appearanceObj.addToParameterArray(readSubParameterObject(m3gBytes));
 		}
 		appearanceObj.setLayer(passByteFromCurPos(m3gBytes));
 		//
-		appearanceObj.setCompositingModeObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		appearanceObj.setCompositingModeObjIndex(passIntFromCurPos(m3gBytes));
 		appearanceObj.setCompositingModeObjUUID(getOrderReferenceUUID(
 				appearanceObj.getCompositingModeObjIndex()));
 		//
-		appearanceObj.setFogObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		appearanceObj.setFogObjIndex(passIntFromCurPos(m3gBytes));
 		appearanceObj.setFogObjUUID(getOrderReferenceUUID(
 				appearanceObj.getFogObjIndex()));
 		//
-		appearanceObj.setPolygonModeObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		appearanceObj.setPolygonModeObjIndex(passIntFromCurPos(m3gBytes));
 		appearanceObj.setPolygonModeObjUUID(getOrderReferenceUUID(
 				appearanceObj.getPolygonModeObjIndex()));
 		//
-		appearanceObj.setMaterialObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		appearanceObj.setMaterialObjIndex(passIntFromCurPos(m3gBytes));
 		appearanceObj.setMaterialObjUUID(getOrderReferenceUUID(
 				appearanceObj.getMaterialObjIndex()));
 		//
-		appearanceObj.setTextureRefCount(passBytesFromCurPos(m3gBytes, 0x4));
+		appearanceObj.setTextureRefCount(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < appearanceObj.getTextureRefCount(); i++) {
-			int orderId = HEXUtils.byteArrayToInt(passBytesFromCurPos(m3gBytes, 0x4));
+			int orderId = passIntFromCurPos(m3gBytes);
 			appearanceObj.addToTextureRefObjIndexArray(orderId);
 			appearanceObj.addToTextureRefObjUUIDArray(getOrderReferenceUUID(orderId));
 		}
@@ -325,9 +324,9 @@ public class M3GTools {
 		
 		fillObjGroupBase(groupObj, m3gBytes);
 		
-		groupObj.setChildCount(passBytesFromCurPos(m3gBytes, 0x4));
+		groupObj.setChildCount(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < groupObj.getChildCount(); i++) { 
-			int orderId = HEXUtils.byteArrayToInt(passBytesFromCurPos(m3gBytes, 0x4));
+			int orderId = passIntFromCurPos(m3gBytes);
 			groupObj.addToChildObjIndexArray(orderId);
 			groupObj.addToChildObjUUIDArray(getOrderReferenceUUID(orderId));
 		}
@@ -338,13 +337,13 @@ public class M3GTools {
 	
 	private void fillObjGroupBase(M3GObjGroupBase groupBaseObj, byte[] m3gBytes) {
 		groupBaseObj.setAnimationControllers(passBytesFromCurPos(m3gBytes, 0x4));
-		groupBaseObj.setAnimationTracks(passBytesFromCurPos(m3gBytes, 0x4));
+		groupBaseObj.setAnimationTracks(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < groupBaseObj.getAnimationTracks(); i++) {
-			int orderId = HEXUtils.byteArrayToInt(passBytesFromCurPos(m3gBytes, 0x4));
+			int orderId = passIntFromCurPos(m3gBytes);
 			groupBaseObj.addToAnimationArray(orderId);
 			groupBaseObj.addToAnimationArrayObjUUIDArray(getOrderReferenceUUID(orderId));
 		}
-		groupBaseObj.setParameterCount(passBytesFromCurPos(m3gBytes, 0x4));
+		groupBaseObj.setParameterCount(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < groupBaseObj.getParameterCount(); i++) {
 			groupBaseObj.addToParameterArray(readSubParameterObject(m3gBytes));
 		}
@@ -352,19 +351,19 @@ public class M3GTools {
 		if (groupBaseObj.getHasComponentTransform() != 0) {
 			M3GSubObjComponentTransform compTrans = new M3GSubObjComponentTransform();
 			compTrans.setTranslation(new float[] {
-					HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4)),
-					HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4)),
-					HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4))
+					passFloatFromCurPos(m3gBytes),
+					passFloatFromCurPos(m3gBytes),
+					passFloatFromCurPos(m3gBytes)
 			});
 			compTrans.setScale(new float[] {
-					HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4)),
-					HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4)),
-					HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4))
+					passFloatFromCurPos(m3gBytes),
+					passFloatFromCurPos(m3gBytes),
+					passFloatFromCurPos(m3gBytes)
 			});
-			compTrans.setOrientationAngle(passBytesFromCurPos(m3gBytes, 0x4));
-			compTrans.setOrientationAxisX(passBytesFromCurPos(m3gBytes, 0x4));
-			compTrans.setOrientationAxisY(passBytesFromCurPos(m3gBytes, 0x4));
-			compTrans.setOrientationAxisZ(passBytesFromCurPos(m3gBytes, 0x4));
+			compTrans.setOrientationAngle(passFloatFromCurPos(m3gBytes));
+			compTrans.setOrientationAxisX(passFloatFromCurPos(m3gBytes));
+			compTrans.setOrientationAxisY(passFloatFromCurPos(m3gBytes));
+			compTrans.setOrientationAxisZ(passFloatFromCurPos(m3gBytes));
 			groupBaseObj.setComponentTransform(compTrans);
 		}
 		groupBaseObj.setHasGeneralTransform(passByteFromCurPos(m3gBytes)); // TODO
@@ -382,17 +381,17 @@ public class M3GTools {
 		copyBasicObjInfo(image2DObj, objTemp);
 		
 		changeCurPos(image2DObj.getPadding().length);
-		image2DObj.setParameterCount(passBytesFromCurPos(m3gBytes, 0x4));
+		image2DObj.setParameterCount(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < image2DObj.getParameterCount(); i++) {
 			image2DObj.addToParameterArray(readSubParameterObject(m3gBytes));
 		}
 		image2DObj.setUnkPostParamByte(passByteFromCurPos(m3gBytes));
 		image2DObj.setTexFormatType(passByteFromCurPos(m3gBytes));
-		image2DObj.setTexWidth(passBytesFromCurPos(m3gBytes, 0x4));
-		image2DObj.setTexHeight(passBytesFromCurPos(m3gBytes, 0x4));
+		image2DObj.setTexWidth(passIntFromCurPos(m3gBytes));
+		image2DObj.setTexHeight(passIntFromCurPos(m3gBytes));
 		
 		image2DObj.setTexMetadataUnkBytes(passBytesFromCurPos(m3gBytes, 0x4));
-		image2DObj.setTexMetadataSize(passBytesFromCurPos(m3gBytes, 0x4));
+		image2DObj.setTexMetadataSize(passIntFromCurPos(m3gBytes));
 		image2DObj.setTexMetadata(passBytesFromCurPos(m3gBytes, image2DObj.getTexMetadataSize()));
 		
 		getObjImage2DInfo(image2DObj, objLogCollection);
@@ -408,13 +407,13 @@ public class M3GTools {
 		changeCurPos(meshObj.getPadding().length);
 		meshObj.setUnkPart(passBytesFromCurPos(m3gBytes, 0xE));
 		//
-		meshObj.setVertexBufferObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		meshObj.setVertexBufferObjIndex(passIntFromCurPos(m3gBytes));
 		meshObj.setVertexBufferObjUUID(getOrderReferenceUUID(
 				meshObj.getVertexBufferObjIndex()));
 		//
-		meshObj.setSubMeshCount(passBytesFromCurPos(m3gBytes, 0x4));
+		meshObj.setSubMeshCount(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < meshObj.getSubMeshCount(); i++) {
-			int orderId = HEXUtils.byteArrayToInt(passBytesFromCurPos(m3gBytes, 0x4));
+			int orderId = passIntFromCurPos(m3gBytes);
 			meshObj.addToSubMeshObjIndexArray(orderId);
 			meshObj.addToSubMeshObjUUIDArray(getOrderReferenceUUID(orderId));
 		}
@@ -431,32 +430,32 @@ public class M3GTools {
 
 		fillObjGroupBase(clonedGroupObj, m3gBytes);
 		
-		clonedGroupObj.setCommonVertexBufferObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		clonedGroupObj.setCommonVertexBufferObjIndex(passIntFromCurPos(m3gBytes));
 		clonedGroupObj.setCommonVertexBufferObjUUID(getOrderReferenceUUID(
 				clonedGroupObj.getCommonVertexBufferObjIndex()));
 		//
-		clonedGroupObj.setObjLODCount(passBytesFromCurPos(m3gBytes, 0x4));
+		clonedGroupObj.setObjLODCount(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < clonedGroupObj.getObjLODCount(); i++) { 
-			int orderId = HEXUtils.byteArrayToInt(passBytesFromCurPos(m3gBytes, 0x4));
+			int orderId = passIntFromCurPos(m3gBytes);
 			clonedGroupObj.addToObjLODIndexArray(orderId);
 			clonedGroupObj.addToObjLODUUIDArray(getOrderReferenceUUID(orderId));
 		}
 		//
-		clonedGroupObj.setGroupObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		clonedGroupObj.setGroupObjIndex(passIntFromCurPos(m3gBytes));
 		clonedGroupObj.setGroupObjUUID(getOrderReferenceUUID(
 				clonedGroupObj.getGroupObjIndex()));
 		//
-		clonedGroupObj.setVertexArray1ObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		clonedGroupObj.setVertexArray1ObjIndex(passIntFromCurPos(m3gBytes));
 		clonedGroupObj.setVertexArray1ObjUUID(getOrderReferenceUUID(
 				clonedGroupObj.getVertexArray1ObjIndex()));
 		//
-		clonedGroupObj.setVertexArray2ObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		clonedGroupObj.setVertexArray2ObjIndex(passIntFromCurPos(m3gBytes));
 		clonedGroupObj.setVertexArray2ObjUUID(getOrderReferenceUUID(
 				clonedGroupObj.getVertexArray2ObjIndex()));
 		//
-		clonedGroupObj.setMountGroupsObjCount(passBytesFromCurPos(m3gBytes, 0x4));
+		clonedGroupObj.setMountGroupsObjCount(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < clonedGroupObj.getMountGroupsObjCount(); i++) { 
-			int orderId = HEXUtils.byteArrayToInt(passBytesFromCurPos(m3gBytes, 0x4));
+			int orderId = passIntFromCurPos(m3gBytes);
 			clonedGroupObj.addToMountGroupsObjIndexArray(orderId);
 			clonedGroupObj.addToMountGroupsObjUUIDArray(getOrderReferenceUUID(orderId));
 		}
@@ -474,7 +473,7 @@ public class M3GTools {
 		changeCurPos(textureRefObj.getPadding().length);
 		textureRefObj.setUnkPart(passBytesFromCurPos(m3gBytes, 0x2));
 		//
-		textureRefObj.setImage2DObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		textureRefObj.setImage2DObjIndex(passIntFromCurPos(m3gBytes));
 		textureRefObj.setImage2DObjUUID(getOrderReferenceUUID(
 				textureRefObj.getImage2DObjIndex()));
 		//
@@ -497,46 +496,35 @@ public class M3GTools {
 		if (vertexArrayObj.getEncoding() != 0x0) {
 			jl.log(Level.SEVERE, "One of Vertex Array contains encoded element, various issues may happen.");
 		}
-		vertexArrayObj.setVertexCount(passBytesFromCurPos(m3gBytes, 0x2));
+		vertexArrayObj.setVertexCount(passUShortFromCurPos(m3gBytes));
 		
 		int elementSize = vertexArrayObj.getComponentSize() * vertexArrayObj.getComponentCount();
-		byte[] vertexArrayRaw = passBytesFromCurPos(m3gBytes, elementSize * vertexArrayObj.getVertexCount());
-		// reader position passes entire array here
-		List<byte[]> vertexArray = HEXUtils.splitByteArray(vertexArrayRaw, elementSize);
-		System.out.println(vertexArray.size());
-		for (byte[] vertexElement : vertexArray) {
+		int vertexArrayStart = getCurPos();
+		// reader position passes entire array here, elements are read in place
+		changeCurPos(elementSize * vertexArrayObj.getVertexCount());
+		for (int i = 0; i < vertexArrayObj.getVertexCount(); i++) {
+			int elementPos = vertexArrayStart + (i * elementSize);
+			float[] element = new float[vertexArrayObj.getComponentCount()];
 			switch(vertexArrayObj.getComponentSize()) {
-			case 0x1:
-				if (vertexArrayObj.getComponentCount() == 0x4) { // RGBA
-					vertexArrayObj.addToVertexArray(new float[] {
-							vertexElement[0], vertexElement[1], // divide all by 255
-							vertexElement[2], vertexElement[3]
-					});
-				} else {
-					float[] element = new float[vertexArrayObj.getComponentCount()];
-					for (int b = 0; b < vertexArrayObj.getComponentCount(); b++) {
-						element[b] = vertexElement[b]; // * positionScale[c] + positionBias[c]
-					}
-					vertexArrayObj.addToVertexArray(element);
+			case 0x1: // RGBA or others, divide all by 255
+				for (int b = 0; b < vertexArrayObj.getComponentCount(); b++) {
+					element[b] = m3gBytes[elementPos + b]; // * positionScale[c] + positionBias[c]
 				}
 				break;
 			case 0x2:
-				float[] element = new float[vertexArrayObj.getComponentCount()];
 				for (int b = 0; b < vertexArrayObj.getComponentCount(); b++) {
-					int int16value = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(vertexElement, 0 + (b * 2), 2 + (b * 2)));
-					element[b] = (float)int16value; // * positionScale[c] + positionBias[c]
+					element[b] = (float)HEXUtils.getUShortLE(m3gBytes, elementPos + (b * 2)); // * positionScale[c] + positionBias[c]
 				}
-				vertexArrayObj.addToVertexArray(element);
 				break;
 			case 0x4:
-				float[] element2 = new float[vertexArrayObj.getComponentCount()];
 				for (int b = 0; b < vertexArrayObj.getComponentCount(); b++) {
-					element2[b] = HEXUtils.bytesToFloat(Arrays.copyOfRange(vertexElement, 0 + (b * 4), 4 + (b * 4))); // * positionScale[c] + positionBias[c]
+					element[b] = HEXUtils.getFloatLE(m3gBytes, elementPos + (b * 4)); // * positionScale[c] + positionBias[c]
 				}
-				vertexArrayObj.addToVertexArray(element2);
 				break;
-			default: break;
+			default: 
+				continue;
 			}
+			vertexArrayObj.addToVertexArray(element);
 		}
 		
 		getObjVertexArrayInfo(vertexArrayObj, objLogCollection);
@@ -552,53 +540,53 @@ public class M3GTools {
 		changeCurPos(vertexBufferObj.getPadding().length);
 		vertexBufferObj.setColorRGBA(passBytesFromCurPos(m3gBytes, 0x4));
 		//
-		vertexBufferObj.setPositionVertexArrayObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		vertexBufferObj.setPositionVertexArrayObjIndex(passIntFromCurPos(m3gBytes));
 		vertexBufferObj.setPositionVertexArrayObjUUID(getOrderReferenceUUID(
 				vertexBufferObj.getPositionVertexArrayObjIndex()));
 		//
 		
 		vertexBufferObj.setPositionBias(new float[] {
-			HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4)),
-			HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4)),
-			HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4))
+			passFloatFromCurPos(m3gBytes),
+			passFloatFromCurPos(m3gBytes),
+			passFloatFromCurPos(m3gBytes)
 		});
-		vertexBufferObj.setPositionScale(passBytesFromCurPos(m3gBytes, 0x4));
+		vertexBufferObj.setPositionScale(passFloatFromCurPos(m3gBytes));
 		//
-		vertexBufferObj.setNormalsVertexArrayObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		vertexBufferObj.setNormalsVertexArrayObjIndex(passIntFromCurPos(m3gBytes));
 		vertexBufferObj.setNormalsVertexArrayObjUUID(getOrderReferenceUUID(
 				vertexBufferObj.getNormalsVertexArrayObjIndex()));
 		//
-		vertexBufferObj.setColorsObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		vertexBufferObj.setColorsObjIndex(passIntFromCurPos(m3gBytes));
 		vertexBufferObj.setColorsObjUUID(getOrderReferenceUUID(
 				vertexBufferObj.getColorsObjIndex()));
 		//
 		
-		byte[] texCoordArrayCountBytes = passBytesFromCurPos(m3gBytes, 0x4);
+		int texCoordArrayCount = passIntFromCurPos(m3gBytes);
 		// -1 means 1 here
-		int realTexCoordArrayCount = Math.abs(HEXUtils.byteArrayToInt(texCoordArrayCountBytes));
-		vertexBufferObj.setTextureCoordArrayCount(texCoordArrayCountBytes);
+		int realTexCoordArrayCount = Math.abs(texCoordArrayCount);
+		vertexBufferObj.setTextureCoordArrayCount(texCoordArrayCount);
 		
 		for (int i = 0; i < realTexCoordArrayCount; i++) {
 			M3GSubObjTextureCoord texCoordObj = new M3GSubObjTextureCoord();
 			//
-			texCoordObj.setTextureCoordObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+			texCoordObj.setTextureCoordObjIndex(passIntFromCurPos(m3gBytes));
 			texCoordObj.setTextureCoordObjUUID(getOrderReferenceUUID(
 					texCoordObj.getTextureCoordObjIndex()));
 			//
 			texCoordObj.setTextureCoordBias(new float[] {
-				HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4)),
-				HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4)), // M3G2FBX: 1 - coordBias[1]
-				HEXUtils.bytesToFloat(passBytesFromCurPos(m3gBytes, 0x4))
+				passFloatFromCurPos(m3gBytes),
+				passFloatFromCurPos(m3gBytes), // M3G2FBX: 1 - coordBias[1]
+				passFloatFromCurPos(m3gBytes)
 			});
-			texCoordObj.setTextureCoordScale(passBytesFromCurPos(m3gBytes, 0x4));
+			texCoordObj.setTextureCoordScale(passFloatFromCurPos(m3gBytes));
 			
 			vertexBufferObj.addToTextureCoordArray(texCoordObj);
 		}
-		vertexBufferObj.setTangentsVertexArrayObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		vertexBufferObj.setTangentsVertexArrayObjIndex(passIntFromCurPos(m3gBytes));
 		vertexBufferObj.setTangentsVertexArrayObjUUID(getOrderReferenceUUID(
 				vertexBufferObj.getTangentsVertexArrayObjIndex()));
 		//
-		vertexBufferObj.setBinormalsVertexArrayObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		vertexBufferObj.setBinormalsVertexArrayObjIndex(passIntFromCurPos(m3gBytes));
 		vertexBufferObj.setBinormalsVertexArrayObjUUID(getOrderReferenceUUID(
 				vertexBufferObj.getBinormalsVertexArrayObjIndex()));
 		//
@@ -614,15 +602,15 @@ public class M3GTools {
 		copyBasicObjInfo(subMeshObj, objTemp);
 		
 		changeCurPos(subMeshObj.getPadding().length);
-		subMeshObj.setParameterCount(passBytesFromCurPos(m3gBytes, 0x4));
+		subMeshObj.setParameterCount(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < subMeshObj.getParameterCount(); i++) {
 			subMeshObj.addToParameterArray(readSubParameterObject(m3gBytes));
 		}
-		subMeshObj.setIndexBufferObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		subMeshObj.setIndexBufferObjIndex(passIntFromCurPos(m3gBytes));
 		subMeshObj.setIndexBufferObjUUID(getOrderReferenceUUID(
 				subMeshObj.getIndexBufferObjIndex()));
 		//
-		subMeshObj.setAppearanceObjIndex(passBytesFromCurPos(m3gBytes, 0x4));
+		subMeshObj.setAppearanceObjIndex(passIntFromCurPos(m3gBytes));
 		subMeshObj.setAppearanceObjUUID(getOrderReferenceUUID(
 				subMeshObj.getAppearanceObjIndex()));
 		//
@@ -641,7 +629,7 @@ public class M3GTools {
 		indexBufferObj.setEncoding(passByteFromCurPos(m3gBytes));
 		switch(indexBufferObj.getEncoding()) {
 		case 0x0: // Start ID as Integer
-			indexBufferObj.setStartIndex(passBytesFromCurPos(m3gBytes, 0x4));
+			indexBufferObj.setStartIndex(passIntFromCurPos(m3gBytes));
 			readObjIndexBufferStripId(m3gBytes, indexBufferObj);
 			break; 
 		case 0x1: // Start ID as Byte
@@ -649,41 +637,41 @@ public class M3GTools {
 			readObjIndexBufferStripId(m3gBytes, indexBufferObj);
 			break; 
 		case 0x2: // Start ID as Short
-			indexBufferObj.setStartIndexShort(passBytesFromCurPos(m3gBytes, 0x2));
+			indexBufferObj.setStartIndexShort(passUShortFromCurPos(m3gBytes));
 			readObjIndexBufferStripId(m3gBytes, indexBufferObj);
 			break; 
 		case 0x80: // Integer
-			indexBufferObj.setIndexCount(passBytesFromCurPos(m3gBytes, 0x4));
+			indexBufferObj.setIndexCount(passIntFromCurPos(m3gBytes));
 			for (int i = 0; i < indexBufferObj.getIndexCount(); i++) {
-				indexBufferObj.addToIndexArray(HEXUtils.byteArrayToInt(passBytesFromCurPos(m3gBytes, 0x4)));
+				indexBufferObj.addToIndexArray(passIntFromCurPos(m3gBytes));
 			}	
 			break;
 		case 0x81: // Byte
-			indexBufferObj.setIndexCount(passBytesFromCurPos(m3gBytes, 0x4));
+			indexBufferObj.setIndexCount(passIntFromCurPos(m3gBytes));
 			for (int i = 0; i < indexBufferObj.getIndexCount(); i++) {
 				indexBufferObj.addToIndexArray(Byte.toUnsignedInt(passByteFromCurPos(m3gBytes)));
 			}	
 			break;
 		case 0x82: // Short
-			indexBufferObj.setIndexCount(passBytesFromCurPos(m3gBytes, 0x4));
+			indexBufferObj.setIndexCount(passIntFromCurPos(m3gBytes));
 			for (int i = 0; i < indexBufferObj.getIndexCount(); i++) {
-				indexBufferObj.addToIndexArray(HEXUtils.twoLEByteArrayToInt(passBytesFromCurPos(m3gBytes, 0x2)));
+				indexBufferObj.addToIndexArray(passUShortFromCurPos(m3gBytes));
 			}	
 			break;
 		default:
 			jl.log(Level.SEVERE, "Weird Index Buffer #{0} object type!", indexBufferObj.getEncoding());
 			break;
 		}
-		indexBufferObj.setUnkIntValue(passBytesFromCurPos(m3gBytes, 0x4));
+		indexBufferObj.setUnkIntValue(passIntFromCurPos(m3gBytes));
 
 		getObjIndexBufferInfo(indexBufferObj, objLogCollection);
 		return indexBufferObj;
 	}
 	
 	private void readObjIndexBufferStripId(byte[] m3gBytes, M3GObjIndexBuffer indexBufferObj) {
-		indexBufferObj.setStripLengthsCount(passBytesFromCurPos(m3gBytes, 0x4));
+		indexBufferObj.setStripLengthsCount(passIntFromCurPos(m3gBytes));
 		for (int i = 0; i < indexBufferObj.getStripLengthsCount(); i++) {
-			indexBufferObj.addToIndexArray(HEXUtils.byteArrayToInt(passBytesFromCurPos(m3gBytes, 0x4)));
+			indexBufferObj.addToIndexArray(passIntFromCurPos(m3gBytes));
 		}	
 	}
 	
@@ -1070,6 +1058,22 @@ public class M3GTools {
 		changeCurPos(0x1);
 		return value;
 	}
+	// Values are read in place, without the per-value arrays
+	private int passUShortFromCurPos(byte[] data) {
+		int value = HEXUtils.getUShortLE(data, curPos);
+		changeCurPos(0x2);
+		return value;
+	}
+	private int passIntFromCurPos(byte[] data) {
+		int value = HEXUtils.getIntLE(data, curPos);
+		changeCurPos(0x4);
+		return value;
+	}
+	private float passFloatFromCurPos(byte[] data) {
+		float value = HEXUtils.getFloatLE(data, curPos);
+		changeCurPos(0x4);
+		return value;
+	}
 	
 	public static int getCurOrderId() {
 		return curOrderId;
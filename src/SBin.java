@@ -1,17 +1,31 @@
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
+import util.ByteSlice;
 import util.FNV1;
 import util.SBinType;
 import util.DataClasses.*;
@@ -21,6 +35,18 @@ import util.HEXUtils;
 import util.LaunchParameters;
 import util.LogEntity;
 import util.SBJson;
+import util.SBJsonStreamReader;
+import util.SBJsonStreamWriter;
+import util.SBXFile;
+import util.SBinBlobFile;
+import util.SBinContext;
+import util.SBinProfiler.Stage;
+import util.SBinStructCache;
+import util.SBinUnpackCache;
+import util.SBinRepackCache;
+import util.SBinRepackCache.SBinCachedBlock;
+import util.SBinReader;
+import util.LEWriter;
 import util.SBinBlockType;
 import util.SBinDataGlobalType;
 import util.SBinEnumUtils;
@@ -35,153 +61,410 @@ public class SBin {
 	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
 	
 	private static final byte[] SHORTBYTE_EMPTY = new byte[2];
+	private static final int SBIN_HEADER_SIZE = 0x8; // SBin header + version
+	private static final int BLOCK_HEADER_SIZE = 0xC; // Header + size + hash
+	private static final int DATA_ELEMENT_SIZE_ESTIMATE = 0x20; // Initial DATA buffer size per element
+	private static final int DATA_PARALLEL_MIN_ELEMENTS = 0x400; // Smaller DATA blocks are decoded faster on one thread
+	private static final int DATA_PARALLEL_WINDOW = 0x4000; // Elements decoded at once, before they goes to the Json stream
+	private static final int DATA_PARALLEL_TASK_SIZE = 0x100; // Elements range of one fork/join task
 	
-	private static int curPos = 0x0;
+	private final SBinContext ctx;
+	private SBinRepackCache repackCache; // Set while the file is built or unpacked with the repack cache
+	
+	public SBin(SBinContext ctx) {
+		this.ctx = ctx;
+	}
 	
 	//
 	
-	public static void startup(String[] args) throws IOException {
-		SBJson.initNewSBJson();
-		LaunchParameters.checkSBinLaunchParameters(args);
-		SBinMapUtils.initMapTypes();
+	public static SBinContext startup(String[] args) throws IOException {
+		SBJson.loadHCStructsFileArray();
+		SBinContext ctx = new SBinContext();
+		LaunchParameters.checkSBinLaunchParameters(args, ctx);
+		return ctx;
 	}
 
 	public Checksum unpackSBin(String filePath, boolean output) throws IOException, InterruptedException {
 		Path sbinFilePath = Paths.get(filePath);
-		byte[] sbinData = null;
+		SBinReader sbinData = null;
 		try {
-			sbinData = Files.readAllBytes(sbinFilePath);
+			sbinData = SBinReader.mapFile(sbinFilePath);
+			ctx.setReader(sbinData);
 		} catch (NoSuchFileException noFile) {
 			jl.log(Level.SEVERE, "File cannot be found ({0}), aborted.", filePath);
 			return null;
 		}
 
-		int sbinVersion = sbinData[4];
+		int sbinVersion = sbinData.getByte(4);
 		if (sbinVersion != 0x03) {
 			jl.log(Level.SEVERE, "This SBin version is not supported, version 3 required.");
 			return null;
 		}
+		// Same file with the same parameters gives the same output files
+		String unpackCacheKey = null;
+		if (output && ctx.isUnpackCache()) {
+			unpackCacheKey = SBinUnpackCache.createKey(ctx, sbinFilePath.getFileName().toString(), sbinData);
+			if (SBinUnpackCache.restore(ctx, unpackCacheKey)) {
+				jl.log(Level.INFO, "Unpack result is taken from the {0} folder.", SBinUnpackCache.CACHE_FOLDER);
+				return null;
+			}
+		}
 		
-		SBJson.get().setFileName(sbinFilePath.getFileName().toString());
-		SBJson.get().setSBinVersion(sbinVersion);
+		ctx.getSBinJson().setFileName(sbinFilePath.getFileName().toString());
+		ctx.getSBinJson().setSBinVersion(sbinVersion);
 		
-		changeCurPos(0x8); // Skip SBin header + version
-
+		sbinData.setCurPos(0x8); // Skip SBin header + version
+		Map<SBinBlockType, SBinBlockObj> blocks = readSBinBlocks();
+		SBinBlockObj enumBlock = blocks.get(SBinBlockType.ENUM);
+		SBinBlockObj struBlock = blocks.get(SBinBlockType.STRU);
+		SBinBlockObj fielBlock = blocks.get(SBinBlockType.FIEL);
+		SBinBlockObj ohdrBlock = blocks.get(SBinBlockType.OHDR);
+		SBinBlockObj dataBlock = blocks.get(SBinBlockType.DATA);
+		SBinBlockObj chdrBlock = blocks.get(SBinBlockType.CHDR);
+		SBinBlockObj cdatBlock = blocks.get(SBinBlockType.CDAT);
+		
+		// Large HEX values goes to the separate file next to Json, .sbx keeps the bytes by itself
+		if (output && ctx.isBlobOutput() && !ctx.isSBXOutput()) {
+			Path blobPath = ctx.getOutputPath(ctx.getSBinJson().getFileName() + SBinBlobFile.FILE_BLOB);
+			Files.deleteIfExists(blobPath); // Left from the previous unpack
+			ctx.setBlobFile(new SBinBlobFile(blobPath));
+		}
+		// Json is written along with DATA parsing, unless all DATA elements are needed after that
+		SBJsonStreamWriter jsonStream = null;
+		if (output && !ctx.isSBXOutput() && ctx.getSBinJson().getSBinType() != SBinType.TEXTURE 
+				&& !isDATAKeptAsBlock()) {
+			jsonStream = new SBJsonStreamWriter(ctx.getOutputPath(ctx.getSBinJson().getFileName() + ".json"));
+		}
+		// Each DATA element is encoded once along with DATA parsing, so the repack of the same Json encodes only the changed ones
+		if (output && ctx.isIncrementalRepack()) {
+			Path cachePath = ctx.getOutputPath(ctx.getSBinJson().getFileName() + SBinRepackCache.FILE_CACHE);
+			Files.deleteIfExists(cachePath); // Left from the previous unpack
+			if (ctx.getSBinJson().getSBinType() != SBinType.TEXTURE && !isDATAKeptAsBlock()) {
+				ctx.setRepackCachePath(cachePath);
+			}
+		}
+		try {
+			SBinJson sbinJson = ctx.getSBinJson();
+			if (ctx.isDATAObjectsUnpackDisabled() || sbinJson.getSBinType().equals(SBinType.SAVES)) {
+				sbinJson.setENUMHexStr(toHexOrBlob(enumBlock.getBlockData(), sbinJson::setENUMHexBlob));
+				sbinJson.setSTRUHexStr(toHexOrBlob(struBlock.getBlockData(), sbinJson::setSTRUHexBlob));
+				sbinJson.setFIELHexStr(toHexOrBlob(fielBlock.getBlockData(), sbinJson::setFIELHexBlob));
+			} else {
+				readStructTable(enumBlock, struBlock, fielBlock, chdrBlock, cdatBlock);
+			}
+			beginStage(Stage.PARSE_DATA_BLOCK);
+			parseDATABlock(ohdrBlock, dataBlock, jsonStream);
+			endStage(Stage.PARSE_DATA_BLOCK);
+			// Used for separate file editors, not all of .sb files gets proper objects layouts
+			switch(ctx.getSBinJson().getSBinType()) {
+			case TEXTURE:
+				// BULK: Image mipmap offsets
+				SBinBlockObj bulkBlock = processSBinBlock(SBinBlockType.BULK, SBinBlockType.BARG);
+				// BARG: Image plain data
+				SBinBlockObj bargBlock = processSBinBlock(SBinBlockType.BARG, null);
+				TextureUtils.extractImage(ctx, bulkBlock, bargBlock.getBlockData());
+				break;
+			default: break;
+			}
+			if (ctx.getBlobFile() != null && ctx.getBlobFile().isCreated()) { // Some payloads are long enough
+				sbinJson.setHexBlobFile(ctx.getBlobFile().getFileName());
+			}
+			List<SBinCDATEntry> fileCDATStrings = repackCache != null ? new ArrayList<>(sbinJson.getCDATStrings()) : null;
+			SBJson.clearJsonOutputStuff(ctx);
+			if (jsonStream != null) {
+				jsonStream.writeFinalFields(ctx.getSBinJson());
+			} else if (output && ctx.isSBXOutput()) {
+				SBXFile.outputSBX(ctx);
+			} else if (output) {
+				SBJson.outputSBJson(ctx);
+			} else {
+				return sbinData.getChecksum();
+			}
+			if (repackCache != null) { // Output is done, so the blocks are made from the same state as the repack has
+				createSBinBlocks(fileCDATStrings);
+				repackCache.save();
+			}
+		} finally {
+			if (jsonStream != null) {
+				jsonStream.close();
+			}
+			if (ctx.getBlobFile() != null) {
+				ctx.getBlobFile().close();
+				ctx.setBlobFile(null);
+			}
+			repackCache = null;
+			ctx.setRepackCachePath(null);
+			ctx.setReferencedElements(null);
+		}
+		if (unpackCacheKey != null) {
+			SBinUnpackCache.store(ctx, unpackCacheKey);
+		}
+		return null;
+	}
+	
+	// Header blocks, Struct table & OHDR only: DATA elements are decoded one by one, when they are requested
+	SBinFile openSBinFile(String filePath) throws IOException {
+		Path sbinFilePath = Paths.get(filePath);
+		SBinReader sbinData = SBinReader.mapFile(sbinFilePath);
+		ctx.setReader(sbinData);
+		if (sbinData.getByte(4) != 0x03) {
+			throw new IOException("!!! This SBin version is not supported, version 3 required.");
+		}
+		ctx.getSBinJson().setFileName(sbinFilePath.getFileName().toString());
+		ctx.getSBinJson().setSBinVersion(sbinData.getByte(4));
+		if (isDATAKeptAsBlock() || ctx.isDATAObjectsUnpackDisabled()) {
+			throw new IllegalArgumentException("!!! DATA objects of " + filePath + " cannot be read one by one.");
+		}
+		
+		sbinData.setCurPos(0x8); // Skip SBin header + version
+		Map<SBinBlockType, SBinBlockObj> blocks = readSBinBlocks();
+		readStructTable(blocks.get(SBinBlockType.ENUM), blocks.get(SBinBlockType.STRU), blocks.get(SBinBlockType.FIEL), 
+				blocks.get(SBinBlockType.CHDR), blocks.get(SBinBlockType.CDAT));
+		ByteSlice ohdrData = blocks.get(SBinBlockType.OHDR).getBlockData();
+		ByteSlice dataBytes = blocks.get(SBinBlockType.DATA).getBlockData();
+		if (ohdrData.length() / 0x4 > 0xFFFF) {
+			ctx.getSBinJson().setDataLongElementIds(true);
+		}
+		return new SBinFile(this, ctx, ohdrData, dataBytes, readEnumMaps(ohdrData, dataBytes));
+	}
+	
+	// Blocks are placed one after another, up to CDAT. CDAT strings are prepared as well
+	private Map<SBinBlockType, SBinBlockObj> readSBinBlocks() {
+		Map<SBinBlockType, SBinBlockObj> blocks = new EnumMap<>(SBinBlockType.class);
 		// ENUM: Enum objects stored as a DATA block maps
-		SBinBlockObj enumBlock;
 		// STRU: object structures of DATA block
-		SBinBlockObj struBlock;
 		// FIEL: info fields for Structs
-		SBinBlockObj fielBlock;
-		if (!SBJson.get().getSBinType().equals(SBinType.SAVES)) {
-			enumBlock = processSBinBlock(sbinData, SBinBlockType.ENUM, SBinBlockType.STRU);		
-			struBlock = processSBinBlock(sbinData, SBinBlockType.STRU, SBinBlockType.FIEL);
-			fielBlock = processSBinBlock(sbinData, SBinBlockType.FIEL, SBinBlockType.OHDR);	
+		if (!ctx.getSBinJson().getSBinType().equals(SBinType.SAVES)) {
+			blocks.put(SBinBlockType.ENUM, processSBinBlock(SBinBlockType.ENUM, SBinBlockType.STRU));
+			blocks.put(SBinBlockType.STRU, processSBinBlock(SBinBlockType.STRU, SBinBlockType.FIEL));
+			blocks.put(SBinBlockType.FIEL, processSBinBlock(SBinBlockType.FIEL, SBinBlockType.OHDR));
 		} else {
 			jl.log(Level.INFO, "Limited support for Save Files - only string & HEX edits.");
-			SBJson.get().setCDATAllStringsFromDATA(false);
-			struBlock = processSBinBlock(sbinData, SBinBlockType.STRU, SBinBlockType.FIEL);
-			fielBlock = processSBinBlock(sbinData, SBinBlockType.FIEL, SBinBlockType.ENUM);	
-			enumBlock = processSBinBlock(sbinData, SBinBlockType.ENUM, SBinBlockType.OHDR);		
+			ctx.getSBinJson().setCDATAllStringsFromDATA(false);
+			blocks.put(SBinBlockType.STRU, processSBinBlock(SBinBlockType.STRU, SBinBlockType.FIEL));
+			blocks.put(SBinBlockType.FIEL, processSBinBlock(SBinBlockType.FIEL, SBinBlockType.ENUM));
+			blocks.put(SBinBlockType.ENUM, processSBinBlock(SBinBlockType.ENUM, SBinBlockType.OHDR));
 		}
 		
 		// OHDR: map of DATA block
-		SBinBlockObj ohdrBlock = processSBinBlock(sbinData, SBinBlockType.OHDR, SBinBlockType.DATA);		
+		blocks.put(SBinBlockType.OHDR, processSBinBlock(SBinBlockType.OHDR, SBinBlockType.DATA));
 		// DATA: various objects info
-		SBinBlockObj dataBlock = processSBinBlock(sbinData, SBinBlockType.DATA, SBinBlockType.CHDR);	
+		blocks.put(SBinBlockType.DATA, processSBinBlock(SBinBlockType.DATA, SBinBlockType.CHDR));
 		// CHDR: map of CDAT block
-		SBinBlockObj chdrBlock = processSBinBlock(sbinData, SBinBlockType.CHDR, SBinBlockType.CDAT);
+		blocks.put(SBinBlockType.CHDR, processSBinBlock(SBinBlockType.CHDR, SBinBlockType.CDAT));
 		// CDAT: field names & string variables
-		SBinBlockObj cdatBlock = processSBinBlock(sbinData, SBinBlockType.CDAT, 
-				SBJson.get().getSBinType() == SBinType.TEXTURE ? SBinBlockType.BULK : null);
-		prepareCDATStrings(chdrBlock.getBlockElements(), cdatBlock.getBlockBytes());
-		
-		if (LaunchParameters.isDATAObjectsUnpackDisabled() || SBJson.get().getSBinType().equals(SBinType.SAVES)) {
-			SBJson.get().setENUMHexStr(HEXUtils.hexToString(enumBlock.getBlockBytes()).toUpperCase());
-			SBJson.get().setSTRUHexStr(HEXUtils.hexToString(struBlock.getBlockBytes()).toUpperCase());
-			SBJson.get().setFIELHexStr(HEXUtils.hexToString(fielBlock.getBlockBytes()).toUpperCase());
-		} else {
-			readEnumHeaders(enumBlock);
-			readStructsAndFields(struBlock, fielBlock);
-		}
-		parseDATABlock(ohdrBlock, dataBlock);
-		updateEnumRelatedObjects();
-		// Used for separate file editors, not all of .sb files gets proper objects layouts
-		switch(SBJson.get().getSBinType()) {
-		case TEXTURE:
-			// BULK: Image mipmap offsets
-			SBinBlockObj bulkBlock = processSBinBlock(sbinData, SBinBlockType.BULK, SBinBlockType.BARG);
-			// BARG: Image plain data
-			SBinBlockObj bargBlock = processSBinBlock(sbinData, SBinBlockType.BARG, null);
-			TextureUtils.extractImage(bulkBlock, bargBlock.getBlockBytes());
-			break;
-		default: break;
-		}
-		SBJson.clearJsonOutputStuff();
-		if (output) {
-			SBJson.outputSBJson();
-		} else {
-			return HEXUtils.getFileBytesChecksum(sbinData);
-		}
-		return null;
+		blocks.put(SBinBlockType.CDAT, processSBinBlock(SBinBlockType.CDAT, 
+				ctx.getSBinJson().getSBinType() == SBinType.TEXTURE ? SBinBlockType.BULK : null));
+		beginStage(Stage.PREPARE_CDAT_STRINGS);
+		prepareCDATStrings(blocks.get(SBinBlockType.CHDR).getBlockElements(), blocks.get(SBinBlockType.CDAT).getBlockData());
+		endStage(Stage.PREPARE_CDAT_STRINGS);
+		return blocks;
 	}
-
+	
 	public Checksum repackSBin(String filePath, boolean output) throws IOException {
 		if (output) { // Already loaded during FileCheck
 			try {
-				SBJson.loadSBJson(filePath);
+				if (SBXFile.isSBXFile(Paths.get(filePath))) {
+					SBXFile.loadSBX(ctx, filePath); // Binary model, without any Json step
+				} else {
+					// DATA elements are encoded as they are read, unless the Json needs a full load
+					ctx.setJsonReader(SBJsonStreamReader.open(ctx, Paths.get(filePath)));
+					if (ctx.getJsonReader() == null) {
+						SBJson.loadSBJson(ctx, filePath);
+					}
+				}
+				if (ctx.getSBinJson().getHexBlobFile() != null) { // Kept next to Json
+					ctx.setBlobData(SBinBlobFile.mapFile(Paths.get(filePath).resolveSibling(ctx.getSBinJson().getHexBlobFile())));
+				}
+				Path cachePath = Paths.get(filePath).resolveSibling(ctx.getSBinJson().getFileName() + SBinRepackCache.FILE_CACHE);
+				if (Files.exists(cachePath)) { // Made by the incremental unpack
+					ctx.setRepackCachePath(cachePath);
+				}
 			} catch (NoSuchFileException noFile) {
 				jl.log(Level.SEVERE, "File cannot be found ({0}), aborted.", filePath);
 				return null;
 			}
 		}
-		if (SBJson.get().getSBinType() == SBinType.TEXTURE) {
-			TextureUtils.checkForImageFormatOperations();
+		List<ByteBuffer> fileBuffers;
+		try {
+			fileBuffers = createSBinFileBuffers();
+		} finally {
+			if (ctx.getJsonReader() != null) {
+				ctx.getJsonReader().close();
+				ctx.setJsonReader(null);
+			}
+		}
+		CRC32 crc = new CRC32();
+		if (output) {
+			writeSBinFile(ctx.getRepackedFilePath(ctx.getSBinJson().getFileName()), fileBuffers, crc);
+			jl.log(Level.INFO, "Saved successfully as binary file.");
+		} else {
+			for (ByteBuffer buffer : fileBuffers) {
+				crc.update(buffer.duplicate());
+			}
+		}
+		return crc;
+	}
+	
+	// Whole SBin file in memory, for the comparison with original file
+	public byte[] repackSBinBytes() throws IOException {
+		List<ByteBuffer> fileBuffers = createSBinFileBuffers();
+		int fileSize = 0;
+		for (ByteBuffer buffer : fileBuffers) {
+			fileSize += buffer.remaining();
+		}
+		ByteBuffer fileBytes = ByteBuffer.allocate(fileSize);
+		for (ByteBuffer buffer : fileBuffers) {
+			fileBytes.put(buffer.duplicate());
+		}
+		return fileBytes.array();
+	}
+	
+	// Blocks are written straight from their headers & contents with one gathering write,
+	// CRC is calculated on the way
+	private void writeSBinFile(Path filePath, List<ByteBuffer> fileBuffers, CRC32 crc) throws IOException {
+		ByteBuffer[] buffers = new ByteBuffer[fileBuffers.size()];
+		long fileSize = 0;
+		for (int i = 0; i < buffers.length; i++) {
+			crc.update(fileBuffers.get(i).duplicate());
+			buffers[i] = fileBuffers.get(i).duplicate();
+			fileSize += buffers[i].remaining();
+		}
+		try (FileChannel channel = FileChannel.open(filePath, 
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			long written = 0;
+			while (written < fileSize) {
+				written += channel.write(buffers);
+			}
+		}
+	}
+	
+	// Builds the whole SBin file from the loaded Json contents, as the list of block headers, contents & paddings
+	private List<ByteBuffer> createSBinFileBuffers() throws IOException {
+		if (ctx.getSBinJson().getSBinType() == SBinType.TEXTURE) {
+			TextureUtils.checkForImageFormatOperations(ctx);
 		}
 
-		// ENUM
-		SBinBlockObj enumBlock = createSBinBlock(SBinBlockType.ENUM);
-		// STRU & FIEL
-		SBinBlockObj struBlock = new SBinBlockObj();
-		SBinBlockObj fielBlock = new SBinBlockObj();
-		createSTRUFIELBlocks(struBlock, fielBlock);
-		// OHDR & DATA
-		SBinBlockObj dataBlock = createSBinBlock(SBinBlockType.DATA);
-		SBinBlockObj ohdrBlock = createOHDRBlock(dataBlock, SBinBlockType.OHDR);
-		// CHDR & CDAT
-		SBinBlockObj cdatBlock = createSBinBlock(SBinBlockType.CDAT);
-		SBinBlockObj chdrBlock = createCHDRBlock(cdatBlock.getBlockElements(), SBinBlockType.CHDR);
+		repackCache = SBinRepackCache.open(ctx);
+		Map<SBinBlockType, SBinBlockObj> blocks = createSBinBlocks(null);
+		if (repackCache != null) {
+			repackCache.save();
+			repackCache = null;
+		}
 		
-		ByteArrayOutputStream additionalBlocksStream = new ByteArrayOutputStream();
-		if (SBJson.get().getSBinType() == SBinType.TEXTURE) {
+		List<ByteBuffer> fileBuffers = new ArrayList<>();
+		ByteBuffer sbinHeader = ByteBuffer.allocate(SBIN_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		sbinHeader.put(SBinBlockType.getBytes(SBinBlockType.SBIN));
+		sbinHeader.putInt(ctx.getSBinJson().getSBinVersion());
+		sbinHeader.flip();
+		fileBuffers.add(sbinHeader);
+		
+		if (!ctx.getSBinJson().getSBinType().equals(SBinType.SAVES)) {
+			addSBinBlockBuffers(fileBuffers, blocks.get(SBinBlockType.ENUM));
+			addSBinBlockBuffers(fileBuffers, blocks.get(SBinBlockType.STRU));
+			addSBinBlockBuffers(fileBuffers, blocks.get(SBinBlockType.FIEL));
+		} else {
+			addSBinBlockBuffers(fileBuffers, blocks.get(SBinBlockType.STRU));
+			addSBinBlockBuffers(fileBuffers, blocks.get(SBinBlockType.FIEL));
+			addSBinBlockBuffers(fileBuffers, blocks.get(SBinBlockType.ENUM));
+		}
+		addSBinBlockBuffers(fileBuffers, blocks.get(SBinBlockType.OHDR));
+		addSBinBlockBuffers(fileBuffers, blocks.get(SBinBlockType.DATA));
+		addSBinBlockBuffers(fileBuffers, blocks.get(SBinBlockType.CHDR));
+		addSBinBlockBuffers(fileBuffers, blocks.get(SBinBlockType.CDAT));
+		if (ctx.getSBinJson().getSBinType() == SBinType.TEXTURE) {
 			// BULK & BARG
-			createBULKBARGBlocks(additionalBlocksStream);
+			createBULKBARGBlocks(fileBuffers);
 		} 
-		ByteArrayOutputStream fileOutputStr = new ByteArrayOutputStream();
-		fileOutputStr.write(SBinBlockType.getBytes(SBinBlockType.SBIN));
-		fileOutputStr.write(HEXUtils.intToByteArrayLE(SBJson.get().getSBinVersion()));
+		return fileBuffers;
+	}
+	
+	// Blocks up to CDAT, in the order of their CDAT strings. With the repack cache, unchanged blocks are taken from there.
+	// Unpack with the repack cache gives the file CDAT strings: DATA elements are already recorded, so DATA is not encoded
+	// and its CDAT strings are taken from the file. CDAT block is taken on repack only if it gets the same strings
+	private Map<SBinBlockType, SBinBlockObj> createSBinBlocks(List<SBinCDATEntry> fileCDATStrings) throws IOException {
+		Map<SBinBlockType, SBinBlockObj> blocks = new EnumMap<>(SBinBlockType.class);
+		List<SBinCDATEntry> cdatStrings = ctx.getSBinJson().getCDATStrings();
+		int cdatCount = cdatStrings.size();
+		long cdatFingerprint = repackCache != null ? SBinRepackCache.getCDATFingerprint(cdatStrings) : SBinRepackCache.NO_HASH;
 		
-		if (!SBJson.get().getSBinType().equals(SBinType.SAVES)) {
-			fileOutputStr.write(buildSBinBlock(enumBlock));
-			fileOutputStr.write(buildSBinBlock(struBlock));
-			fileOutputStr.write(buildSBinBlock(fielBlock));
+		// ENUM
+		long enumFingerprint = repackCache != null ? SBinRepackCache.getENUMFingerprint(ctx, cdatFingerprint) : SBinRepackCache.NO_HASH;
+		SBinBlockObj enumBlock = getCachedBlock(SBinBlockType.ENUM, enumFingerprint);
+		if (enumBlock == null) {
+			int cdatStart = ctx.getSBinJson().getCDATStrings().size();
+			enumBlock = createSBinBlock(SBinBlockType.ENUM);
+			recordCachedBlock(SBinBlockType.ENUM, enumFingerprint, enumBlock, cdatStart);
+		}
+		// STRU & FIEL
+		long struFingerprint = repackCache != null ? SBinRepackCache.getSTRUFIELFingerprint(ctx, enumFingerprint) : SBinRepackCache.NO_HASH;
+		SBinBlockObj struBlock = getCachedBlock(SBinBlockType.STRU, struFingerprint);
+		SBinBlockObj fielBlock = getCachedBlock(SBinBlockType.FIEL, struFingerprint);
+		if (struBlock == null || fielBlock == null) {
+			int cdatStart = ctx.getSBinJson().getCDATStrings().size();
+			struBlock = new SBinBlockObj();
+			fielBlock = new SBinBlockObj();
+			createSTRUFIELBlocks(struBlock, fielBlock);
+			recordCachedBlock(SBinBlockType.STRU, struFingerprint, struBlock, cdatStart);
+			recordCachedBlock(SBinBlockType.FIEL, struFingerprint, fielBlock, ctx.getSBinJson().getCDATStrings().size());
+		}
+		blocks.put(SBinBlockType.ENUM, enumBlock);
+		blocks.put(SBinBlockType.STRU, struBlock);
+		blocks.put(SBinBlockType.FIEL, fielBlock);
+		// OHDR & DATA
+		if (fileCDATStrings == null) {
+			SBinBlockObj dataBlock = createSBinBlock(SBinBlockType.DATA);
+			blocks.put(SBinBlockType.DATA, dataBlock);
+			blocks.put(SBinBlockType.OHDR, createOHDRBlock(dataBlock, SBinBlockType.OHDR));
 		} else {
-			fileOutputStr.write(buildSBinBlock(struBlock));
-			fileOutputStr.write(buildSBinBlock(fielBlock));
-			fileOutputStr.write(buildSBinBlock(enumBlock));
-		}
-		fileOutputStr.write(buildSBinBlock(ohdrBlock));
-		fileOutputStr.write(buildSBinBlock(dataBlock));
-		fileOutputStr.write(buildSBinBlock(chdrBlock));
-		fileOutputStr.write(buildSBinBlock(cdatBlock));
-		fileOutputStr.write(additionalBlocksStream.toByteArray());
-		
-		byte[] fileBytes = fileOutputStr.toByteArray();
-		if (output) {
-			Files.write(Paths.get("new_" + SBJson.get().getFileName()), fileBytes);
-			jl.log(Level.INFO, "Saved successfully as binary file.");
+			for (int i = cdatStrings.size(); i < fileCDATStrings.size(); i++) {
+				ctx.getSBinJson().addCDATEntry(fileCDATStrings.get(i));
+			}
+		}
+		// CHDR & CDAT
+		cdatFingerprint = repackCache != null 
+				? SBinRepackCache.getCDATFingerprint(cdatFingerprint, cdatStrings, cdatCount) : SBinRepackCache.NO_HASH;
+		SBinBlockObj cdatBlock = getCachedBlock(SBinBlockType.CDAT, cdatFingerprint);
+		SBinBlockObj chdrBlock = getCachedBlock(SBinBlockType.CHDR, cdatFingerprint);
+		if (cdatBlock == null || chdrBlock == null) {
+			cdatBlock = createSBinBlock(SBinBlockType.CDAT);
+			chdrBlock = createCHDRBlock(cdatBlock.getBlockElements(), SBinBlockType.CHDR);
+			recordCachedBlock(SBinBlockType.CDAT, cdatFingerprint, cdatBlock, ctx.getSBinJson().getCDATStrings().size());
+			recordCachedBlock(SBinBlockType.CHDR, cdatFingerprint, chdrBlock, ctx.getSBinJson().getCDATStrings().size());
+		} else {
+			cdatBlock.setLastBlock(!ctx.getSBinJson().getSBinType().equals(SBinType.TEXTURE));
+		}
+		blocks.put(SBinBlockType.CHDR, chdrBlock);
+		blocks.put(SBinBlockType.CDAT, cdatBlock);
+		return blocks;
+	}
+
+	// Block of the repack cache, if the Json contents it's made from are the same. Hash is taken as well
+	private SBinBlockObj getCachedBlock(SBinBlockType header, long fingerprint) {
+		SBinCachedBlock cachedBlock = repackCache != null ? repackCache.useBlock(header, fingerprint) : null;
+		if (cachedBlock == null) {return null;}
+		for (String string : cachedBlock.getCDATStrings()) { // Same CDAT order as the block encoding gives
+			DataUtils.processStringInCDAT(ctx, string);
+		}
+		SBinBlockObj block = new SBinBlockObj();
+		block.setHeader(SBinBlockType.getBytes(header));
+		block.setBlockData(cachedBlock.getBlockData());
+		block.setFnv1Hash(cachedBlock.getFnv1Hash());
+		if (block.getBlockData().length() != 0) {
+			block.setBlockSize(HEXUtils.intToByteArrayLE(block.getBlockData().length()));
+		}
+		return block;
+	}
+	
+	// CDAT strings added from cdatStart are kept along with the block
+	private void recordCachedBlock(SBinBlockType header, long fingerprint, SBinBlockObj block, int cdatStart) {
+		if (repackCache == null) {return;}
+		List<SBinCDATEntry> cdatStrings = ctx.getSBinJson().getCDATStrings();
+		List<String> blockStrings = new ArrayList<>(cdatStrings.size() - cdatStart);
+		for (int i = cdatStart; i < cdatStrings.size(); i++) {
+			blockStrings.add(cdatStrings.get(i).getString());
 		}
-		return HEXUtils.getFileBytesChecksum(fileBytes);
+		repackCache.recordBlock(header, fingerprint, block.getBlockData(), block.getFnv1Hash(), blockStrings);
 	}
 
 	public void getFNVHash(String filePath) throws IOException {
@@ -203,37 +486,38 @@ public class SBin {
 
 	// TODO Must read it by 4-bytes-block method. 
 	// Additional empty bytes after blocks exists to help fit the info, for 4-bytes-block reading method
-	private SBinBlockObj processSBinBlock(byte[] sbinData, SBinBlockType header, SBinBlockType nextHeader) {
+	private SBinBlockObj processSBinBlock(SBinBlockType header, SBinBlockType nextHeader) {
+		beginStage(Stage.PROCESS_SBIN_BLOCK);
+		SBinReader sbinData = ctx.getReader();
 		SBinBlockObj block = new SBinBlockObj();
 		block.setHeader(SBinBlockType.getBytes(header));
-		changeCurPos(0x4); // Skip header
-		block.setBlockSize(getBytesFromCurPos(sbinData, 0x4));
-		block.setBlockSizeInt(HEXUtils.byteArrayToInt(block.getBlockSize()));
-		changeCurPos(0x8); // Skip size + hash
+		sbinData.changeCurPos(0x4); // Skip header
+		block.setBlockSizeInt(sbinData.getIntFromCurPos());
+		block.setBlockSize(HEXUtils.intToByteArrayLE(block.getBlockSizeInt()));
+		block.setFnv1Hash(sbinData.getSlice(sbinData.getCurPos() + 0x4, 0x4).toByteArray()); // Key of the Struct table cache
+		sbinData.changeCurPos(0x8); // Skip size + hash
 		if (block.getBlockSizeInt() != 0x0) {
-			block.setBlockBytes(getBytesFromCurPos(sbinData, block.getBlockSizeInt()));
-			switch(header) {
-			case OHDR:
-				block.setBlockElements(HEXUtils.splitByteArray(block.getBlockBytes(), 0x4));
-				break;
+			block.setBlockData(sbinData.readSliceFromCurPos(block.getBlockSizeInt()));
+			switch(header) { // OHDR entries are read in place
 			case STRU:
-				block.setBlockElements(HEXUtils.splitByteArray(block.getBlockBytes(), 0x6));
+				block.setBlockElements(block.getBlockData().split(0x6));
 				break;
 			case ENUM: case FIEL: case CHDR: case BULK:
-				block.setBlockElements(HEXUtils.splitByteArray(block.getBlockBytes(), 0x8));
+				block.setBlockElements(block.getBlockData().split(0x8));
 				break;
 			default: break;
 			}
-			changeCurPos(block.getBlockSizeInt()); 
 		}
 
-		byte[] fielHeaderCheck = getBytesFromCurPos(sbinData, 0x4);
-		while (nextHeader != null && !Arrays.equals(fielHeaderCheck, SBinBlockType.getBytes(nextHeader))) {
-			changeCurPos(0x1); // Happens in some files and usually on STRU block, with additional empty 0x2 over the block size
+		while (nextHeader != null && !sbinData.isHeaderOnCurPos(SBinBlockType.getBytes(nextHeader))) {
+			if (sbinData.getCurPos() >= sbinData.size()) {
+				throw new IllegalArgumentException("!!! SBin block " + nextHeader + " cannot be found after " + header + ".");
+			}
+			sbinData.changeCurPos(0x1); // Happens in some files and usually on STRU block, with additional empty 0x2 over the block size
 			block.setBlockEmptyBytesCount(block.getBlockEmptyBytesCount() + 1);
-			fielHeaderCheck = getBytesFromCurPos(sbinData, 0x4);
 		}
 		
+		endStage(Stage.PROCESS_SBIN_BLOCK);
 		return block;
 	}
 
@@ -254,7 +538,7 @@ public class SBin {
 			break;
 		case CDAT:
 			createCDATBlock(block);
-			if (!SBJson.get().getSBinType().equals(SBinType.TEXTURE)) {
+			if (!ctx.getSBinJson().getSBinType().equals(SBinType.TEXTURE)) {
 				block.setLastBlock(true);
 			}
 			break;
@@ -273,68 +557,77 @@ public class SBin {
 	
 	private byte[] createENUMBlockBytes() throws IOException {
 		ByteArrayOutputStream enumHexStream = new ByteArrayOutputStream();
-		if (SBJson.get().getENUMHexStr() != null) {
-			enumHexStream.write(HEXUtils.decodeHexStr(SBJson.get().getENUMHexStr()));
+		ByteSlice enumHex = getHexOrBlob(ctx.getSBinJson().getENUMHexStr(), ctx.getSBinJson().getENUMHexBlob());
+		if (enumHex != null) {
+			enumHex.writeTo(enumHexStream);
 		}
-		else for (SBinEnum enumEntry : SBJson.get().getEnums()) {
-			enumHexStream.write(DataUtils.processStringInCDAT(enumEntry.getName()));
+		else for (SBinEnum enumEntry : ctx.getSBinJson().getEnums()) {
+			enumHexStream.write(DataUtils.processStringInCDAT(ctx, enumEntry.getName()));
 			enumHexStream.write(SHORTBYTE_EMPTY);
 			enumHexStream.write(HEXUtils.decodeHexStr(enumEntry.getDataIdMapRef()));
 			enumHexStream.write(SHORTBYTE_EMPTY);
 		} 
 		return enumHexStream.toByteArray();
 	}
+	
+	// Block or element bytes as HEX string from Json, or from the .blob file. Null if there is none of both
+	private ByteSlice getHexOrBlob(String hexStr, SBinBlobRef blobRef) {
+		if (blobRef != null) {
+			return SBinBlobFile.getSlice(ctx.getBlobData(), blobRef);
+		}
+		return hexStr != null ? ByteSlice.wrap(HEXUtils.decodeHexStr(hexStr)) : null;
+	}
 
-	private byte[] buildSBinBlock(SBinBlockObj block) throws IOException {
-		ByteArrayOutputStream enumStream = new ByteArrayOutputStream();
-		enumStream.write(block.getHeader());
-		enumStream.write(block.getBlockSize());
-		enumStream.write(block.getFnv1Hash());
-		enumStream.write(block.getBlockBytes());
-		int remainder = enumStream.size() % 4;
-		if ( (!block.isLastBlock() || SBJson.get().getSBinType().equals(SBinType.SAVES))
+	// Header, size & hash goes into a small separate buffer, block contents are taken as they are
+	private void addSBinBlockBuffers(List<ByteBuffer> fileBuffers, SBinBlockObj block) {
+		ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+		blockHeader.put(block.getHeader());
+		blockHeader.put(block.getBlockSize());
+		blockHeader.put(block.getFnv1Hash());
+		blockHeader.flip();
+		fileBuffers.add(blockHeader);
+		fileBuffers.add(block.getBlockData().asByteBuffer());
+		
+		int remainder = (BLOCK_HEADER_SIZE + block.getBlockData().length()) % 4;
+		if ( (!block.isLastBlock() || ctx.getSBinJson().getSBinType().equals(SBinType.SAVES))
 				&& remainder != 0) {
-			enumStream.write(new byte[4 - remainder]);
+			fileBuffers.add(ByteBuffer.wrap(new byte[4 - remainder]));
 		}
-		return enumStream.toByteArray();
 	}
 	
-	private void createBULKBARGBlocks(ByteArrayOutputStream additionalBlocksStream) throws IOException {
+	private void createBULKBARGBlocks(List<ByteBuffer> fileBuffers) throws IOException {
 		SBinBlockObj bargBlock = new SBinBlockObj();
 		bargBlock.setHeader(SBinBlockType.getBytes(SBinBlockType.BARG));
-		TextureUtils.repackImage(bargBlock);
+		TextureUtils.repackImage(ctx, bargBlock);
 		setSBinBlockAttributes(bargBlock);
 		bargBlock.setLastBlock(true);
-		byte[] finalBARG = buildSBinBlock(bargBlock);
 		
 		SBinBlockObj bulkBlock = new SBinBlockObj();
 		bulkBlock.setHeader(SBinBlockType.getBytes(SBinBlockType.BULK));
 		bulkBlock.setBlockBytes(bargBlock.getBULKMap());
 		setSBinBlockAttributes(bulkBlock);
-		byte[] finalBULK = buildSBinBlock(bulkBlock);
 		
-		additionalBlocksStream.write(finalBULK);
-		additionalBlocksStream.write(finalBARG);
+		addSBinBlockBuffers(fileBuffers, bulkBlock);
+		addSBinBlockBuffers(fileBuffers, bargBlock);
 	}
 	
 	private void setSBinBlockAttributes(SBinBlockObj block) {
-		block.setFnv1Hash(HEXUtils.intToByteArrayLE(FNV1.hash32(block.getBlockBytes()))); 
-		if (block.getBlockBytes().length != 0) {
-			block.setBlockSize(HEXUtils.intToByteArrayLE(block.getBlockBytes().length));
+		block.setFnv1Hash(HEXUtils.intToByteArrayLE(FNV1.hash32(block.getBlockData().asByteBuffer()))); 
+		if (block.getBlockData().length() != 0) {
+			block.setBlockSize(HEXUtils.intToByteArrayLE(block.getBlockData().length()));
 		}
 	}
 	
 	// Some DATA entries ends with short "00 00" instead of 4 bytes
-	private List<byte[]> readDATABlockObjectMap(byte[] map, int entrySize) {
-		List<byte[]> entries = new ArrayList<>();
-		int entriesCount = HEXUtils.byteArrayToInt(Arrays.copyOfRange(
-				map, SBinMapUtils.HEADERENTRY_SIZE, SBinMapUtils.HEADERFULL_SIZE));
+	private List<ByteSlice> readDATABlockObjectMap(ByteSlice map, int entrySize) {
+		List<ByteSlice> entries = new ArrayList<>();
+		int entriesCount = map.slice(SBinMapUtils.HEADERENTRY_SIZE, SBinMapUtils.HEADERFULL_SIZE).getInt(0);
 		if (entriesCount != 0) {
-			byte[] mapEntries = Arrays.copyOfRange(map, SBinMapUtils.HEADERFULL_SIZE, map.length);
+			ByteSlice mapEntries = map.slice(SBinMapUtils.HEADERFULL_SIZE, map.length());
 			
 			for (int i = 0; i < entriesCount; i++) {
 				int offset = entrySize * i;
-				entries.add(Arrays.copyOfRange(mapEntries, offset, entrySize + offset));
+				entries.add(mapEntries.slice(offset, entrySize + offset));
 			}
 		}
 		return entries;
@@ -351,25 +644,24 @@ public class SBin {
 	private int getFieldSize(int i, int fieldsCount, int startOffset, SBinBlockObj fielBlock, int firstFieldId) {
 		int nextFieldStartOffset = startOffset;
 		if (i + 1 < fieldsCount) {
-			nextFieldStartOffset = HEXUtils.twoLEByteArrayToInt(
-					Arrays.copyOfRange(fielBlock.getBlockElements().get(firstFieldId + i + 1), 4, 6));
+			nextFieldStartOffset = fielBlock.getBlockElements().get(firstFieldId + i + 1).getUShort(4);
 		}
 		return nextFieldStartOffset - startOffset;
 	}
 	
-	private void parseDATAFields(byte[] elementHex, int i, SBinDataElement element) throws IOException {
+	private void parseDATAFields(ByteSlice elementHex, int i, SBinDataElement element) throws IOException {
 		switch (element.getGlobalType()) {
 		case MAP:
 			processDataMap(elementHex, element, SBinMapUtils.getMapType(element.getStructName()));
 			break;
 		case STRUCT:
 			List<SBinDataField> fields = new ArrayList<>();
-			SBinStruct struct = DataUtils.getStructByName(element.getStructName());
+			SBinStruct struct = DataUtils.getStructByName(ctx, element.getStructName());
 			for (SBinField field : struct.getFieldsArray()) {
 				SBinDataField dataField = new SBinDataField();
 				dataField.setName(field.getName());
 				dataField.setType(field.getType());
-				getFieldSize(dataField, field, elementHex.length - 0x2);
+				getFieldSize(dataField, field, elementHex.length() - 0x2);
 				if (field.getFieldTypeEnum() != null &&
 						field.getFieldTypeEnum().equals(SBinFieldType.ENUM_ID_INT32)) {
 					dataField.setEnumJsonPreview(field.getEnumJsonPreview());
@@ -401,10 +693,10 @@ public class SBin {
 	}
 	
 	private void readSubStructs(SBinDataField dataField, 
-			SBinField field, byte[] elementHex, SBinDataElement element, int subStructOffset, int rootStructSize) {
+			SBinField field, ByteSlice elementHex, SBinDataElement element, int subStructOffset, int rootStructSize) {
 		List<SBinDataField> subFields = new ArrayList<>();
 		dataField.setSubStruct(field.getSubStruct());
-		SBinStruct struct = DataUtils.getStructByName(field.getSubStruct());
+		SBinStruct struct = DataUtils.getStructByName(ctx, field.getSubStruct());
 		
 		for (SBinField subField : struct.getFieldsArray()) {
 			SBinDataField subDataField = new SBinDataField();
@@ -427,8 +719,18 @@ public class SBin {
 		dataField.setSubFields(subFields);
 	}
 	
-	private void fillElementHexValue(SBinDataElement element, byte[] elementHex) {
-		element.setHexValue(HEXUtils.hexToString(elementHex));
+	private void fillElementHexValue(SBinDataElement element, ByteSlice elementHex) throws IOException {
+		element.setHexValue(toHexOrBlob(elementHex, element::setHexValueBlob));
+	}
+	
+	// HEX string for Json, unless the value goes to the .blob file: then only its reference is set
+	private String toHexOrBlob(ByteSlice data, Consumer<SBinBlobRef> blobRefSetter) throws IOException {
+		SBinBlobRef blobRef = ctx.getBlobFile() != null ? ctx.getBlobFile().write(data) : null;
+		if (blobRef == null) {
+			return data.toHexString();
+		}
+		blobRefSetter.accept(blobRef);
+		return null;
 	}
 	
 	// Element must be equal or longer than the sum of known Struct field sizes
@@ -444,7 +746,7 @@ public class SBin {
 	}
 	
 	private void processDataFieldValue(SBinField field, SBinField parentField, int subStructOffset,
-			SBinDataField dataField, byte[] elementHex, SBinDataElement element) {
+			SBinDataField dataField, ByteSlice elementHex, SBinDataElement element) {
 		// First two bytes is taken by Struct ID, start byte goes after
 		int startOffset = field.getStartOffset() + 2;
 		if (parentField != null) {
@@ -452,8 +754,8 @@ public class SBin {
 		}
 
 		try { // Some files can be just too complex and/or different. Should not happen though
-			byte[] valueHex = Arrays.copyOfRange(elementHex, startOffset, startOffset + dataField.getFieldSize());
-			dataField.setValue(SBinEnumUtils.formatFieldValueUnpack(field, dataField, valueHex));
+			ByteSlice valueHex = elementHex.slice(startOffset, startOffset + dataField.getFieldSize());
+			dataField.setValue(SBinEnumUtils.formatFieldValueUnpack(ctx, field, dataField, valueHex));
 			//
 		} catch (ArrayIndexOutOfBoundsException | IllegalArgumentException ex) {
 			handleUnknownDATAHex(field, dataField.getFieldSize(), dataField, elementHex, element.getOrderHexId());
@@ -461,81 +763,114 @@ public class SBin {
 	}
 	
 	private void handleUnknownDATAHex(SBinField field, int fieldRealSize, 
-			SBinDataField dataField, byte[] elementHex, String hexId) {
+			SBinDataField dataField, ByteSlice elementHex, String hexId) {
 		jl.log(Level.WARNING, "Unsupported DATA object. Output file is not suitable for repack. Info: Hex ID: {0}, field: {1},"
 				+ " type: {2}, startOffset: {3}, fieldRealSize: {4}, dynamicSize: {5}, hex size: {6}, hex: {7}", 
 				new Object[]{ hexId, field.getName(), field.getType(), field.getStartOffset(), 
-						fieldRealSize, field.isDynamicSize(), elementHex.length, HEXUtils.hexToString(elementHex) });
+						fieldRealSize, field.isDynamicSize(), elementHex.length(), elementHex.toHexString() });
 		dataField.setType(null);
 		dataField.setEnumJsonPreview(null);
 		dataField.setForcedHexValue(true);
 		dataField.setValue("!pls fix!");
 	}
 	
+	// Many files shares the same Struct table, so it's read only once per layout on batch runs
+	private void readStructTable(SBinBlockObj enumBlock, SBinBlockObj struBlock, SBinBlockObj fielBlock, 
+			SBinBlockObj chdrBlock, SBinBlockObj cdatBlock) {
+		String cacheKey = SBinStructCache.createKey(enumBlock, struBlock, fielBlock, chdrBlock, cdatBlock);
+		if (SBinStructCache.load(ctx, cacheKey)) {
+			if (enumBlock.getBlockSizeInt() == 0) {
+				ctx.getSBinJson().setENUMMidDATAStringsOrdering(false);
+			}
+			return;
+		}
+		readEnumHeaders(enumBlock);
+		readStructsAndFields(struBlock, fielBlock);
+		SBinStructCache.store(ctx, cacheKey);
+	}
+	
 	private void readEnumHeaders(SBinBlockObj enumBlock) {
 		if (enumBlock.getBlockSizeInt() == 0) {
-			SBJson.get().setENUMMidDATAStringsOrdering(false);
+			ctx.getSBinJson().setENUMMidDATAStringsOrdering(false);
 			return;
 		}
 		
 		int i = 0;
-		for (byte[] enumBytes : enumBlock.getBlockElements()) {
+		for (ByteSlice enumBytes : enumBlock.getBlockElements()) {
 			SBinEnum enumObj = new SBinEnum();
 			enumObj.setId(i);
 			enumObj.setName( // int here but anyway
-					DataUtils.getCDATStringByShortCHDRId(enumBytes, 0, 2));
-			byte[] dataIdMapRef = Arrays.copyOfRange(enumBytes, 4, 6);
-			enumObj.setDataIdMapRef(HEXUtils.hexToString(dataIdMapRef));
-			SBJson.get().addEnum(enumObj);
+					DataUtils.getCDATStringByShortCHDRId(ctx, enumBytes, 0, 2));
+			enumObj.setDataIdMapRef(enumBytes.slice(4, 6).toHexString());
+			ctx.getSBinJson().addEnum(enumObj);
 			i++;
 		}
 	}
 	
-	// Not the best way to update values, but it works
-	private void updateEnumRelatedObjects() {
-		if (LaunchParameters.isDATAObjectsUnpackDisabled() 
-				|| SBJson.get().getSBinType().equals(SBinType.SAVES)) {return;}
+	// Enum values are stored as EnumMap objects, usually at the end of DATA block.
+	// These maps are read before everything else, so Enum fields gets their names during the same DATA pass
+	private Map<Integer, List<String>> readEnumMaps(ByteSlice ohdrData, ByteSlice dataBytes) {
+		Map<Integer, List<String>> enumMaps = new HashMap<>();
+		if (ctx.isDATAObjectsUnpackDisabled()) {return enumMaps;}
 		
-		for (SBinDataElement dataElement : SBJson.get().getDataElements()) {
-			if (dataElement.getArrayObjects() != null) {
-				for (SBinDataElement arrayElement : dataElement.getArrayObjects()) {
-					updateEnumValuesOnFields(arrayElement);
-				}
-			} else {
-				updateEnumValuesOnFields(dataElement);
+		int ohdrCount = ohdrData.length() / 0x4;
+		for (SBinEnum enumObj : ctx.getSBinJson().getEnums()) {
+			int mapId = enumObj.getDataIdMapRefId();
+			if (mapId >= ohdrCount || enumMaps.containsKey(mapId)) {continue;}
+			int mapEnd = mapId + 1 < ohdrCount ? ohdrData.getInt((mapId + 1) * 0x4) / 0x8 : dataBytes.length();
+			ByteSlice mapHex = dataBytes.slice(ohdrData.getInt(mapId * 0x4) / 0x8, mapEnd);
+			SBinMapType mapType = SBinMapUtils.getMapType(ctx, mapHex);
+			if (mapType == null || !mapType.isCDATEntries()) {continue;}
+			
+			List<String> enumValues = new ArrayList<>();
+			for (ByteSlice mapValue : readDATABlockObjectMap(mapHex, mapType.getEntrySize())) {
+				enumValues.add(DataUtils.getCDATEntryByEnumCHDRId(ctx, mapValue).getString());
+			}
+			enumMaps.put(mapId, enumValues);
+		}
+		return enumMaps;
+	}
+	
+	private void updateEnumRelatedObjects(SBinDataElement dataElement, Map<Integer, List<String>> enumMaps) {
+		if (dataElement.getArrayObjects() != null) {
+			for (SBinDataElement arrayElement : dataElement.getArrayObjects()) {
+				updateEnumValuesOnFields(arrayElement, enumMaps);
 			}
- 		}
+		} else {
+			updateEnumValuesOnFields(dataElement, enumMaps);
+		}
 	}
 	
-	private void updateEnumValuesOnFields(SBinDataElement dataElement) {
+	private void updateEnumValuesOnFields(SBinDataElement dataElement, Map<Integer, List<String>> enumMaps) {
 		if (dataElement.getFields() == null) {return;}
 		for (SBinDataField dataField : dataElement.getFields()) {
 			if (dataField.getEnumJsonPreview() != null) {
-				getEnumElementName(dataField);
+				getEnumElementName(dataField, enumMaps);
 			}
 		}
 	}
 	
 	private Long getTempEnumDataIdValue(SBinField field) {
-		return Long.valueOf(HEXUtils.twoLEByteArrayToInt(
-				HEXUtils.decodeHexStr(SBJson.get().getEnums().get(
-						field.getSpecOrderId()).getDataIdMapRef())));
+		return Long.valueOf(ctx.getSBinJson().getEnums().get(field.getSpecOrderId()).getDataIdMapRefId());
 	}
 	
-	private void getEnumElementName(SBinDataField dataField) {
+	private void getEnumElementName(SBinDataField dataField, Map<Integer, List<String>> enumMaps) {
 		int enumElementId = Integer.parseInt(dataField.getValue());
-		dataField.setValue(SBJson.get().getDataElements().get(
-				dataField.getEnumDataMapIdJsonPreview().intValue()).getMapElements().get(enumElementId));
+		List<String> enumValues = enumMaps.get(dataField.getEnumDataMapIdJsonPreview().intValue());
+		if (enumValues == null) {
+			throw new NullPointerException("!!! Enum values map cannot be found on DATA element " 
+					+ dataField.getEnumDataMapIdJsonPreview() + ".");
+		}
+		dataField.setValue(enumValues.get(enumElementId));
 		dataField.setEnumDataMapIdJsonPreview(null);
 	}
 	
 	
 	
 	private SBinStruct getStructObject(String structName) {
-		for (SBinStruct struct : SBJson.get().getStructs()) {
-			if (struct.getName().contentEquals(structName)) {
-				return struct;
-			}
+		SBinStruct struct = ctx.getSBinJson().getStructByName(structName);
+		if (struct != null) {
+			return struct;
 		}
 		throw new NullPointerException("!!! One of DATA elements contains wrong referenced Struct (" + structName + ").");
 	}
@@ -550,13 +885,13 @@ public class SBin {
 		int firstReadableField = 0;
 		boolean allFieldsIsReadable = false;
 		int id = 0;
-		for (byte[] structBytes : struBlock.getBlockElements()) {
+		for (ByteSlice structBytes : struBlock.getBlockElements()) {
 			SBinStruct struct = new SBinStruct();
 			struct.setId(id);
-			struct.setName(DataUtils.getCDATStringByShortCHDRId(structBytes, 0, 2));
+			struct.setName(DataUtils.getCDATStringByShortCHDRId(ctx, structBytes, 0, 2));
 			
-			int firstFieldId = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(structBytes, 2, 4));
-			int countToNextStruct = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(structBytes, 4, 6));
+			int firstFieldId = structBytes.getUShort(2);
+			int countToNextStruct = structBytes.getUShort(4);
 			struct.setSize(countToNextStruct); // Re-use of the same Fields happens to de different on various files
 			if (countToNextStruct == 0) {
 				countToNextStruct = 1;
@@ -574,15 +909,15 @@ public class SBin {
 				struct.addToFields(readField(fielBlock, i, firstFieldId, countToNextStruct));
 			}
 			struct.getFieldsArray().get(struct.getFieldsArray().size() - 1).setDynamicSize(true);
-			SBJson.get().addStruct(struct);
+			ctx.getSBinJson().addStruct(struct);
 			id++;
 		}
 		// Do it after the initial iteration, since any other sub-struct could be mentioned
-		for (SBinStruct struct : SBJson.get().getStructs()) {
+		for (SBinStruct struct : ctx.getSBinJson().getStructs()) {
 			for (SBinField field : struct.getFieldsArray()) {
 				if (field.getFieldTypeEnum() != null && 
 						field.getFieldTypeEnum().equals(SBinFieldType.SUB_STRUCT)) {
-					field.setSubStruct(SBJson.get().getStructs().get(field.getSpecOrderId()).getName());
+					field.setSubStruct(ctx.getSBinJson().getStructs().get(field.getSpecOrderId()).getName());
 				}
 			}
 		}
@@ -590,19 +925,19 @@ public class SBin {
  	}
 	
 	private SBinField readField(SBinBlockObj fielBlock, int i, int firstFieldId, int fieldsCount) {
-		byte[] fieldHex = fielBlock.getBlockElements().get(firstFieldId + i);
+		ByteSlice fieldHex = fielBlock.getBlockElements().get(firstFieldId + i);
 		SBinField fieldObj = new SBinField();
 		
-		int nameCHDRId = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(fieldHex, 0, 2));
-		fieldObj.setName(SBJson.get().getCDATStrings().get(nameCHDRId).getString());
-		fieldObj.setStartOffset(HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(fieldHex, 4, 6)));
+		int nameCHDRId = fieldHex.getUShort(0);
+		fieldObj.setName(ctx.getSBinJson().getCDATStrings().get(nameCHDRId).getString());
+		fieldObj.setStartOffset(fieldHex.getUShort(4));
 		if (nameCHDRId == 0) {
-			fieldObj.setHexValue(HEXUtils.hexToString(fielBlock.getBlockElements().get(i)));
+			fieldObj.setHexValue(fielBlock.getBlockElements().get(i).toHexString());
 		}
 		
 		// this order ID could be used for Enum IDs, and in Maps as Struct Array Id
-		fieldObj.setSpecOrderId(HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(fieldHex, 6, 8)));
-		int type = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(fieldHex, 2, 4));
+		fieldObj.setSpecOrderId(fieldHex.getUShort(6));
+		int type = fieldHex.getUShort(2);
 		
 		fieldObj.setFieldTypeEnum(SBinFieldType.valueOf(type));
 		String fieldEnumStr;
@@ -617,7 +952,7 @@ public class SBin {
 		
 		if (fieldObj.getFieldTypeEnum() != null 
 				&& fieldObj.getFieldTypeEnum().equals(SBinFieldType.ENUM_ID_INT32)) {
-			fieldObj.setEnumJsonPreview(SBJson.get().getEnums().get(fieldObj.getSpecOrderId()).getName());
+			fieldObj.setEnumJsonPreview(ctx.getSBinJson().getEnums().get(fieldObj.getSpecOrderId()).getName());
 		}
 		return fieldObj;
 	}
@@ -626,7 +961,7 @@ public class SBin {
 		if (firstReadableField != 0) {
 			for (int i = 0; i < firstReadableField; i++) {
 				SBinField emptyField = readField(fielBlock, i, 0, 0);
-				SBJson.get().addEmptyField(emptyField);
+				ctx.getSBinJson().addEmptyField(emptyField);
 				
 				// Does the Id 0x10 of DATA object contains Struct, or this is a Struct Array?
 				if (emptyField.getFieldTypeEnum().equals(SBinFieldType.SUB_STRUCT)) {
@@ -636,53 +971,202 @@ public class SBin {
 		}
 	}
 	
-	private void parseDATABlock(SBinBlockObj ohdrBlock, SBinBlockObj dataBlock) throws IOException {
-		if (SBJson.get().getSBinType().equals(SBinType.SAVES)) {
-			SBJson.get().setOHDRHexStr(HEXUtils.hexToString(ohdrBlock.getBlockBytes()).toUpperCase());
-			SBJson.get().setDATAHexStr(HEXUtils.hexToString(dataBlock.getBlockBytes()).toUpperCase());
+	// Stage measurement for the benchmark, nothing is done without profiler
+	private void beginStage(Stage stage) {
+		if (ctx.getProfiler() != null) {
+			ctx.getProfiler().begin(stage);
+		}
+	}
+	private void endStage(Stage stage) {
+		if (ctx.getProfiler() != null) {
+			ctx.getProfiler().end(stage);
+		}
+	}
+	
+	// Save Files are not split into DATA elements. Same for HEX-only DATA going to the .blob file:
+	// elements are not editable there anyway, so OHDR & DATA are kept as two large values instead.
+	// Textures always needs their elements, image is extracted from them
+	private boolean isDATAKeptAsBlock() {
+		SBinType sbinType = ctx.getSBinJson().getSBinType();
+		return sbinType.equals(SBinType.SAVES) || (sbinType != SBinType.TEXTURE 
+				&& ctx.isDATAObjectsUnpackDisabled() && ctx.getBlobFile() != null);
+	}
+	
+	// With Json stream, each element goes to the file right after it's parsed and then dropped
+	private void parseDATABlock(SBinBlockObj ohdrBlock, SBinBlockObj dataBlock, SBJsonStreamWriter jsonStream) throws IOException {
+		if (isDATAKeptAsBlock()) {
+			SBinJson sbinJson = ctx.getSBinJson();
+			sbinJson.setCDATAllStringsFromDATA(false);
+			sbinJson.setOHDRHexStr(toHexOrBlob(ohdrBlock.getBlockData(), sbinJson::setOHDRHexBlob));
+			sbinJson.setDATAHexStr(toHexOrBlob(dataBlock.getBlockData(), sbinJson::setDATAHexBlob));
 			return;
 		}
 		
-		ohdrBlock.getBlockElements().remove(0); // First one is always 0x1
-		ohdrBlock.getBlockElements().add(HEXUtils.intToByteArrayLE(dataBlock.getBlockBytes().length * 0x8)); 
-		// Create a fake last one, same as DATA size
+		ByteSlice ohdrData = ohdrBlock.getBlockData();
+		ByteSlice dataBytes = dataBlock.getBlockData();
+		int ohdrCount = ohdrData.length() / 0x4; // First one is always 0x1, skipped
 		List<SBinDataElement> sbinDataElements = new ArrayList<>();
-		List<byte[]> blockElements = new ArrayList<>();
-		if (ohdrBlock.getBlockElements().size() > 0xFFFF) {
-			SBJson.get().setDataLongElementIds(true);
+		if (ohdrCount > 0xFFFF) {
+			ctx.getSBinJson().setDataLongElementIds(true);
+		}
+		Map<Integer, List<String>> enumMaps = readEnumMaps(ohdrData, dataBytes);
+		if (jsonStream != null) {
+			jsonStream.writeMainFields(ctx.getSBinJson());
+		}
+		if (ctx.getRepackCachePath() != null) { // Encoder takes them before the elements are decoded
+			ctx.setReferencedElements(readReferencedElements(ohdrData, dataBytes, enumMaps));
+			repackCache = SBinRepackCache.open(ctx);
 		}
 		
-		int ohdrPrevValue = 0;
-		int i = 0;
-		for (byte[] ohdrPos : ohdrBlock.getBlockElements()) {
-			SBinDataElement element = new SBinDataElement();
-			int elementOHDR = HEXUtils.byteArrayToInt(ohdrPos);
-			int elementEnd = elementOHDR / 0x8; // Or (next elementOHDR - elementOHDR >> 3)
-			
-			element.setOrderHexId(HEXUtils.setDataEntryHexId(i, SBJson.get().isDataLongElementIds()));
-			byte[] elementHex = Arrays.copyOfRange(dataBlock.getBlockBytes(), ohdrPrevValue, elementEnd);
-			int remainder = elementOHDR % 0x8;
-			element.setOHDRPadRemainder(remainder);
-			
-			detectElementStruct(elementHex, i, element);
-			if (element.getGlobalType().equals(SBinDataGlobalType.UNKNOWN)) {
-				fillElementHexValue(element, elementHex);
-				SBJson.get().setCDATAllStringsFromDATA(false);
-			} else if (!element.getGlobalType().equals(SBinDataGlobalType.HC_STRUCT)) {
-				parseDATAFields(getCleanElementHex(ohdrPrevValue, elementEnd, element, 
-						remainder, elementHex, dataBlock), i, element);
+		if (!isDATAParallelDecode(ohdrCount)) {
+			for (int i = 0; i < ohdrCount; i++) {
+				// Referenced elements are not decoded again, .blob output must get each element once
+				SBinDataElement element = ctx.getReferencedElements() != null ? ctx.getReferencedElements().get(i) : null;
+				addDATAElement(element != null ? element : decodeDATAElement(i, ohdrData, dataBytes, enumMaps), 
+						sbinDataElements, jsonStream);
 			}
-			ohdrPrevValue = elementEnd;
+		} else {
+			ctx.getSBinJson().prepareLookupIndexes(); // Workers must not build them at the same time
+			for (int windowStart = 0; windowStart < ohdrCount; windowStart += DATA_PARALLEL_WINDOW) {
+				SBinDataElement[] elements = new SBinDataElement[Math.min(DATA_PARALLEL_WINDOW, ohdrCount - windowStart)];
+				try {
+					ForkJoinPool.commonPool().invoke(new DATADecodeTask(elements, windowStart, 0, elements.length, 
+							ohdrData, dataBytes, enumMaps));
+				} catch (UncheckedIOException ex) {
+					throw ex.getCause();
+				}
+				for (SBinDataElement element : elements) {
+					addDATAElement(element, sbinDataElements, jsonStream);
+				}
+			}
+		}
+		ctx.getSBinJson().setDataElements(sbinDataElements);
+		ctx.setReferencedElements(null);
+	}
+	
+	// Enum maps, plus the first element which is taken for the unknown Enums: same ones as the streamed repack keeps
+	private Map<Integer, SBinDataElement> readReferencedElements(ByteSlice ohdrData, ByteSlice dataBytes, 
+			Map<Integer, List<String>> enumMaps) throws IOException {
+		int ohdrCount = ohdrData.length() / 0x4;
+		List<Integer> referencedIds = new ArrayList<>();
+		referencedIds.add(0x0);
+		for (SBinEnum enumObj : ctx.getSBinJson().getEnums()) {
+			referencedIds.add(enumObj.getDataIdMapRefId());
+		}
+		Map<Integer, SBinDataElement> referencedElements = new HashMap<>();
+		for (int id : referencedIds) {
+			if (id < ohdrCount && !referencedElements.containsKey(id)) {
+				referencedElements.put(id, decodeDATAElement(id, ohdrData, dataBytes, enumMaps));
+			}
+		}
+		return referencedElements;
+	}
+	
+	// Each element is decoded only from its own OHDR range, already read STRU, FIEL, ENUM & CDAT.
+	// .blob offsets depends on the order of writes, so that output is always decoded on one thread
+	private boolean isDATAParallelDecode(int ohdrCount) {
+		return ohdrCount >= DATA_PARALLEL_MIN_ELEMENTS && ctx.getBlobFile() == null 
+				&& ForkJoinPool.getCommonPoolParallelism() > 1;
+	}
+	
+	private void addDATAElement(SBinDataElement element, List<SBinDataElement> sbinDataElements, 
+			SBJsonStreamWriter jsonStream) throws IOException {
+		if (jsonStream != null) {
+			jsonStream.writeDataElement(element);
+		} else {
 			sbinDataElements.add(element);
-			blockElements.add(elementHex); // For internal use
-			i++;
 		}
-		SBJson.get().setDataElements(sbinDataElements);
-		dataBlock.setBlockElements(blockElements);
+		if (repackCache != null) {
+			recordDATAEntry(element);
+		}
 	}
 	
-	private byte[] getCleanElementHex(int ohdrPrevValue, int elementEnd, SBinDataElement element, 
-			int remainder, byte[] elementHex, SBinBlockObj dataBlock) {
+	// Same bytes & CHDR Id offsets as processCachedDATAEntry records on repack. All CDAT strings of the file are known here,
+	// so nothing is added to CDAT: CHDR Ids of the cached bytes are replaced anyway, when the element is taken on repack
+	private void recordDATAEntry(SBinDataElement element) throws IOException {
+		long hash = SBinRepackCache.getContentHash(element);
+		if (hash == SBinRepackCache.NO_HASH) {return;}
+		LEWriter dataWriter = new LEWriter(DATA_ELEMENT_SIZE_ESTIMATE);
+		dataWriter.enableMarks();
+		ctx.setCDATFrozen(true);
+		try {
+			processDATAEntry(element, dataWriter);
+		} finally {
+			ctx.setCDATFrozen(false);
+		}
+		repackCache.record(hash, dataWriter.toSlice(), dataWriter.getMarks(0, 0));
+	}
+	
+	// SBJson flags are only cleared by the elements, so the workers could do it in any order.
+	// Elements are decoded only from their own OHDR range, so SBinFile takes them in any order too
+	SBinDataElement decodeDATAElement(int i, ByteSlice ohdrData, ByteSlice dataBytes, 
+			Map<Integer, List<String>> enumMaps) throws IOException {
+		SBinDataElement element = new SBinDataElement();
+		int ohdrPrevValue = i != 0 ? ohdrData.getInt(i * 0x4) / 0x8 : 0; // First one is always 0x1
+		// Last one is not stored, same as DATA size
+		int elementOHDR = i + 1 < ohdrData.length() / 0x4 ? ohdrData.getInt((i + 1) * 0x4) : dataBytes.length() * 0x8;
+		int elementEnd = elementOHDR / 0x8; // Or (next elementOHDR - elementOHDR >> 3)
+		
+		element.setOrderHexId(HEXUtils.setDataEntryHexId(i, ctx.getSBinJson().isDataLongElementIds()));
+		ByteSlice elementHex = dataBytes.slice(ohdrPrevValue, elementEnd);
+		int remainder = elementOHDR % 0x8;
+		element.setOHDRPadRemainder(remainder);
+		
+		detectElementStruct(elementHex, i, element);
+		if (element.getGlobalType().equals(SBinDataGlobalType.UNKNOWN)) {
+			fillElementHexValue(element, elementHex);
+			ctx.getSBinJson().setCDATAllStringsFromDATA(false);
+		} else if (!element.getGlobalType().equals(SBinDataGlobalType.HC_STRUCT)) {
+			parseDATAFields(getCleanElementHex(ohdrPrevValue, elementEnd, element, 
+					remainder, elementHex), i, element);
+		}
+		updateEnumRelatedObjects(element, enumMaps);
+		return element;
+	}
+	
+	// Splits the elements range in halves, results are placed by their order. invoke() returns after all of them are done
+	private class DATADecodeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final SBinDataElement[] elements;
+		private final int windowStart;
+		private final int from;
+		private final int to;
+		private final ByteSlice ohdrData;
+		private final ByteSlice dataBytes;
+		private final Map<Integer, List<String>> enumMaps;
+		
+		private DATADecodeTask(SBinDataElement[] elements, int windowStart, int from, int to, 
+				ByteSlice ohdrData, ByteSlice dataBytes, Map<Integer, List<String>> enumMaps) {
+			this.elements = elements;
+			this.windowStart = windowStart;
+			this.from = from;
+			this.to = to;
+			this.ohdrData = ohdrData;
+			this.dataBytes = dataBytes;
+			this.enumMaps = enumMaps;
+		}
+		
+		@Override
+		protected void compute() {
+			if (to - from > DATA_PARALLEL_TASK_SIZE) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new DATADecodeTask(elements, windowStart, from, middle, ohdrData, dataBytes, enumMaps),
+						new DATADecodeTask(elements, windowStart, middle, to, ohdrData, dataBytes, enumMaps));
+				return;
+			}
+			try {
+				for (int i = from; i < to; i++) {
+					elements[i] = decodeDATAElement(windowStart + i, ohdrData, dataBytes, enumMaps);
+				}
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+	}
+	
+	private ByteSlice getCleanElementHex(int ohdrPrevValue, int elementEnd, SBinDataElement element, 
+			int remainder, ByteSlice elementHex) {
 		boolean beginOnBlockStart = ohdrPrevValue % 4 == 0;
 		int partialLastBlockTakenBytes = elementEnd % 4;
 		int paddingSize = 0x0;
@@ -690,20 +1174,20 @@ public class SBin {
 		
 		boolean partialLastBlockQuestion = false;
 		if (element.getGlobalType().equals(SBinDataGlobalType.STRUCT)) {
-			List<SBinField> fields = DataUtils.getStructByName(element.getStructName()).getFieldsArray();
+			List<SBinField> fields = DataUtils.getStructByName(ctx, element.getStructName()).getFieldsArray();
 			int lastFieldStartOffset = fields.get(fields.size() - 1).getStartOffset() + 0x2; // 2 bytes of Struct Id
 			partialLastBlockQuestion = partialLastBlockTakenBytes != 0 
-					&& lastFieldStartOffset == (elementHex.length - partialLastBlockTakenBytes);
+					&& lastFieldStartOffset == (elementHex.length() - partialLastBlockTakenBytes);
 		}
 		else if (element.getGlobalType().equals(SBinDataGlobalType.MAP)) {
 			SBinMapType mapType = SBinMapUtils.getMapType(element.getStructName());
-			int mapElementsCount = HEXUtils.byteArrayToInt(Arrays.copyOfRange(elementHex, 4, 8));
+			int mapElementsCount = elementHex.slice(4, 8).getInt(0);
 			if (!mapType.isStructArray()) {
 				int mapByteSize = SBinMapUtils.HEADERFULL_SIZE + (mapElementsCount * mapType.getEntrySize());
-				paddingSize = elementHex.length - mapByteSize;
+				paddingSize = elementHex.length() - mapByteSize;
 			} 
 			else if (mapElementsCount == 0) { // Empty StructArray always have the same size
-				paddingSize = elementHex.length - SBinMapUtils.HEADERFULL_SIZE;
+				paddingSize = elementHex.length() - SBinMapUtils.HEADERFULL_SIZE;
 			} 
 			doNotCalc = true; // ignore for StructArrays after all
 			// TODO Fails to work well with StructArrays, due to missing sizes of each last element
@@ -720,88 +1204,82 @@ public class SBin {
 		}
 		
 		element.setExtraHexValue(HEXUtils.hexToString(new byte[paddingSize]));
-		return Arrays.copyOfRange(dataBlock.getBlockBytes(), ohdrPrevValue, elementEnd - paddingSize);
+		return elementHex.slice(0, elementEnd - paddingSize - ohdrPrevValue);
 	}
 	
-	private boolean checkIfPaddingZoneContainsSomething(byte[] elementHex, int paddingSize) {
-		for (byte oneByte : Arrays.copyOfRange(elementHex, elementHex.length - paddingSize, elementHex.length)) {
-			if (oneByte != 0x0) {
-				return true;
-			}
-		}
-		return false;
+	private boolean checkIfPaddingZoneContainsSomething(ByteSlice elementHex, int paddingSize) {
+		return !elementHex.isZeroFilled(elementHex.length() - paddingSize, elementHex.length());
 	}
 	
-	private void detectElementStruct(byte[] elementHex, int i, SBinDataElement element) {
-		if (LaunchParameters.isDATAObjectsUnpackDisabled()) {
+	private void detectElementStruct(ByteSlice elementHex, int i, SBinDataElement element) {
+		if (ctx.isDATAObjectsUnpackDisabled()) {
 			return;
 		}
-		int structId = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(elementHex, 0, 2));
+		int structId = elementHex.slice(0, 2).getUShort(0);
 		if (cancelExceptionsForDATAElements(elementHex, i, structId) ||
 				processHCStructs(elementHex, element, structId, i)) {
 			return;
 		}
 		
-		SBinMapType mapType = SBinMapUtils.getMapType(elementHex);
+		SBinMapType mapType = SBinMapUtils.getMapType(ctx, elementHex);
 		if (mapType != null) {
 			element.setStructName(mapType.getTypeName());
 			element.setGlobalType(SBinDataGlobalType.MAP);
 		} 
-		else if (!SBJson.get().getStructs().isEmpty() && SBJson.get().getStructs().size() > structId) {
-			SBinStruct struct = SBJson.get().getStructs().get(structId);
-			if (struct != null && isValidObject(structId, struct, elementHex.length)) {
+		else if (!ctx.getSBinJson().getStructs().isEmpty() && ctx.getSBinJson().getStructs().size() > structId) {
+			SBinStruct struct = ctx.getSBinJson().getStructs().get(structId);
+			if (struct != null && isValidObject(structId, struct, elementHex.length())) {
 				element.setStructName(struct.getName());
 				element.setGlobalType(SBinDataGlobalType.STRUCT); // Struct from SBin file itself
 			}
 		}
 	}
 	
-	private boolean processHCStructs(byte[] elementHex, SBinDataElement element, int structId, int i) {
-		if (SBinHCStructs.isExceptionForHCStructs(elementHex, structId, i)) {
+	private boolean processHCStructs(ByteSlice elementHex, SBinDataElement element, int structId, int i) {
+		if (SBinHCStructs.isExceptionForHCStructs(ctx, elementHex, structId, i)) {
 			return false;
 		}
-		return SBinHCStructs.unpackHCStructs(elementHex, element, structId, i);
+		return SBinHCStructs.unpackHCStructs(ctx, elementHex, element, structId, i);
 	}
 	
-	private void processDataMap(byte[] elementHex, SBinDataElement element, SBinMapType mapType) throws IOException {
+	private void processDataMap(ByteSlice elementHex, SBinDataElement element, SBinMapType mapType) throws IOException {
 		if (!mapType.isStructArray()) {
 			List<String> mapElements = new ArrayList<>();
 			SBinCDATEntry stringObj = null;
-			int entrySize = SBJson.get().isDataLongElementIds() ? 0x4 : 0x2;
+			int entrySize = ctx.getSBinJson().isDataLongElementIds() ? 0x4 : 0x2;
 			
-			for (byte[] mapValue : readDATABlockObjectMap(elementHex, mapType.getEntrySize())) {
+			for (ByteSlice mapValue : readDATABlockObjectMap(elementHex, mapType.getEntrySize())) {
 				if (mapType.isCDATEntries()) { // Enums
-					stringObj = DataUtils.getCDATEntryByEnumCHDRId(mapValue);
+					stringObj = DataUtils.getCDATEntryByEnumCHDRId(ctx, mapValue);
 					mapElements.add(stringObj.getString());
 				} else {
-					mapElements.add(HEXUtils.hexToString(Arrays.copyOf(mapValue, entrySize)));
+					mapElements.add(mapValue.slice(0, entrySize).toHexString());
 				}
 			}
 			element.setMapElements(mapElements);
 			// Enum strings placement can be varied and important, to repack the SBin 1:1 to the original
-			if (mapType.isEnumMap() && stringObj != null && 
-					SBJson.get().getCDATStrings().indexOf(stringObj) == (SBJson.get().getCDATStrings().size() - 1)) {
-				SBJson.get().setENUMMidDATAStringsOrdering(false);
+			List<SBinCDATEntry> cdatStrings = ctx.getSBinJson().getCDATStrings();
+			if (mapType.isEnumMap() && stringObj != null && cdatStrings.get(cdatStrings.size() - 1) == stringObj) {
+				ctx.getSBinJson().setENUMMidDATAStringsOrdering(false);
 			}
 			element.setStructName(mapType.getTypeName());
 		} else { // StructArray
-			byte[] headerHex = Arrays.copyOfRange(elementHex, 2, 4);
-			int structBaseId = HEXUtils.twoLEByteArrayToInt(headerHex);
-			SBinStruct structBase = SBJson.get().getStructs().get(structBaseId);
+			int structBaseId = elementHex.slice(2, 4).getUShort(0);
+			SBinStruct structBase = ctx.getSBinJson().getStructs().get(structBaseId);
 			if (structBase == null) {
 				fillElementHexValue(element, elementHex);
 				element.setGlobalType(SBinDataGlobalType.UNKNOWN);
 				return;
 			}
 			element.setStructBaseName(structBase.getName());
-			int arraySize = HEXUtils.byteArrayToInt(Arrays.copyOfRange(elementHex, 4, 8));
-			int structSize = arraySize != 0 ? (elementHex.length - SBinMapUtils.HEADERFULL_SIZE) / arraySize : 0;
+			int arraySize = elementHex.slice(4, 8).getInt(0);
+			int structSize = arraySize != 0 ? (elementHex.length() - SBinMapUtils.HEADERFULL_SIZE) / arraySize : 0;
 			
 			// Hack to deal with StringPairs, padding issue on other cases
-			if (!SBinMapUtils.structArrayExceptions()) {
+			if (!SBinMapUtils.structArrayExceptions(ctx)) {
 				fillElementHexValue(element, elementHex);
 				element.setGlobalType(SBinDataGlobalType.UNKNOWN);
-				SBJson.get().setCDATAllStringsFromDATA(false);
+				ctx.getSBinJson().setCDATAllStringsFromDATA(false);
 				return;
 			}
 			List<SBinDataElement> arrayObjects = new ArrayList<>();
@@ -809,15 +1287,13 @@ public class SBin {
 				int structHexStart = SBinMapUtils.HEADERFULL_SIZE + (structSize * i);
 				int structHexEnd = structHexStart + structSize;
 				
-				ByteArrayOutputStream hexSplitStream = new ByteArrayOutputStream();
-				hexSplitStream.write(headerHex);
-				hexSplitStream.write(Arrays.copyOfRange(elementHex, structHexStart, structHexEnd));
 				
 				SBinDataElement arrayElement = new SBinDataElement();
 				arrayElement.hideOHDRPadRemainder();
 				arrayElement.setStructName(structBase.getName());
 				arrayElement.setGlobalType(SBinDataGlobalType.STRUCT);
-				parseDATAFields(hexSplitStream.toByteArray(), i, arrayElement);
+				// Struct fields goes after 2 bytes of Struct Id, which are not read here
+				parseDATAFields(elementHex.slice(structHexStart - 0x2, structHexEnd), i, arrayElement);
 				arrayObjects.add(arrayElement);
 			}
 			element.setArrayObjects(arrayObjects);
@@ -825,43 +1301,51 @@ public class SBin {
 	}
 	
 	// Add more here is necessary
-	private boolean cancelExceptionsForDATAElements(byte[] elementHex, int i, int structId) {
-		if (SBJson.get().getSBinType().equals(SBinType.ROADBLOCK_LEVEL) && structId == 0x14) {
+	private boolean cancelExceptionsForDATAElements(ByteSlice elementHex, int i, int structId) {
+		if (ctx.getSBinJson().getSBinType().equals(SBinType.ROADBLOCK_LEVEL) && structId == 0x14) {
 			return true; // Always empty
-		} else if (SBJson.get().getSBinType().equals(SBinType.SKYDOME) && structId == 0x5) {
+		} else if (ctx.getSBinJson().getSBinType().equals(SBinType.SKYDOME) && structId == 0x5) {
 			return true; // Always empty
 		}
 		return false;
 	}
 	
-	private void prepareCDATStrings(List<byte[]> chdrEntries, byte[] cdatBytes) {
+	private void prepareCDATStrings(List<ByteSlice> chdrEntries, ByteSlice cdatData) {
 		List<SBinCDATEntry> cdatStrings = new ArrayList<>();
+		byte[] cdatBytes = cdatData.toByteArray(); // Strings are decoded from one copy of the block
 		int hexId = 0x0;
-		for (byte[] chdrEntry : chdrEntries) {
-			int cdatPos = HEXUtils.byteArrayToInt(Arrays.copyOfRange(chdrEntry, 0, 4));
-			int cdatEntrySize = HEXUtils.byteArrayToInt(Arrays.copyOfRange(chdrEntry, 4, 8));
+		for (ByteSlice chdrEntry : chdrEntries) {
+			int cdatPos = chdrEntry.getInt(0);
+			int cdatEntrySize = chdrEntry.getInt(4);
 			
 			SBinCDATEntry cdatEntry = new SBinCDATEntry();
-			cdatEntry.setString(HEXUtils.utf8BytesToString(Arrays.copyOfRange(cdatBytes, cdatPos, cdatPos + cdatEntrySize)));
+			cdatEntry.setString(new String(cdatBytes, cdatPos, cdatEntrySize, StandardCharsets.UTF_8));
 			cdatEntry.setChdrHexId(HEXUtils.setDataEntryHexId(hexId, false));
 			cdatStrings.add(cdatEntry);
 			hexId++;
 		}
-		SBJson.get().setCDATStrings(cdatStrings);
+		ctx.getSBinJson().setCDATStrings(cdatStrings);
 	}
 	
 	private void createCDATBlock(SBinBlockObj block) throws IOException {
 		ByteArrayOutputStream stringsHexStream = new ByteArrayOutputStream();
-		List<byte[]> blockElements = new ArrayList<>();
+		List<byte[]> stringElements = new ArrayList<>();
 		// Some elements could be empty, like the first one. Then data bytes begins with 00 splitter byte
-		HEXUtils.addCDATElementsToByteArraysList(SBJson.get().getCDATStrings(), blockElements);
+		HEXUtils.addCDATElementsToByteArraysList(ctx.getSBinJson().getCDATStrings(), stringElements);
 		
-		block.setBlockElements(blockElements); // Save it for CHDR block
-		for (byte[] element : blockElements) {
-			stringsHexStream.write(element);
+		int[] stringOffsets = new int[stringElements.size()];
+		for (int i = 0; i < stringElements.size(); i++) {
+			stringOffsets[i] = stringsHexStream.size();
+			stringsHexStream.write(stringElements.get(i));
 			stringsHexStream.write(new byte[1]); // Zero byte splitter after each entry. Also file ends with empty zero byte
 		}
 		block.setBlockBytes(stringsHexStream.toByteArray());
+		
+		List<ByteSlice> blockElements = new ArrayList<>();
+		for (int i = 0; i < stringElements.size(); i++) {
+			blockElements.add(block.getBlockData().slice(stringOffsets[i], stringOffsets[i] + stringElements.get(i).length));
+		}
+		block.setBlockElements(blockElements); // Save it for CHDR block
 	}
 	
 	//
@@ -872,25 +1356,28 @@ public class SBin {
 		struBlock.setHeader(SBinBlockType.getBytes(SBinBlockType.STRU));
 		fielBlock.setHeader(SBinBlockType.getBytes(SBinBlockType.FIEL));
 		
-		if (SBJson.get().getSTRUHexStr() != null) {
-			struBlock.setBlockBytes(HEXUtils.decodeHexStr(SBJson.get().getSTRUHexStr()));
-			fielBlock.setBlockBytes(HEXUtils.decodeHexStr(SBJson.get().getFIELHexStr()));
+		ByteSlice struHex = getHexOrBlob(ctx.getSBinJson().getSTRUHexStr(), ctx.getSBinJson().getSTRUHexBlob());
+		if (struHex != null) {
+			struBlock.setBlockData(struHex);
+			fielBlock.setBlockData(getHexOrBlob(ctx.getSBinJson().getFIELHexStr(), ctx.getSBinJson().getFIELHexBlob()));
 		} else {
-			ByteArrayOutputStream struHexStream = new ByteArrayOutputStream();
-			ByteArrayOutputStream fielHexStream = new ByteArrayOutputStream();
+			LEWriter struHexStream = new LEWriter();
+			LEWriter fielHexStream = new LEWriter();
 			int fieldId = 0;
 			// Place "empty" fields first
-			for (SBinField emptyFld : SBJson.get().getEmptyFields()) {
-				fielHexStream.write(HEXUtils.decodeHexStr(emptyFld.getHexValue()));
+			for (SBinField emptyFld : ctx.getSBinJson().getEmptyFields()) {
+				fielHexStream.writeHexStr(emptyFld.getHexValue());
 				fieldId++;
 			}
 			
 			String nextFieldName = "";
-			for (SBinStruct struct : SBJson.get().getStructs()) {
-				struHexStream.write(DataUtils.processStringInCDAT(struct.getName()));
+			List<SBinStruct> structs = ctx.getSBinJson().getStructs();
+			for (int i = 0; i < structs.size(); i++) {
+				SBinStruct struct = structs.get(i);
+				struHexStream.writeBytes(DataUtils.processStringInCDAT(ctx, struct.getName()));
 				boolean isFirstFieldPassed = false;
-				if (SBJson.get().getStructs().indexOf(struct) + 1 < SBJson.get().getStructs().size()) {
-					SBinStruct nextStruct = SBJson.get().getStructs().get(SBJson.get().getStructs().indexOf(struct) + 1);
+				if (i + 1 < structs.size()) {
+					SBinStruct nextStruct = structs.get(i + 1);
 					if (struct.getFieldsArray().size() == 1) {
 						nextFieldName = nextStruct.getFieldsArray().get(0).getName();
 					}
@@ -899,47 +1386,41 @@ public class SBin {
 				int fieldCount = 0;
 				for (SBinField field : struct.getFieldsArray()) {
 					if (!isFirstFieldPassed) {
-						struHexStream.write(HEXUtils.shortToBytes((short)fieldId));
+						struHexStream.writeShort(fieldId);
 						isFirstFieldPassed = true;
 					}
 					if (nextFieldName.contentEquals(field.getName()) && struct.getSize() == 0) {
 						nextFieldName = "";
 						continue;
 					}
-					fielHexStream.write(DataUtils.processStringInCDAT(field.getName()));
-					fielHexStream.write(HEXUtils.shortToBytes(
-							(short)SBinEnumUtils.getIdByStringName(field.getType())));
-					fielHexStream.write(HEXUtils.shortToBytes((short)field.getStartOffset()));
-					fielHexStream.write(HEXUtils.shortToBytes((short)field.getSpecOrderId()));
+					fielHexStream.writeBytes(DataUtils.processStringInCDAT(ctx, field.getName()));
+					fielHexStream.writeShort(SBinEnumUtils.getIdByStringName(field.getType()));
+					fielHexStream.writeShort(field.getStartOffset());
+					fielHexStream.writeShort(field.getSpecOrderId());
 					fieldId++;
 					fieldCount++;
 				}
-				byte[] countToNextStruct = HEXUtils.shortToBytes((short)fieldCount);
-				struHexStream.write(countToNextStruct);
+				struHexStream.writeShort(fieldCount);
 				nextFieldName = "";
 			}
-			struBlock.setBlockBytes(struHexStream.toByteArray());
-			fielBlock.setBlockBytes(fielHexStream.toByteArray());
+			struBlock.setBlockData(struHexStream.toSlice());
+			fielBlock.setBlockData(fielHexStream.toSlice());
 		} 
 		
 		setSBinBlockAttributes(struBlock);
 		setSBinBlockAttributes(fielBlock);
 	}
 	
-	private SBinBlockObj createCHDRBlock(List<byte[]> cdatElements, SBinBlockType header) throws IOException {
+	private SBinBlockObj createCHDRBlock(List<ByteSlice> cdatElements, SBinBlockType header) throws IOException {
 		SBinBlockObj block = new SBinBlockObj();
 		block.setHeader(SBinBlockType.getBytes(header));
 		
-		ByteArrayOutputStream chdrHexStream = new ByteArrayOutputStream();
-		int pos = 0;
-		for (byte[] cdatEntry : cdatElements) {
-			int chdrToCdatPos = pos;
-			int chdrToCdatSize = cdatEntry.length;
-			pos = pos + chdrToCdatSize + 0x1; // Zero byte-splitter
-			chdrHexStream.write(HEXUtils.intToByteArrayLE(chdrToCdatPos));
-			chdrHexStream.write(HEXUtils.intToByteArrayLE(chdrToCdatSize));
-		}
-		block.setBlockBytes(chdrHexStream.toByteArray());
+		LEWriter chdrHexStream = new LEWriter(cdatElements.size() * 0x8);
+		for (ByteSlice cdatEntry : cdatElements) {
+			chdrHexStream.writeInt(cdatEntry.getOffset());
+			chdrHexStream.writeInt(cdatEntry.length());
+		}
+		block.setBlockData(chdrHexStream.toSlice());
 		
 		setSBinBlockAttributes(block);
 		return block;
@@ -949,165 +1430,345 @@ public class SBin {
 		SBinBlockObj block = new SBinBlockObj();
 		block.setHeader(SBinBlockType.getBytes(header));
 		
-		ByteArrayOutputStream ohdrHexStream = new ByteArrayOutputStream();
-		if (SBJson.get().getOHDRHexStr() != null) {
-			block.setBlockBytes(HEXUtils.decodeHexStr(SBJson.get().getOHDRHexStr()));
+		ByteSlice ohdrHex = getHexOrBlob(ctx.getSBinJson().getOHDRHexStr(), ctx.getSBinJson().getOHDRHexBlob());
+		if (ohdrHex != null) {
+			block.setBlockData(ohdrHex);
+		} else if (dataBlock.getOHDRData() != null) {
+			block.setBlockData(dataBlock.getOHDRData()); // Recorded together with DATA elements
 		} else {
-			ohdrHexStream.write(HEXUtils.intToByteArrayLE(0x1)); // First element in OHDR
-			int ohdrByteLength = 0x0;
-			for (int i = 0; i < dataBlock.getOHDRMapTemplate().size() - 1; i++) {
-				SBinOHDREntry entry = dataBlock.getOHDRMapTemplate().get(i);
-				int entryLength = entry.getValue();
-				// Some of OHDR entries have a small remainder in values, related to 4-byte alignment
-				// Adding it as it is works well, usually
-				ohdrByteLength += entryLength;
-				ohdrHexStream.write(HEXUtils.intToByteArrayLE(ohdrByteLength + entry.getRemainder()));
-			} // Ignore last DATA element - last OHDR entry ends on DATA length
-			block.setBlockBytes(ohdrHexStream.toByteArray());
+			block.setBlockBytes(HEXUtils.intToByteArrayLE(0x1)); // DATA is taken from Json as it is
 		}
 		
 		setSBinBlockAttributes(block);
 		return block;
 	}
 	
+	// All DATA elements goes into one buffer, OHDR entries are recorded along the way
 	private void createDATABlockBytes(SBinBlockObj block) throws IOException {
-		ByteArrayOutputStream dataHexStream = new ByteArrayOutputStream();
-		if (SBJson.get().getDATAHexStr() != null) {
-			block.setBlockBytes(HEXUtils.decodeHexStr(SBJson.get().getDATAHexStr()));
+		ByteSlice dataHex = getHexOrBlob(ctx.getSBinJson().getDATAHexStr(), ctx.getSBinJson().getDATAHexBlob());
+		if (dataHex != null) {
+			block.setBlockData(dataHex);
 			return;
 		}
 		
-		int i = 0;
-		for (SBinDataElement dataEntry : SBJson.get().getDataElements()) {
-			processDATAEntry(dataEntry, dataHexStream, block);
-			checkForInsertEnumStrings(i);
-			i++;
+		// Streamed Json gives the elements one by one, so the buffers just grows on the way
+		SBJsonStreamReader jsonReader = ctx.getJsonReader();
+		Iterator<SBinDataElement> dataElements = jsonReader != null ? jsonReader : ctx.getSBinJson().getDataElements().iterator();
+		int dataElementsCount = jsonReader != null ? 0x0 : ctx.getSBinJson().getDataElements().size();
+		LEWriter dataWriter = new LEWriter(dataElementsCount * DATA_ELEMENT_SIZE_ESTIMATE);
+		LEWriter ohdrWriter = new LEWriter((dataElementsCount + 1) * 0x4);
+		ohdrWriter.writeInt(0x1); // First element in OHDR
+		if (repackCache != null) {
+			dataWriter.enableMarks();
+		}
+		if (isDATAParallelEncode(dataElementsCount)) {
+			encodeDATAElementsParallel(dataElements, dataWriter, ohdrWriter);
+		} else {
+			for (int i = 0; dataElements.hasNext(); i++) {
+				SBinDataElement dataEntry = dataElements.next();
+				if (repackCache != null) {
+					processCachedDATAEntry(dataEntry, dataWriter);
+				} else {
+					processDATAEntry(dataEntry, dataWriter);
+				}
+				// Ignore last DATA element - last OHDR entry ends on DATA length.
+				// Some of OHDR entries have a small remainder in values, related to 4-byte alignment
+				// Adding it as it is works well, usually
+				if (dataElements.hasNext()) {
+					ohdrWriter.writeInt(dataWriter.size() * 0x8 + dataEntry.getOHDRPadRemainder());
+				}
+				checkForInsertEnumStrings(i);
+			}
+		}
+		block.setBlockData(dataWriter.toSlice());
+		block.setOHDRData(ohdrWriter.toSlice());
+	}
+	
+	// Unchanged element is taken from the cache with the current CHDR Ids, others are encoded & recorded
+	private void processCachedDATAEntry(SBinDataElement dataEntry, LEWriter dataWriter) throws IOException {
+		long hash = SBinRepackCache.getContentHash(dataEntry);
+		if (repackCache.use(hash)) {
+			LEWriter chdrIds = new LEWriter(0x10);
+			collectDATAEntryStrings(dataEntry, chdrIds);
+			if (repackCache.writeCached(hash, chdrIds.toSlice(), dataWriter)) {return;}
+		}
+		int elementStart = dataWriter.size();
+		int firstMark = dataWriter.getMarksCount();
+		processDATAEntry(dataEntry, dataWriter);
+		repackCache.record(hash, dataWriter.toSlice().slice(elementStart, dataWriter.size()), 
+				dataWriter.getMarks(firstMark, elementStart));
+	}
+	
+	// Streamed Json size is unknown, so it's always split into the windows
+	private boolean isDATAParallelEncode(int dataElementsCount) {
+		return (ctx.getJsonReader() != null || dataElementsCount >= DATA_PARALLEL_MIN_ELEMENTS) 
+				&& ForkJoinPool.getCommonPoolParallelism() > 1;
+	}
+	
+	// CHDR Ids depends on the order of new CDAT strings. So the strings of each window are added first,
+	// in the same order as the sequential encoding gives. Then each range of elements is encoded into its own buffer,
+	// and the buffers are joined by the element order, along with OHDR entries.
+	// With the repack cache, CHDR Ids of the cached elements are taken on the strings pass
+	private void encodeDATAElementsParallel(Iterator<SBinDataElement> dataElements, 
+			LEWriter dataWriter, LEWriter ohdrWriter) throws IOException {
+		ctx.getSBinJson().prepareLookupIndexes(); // Workers must not build them at the same time
+		List<SBinDataElement> window = new ArrayList<>(DATA_PARALLEL_WINDOW);
+		long[] hashes = repackCache != null ? new long[DATA_PARALLEL_WINDOW] : null;
+		ByteSlice[] cachedIds = repackCache != null ? new ByteSlice[DATA_PARALLEL_WINDOW] : null;
+		int windowStart = 0;
+		while (dataElements.hasNext()) {
+			window.clear();
+			while (window.size() < DATA_PARALLEL_WINDOW && dataElements.hasNext()) {
+				SBinDataElement dataEntry = dataElements.next();
+				if (repackCache != null) {
+					collectCachedDATAEntryStrings(dataEntry, hashes, cachedIds, window.size());
+				} else {
+					collectDATAEntryStrings(dataEntry, null);
+				}
+				checkForInsertEnumStrings(windowStart + window.size());
+				window.add(dataEntry);
+			}
+			boolean lastWindow = !dataElements.hasNext();
+			
+			LEWriter[] chunks = new LEWriter[(window.size() + DATA_PARALLEL_TASK_SIZE - 1) / DATA_PARALLEL_TASK_SIZE];
+			int[] elementEnds = new int[window.size()]; // Relative to the chunk start
+			int[][] elementMarks = repackCache != null ? new int[window.size()][] : null; // Set for the encoded elements
+			ctx.setCDATFrozen(true);
+			try {
+				ForkJoinPool.commonPool().invoke(new DATAEncodeTask(window, chunks, elementEnds, 
+						hashes, cachedIds, elementMarks, 0, chunks.length));
+			} catch (UncheckedIOException ex) {
+				throw ex.getCause();
+			} finally {
+				ctx.setCDATFrozen(false);
+			}
+			
+			for (int chunkId = 0; chunkId < chunks.length; chunkId++) {
+				int chunkStart = dataWriter.size();
+				dataWriter.writeSlice(chunks[chunkId].toSlice());
+				int chunkEnd = Math.min(window.size(), (chunkId + 1) * DATA_PARALLEL_TASK_SIZE);
+				for (int i = chunkId * DATA_PARALLEL_TASK_SIZE; i < chunkEnd; i++) {
+					if (!lastWindow || i + 1 < window.size()) { // Same as the sequential OHDR entries
+						ohdrWriter.writeInt((chunkStart + elementEnds[i]) * 0x8 + window.get(i).getOHDRPadRemainder());
+					}
+					if (elementMarks != null && elementMarks[i] != null) {
+						int elementStart = i % DATA_PARALLEL_TASK_SIZE != 0 ? elementEnds[i - 1] : 0;
+						repackCache.record(hashes[i], chunks[chunkId].toSlice().slice(elementStart, elementEnds[i]), elementMarks[i]);
+					}
+				}
+			}
+			windowStart += window.size();
+		}
+	}
+	
+	private void collectCachedDATAEntryStrings(SBinDataElement dataEntry, long[] hashes, ByteSlice[] cachedIds, int i) {
+		hashes[i] = SBinRepackCache.getContentHash(dataEntry);
+		cachedIds[i] = null;
+		if (repackCache.use(hashes[i])) {
+			LEWriter chdrIds = new LEWriter(0x10);
+			collectDATAEntryStrings(dataEntry, chdrIds);
+			cachedIds[i] = chdrIds.toSlice();
+		} else {
+			collectDATAEntryStrings(dataEntry, null);
+		}
+	}
+	
+	// Encodes the range of chunks, each chunk goes to its own buffer
+	private class DATAEncodeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final List<SBinDataElement> window;
+		private final LEWriter[] chunks;
+		private final int[] elementEnds;
+		private final long[] hashes;
+		private final ByteSlice[] cachedIds;
+		private final int[][] elementMarks;
+		private final int from;
+		private final int to;
+		
+		private DATAEncodeTask(List<SBinDataElement> window, LEWriter[] chunks, int[] elementEnds, 
+				long[] hashes, ByteSlice[] cachedIds, int[][] elementMarks, int from, int to) {
+			this.window = window;
+			this.chunks = chunks;
+			this.elementEnds = elementEnds;
+			this.hashes = hashes;
+			this.cachedIds = cachedIds;
+			this.elementMarks = elementMarks;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if (to - from > 1) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new DATAEncodeTask(window, chunks, elementEnds, hashes, cachedIds, elementMarks, from, middle),
+						new DATAEncodeTask(window, chunks, elementEnds, hashes, cachedIds, elementMarks, middle, to));
+				return;
+			}
+			int elementStart = from * DATA_PARALLEL_TASK_SIZE;
+			int elementEnd = Math.min(window.size(), elementStart + DATA_PARALLEL_TASK_SIZE);
+			LEWriter chunkWriter = new LEWriter((elementEnd - elementStart) * DATA_ELEMENT_SIZE_ESTIMATE);
+			if (repackCache != null) {
+				chunkWriter.enableMarks();
+			}
+			try {
+				for (int i = elementStart; i < elementEnd; i++) {
+					if (repackCache == null) {
+						processDATAEntry(window.get(i), chunkWriter);
+					} else if (cachedIds[i] == null || !repackCache.writeCached(hashes[i], cachedIds[i], chunkWriter)) {
+						int firstMark = chunkWriter.getMarksCount();
+						int start = chunkWriter.size();
+						processDATAEntry(window.get(i), chunkWriter);
+						elementMarks[i] = chunkWriter.getMarks(firstMark, start);
+					}
+					elementEnds[i] = chunkWriter.size();
+				}
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			chunks[from] = chunkWriter;
+		}
+	}
+	
+	// Same CDAT strings order as processDATAEntry gives, nothing is written. 
+	// CHDR Ids goes to chdrIds if it's set, in the DATA bytes order
+	private void collectDATAEntryStrings(SBinDataElement dataEntry, LEWriter chdrIds) {
+		switch(dataEntry.getGlobalType()) {
+		case STRUCT:
+			collectFieldStrings(dataEntry.getFields(), chdrIds);
+			break;
+		case HC_STRUCT:
+			SBinHCStructs.collectHCStructStrings(ctx, dataEntry);
+			break;
+		case MAP:
+			SBinMapType mapType = SBinMapUtils.getMapType(dataEntry.getStructName());
+			if (mapType.isStructArray()) {
+				for (SBinDataElement arrayElement : dataEntry.getArrayObjects()) {
+					collectFieldStrings(arrayElement.getFields(), chdrIds);
+				}
+			} else if (mapType.isCDATEntries()) {
+				for (String mapEntry : dataEntry.getMapElements()) {
+					byte[] value = DataUtils.processStringInCDAT(ctx, mapEntry);
+					if (chdrIds != null) {
+						chdrIds.writeBytes(value);
+					}
+				}
+			}
+			break;
+		default: break;
+		}
+	}
+	
+	private void collectFieldStrings(List<SBinDataField> dataFields, LEWriter chdrIds) {
+		for (SBinDataField dataField : dataFields) {
+			if (dataField.getSubStruct() != null) {
+				collectFieldStrings(dataField.getSubFields(), chdrIds);
+			} else if (!dataField.isForcedHexValue()) {
+				SBinEnumUtils.collectValueStrings(ctx, SBinFieldType.valueOf(dataField.getType()), dataField, chdrIds);
+			}
 		}
-//		switch(SBJson.get().getSBinType()) {
-//		
-//		default: break;
-//		}
-		block.setBlockBytes(dataHexStream.toByteArray());
 	}
 	
 	// Enum strings must be placed exactly after 1st DATA entry... Sometimes.
 	private void checkForInsertEnumStrings(int i) {
-		if (!SBJson.get().isENUMMidDATAStringsOrdering() || i != 1) {return;}
-		for (SBinEnum enumObj : SBJson.get().getEnums()) {
-			int enumMapId = HEXUtils.twoLEByteArrayToInt(HEXUtils.decodeHexStr(enumObj.getDataIdMapRef()));
-			SBinDataElement dataCheck = SBJson.get().getDataElements().get(enumMapId);
+		if (!ctx.getSBinJson().isENUMMidDATAStringsOrdering() || i != 1) {return;}
+		for (SBinEnum enumObj : ctx.getSBinJson().getEnums()) {
+			SBinDataElement dataCheck = DataUtils.getDataElementById(ctx, enumObj.getDataIdMapRefId());
 			for (String entry : dataCheck.getMapElements()) {
-				DataUtils.processStringInCDAT(entry);
+				DataUtils.processStringInCDAT(ctx, entry);
 			}
 		}
 	}
 	
-	private void processDATAEntry(SBinDataElement dataEntry,
-			ByteArrayOutputStream dataHexStream, SBinBlockObj block) throws IOException {
-		ByteArrayOutputStream dataElementStream = new ByteArrayOutputStream();
-		
+	private void processDATAEntry(SBinDataElement dataEntry, LEWriter dataWriter) throws IOException {
 		switch(dataEntry.getGlobalType()) {
 		case UNKNOWN:
 			// Unknown object or other stuff represented as HEX array
-			dataElementStream.write(HEXUtils.decodeHexStr(dataEntry.getHexValue()));
+			if (dataEntry.getHexValueBlob() != null) {
+				dataWriter.writeSlice(SBinBlobFile.getSlice(ctx.getBlobData(), dataEntry.getHexValueBlob()));
+			} else {
+				dataWriter.writeHexStr(dataEntry.getHexValue());
+			}
 			break;
 		case STRUCT: // Object from SBin
-			processDATAStruct(dataEntry, dataElementStream, true);
+			processDATAStruct(dataEntry, dataWriter, true);
 			break;
 		case HC_STRUCT: // Hardcoded struct
-			dataElementStream.write(SBinHCStructs.repackHCStructs(dataEntry));
+			dataWriter.writeBytes(SBinHCStructs.repackHCStructs(ctx, dataEntry));
 			break;
 		case MAP:
 			// Map or Enum
-			buildDATAMapEntry(dataEntry, dataElementStream);
+			buildDATAMapEntry(dataEntry, dataWriter);
 			break;
 		}
 		
 		if (dataEntry.getExtraHexValue() != null) {
-			dataElementStream.write(HEXUtils.decodeHexStr(dataEntry.getExtraHexValue()));
+			dataWriter.writeHexStr(dataEntry.getExtraHexValue());
 		}
-		byte[] dataEntryHex = dataElementStream.toByteArray();
-		dataHexStream.write(dataEntryHex);
-		block.addToOHDRMapTemplate(dataEntryHex.length, dataEntry.getOHDRPadRemainder());
 	}
 	
 	private void processDATAStruct(SBinDataElement dataEntry,
-			ByteArrayOutputStream dataStream, boolean writeHeader) throws IOException {
+			LEWriter dataWriter, boolean writeHeader) {
 		SBinStruct struct = getStructObject(dataEntry.getStructName());
 		if (writeHeader) {
-			dataStream.write(HEXUtils.shortToBytes((short)struct.getId()));
+			dataWriter.writeShort(struct.getId());
 		}
 		for (SBinDataField dataField : dataEntry.getFields()) {
 			if (dataField.getSubStruct() != null) {
-				buildSubStructEntry(dataEntry.getOrderHexId(), dataField, dataStream);
+				buildSubStructEntry(dataEntry.getOrderHexId(), dataField, dataWriter);
 			} else {
-				dataStream.write(fieldValueToBytes(dataField, struct));
+				writeFieldValue(dataField, dataWriter);
 			}
 		}
 	}
 	
-	private void buildDATAMapEntry(SBinDataElement dataEntry, ByteArrayOutputStream dataElementStream) throws IOException {
+	private void buildDATAMapEntry(SBinDataElement dataEntry, LEWriter dataWriter) {
 		SBinMapType mapType = SBinMapUtils.getMapType(dataEntry.getStructName());
 		
 		if (!mapType.isStructArray()) {
-			dataElementStream.write(HEXUtils.intToByteArrayLE(mapType.getTypeId()));
-			dataElementStream.write(HEXUtils.intToByteArrayLE(dataEntry.getMapElements().size()));
+			dataWriter.writeInt(mapType.getTypeId());
+			dataWriter.writeInt(dataEntry.getMapElements().size());
 			for (String mapEntry : dataEntry.getMapElements()) {
 				byte[] value = mapType.isCDATEntries() 
-						? DataUtils.processStringInCDAT(mapEntry)
+						? DataUtils.processStringInCDAT(ctx, mapEntry)
 						: HEXUtils.decodeHexStr(mapEntry);
-				dataElementStream.write(value);
-				dataElementStream.write(new byte[mapType.getEntrySize() - value.length]);
+				if (mapType.isCDATEntries()) {
+					dataWriter.mark();
+				}
+				dataWriter.writeBytes(value);
+				dataWriter.writeZeros(mapType.getEntrySize() - value.length);
 			}
 		} else {
-			dataElementStream.write(HEXUtils.shortToBytes((short)mapType.getTypeId()));
+			dataWriter.writeShort(mapType.getTypeId());
 			SBinStruct structBase = getStructObject(dataEntry.getStructBaseName());
-			dataElementStream.write(HEXUtils.shortToBytes((short)structBase.getId()));
-			dataElementStream.write(HEXUtils.intToByteArrayLE(dataEntry.getArrayObjects().size()));
+			dataWriter.writeShort(structBase.getId());
+			dataWriter.writeInt(dataEntry.getArrayObjects().size());
 			for (SBinDataElement arrayElement : dataEntry.getArrayObjects()) {
-				processDATAStruct(arrayElement, dataElementStream, false);
+				processDATAStruct(arrayElement, dataWriter, false);
 			}
 		}
 	}
 	
-	private byte[] fieldValueToBytes(SBinDataField dataField, SBinStruct struct) throws IOException {
+	private void writeFieldValue(SBinDataField dataField, LEWriter dataWriter) {
 		if (dataField.isForcedHexValue()) {
-			return HEXUtils.decodeHexStr(dataField.getValue());
+			dataWriter.writeHexStr(dataField.getValue());
 		} 
 		else { // Non-HEX value here means that we know it's type
-			ByteArrayOutputStream dataFieldStream = new ByteArrayOutputStream();
 			SBinFieldType valueType = SBinFieldType.valueOf(dataField.getType());
-			byte[] convertedValue = SBinEnumUtils.convertValueByType(valueType, dataField, dataField.getFieldSize());
-			dataFieldStream.write(convertedValue);
-			return dataFieldStream.toByteArray();
+			SBinEnumUtils.writeValueByType(ctx, valueType, dataField, dataField.getFieldSize(), dataWriter);
 		}
 	}
 	
-	private void buildSubStructEntry(String hexId, SBinDataField dataField, ByteArrayOutputStream dataElementStream) throws IOException {
-		SBinStruct subStruct = getStructObject(dataField.getSubStruct());
+	private void buildSubStructEntry(String hexId, SBinDataField dataField, LEWriter dataWriter) {
+		getStructObject(dataField.getSubStruct()); // Check for the wrong references
 		for (SBinDataField subField : dataField.getSubFields()) {
 			if (subField.getSubStruct() != null) {
-				buildSubStructEntry(hexId, subField, dataElementStream);
+				buildSubStructEntry(hexId, subField, dataWriter);
 			} else {
-				dataElementStream.write(fieldValueToBytes(subField, subStruct));
+				writeFieldValue(subField, dataWriter);
 			}
 		}
 	}
 	
-	//
-	// Util methods
-	//
-	
-	private static void changeCurPos(int addition) {
-		curPos = curPos + addition;
-	}
-
-	public static void setCurPos(int newPos) {
-		curPos = newPos;
-	}
-	
-	private byte[] getBytesFromCurPos(byte[] data, int to) {
-		return Arrays.copyOfRange(data, curPos, curPos + to);
-	}
-	
 }
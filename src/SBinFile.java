@@ -0,0 +1,137 @@
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.gson.GsonBuilder;
+
+import util.ByteSlice;
+import util.DataClasses.SBinDataElement;
+import util.DataClasses.SBinStruct;
+import util.DataUtils;
+import util.LaunchParameters;
+import util.LogEntity;
+import util.SBinContext;
+import util.SBinMapUtils;
+
+// Random access to the DATA elements of one SBin file. Only the blocks before DATA elements & OHDR offsets are read on open,
+// each element is decoded from its own OHDR range when it's requested. Recently used elements are kept decoded
+public class SBinFile {
+
+	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
+
+	private static final int DECODED_ELEMENTS_LIMIT = 0x100;
+
+	private final SBin sbin;
+	private final SBinContext ctx;
+	private final ByteSlice ohdrData;
+	private final ByteSlice dataBytes;
+	private final Map<Integer, List<String>> enumMaps;
+	private final Map<Integer, SBinDataElement> decodedElements = new LinkedHashMap<Integer, SBinDataElement>(0x10, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, SBinDataElement> eldest) {
+			return size() > DECODED_ELEMENTS_LIMIT;
+		}
+	};
+
+	SBinFile(SBin sbin, SBinContext ctx, ByteSlice ohdrData, ByteSlice dataBytes, Map<Integer, List<String>> enumMaps) {
+		this.sbin = sbin;
+		this.ctx = ctx;
+		this.ohdrData = ohdrData;
+		this.dataBytes = dataBytes;
+		this.enumMaps = enumMaps;
+	}
+
+	public static SBinFile open(String filePath, SBinContext ctx) throws IOException {
+		return new SBin(ctx).openSBinFile(filePath);
+	}
+
+	// Structs, Enums & CDAT strings of the file
+	public SBinContext getContext() {
+		return ctx;
+	}
+
+	public int getElementsCount() {
+		return ohdrData.length() / 0x4;
+	}
+
+	public synchronized SBinDataElement getElement(int id) throws IOException {
+		if (id < 0 || id >= getElementsCount()) {
+			throw new IndexOutOfBoundsException("!!! DATA element " + id + " cannot be found, elements count: " + getElementsCount() + ".");
+		}
+		SBinDataElement element = decodedElements.get(id);
+		if (element == null) {
+			element = sbin.decodeDATAElement(id, ohdrData, dataBytes, enumMaps);
+			decodedElements.put(id, element);
+		}
+		return element;
+	}
+
+	// Struct Id is the first 2 bytes of the element, so only the elements with the same Id are decoded.
+	// Map types (StructArray, etc.) are not in the Struct table, each element is checked for them
+	public List<SBinDataElement> getElementsByStructName(String structName) throws IOException {
+		List<SBinDataElement> elements = new ArrayList<>();
+		SBinStruct struct = DataUtils.getStructByName(ctx, structName);
+		if (struct == null && SBinMapUtils.getMapType(structName) == null) {
+			return elements; // Unknown name, nothing to decode
+		}
+		for (int i = 0; i < getElementsCount(); i++) {
+			int elementStart = i != 0 ? ohdrData.getInt(i * 0x4) / 0x8 : 0;
+			if (struct != null && (elementStart + 0x2 > dataBytes.length() 
+					|| dataBytes.getUShort(elementStart) != struct.getId())) {continue;}
+			SBinDataElement element = getElement(i);
+			if (structName.equals(element.getStructName())) {
+				elements.add(element);
+			}
+		}
+		return elements;
+	}
+
+	// 'get file.sb 12' or 'get file.sb 0x0C' for one element, 'get file.sb StructName' for all elements of the Struct
+	public static void printElements(String[] args) throws IOException {
+		SBinContext ctx = SBin.startup(args);
+		ctx.getSBinJson().setSBinType(LaunchParameters.getSBinTypeByFileName(Paths.get(args[1]).getFileName().toString()));
+		SBinFile sbinFile;
+		try {
+			sbinFile = open(args[1], ctx);
+		} catch (NoSuchFileException noFile) {
+			jl.log(Level.SEVERE, "File cannot be found ({0}), aborted.", args[1]);
+			return;
+		} catch (IOException | IllegalArgumentException ex) { // Unsupported version, DATA kept as one block
+			jl.log(Level.SEVERE, "File cannot be read ({0}), aborted: {1}", new Object[] {args[1], ex.getMessage()});
+			return;
+		}
+		List<SBinDataElement> elements = new ArrayList<>();
+		Integer elementId = parseElementId(args[2]);
+		if (elementId != null && (elementId < 0 || elementId >= sbinFile.getElementsCount())) {
+			jl.log(Level.SEVERE, "DATA element {0} cannot be found, elements count: {1}, aborted.", 
+					new Object[] {args[2], sbinFile.getElementsCount()});
+			return;
+		}
+		if (elementId != null) {
+			elements.add(sbinFile.getElement(elementId));
+		} else {
+			elements.addAll(sbinFile.getElementsByStructName(args[2]));
+		}
+		if (elements.isEmpty()) {
+			jl.log(Level.INFO, "Nothing is found for {0} in {1} DATA elements.", new Object[] {args[2], sbinFile.getElementsCount()});
+			return;
+		}
+		System.out.println(new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create().toJson(elements));
+	}
+
+	private static Integer parseElementId(String value) {
+		try {
+			return Integer.decode(value);
+		} catch (NumberFormatException ex) { // Struct name then
+			return null;
+		}
+	}
+}
@@ -0,0 +1,523 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import util.FNV1;
+import util.LEWriter;
+import util.LaunchParameters;
+import util.LogEntity;
+import util.SBJson;
+import util.SBinBlockType;
+import util.SBinFieldType;
+import util.SBinTextureFormat;
+import util.SBinType;
+
+// Synthetic version-3 SBin files for the benchmarks & stress runs. Blocks are written directly, without the repack
+// functions, in the same layout & strings order as the repacked files: so the file must come back 1:1 after unpack & repack
+public class SBinGenerator {
+
+	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
+
+	private static final String STRUCTS_STR = "-structs";
+	private static final String FIELDS_STR = "-fields";
+	private static final String ELEMENTS_STR = "-elements";
+	private static final String DEPTH_STR = "-depth";
+	private static final String ENUMS_STR = "-enums";
+	private static final String STRUCT_ARRAYS_STR = "-structArrays";
+	private static final String STRINGS_STR = "-strings";
+	private static final String STRING_LENGTH_STR = "-stringLength";
+	private static final String TEXTURE_STR = "-texture";
+	private static final String SEED_STR = "-seed";
+
+	private static final int SBIN_VERSION = 0x3;
+	private static final int STRUCT_ARRAY_EVERY = 0x7; // Each 7th DATA element is a StructArray, if enabled
+	private static final int DATA_REF_RANGE = 200;
+	private static final String TEXTURE_ENUM = "TextureFormat";
+
+	private static class GenField {
+		private String name;
+		private SBinFieldType type;
+		private int startOffset;
+		private int specOrderId; // Enum index or Sub-Struct Id
+		private int size;
+	}
+
+	private static class GenStruct {
+		private String name;
+		private List<GenField> fields = new ArrayList<>();
+		private int size;
+	}
+
+	private int structsCount = 12;
+	private int maxFields = 6;
+	private int elementsCount = 3000;
+	private int depth = 1;
+	private int enumsCount = 2;
+	private boolean structArrays = false;
+	private int stringsCount = 50;
+	private int stringLength = 8;
+	private int textureSize = 0;
+	private long seed = 42;
+
+	private Random rnd;
+	private final Map<String, Integer> cdatStrings = new LinkedHashMap<>();
+	private final List<GenStruct> structs = new ArrayList<>();
+	private final List<String> enumNames = new ArrayList<>();
+	private final List<List<String>> enumValues = new ArrayList<>();
+	private final List<String> stringValues = new ArrayList<>();
+
+	// DATA layout
+	private boolean longIds;
+	private int totalElements;
+	private int enumMapsStart;
+	private int textureStart;
+	private int texturesCount;
+	private int textureStructId;
+	private int structArrayBase = -1;
+
+	// File name decides the SBin type, as usual: textures requires .sba
+	public static void generateFile(String[] args) throws IOException {
+		SBJson.loadHCStructsFileArray();
+		Path filePath = Paths.get(args[1]);
+		SBinGenerator generator = new SBinGenerator();
+		generator.checkParameters(args);
+		boolean isTextureFile = LaunchParameters.getSBinTypeByFileName(filePath.getFileName().toString()) == SBinType.TEXTURE;
+		if ((generator.textureSize != 0) != isTextureFile) {
+			jl.log(Level.SEVERE, "Texture is generated only for .sba files, and .sba files requires {0} parameter.", TEXTURE_STR);
+			return;
+		}
+		Files.write(filePath, generator.generate());
+		jl.log(Level.INFO, "Generated {0}: {1} Structs, {2} DATA elements, {3} Enums, {4} CDAT strings, {5} bytes.", new Object[] {
+				filePath, generator.structs.size(), generator.totalElements, generator.enumNames.size(),
+				generator.cdatStrings.size(), Files.size(filePath)});
+	}
+
+	private void checkParameters(String[] args) {
+		for (int i = 2; i < args.length; i++) {
+			if (args[i].contentEquals(STRUCT_ARRAYS_STR)) {
+				structArrays = true;
+				continue;
+			}
+			if (i + 1 >= args.length) {
+				jl.log(Level.INFO, "Wrong Launch Parameter: {0}, ignored.", args[i]);
+				break;
+			}
+			switch(args[i]) {
+			case STRUCTS_STR:
+				structsCount = Math.max(2, Integer.parseInt(args[++i]));
+				break;
+			case FIELDS_STR:
+				maxFields = Math.max(2, Integer.parseInt(args[++i]));
+				break;
+			case ELEMENTS_STR:
+				elementsCount = Math.max(1, Integer.parseInt(args[++i]));
+				break;
+			case DEPTH_STR:
+				depth = Math.max(0, Integer.parseInt(args[++i]));
+				break;
+			case ENUMS_STR:
+				enumsCount = Math.max(0, Integer.parseInt(args[++i]));
+				break;
+			case STRINGS_STR:
+				stringsCount = Math.max(1, Integer.parseInt(args[++i]));
+				break;
+			case STRING_LENGTH_STR:
+				stringLength = Math.max(1, Integer.parseInt(args[++i]));
+				break;
+			case TEXTURE_STR:
+				textureSize = Math.max(1, Integer.parseInt(args[++i]));
+				break;
+			case SEED_STR:
+				seed = Long.parseLong(args[++i]);
+				break;
+			default:
+				jl.log(Level.INFO, "Wrong Launch Parameter: {0}, ignored.", args[i]);
+				break;
+			}
+		}
+	}
+
+	private byte[] generate() {
+		rnd = new Random(seed);
+		internString("");
+		createEnums();
+		createStructs();
+		createStringValues();
+		prepareDataLayout();
+
+		LEWriter enumBlock = createENUMBlock();
+		LEWriter struBlock = new LEWriter();
+		LEWriter fielBlock = new LEWriter();
+		createSTRUFIELBlocks(struBlock, fielBlock);
+		LEWriter ohdrBlock = new LEWriter(totalElements * 0x4);
+		LEWriter dataBlock = new LEWriter(elementsCount * 0x20);
+		LEWriter bulkBlock = new LEWriter();
+		LEWriter bargBlock = new LEWriter();
+		createDATABlock(ohdrBlock, dataBlock, bulkBlock, bargBlock);
+		LEWriter chdrBlock = new LEWriter(cdatStrings.size() * 0x8);
+		LEWriter cdatBlock = new LEWriter();
+		createCHDRCDATBlocks(chdrBlock, cdatBlock);
+
+		LEWriter sbinFile = new LEWriter(dataBlock.size() + bargBlock.size() + 0x1000);
+		sbinFile.writeBytes(SBinBlockType.getBytes(SBinBlockType.SBIN));
+		sbinFile.writeInt(SBIN_VERSION);
+		writeBlock(sbinFile, SBinBlockType.ENUM, enumBlock, false);
+		writeBlock(sbinFile, SBinBlockType.STRU, struBlock, false);
+		writeBlock(sbinFile, SBinBlockType.FIEL, fielBlock, false);
+		writeBlock(sbinFile, SBinBlockType.OHDR, ohdrBlock, false);
+		writeBlock(sbinFile, SBinBlockType.DATA, dataBlock, false);
+		writeBlock(sbinFile, SBinBlockType.CHDR, chdrBlock, false);
+		writeBlock(sbinFile, SBinBlockType.CDAT, cdatBlock, textureSize == 0);
+		if (textureSize != 0) {
+			writeBlock(sbinFile, SBinBlockType.BULK, bulkBlock, false);
+			writeBlock(sbinFile, SBinBlockType.BARG, bargBlock, true);
+		}
+		return sbinFile.toByteArray();
+	}
+
+	//
+	// Objects
+	//
+
+	private void createEnums() {
+		for (int e = 0; e < enumsCount; e++) {
+			enumNames.add("Enum" + e);
+			List<String> values = new ArrayList<>();
+			int valuesCount = 2 + rnd.nextInt(5);
+			for (int v = 0; v < valuesCount; v++) {
+				values.add("E" + e + "_V" + v);
+			}
+			enumValues.add(values);
+		}
+		if (textureSize != 0) {
+			enumNames.add(TEXTURE_ENUM);
+			List<String> values = new ArrayList<>();
+			for (SBinTextureFormat format : SBinTextureFormat.values()) {
+				values.add(format.toString());
+			}
+			enumValues.add(values);
+		}
+	}
+
+	// Fields are created from the last Struct, so Sub-Structs sizes are known
+	private void createStructs() {
+		if (textureSize != 0) { // Texture objects must not get the Map type Ids
+			while (isMapTypeId(structsCount) || isMapTypeId(structsCount + 1)) {
+				structsCount++;
+			}
+		}
+		for (int i = 0; i < structsCount; i++) {
+			GenStruct struct = new GenStruct();
+			struct.name = "Struct" + i;
+			structs.add(struct);
+		}
+		for (int i = structsCount - 1; i >= 0; i--) {
+			GenStruct struct = structs.get(i);
+			int fieldsCount = 2 + rnd.nextInt(maxFields - 1);
+			for (int f = 0; f < fieldsCount; f++) {
+				boolean canBeSubStruct = i >= 2 && i + 1 < structsCount && f < fieldsCount - 1
+						&& getSubStructDepth(i + 1) < depth;
+				GenField field = new GenField();
+				field.name = "f" + i + "_" + f;
+				switch(rnd.nextInt(9)) {
+				case 0: setFieldType(field, SBinFieldType.INT32, 0x4); break;
+				case 1: setFieldType(field, SBinFieldType.FLOAT, 0x4); break;
+				case 2: setFieldType(field, SBinFieldType.BOOLEAN, 0x1); break;
+				case 3: setFieldType(field, SBinFieldType.CHDR_ID_REF, 0x2); break;
+				case 5: setFieldType(field, SBinFieldType.DOUBLE, 0x8); break;
+				case 6:
+					if (enumsCount != 0 && i < 3) {
+						setFieldType(field, SBinFieldType.ENUM_ID_INT32, 0x4);
+						field.specOrderId = rnd.nextInt(enumsCount);
+					} else {
+						setFieldType(field, SBinFieldType.DATA_ID_REF, 0x2);
+					}
+					break;
+				case 7:
+					if (canBeSubStruct) {
+						setFieldType(field, SBinFieldType.SUB_STRUCT, structs.get(i + 1).size);
+						field.specOrderId = i + 1;
+					} else {
+						setFieldType(field, SBinFieldType.U_INT8, 0x1);
+					}
+					break;
+				default: setFieldType(field, SBinFieldType.DATA_ID_REF, 0x2); break;
+				}
+				addField(struct, field);
+			}
+			alignStruct(struct, i);
+		}
+		if (textureSize != 0) {
+			textureStructId = structs.size();
+			GenStruct texture = new GenStruct();
+			texture.name = "Texture";
+			addField(texture, createField("width", SBinFieldType.INT32, 0x4));
+			addField(texture, createField("height", SBinFieldType.INT32, 0x4));
+			addField(texture, createField("mipmaps", SBinFieldType.DATA_ID_REF, 0x2));
+			alignStruct(texture, textureStructId);
+			structs.add(texture);
+
+			GenStruct image = new GenStruct();
+			image.name = "Image";
+			addField(image, createField("width", SBinFieldType.INT32, 0x4));
+			addField(image, createField("height", SBinFieldType.INT32, 0x4));
+			GenField format = createField("format", SBinFieldType.ENUM_ID_INT32, 0x4);
+			format.specOrderId = enumNames.indexOf(TEXTURE_ENUM);
+			addField(image, format);
+			addField(image, createField("data", SBinFieldType.BULK_OFFSET_ID, 0x4));
+			alignStruct(image, textureStructId + 1);
+			structs.add(image);
+		}
+		if (structArrays) {
+			structArrayBase = Math.min(3, structsCount - 1);
+		}
+	}
+
+	private static GenField createField(String name, SBinFieldType type, int size) {
+		GenField field = new GenField();
+		field.name = name;
+		return setFieldType(field, type, size);
+	}
+
+	private static GenField setFieldType(GenField field, SBinFieldType type, int size) {
+		field.type = type;
+		field.size = size;
+		return field;
+	}
+
+	private static void addField(GenStruct struct, GenField field) {
+		field.startOffset = struct.size;
+		struct.fields.add(field);
+		struct.size += field.size;
+	}
+
+	// Struct Id + fields are aligned by 4 bytes
+	private static void alignStruct(GenStruct struct, int structId) {
+		int padSize = (0x4 - (0x2 + struct.size) % 0x4) % 0x4;
+		while (padSize > 0) {
+			boolean isShortPad = padSize >= 0x2;
+			addField(struct, createField("pad" + structId + "_" + padSize,
+					isShortPad ? SBinFieldType.DATA_ID_REF : SBinFieldType.U_INT8, isShortPad ? 0x2 : 0x1));
+			padSize -= isShortPad ? 0x2 : 0x1;
+		}
+	}
+
+	private int getSubStructDepth(int structId) {
+		int subDepth = 0;
+		for (GenField field : structs.get(structId).fields) {
+			if (field.type == SBinFieldType.SUB_STRUCT) {
+				subDepth = Math.max(subDepth, 1 + getSubStructDepth(field.specOrderId));
+			}
+		}
+		return subDepth;
+	}
+
+	private static boolean isMapTypeId(int structId) {
+		return structId == 0xD || structId == 0xF || structId == 0x10;
+	}
+
+	// Unique prefix, the rest is random letters up to the required length
+	private void createStringValues() {
+		for (int i = 0; i < stringsCount; i++) {
+			StringBuilder value = new StringBuilder("s").append(Integer.toString(i, 36)).append('_');
+			while (value.length() < stringLength) {
+				value.append((char)('a' + rnd.nextInt(26)));
+			}
+			stringValues.add(value.toString());
+		}
+	}
+
+	// Enum maps goes at the end of DATA, or to the beginning with long DATA Ids (ENUM keeps only 2 bytes Ids)
+	private void prepareDataLayout() {
+		int mipmapsCount = 0;
+		if (textureSize != 0) {
+			mipmapsCount = 32 - Integer.numberOfLeadingZeros(textureSize);
+			texturesCount = 0x2 + mipmapsCount; // Texture, Mipmaps map, Images
+		}
+		totalElements = elementsCount + enumNames.size() + texturesCount + 1; // + last element
+		longIds = totalElements > 0xFFFF;
+		enumMapsStart = longIds ? 0x2 : elementsCount + texturesCount;
+		textureStart = longIds ? 0x2 + enumNames.size() : elementsCount;
+	}
+
+	//
+	// Blocks
+	//
+
+	private LEWriter createENUMBlock() {
+		LEWriter enumBlock = new LEWriter(enumNames.size() * 0x8);
+		for (int e = 0; e < enumNames.size(); e++) {
+			enumBlock.writeShort(internString(enumNames.get(e)));
+			enumBlock.writeShort(0x0);
+			enumBlock.writeShort(enumMapsStart + e);
+			enumBlock.writeShort(0x0);
+		}
+		return enumBlock;
+	}
+
+	// "Empty" fields goes first, StructArray rule is one of them
+	private void createSTRUFIELBlocks(LEWriter struBlock, LEWriter fielBlock) {
+		int fieldId = 0;
+		if (structArrayBase != -1) {
+			fielBlock.writeShort(0x0);
+			fielBlock.writeShort(SBinFieldType.SUB_STRUCT.getId());
+			fielBlock.writeShort(0x0);
+			fielBlock.writeShort(structArrayBase);
+			fieldId++;
+		}
+		for (GenStruct struct : structs) {
+			struBlock.writeShort(internString(struct.name));
+			struBlock.writeShort(fieldId);
+			struBlock.writeShort(struct.fields.size());
+			for (GenField field : struct.fields) {
+				fielBlock.writeShort(internString(field.name));
+				fielBlock.writeShort(field.type.getId());
+				fielBlock.writeShort(field.startOffset);
+				fielBlock.writeShort(field.specOrderId);
+				fieldId++;
+			}
+		}
+	}
+
+	// OHDR keeps the end of each element in bits, first entry is always 0x1 & the last one is not stored
+	private void createDATABlock(LEWriter ohdrBlock, LEWriter dataBlock, LEWriter bulkBlock, LEWriter bargBlock) {
+		ohdrBlock.writeInt(0x1);
+		for (int i = 0; i < totalElements; i++) {
+			if (i >= enumMapsStart && i < enumMapsStart + enumNames.size()) {
+				writeEnumMap(dataBlock, enumValues.get(i - enumMapsStart));
+			} else if (i >= textureStart && i < textureStart + texturesCount) {
+				writeTextureElement(dataBlock, i - textureStart, bulkBlock, bargBlock);
+			} else if (i == totalElements - 1) {
+				dataBlock.writeShort(0x0);
+				writeStructFields(dataBlock, structs.get(0));
+			} else if (structArrayBase != -1 && i % STRUCT_ARRAY_EVERY == 3) {
+				writeStructArray(dataBlock, structs.get(structArrayBase));
+			} else {
+				int structId;
+				do { // Map type Ids would be taken as Maps
+					structId = rnd.nextInt(structsCount);
+				} while (isMapTypeId(structId) || (i == 0 && structId == 1));
+				dataBlock.writeShort(structId);
+				writeStructFields(dataBlock, structs.get(structId));
+			}
+			if (i + 1 < totalElements) {
+				ohdrBlock.writeInt(dataBlock.size() * 0x8);
+			}
+			if (i == 1) { // Enum strings are placed in the middle of DATA strings
+				for (List<String> values : enumValues) {
+					values.forEach(this::internString);
+				}
+			}
+		}
+	}
+
+	private void writeEnumMap(LEWriter dataBlock, List<String> values) {
+		dataBlock.writeInt(0xD);
+		dataBlock.writeInt(values.size());
+		for (String value : values) {
+			dataBlock.writeShort(internString(value));
+		}
+		dataBlock.writeZeros((0x4 - (values.size() * 0x2) % 0x4) % 0x4);
+	}
+
+	private void writeStructArray(LEWriter dataBlock, GenStruct struct) {
+		// Items are 4-aligned Structs without Id, so the even count keeps the next Elements aligned as well
+		int arrayCount = 0x2 * (1 + rnd.nextInt(2));
+		dataBlock.writeShort(0x10);
+		dataBlock.writeShort(structArrayBase);
+		dataBlock.writeInt(arrayCount);
+		for (int i = 0; i < arrayCount; i++) {
+			writeStructFields(dataBlock, struct);
+		}
+	}
+
+	private void writeStructFields(LEWriter dataBlock, GenStruct struct) {
+		for (GenField field : struct.fields) {
+			switch(field.type) {
+			case INT32: dataBlock.writeInt(rnd.nextInt(100000) - 500); break;
+			case FLOAT: dataBlock.writeFloat(rnd.nextInt(1000) / 8f); break;
+			case DOUBLE: dataBlock.writeDouble(rnd.nextInt(1000) / 4d); break;
+			case BOOLEAN: dataBlock.writeByte(rnd.nextInt(2)); break;
+			case CHDR_ID_REF: dataBlock.writeShort(internString(stringValues.get(rnd.nextInt(stringsCount)))); break;
+			case ENUM_ID_INT32: dataBlock.writeInt(rnd.nextInt(enumValues.get(field.specOrderId).size())); break;
+			case U_INT8: dataBlock.writeByte(rnd.nextInt(DATA_REF_RANGE)); break;
+			case SUB_STRUCT: writeStructFields(dataBlock, structs.get(field.specOrderId)); break;
+			default: dataBlock.writeShort(rnd.nextInt(DATA_REF_RANGE)); break; // DATA_ID_REF
+			}
+		}
+	}
+
+	// Texture object, its Mipmaps map & Image object of each Mipmap. RGBA pixels are stored in BARG
+	private void writeTextureElement(LEWriter dataBlock, int textureElementId, LEWriter bulkBlock, LEWriter bargBlock) {
+		int mipmapsCount = texturesCount - 0x2;
+		if (textureElementId == 0) {
+			dataBlock.writeShort(textureStructId);
+			dataBlock.writeInt(textureSize);
+			dataBlock.writeInt(textureSize);
+			dataBlock.writeShort(textureStart + 1);
+		} else if (textureElementId == 1) {
+			dataBlock.writeShort(0xF);
+			dataBlock.writeShort(0x0);
+			dataBlock.writeInt(mipmapsCount);
+			for (int m = 0; m < mipmapsCount; m++) {
+				dataBlock.writeInt(textureStart + 0x2 + m);
+			}
+		} else {
+			int mipmap = textureElementId - 0x2;
+			int mipmapSize = Math.max(1, textureSize >> mipmap);
+			byte[] pixels = new byte[mipmapSize * mipmapSize * 0x4];
+			rnd.nextBytes(pixels);
+			bulkBlock.writeInt(bargBlock.size());
+			bulkBlock.writeInt(pixels.length);
+			bargBlock.writeBytes(pixels);
+
+			dataBlock.writeShort(textureStructId + 1);
+			dataBlock.writeInt(mipmapSize);
+			dataBlock.writeInt(mipmapSize);
+			dataBlock.writeInt(SBinTextureFormat.RGBA.ordinal());
+			dataBlock.writeInt(mipmap);
+			dataBlock.writeShort(0x0);
+		}
+	}
+
+	// Strings are separated by 00 byte
+	private void createCHDRCDATBlocks(LEWriter chdrBlock, LEWriter cdatBlock) {
+		for (String string : cdatStrings.keySet()) {
+			byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+			chdrBlock.writeInt(cdatBlock.size());
+			chdrBlock.writeInt(stringBytes.length);
+			cdatBlock.writeBytes(stringBytes);
+			cdatBlock.writeByte(0x0);
+		}
+	}
+
+	private int internString(String string) {
+		Integer id = cdatStrings.get(string);
+		if (id == null) {
+			id = cdatStrings.size();
+			cdatStrings.put(string, id);
+		}
+		return id;
+	}
+
+	private static void writeBlock(LEWriter sbinFile, SBinBlockType header, LEWriter block, boolean lastBlock) {
+		byte[] blockBytes = block.toByteArray();
+		sbinFile.writeBytes(SBinBlockType.getBytes(header));
+		sbinFile.writeInt(blockBytes.length);
+		sbinFile.writeInt(FNV1.hash32(blockBytes));
+		sbinFile.writeBytes(blockBytes);
+		if (!lastBlock) {
+			sbinFile.writeZeros((0x4 - sbinFile.size() % 0x4) % 0x4);
+		}
+	}
+
+}
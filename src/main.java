@@ -2,10 +2,13 @@ import java.io.IOException;
 
 import util.LaunchParameters;
 import util.LogEntity;
+import util.SBinContext;
+import util.SBinUnpackCache;
+import util.ToolVersion;
 
 public class main {
 
-	private static final String ABOUT = "\tNFS Most Wanted (2012, mobile) modding tools by Hypercycle, v0.16"
+	private static final String ABOUT = "\tNFS Most Wanted (2012, mobile) modding tools by Hypercycle, v" + ToolVersion.VERSION
 			+ "\n\tUsage examples:"
 			+ "\n\t# Basic SBin file repacker (DATA objects where possible + HEX-edits if you know what to do)."
 			+ "\n\t# Applicable & tested for Races, CarDesc, StringData, Pursuit, Achievements, Career (Garage Cars), Car Configs, Model Prefabs, etc. configs:"
@@ -15,13 +18,31 @@ public class main {
 			+ "\n\t# Texture repacker (formats: RGBA (A8R8G8B8), RGB (R8G8B8)), unpacker (format: ETC1 (ETC_RGB)):"
 			+ "\n\t\t'unpack texture_car_model_year_diffuse_00.sba'"
 			+ "\n\n\t# Repack .json file, any type:"
-			+ "\n\t\t'repack your_file_name.json'"
+			+ "\n\t\t'repack your_file_name.json', 'repack your_file_name.sbx'"
 			+ "\n\t# Unpack extra parameters, after the File name:"
-			+ "\n\t\t'-disableMipmapUnpack', '-disableDATAObjectsUnpack'";
+			+ "\n\t\t'-disableMipmapUnpack', '-disableDATAObjectsUnpack', '-sbx' (binary file instead of Json),"
+			+ "\n\t\t'-blob' (large HEX values goes to the .blob file next to Json),"
+			+ "\n\t\t'-structCache' (Struct tables of the unpacked files are kept in the struct_cache folder for the next runs),"
+			+ "\n\t\t'-incremental' (encoded DATA elements goes to the .cache file next to Json, repack encodes only the changed ones),"
+			+ "\n\t\t'-unpackCache' (unpack results are kept in the unpack_cache folder, the same file is taken from there next time)"
+			+ "\n\n\t# Unpack or repack all files of the folder (with sub-folders), results goes to the target folder:"
+			+ "\n\t\t'unpack-dir game_folder unpacked_folder', 'repack-dir unpacked_folder repacked_folder'"
+			+ "\n\t# Folder extra parameters, after the target folder (unpack parameters are applied too):"
+			+ "\n\t\t'-threads 4' (all CPU cores by default)"
+			+ "\n\t# Unpack cache info, or removal of the least recently used results above the size (1024 MB by default, 0 clears it):"
+			+ "\n\t\t'cache stats', 'cache prune 512'"
+			+ "\n\t# One DATA element by its Id, or all elements of the Struct, without the whole file unpack:"
+			+ "\n\t\t'get career.prefabs.sb 12', 'get career.prefabs.sb CarDesc'"
+			+ "\n\n\t# Unpack & repack check of all SBin files in the folder, with per-file report (.csv or .json):"
+			+ "\n\t\t'check game_folder check_report.csv', extra parameter: '-threads 4'"
+			+ "\n\n\t# Throughput & allocation rate of unpack, repack & helpers on each SBin file of the folder (.csv or .json):"
+			+ "\n\t\t'bench corpus_folder bench_report.csv', extra parameter: '-iterations 5' (1 s each, after 2 warmup ones)"
+			+ "\n\t# Synthetic SBin file for the benchmarks & stress runs (all parameters are optional, defaults are shown):"
+			+ "\n\t\t'generate test.prefabs.sb -structs 12 -fields 6 -elements 3000 -depth 1 -enums 2 -strings 50 -stringLength 8 -seed 42',"
+			+ "\n\t\t'-structArrays', '-texture 64' (RGBA texture with mipmaps, .sba file only)";
 	
 	public static void main(String[] args) throws IOException, InterruptedException {
 		LogEntity.initLogConfig();
-		SBin sbinTools = new SBin();
 		M3GTools m3gTools = new M3GTools();
 		
 		if (args.length == 0) {
@@ -30,20 +51,44 @@ public class main {
 		}
 		switch(args[0]) {
 		case "unpack":
-			SBin.startup(args);
-			sbinTools.unpackSBin(args[1], true);
+			SBinContext unpackCtx = SBin.startup(args);
+			new SBin(unpackCtx).unpackSBin(args[1], true);
+			if (unpackCtx.isUnpackCache()) {
+				SBinUnpackCache.prune(SBinUnpackCache.DEFAULT_MAX_SIZE);
+			}
 			break;
 		case "repack":
-			SBin.startup(args);
-			sbinTools.repackSBin(args[1], true);
+			new SBin(SBin.startup(args)).repackSBin(args[1], true);
+			break;
+		case "unpack-dir":
+			if (args.length < 3) {displayHelp(); return;}
+			BatchProcessor.unpackFolder(args);
+			break;
+		case "repack-dir":
+			if (args.length < 3) {displayHelp(); return;}
+			BatchProcessor.repackFolder(args);
+			break;
+		case "cache":
+			if (args.length < 2) {displayHelp(); return;}
+			CacheTools.runCacheCommand(args);
+			break;
+		case "get":
+			if (args.length < 3) {displayHelp(); return;}
+			SBinFile.printElements(args);
 			break;
 		case "hash":
-			SBin.startup(args);
-			sbinTools.getFNVHash(args[1]);
+			new SBin(SBin.startup(args)).getFNVHash(args[1]);
 			break;
 		case "check":
-			SBin.startup(args);
-			FileCheck.checkFiles(args[1], sbinTools);
+			FileCheck.checkFiles(args);
+			break;
+		case "generate":
+			if (args.length < 2) {displayHelp(); return;}
+			SBinGenerator.generateFile(args);
+			break;
+		case "bench":
+			if (args.length < 2) {displayHelp(); return;}
+			Benchmark.runBenchmarks(args);
 			break;
 		case "map":
 			LaunchParameters.checkM3GLaunchParameters(args);
@@ -0,0 +1,153 @@
+package util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Offset & length view over the parent buffer (mapped SBin file, or any byte array).
+// Used instead of copying every block entry & DATA element into a separate byte array.
+// All the values are read as Little-Endian.
+public class ByteSlice {
+
+	public static final ByteSlice EMPTY = wrap(new byte[0]);
+
+	private final ByteBuffer data;
+	private final int offset;
+	private final int length;
+
+	public ByteSlice(ByteBuffer data, int offset, int length) {
+		this.data = data.order() == ByteOrder.LITTLE_ENDIAN ? data : data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		this.offset = offset;
+		this.length = length;
+	}
+
+	public static ByteSlice wrap(byte[] bytes) {
+		return new ByteSlice(ByteBuffer.wrap(bytes), 0, bytes.length);
+	}
+
+	// Position inside of the parent buffer
+	public int getOffset() {
+		return offset;
+	}
+
+	public int length() {
+		return length;
+	}
+
+	public byte get(int index) {
+		checkIndex(index, 1);
+		return data.get(offset + index);
+	}
+
+	public int getUShort(int index) {
+		checkIndex(index, 2);
+		return data.getShort(offset + index) & 0xFFFF;
+	}
+
+	public short getShort(int index) {
+		checkIndex(index, 2);
+		return data.getShort(offset + index);
+	}
+
+	public int getInt(int index) {
+		checkIndex(index, 4);
+		return data.getInt(offset + index);
+	}
+
+	public float getFloat(int index) {
+		checkIndex(index, 4);
+		return data.getFloat(offset + index);
+	}
+
+	public double getDouble(int index) {
+		checkIndex(index, 8);
+		return data.getDouble(offset + index);
+	}
+
+	// Same rules as Arrays.copyOfRange: the part outside of the slice is filled with zeros,
+	// but only in that case the bytes are copied
+	public ByteSlice slice(int from, int to) {
+		if (from < 0 || from > length) {
+			throw new ArrayIndexOutOfBoundsException(from);
+		}
+		if (from > to) {
+			throw new IllegalArgumentException(from + " > " + to);
+		}
+		if (to > length) {
+			return wrap(Arrays.copyOf(toByteArray(from, length), to - from));
+		}
+		return new ByteSlice(data, offset + from, to - from);
+	}
+
+	public List<ByteSlice> split(int chunkSize) {
+		List<ByteSlice> chunks = new ArrayList<>();
+		for (int i = 0; i < length; i += chunkSize) {
+			chunks.add(new ByteSlice(data, offset + i, Math.min(chunkSize, length - i)));
+		}
+		return chunks;
+	}
+
+	public boolean isZeroFilled(int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (get(i) != 0x0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public byte[] toByteArray() {
+		return toByteArray(0, length);
+	}
+
+	public byte[] toByteArray(int from, int to) {
+		byte[] bytes = new byte[to - from];
+		asByteBuffer(from, to).get(bytes);
+		return bytes;
+	}
+
+	public ByteBuffer asByteBuffer() {
+		return asByteBuffer(0, length);
+	}
+
+	// Independent buffer positioned on the slice contents
+	public ByteBuffer asByteBuffer(int from, int to) {
+		ByteBuffer part = data.duplicate();
+		part.limit(offset + to);
+		part.position(offset + from);
+		return part.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	public boolean contentEquals(ByteSlice other) {
+		return length == other.length && asByteBuffer().equals(other.asByteBuffer());
+	}
+
+	public String toHexString() {
+		byte[] hexChars = new byte[length * 2];
+		for (int j = 0; j < length; j++) {
+			int v = data.get(offset + j) & 0xFF;
+			hexChars[j * 2] = HEXUtils.HEX_ARRAY[v >>> 4];
+			hexChars[j * 2 + 1] = HEXUtils.HEX_ARRAY[v & 0x0F];
+		}
+		return new String(hexChars, StandardCharsets.US_ASCII);
+	}
+
+	public void writeTo(OutputStream stream) throws IOException {
+		if (data.hasArray()) {
+			stream.write(data.array(), data.arrayOffset() + offset, length);
+		} else {
+			stream.write(toByteArray());
+		}
+	}
+
+	private void checkIndex(int index, int size) {
+		if (index < 0 || index + size > length) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+	}
+}
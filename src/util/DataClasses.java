@@ -1,11 +1,23 @@
 package util;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import util.SBinHCStructs.SBinHCStruct;
+import util.json.JsonFields;
+import util.json.PolymorphTypeAdapterFactory;
 
 public final class DataClasses {
 	private DataClasses() {}
@@ -17,18 +29,30 @@ public final class DataClasses {
 		private int sbinVersion; 
 		@SerializedName("SBinType")
 		private SBinType sbinType; 
+		@SerializedName("HexBlobFile")
+		private String hexBlobFile; // Sidecar file for the large HEX payloads, if any
 		@SerializedName("ENUM_HexStr")
 		private String enumHexStr; 
+		@SerializedName("ENUM_HexBlob")
+		private SBinBlobRef enumHexBlob; 
 		@SerializedName("ENUM_MidDATAStringsOrdering")
 		private boolean enumMidDATAStringsOrdering = true; 
 		@SerializedName("STRU_HexStr")
 		private String struHexStr; 
+		@SerializedName("STRU_HexBlob")
+		private SBinBlobRef struHexBlob; 
 		@SerializedName("FIEL_HexStr")
 		private String fielHexStr; 
+		@SerializedName("FIEL_HexBlob")
+		private SBinBlobRef fielHexBlob; 
 		@SerializedName("OHDR_HexStr")
 		private String ohdrHexStr; 
+		@SerializedName("OHDR_HexBlob")
+		private SBinBlobRef ohdrHexBlob; 
 		@SerializedName("DATA_HexStr")
 		private String dataHexStr; 
+		@SerializedName("DATA_HexBlob")
+		private SBinBlobRef dataHexBlob; 
 		@SerializedName("DATA_LongElementIds")
 		private boolean dataLongElementIds = false;
 		@SerializedName("CHDR_HexStr")
@@ -52,6 +76,11 @@ public final class DataClasses {
 		private List<SBinDataElement> dataElements;
 		@SerializedName("CDAT_Strings")
 		private List<SBinCDATEntry> cdatStrings;
+		// Not a part of Json: lookups made on the first use, dropped when the list is replaced
+		private transient Map<String, SBinCDATEntry> cdatIndex;
+		private transient Map<String, SBinStruct> structIndex;
+		private transient Map<String, List<SBinDataElement>> dataElementsIndex;
+		private transient Map<String, SBinEnum> enumIndex;
 		
 		public String getFileName() {
 			return fileName;
@@ -74,12 +103,25 @@ public final class DataClasses {
 			this.sbinType = sbinType;
 		}
 		
+		public String getHexBlobFile() {
+			return hexBlobFile;
+		}
+		public void setHexBlobFile(String hexBlobFile) {
+			this.hexBlobFile = hexBlobFile;
+		}
+		
 		public String getENUMHexStr() {
 			return enumHexStr;
 		}
 		public void setENUMHexStr(String enumHexStr) {
 			this.enumHexStr = enumHexStr;
 		}
+		public SBinBlobRef getENUMHexBlob() {
+			return enumHexBlob;
+		}
+		public void setENUMHexBlob(SBinBlobRef enumHexBlob) {
+			this.enumHexBlob = enumHexBlob;
+		}
 		
 		public boolean isENUMMidDATAStringsOrdering() {
 			return enumMidDATAStringsOrdering;
@@ -94,6 +136,12 @@ public final class DataClasses {
 		public void setSTRUHexStr(String struHexStr) {
 			this.struHexStr = struHexStr;
 		}
+		public SBinBlobRef getSTRUHexBlob() {
+			return struHexBlob;
+		}
+		public void setSTRUHexBlob(SBinBlobRef struHexBlob) {
+			this.struHexBlob = struHexBlob;
+		}
 		
 		public String getFIELHexStr() {
 			return fielHexStr;
@@ -101,6 +149,12 @@ public final class DataClasses {
 		public void setFIELHexStr(String fielHexStr) {
 			this.fielHexStr = fielHexStr;
 		}
+		public SBinBlobRef getFIELHexBlob() {
+			return fielHexBlob;
+		}
+		public void setFIELHexBlob(SBinBlobRef fielHexBlob) {
+			this.fielHexBlob = fielHexBlob;
+		}
 		
 		public String getOHDRHexStr() {
 			return ohdrHexStr;
@@ -108,6 +162,12 @@ public final class DataClasses {
 		public void setOHDRHexStr(String ohdrHexStr) {
 			this.ohdrHexStr = ohdrHexStr;
 		}
+		public SBinBlobRef getOHDRHexBlob() {
+			return ohdrHexBlob;
+		}
+		public void setOHDRHexBlob(SBinBlobRef ohdrHexBlob) {
+			this.ohdrHexBlob = ohdrHexBlob;
+		}
 		
 		public String getDATAHexStr() {
 			return dataHexStr;
@@ -115,6 +175,12 @@ public final class DataClasses {
 		public void setDATAHexStr(String dataHexStr) {
 			this.dataHexStr = dataHexStr;
 		}
+		public SBinBlobRef getDATAHexBlob() {
+			return dataHexBlob;
+		}
+		public void setDATAHexBlob(SBinBlobRef dataHexBlob) {
+			this.dataHexBlob = dataHexBlob;
+		}
 		
 		public boolean isDataLongElementIds() {
 			return dataLongElementIds;
@@ -162,6 +228,20 @@ public final class DataClasses {
 		
 		public void addEnum(SBinEnum enumObj) {
 			this.enums.add(enumObj);
+			if (enumIndex != null) {
+				enumIndex.put(enumObj.getName(), enumObj);
+			}
+		}
+		
+		// Last Enum wins for the duplicated names, same as the old list search on repack
+		public SBinEnum getEnumByName(String name) {
+			if (enumIndex == null) {
+				enumIndex = new HashMap<>();
+				for (SBinEnum enumObj : enums) {
+					enumIndex.put(enumObj.getName(), enumObj);
+				}
+			}
+			return enumIndex.get(name);
 		}
 		
 		public void addEmptyField(SBinField field) {
@@ -170,6 +250,39 @@ public final class DataClasses {
 		
 		public void addStruct(SBinStruct struct) {
 			this.structs.add(struct);
+			if (structIndex != null) {
+				structIndex.putIfAbsent(struct.getName(), struct);
+			}
+		}
+		
+		// Lookup indexes are made on the first use. Call it before the lookups from several threads
+		public void prepareLookupIndexes() {
+			getStructByName(null);
+			getEnumByName(null);
+			getCDATEntryByString(null);
+		}
+		
+		public SBinStruct getStructByName(String name) {
+			if (structIndex == null) {
+				structIndex = new HashMap<>(Math.max(16, structs.size() * 2));
+				for (SBinStruct struct : structs) {
+					structIndex.putIfAbsent(struct.getName(), struct);
+				}
+			}
+			return structIndex.get(name);
+		}
+		
+		// Only the root DATA elements, StructArray objects are not included
+		public List<SBinDataElement> getDataElementsByStructName(String structName) {
+			if (dataElementsIndex == null) {
+				dataElementsIndex = new HashMap<>();
+				for (SBinDataElement dataElement : dataElements) {
+					if (dataElement.getStructName() != null) {
+						dataElementsIndex.computeIfAbsent(dataElement.getStructName(), name -> new ArrayList<>()).add(dataElement);
+					}
+				}
+			}
+			return dataElementsIndex.getOrDefault(structName, Collections.emptyList());
 		}
 		
 		public List<SBinEnum> getEnums() {
@@ -177,6 +290,7 @@ public final class DataClasses {
 		}
 		public void setEnums(List<SBinEnum> enums) {
 			this.enums = enums;
+			this.enumIndex = null;
 		}
 		
 		public List<SBinStruct> getStructs() {
@@ -184,6 +298,7 @@ public final class DataClasses {
 		}
 		public void setStructs(List<SBinStruct> structs) {
 			this.structs = structs;
+			this.structIndex = null;
 		}
 		
 		public List<SBinField> getEmptyFields() {
@@ -198,6 +313,24 @@ public final class DataClasses {
 		}
 		public void setCDATStrings(List<SBinCDATEntry> cdatStrings) {
 			this.cdatStrings = cdatStrings;
+			this.cdatIndex = null;
+		}
+		
+		// First entry wins for the duplicated strings, same as the list search
+		public SBinCDATEntry getCDATEntryByString(String string) {
+			if (cdatIndex == null) {
+				cdatIndex = new HashMap<>(Math.max(16, cdatStrings.size() * 2));
+				for (SBinCDATEntry cdatEntry : cdatStrings) {
+					cdatIndex.putIfAbsent(cdatEntry.getString(), cdatEntry);
+				}
+			}
+			return cdatIndex.get(string);
+		}
+		public void addCDATEntry(SBinCDATEntry cdatEntry) {
+			cdatStrings.add(cdatEntry);
+			if (cdatIndex != null) {
+				cdatIndex.putIfAbsent(cdatEntry.getString(), cdatEntry);
+			}
 		}
 		
 		public List<SBinDataElement> getDataElements() {
@@ -205,9 +338,31 @@ public final class DataClasses {
 		}
 		public void setDataElements(List<SBinDataElement> dataElements) {
 			this.dataElements = dataElements;
+			this.dataElementsIndex = null;
+		}
+	}
+	
+	// Part of the .blob file, placed instead of the HEX string
+	public static class SBinBlobRef {
+		@SerializedName("Offset")
+		private int offset;
+		@SerializedName("Length")
+		private int length;
+		
+		public SBinBlobRef(int offset, int length) {
+			this.offset = offset;
+			this.length = length;
+		}
+		
+		public int getOffset() {
+			return offset;
+		}
+		public int getLength() {
+			return length;
 		}
 	}
 	
+	@JsonAdapter(SBinCDATEntryAdapter.class)
 	public static class SBinCDATEntry {
 		@SerializedName("CHDRHexId")
 		private String chdrHexId;
@@ -236,6 +391,7 @@ public final class DataClasses {
 		private String name;
 		@SerializedName("DataId_MapRef")
 		private String dataIdMapRef;
+		private transient Integer dataIdMapRefId; // Decoded on the first use
 		
 		public int getId() {
 			return id;
@@ -256,9 +412,27 @@ public final class DataClasses {
 		}
 		public void setDataIdMapRef(String dataIdMapRef) {
 			this.dataIdMapRef = dataIdMapRef;
+			this.dataIdMapRefId = null;
+		}
+		
+		// DATA element Id of Enum values map
+		public int getDataIdMapRefId() {
+			if (dataIdMapRefId == null) {
+				dataIdMapRefId = HEXUtils.twoLEByteArrayToInt(HEXUtils.decodeHexStr(dataIdMapRef));
+			}
+			return dataIdMapRefId;
+		}
+		
+		public SBinEnum copy() {
+			SBinEnum enumObj = new SBinEnum();
+			enumObj.id = id;
+			enumObj.name = name;
+			enumObj.dataIdMapRef = dataIdMapRef;
+			return enumObj;
 		}
 	}
 	
+	@JsonAdapter(SBinStructAdapter.class)
 	public static class SBinStruct {
 		@SerializedName("Id")
 		private int id;
@@ -300,8 +474,22 @@ public final class DataClasses {
 		public void setFieldsArray(List<SBinField> fieldsArray) {
 			this.fieldsArray = fieldsArray;
 		}
+		
+		// Fields are copied as well
+		public SBinStruct copy() {
+			SBinStruct struct = new SBinStruct();
+			struct.id = id;
+			struct.name = name;
+			struct.size = size;
+			struct.fieldsArray = new ArrayList<>(fieldsArray.size());
+			for (SBinField field : fieldsArray) {
+				struct.fieldsArray.add(field.copy());
+			}
+			return struct;
+		}
 	}
 	
+	@JsonAdapter(SBinFieldAdapter.class)
 	public static class SBinField {
 		@SerializedName("Name")
 		private String name;
@@ -322,7 +510,7 @@ public final class DataClasses {
 		@SerializedName("SpecOrderId")
 		private int specOrderId = 0;
 		
-		private SBinFieldType fieldTypeEnum;
+		private transient SBinFieldType fieldTypeEnum; // Unpack only, never goes to Json
 		
 		public String getName() {
 			return name;
@@ -393,8 +581,24 @@ public final class DataClasses {
 		public void setFieldTypeEnum(SBinFieldType fieldTypeEnum) {
 			this.fieldTypeEnum = fieldTypeEnum;
 		}
+		
+		public SBinField copy() {
+			SBinField field = new SBinField();
+			field.name = name;
+			field.type = type;
+			field.subStruct = subStruct;
+			field.hexValue = hexValue;
+			field.enumJsonPreview = enumJsonPreview;
+			field.startOffset = startOffset;
+			field.fieldSize = fieldSize;
+			field.dynamicSize = dynamicSize;
+			field.specOrderId = specOrderId;
+			field.fieldTypeEnum = fieldTypeEnum;
+			return field;
+		}
 	}
 	
+	@JsonAdapter(SBinDataElementAdapter.class)
 	public static class SBinDataElement {
 		@SerializedName("OrderHexId")
 		private String orderHexId; // Only for info
@@ -402,6 +606,8 @@ public final class DataClasses {
 		private String ohdrPadRemainder = "0";
 		@SerializedName("HexValue")
 		private String hexValue;
+		@SerializedName("HexValueBlob")
+		private SBinBlobRef hexValueBlob; // Instead of HexValue, for the payloads moved into the .blob file
 		@SerializedName("ExtraHexValue")
 		private String extraHexValue;
 		@SerializedName("StructName")
@@ -418,6 +624,8 @@ public final class DataClasses {
 		private List<SBinDataElement> arrayObjects; // StructArray
 		@SerializedName("HCStruct")
 		private SBinHCStruct hcStruct; // Hard-coded Struct
+		private transient Map<String, SBinDataField> fieldIndex; // Made on the first lookup by name
+		private transient Map<String, Integer> mapElementIndex; // Enum value -> ordinal, same
 		
 		public String getOrderHexId() {
 			return orderHexId;
@@ -435,6 +643,9 @@ public final class DataClasses {
 		public void hideOHDRPadRemainder() {
 			this.ohdrPadRemainder = null;
 		}
+		public boolean isOHDRPadRemainderHidden() {
+			return ohdrPadRemainder == null;
+		}
 		
 		public String getHexValue() {
 			return hexValue;
@@ -443,6 +654,13 @@ public final class DataClasses {
 			this.hexValue = hexValue;
 		}
 		
+		public SBinBlobRef getHexValueBlob() {
+			return hexValueBlob;
+		}
+		public void setHexValueBlob(SBinBlobRef hexValueBlob) {
+			this.hexValueBlob = hexValueBlob;
+		}
+		
 		public String getExtraHexValue() {
 			return extraHexValue;
 		}
@@ -476,6 +694,17 @@ public final class DataClasses {
 		}
 		public void setMapElements(List<String> mapElements) {
 			this.mapElements = mapElements;
+			this.mapElementIndex = null;
+		}
+		// First entry wins for the duplicated values, -1 if nothing is found
+		public int getMapElementOrdinal(String value) {
+			if (mapElementIndex == null) {
+				mapElementIndex = new HashMap<>(Math.max(16, mapElements.size() * 2));
+				for (int i = 0; i < mapElements.size(); i++) {
+					mapElementIndex.putIfAbsent(mapElements.get(i), i);
+				}
+			}
+			return mapElementIndex.getOrDefault(value, -1);
 		}
 		
 		public List<SBinDataField> getFields() {
@@ -483,6 +712,16 @@ public final class DataClasses {
 		}
 		public void setFields(List<SBinDataField> fields) {
 			this.fields = fields;
+			this.fieldIndex = null;
+		}
+		public SBinDataField getFieldByName(String name) {
+			if (fieldIndex == null) {
+				fieldIndex = new HashMap<>();
+				for (SBinDataField field : fields) {
+					fieldIndex.putIfAbsent(field.getName(), field);
+				}
+			}
+			return fieldIndex.get(name);
 		}
 		
 		public List<SBinDataElement> getArrayObjects() {
@@ -500,6 +739,7 @@ public final class DataClasses {
 		}
 	}
 	
+	@JsonAdapter(SBinDataFieldAdapter.class)
 	public static class SBinDataField {
 		@SerializedName("Name")
 		private String name;
@@ -596,4 +836,330 @@ public final class DataClasses {
 		}
 	}
 	
+	// One line of the FileCheck report
+	public static class SBinCheckResult {
+		@SerializedName("File")
+		private String file;
+		@SerializedName("Result")
+		private String result;
+		@SerializedName("UnpackMs")
+		private long unpackMs;
+		@SerializedName("RepackMs")
+		private long repackMs;
+		@SerializedName("Size")
+		private long size;
+		@SerializedName("FirstMismatchBlock")
+		private String firstMismatchBlock;
+		@SerializedName("Error")
+		private String error;
+		
+		public String getFile() {
+			return file;
+		}
+		public void setFile(String file) {
+			this.file = file;
+		}
+		
+		public String getResult() {
+			return result;
+		}
+		public void setResult(String result) {
+			this.result = result;
+		}
+		
+		public long getUnpackMs() {
+			return unpackMs;
+		}
+		public void setUnpackMs(long unpackMs) {
+			this.unpackMs = unpackMs;
+		}
+		
+		public long getRepackMs() {
+			return repackMs;
+		}
+		public void setRepackMs(long repackMs) {
+			this.repackMs = repackMs;
+		}
+		
+		public long getSize() {
+			return size;
+		}
+		public void setSize(long size) {
+			this.size = size;
+		}
+		
+		public String getFirstMismatchBlock() {
+			return firstMismatchBlock;
+		}
+		public void setFirstMismatchBlock(String firstMismatchBlock) {
+			this.firstMismatchBlock = firstMismatchBlock;
+		}
+		
+		public String getError() {
+			return error;
+		}
+		public void setError(String error) {
+			this.error = error;
+		}
+	}
+	
+	// One line of the Benchmark report
+	public static class SBinBenchResult {
+		@SerializedName("File")
+		private String file;
+		@SerializedName("Benchmark")
+		private String benchmark;
+		@SerializedName("OpsPerSec")
+		private double opsPerSec;
+		@SerializedName("OpsPerSecError")
+		private double opsPerSecError;
+		@SerializedName("AllocBytesPerOp")
+		private long allocBytesPerOp;
+		@SerializedName("AllocMBPerSec")
+		private double allocMBPerSec;
+		
+		public String getFile() {
+			return file;
+		}
+		public void setFile(String file) {
+			this.file = file;
+		}
+		
+		public String getBenchmark() {
+			return benchmark;
+		}
+		public void setBenchmark(String benchmark) {
+			this.benchmark = benchmark;
+		}
+		
+		public double getOpsPerSec() {
+			return opsPerSec;
+		}
+		public void setOpsPerSec(double opsPerSec) {
+			this.opsPerSec = opsPerSec;
+		}
+		
+		public double getOpsPerSecError() {
+			return opsPerSecError;
+		}
+		public void setOpsPerSecError(double opsPerSecError) {
+			this.opsPerSecError = opsPerSecError;
+		}
+		
+		public long getAllocBytesPerOp() {
+			return allocBytesPerOp;
+		}
+		public void setAllocBytesPerOp(long allocBytesPerOp) {
+			this.allocBytesPerOp = allocBytesPerOp;
+		}
+		
+		public double getAllocMBPerSec() {
+			return allocMBPerSec;
+		}
+		public void setAllocMBPerSec(double allocMBPerSec) {
+			this.allocMBPerSec = allocMBPerSec;
+		}
+	}
+	
+	//
+	// Hand-written Gson adapters for the objects which comes in thousands, instead of the reflection.
+	// Same output as reflective adapters: fields in the declaration order, null fields are skipped
+	//
+	
+	static class SBinCDATEntryAdapter extends TypeAdapter<SBinCDATEntry> {
+		@Override
+		public void write(JsonWriter out, SBinCDATEntry cdatEntry) throws IOException {
+			out.beginObject();
+			JsonFields.writeString(out, "CHDRHexId", cdatEntry.chdrHexId);
+			JsonFields.writeString(out, "String", cdatEntry.string);
+			out.endObject();
+		}
+		
+		@Override
+		public SBinCDATEntry read(JsonReader in) throws IOException {
+			SBinCDATEntry cdatEntry = new SBinCDATEntry();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "CHDRHexId": cdatEntry.chdrHexId = JsonFields.readString(in); break;
+				case "String": cdatEntry.string = JsonFields.readString(in); break;
+				default: in.skipValue(); break;
+				}
+			}
+			in.endObject();
+			return cdatEntry;
+		}
+	}
+	
+	static class SBinStructAdapter extends TypeAdapter<SBinStruct> {
+		private static final SBinFieldAdapter fieldAdapter = new SBinFieldAdapter();
+		
+		@Override
+		public void write(JsonWriter out, SBinStruct struct) throws IOException {
+			out.beginObject();
+			out.name("Id").value(struct.id);
+			JsonFields.writeString(out, "Name", struct.name);
+			out.name("Size").value(struct.size);
+			JsonFields.writeList(out, "Fields", struct.fieldsArray, fieldAdapter);
+			out.endObject();
+		}
+		
+		@Override
+		public SBinStruct read(JsonReader in) throws IOException {
+			SBinStruct struct = new SBinStruct();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "Id": struct.id = JsonFields.readInt(in, struct.id); break;
+				case "Name": struct.name = JsonFields.readString(in); break;
+				case "Size": struct.size = JsonFields.readInt(in, struct.size); break;
+				case "Fields": struct.fieldsArray = JsonFields.readList(in, fieldAdapter); break;
+				default: in.skipValue(); break;
+				}
+			}
+			in.endObject();
+			return struct;
+		}
+	}
+	
+	static class SBinFieldAdapter extends TypeAdapter<SBinField> {
+		@Override
+		public void write(JsonWriter out, SBinField field) throws IOException {
+			out.beginObject();
+			JsonFields.writeString(out, "Name", field.name);
+			JsonFields.writeString(out, "Type", field.type);
+			JsonFields.writeString(out, "SubStruct", field.subStruct);
+			JsonFields.writeString(out, "HexValue", field.hexValue);
+			JsonFields.writeString(out, "Enum_JsonPreview", field.enumJsonPreview);
+			out.name("StartOffset").value(field.startOffset);
+			out.name("FieldSize").value(field.fieldSize);
+			out.name("DynamicSize").value(field.dynamicSize);
+			out.name("SpecOrderId").value(field.specOrderId);
+			out.endObject();
+		}
+		
+		@Override
+		public SBinField read(JsonReader in) throws IOException {
+			SBinField field = new SBinField();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "Name": field.name = JsonFields.readString(in); break;
+				case "Type": field.type = JsonFields.readString(in); break;
+				case "SubStruct": field.subStruct = JsonFields.readString(in); break;
+				case "HexValue": field.hexValue = JsonFields.readString(in); break;
+				case "Enum_JsonPreview": field.enumJsonPreview = JsonFields.readString(in); break;
+				case "StartOffset": field.startOffset = JsonFields.readInt(in, field.startOffset); break;
+				case "FieldSize": field.fieldSize = JsonFields.readInt(in, field.fieldSize); break;
+				case "DynamicSize": field.dynamicSize = JsonFields.readBoolean(in, field.dynamicSize); break;
+				case "SpecOrderId": field.specOrderId = JsonFields.readInt(in, field.specOrderId); break;
+				default: in.skipValue(); break;
+				}
+			}
+			in.endObject();
+			return field;
+		}
+	}
+	
+	// HCStruct goes through Gson, since it's polymorphic. Its Type is written first, so it's read without Json tree
+	static class SBinDataElementAdapter extends TypeAdapter<SBinDataElement> {
+		private static final SBinDataFieldAdapter dataFieldAdapter = new SBinDataFieldAdapter();
+		private static final TypeAdapter<SBinBlobRef> blobRefAdapter = new Gson().getAdapter(SBinBlobRef.class);
+		private static final TypeAdapter<SBinHCStruct> hcStructAdapter = new GsonBuilder()
+				.registerTypeAdapterFactory(new PolymorphTypeAdapterFactory<>(SBinHCStruct.class))
+				.create().getAdapter(SBinHCStruct.class);
+		
+		@Override
+		public void write(JsonWriter out, SBinDataElement element) throws IOException {
+			out.beginObject();
+			JsonFields.writeString(out, "OrderHexId", element.orderHexId);
+			JsonFields.writeString(out, "OHDRPadRemainder", element.ohdrPadRemainder);
+			JsonFields.writeString(out, "HexValue", element.hexValue);
+			if (element.hexValueBlob != null) {
+				out.name("HexValueBlob");
+				blobRefAdapter.write(out, element.hexValueBlob);
+			}
+			JsonFields.writeString(out, "ExtraHexValue", element.extraHexValue);
+			JsonFields.writeString(out, "StructName", element.structName);
+			JsonFields.writeString(out, "StructBaseName", element.structBaseName);
+			if (element.globalType != null) {
+				out.name("GlobalType").value(element.globalType.name());
+			}
+			JsonFields.writeStringList(out, "MapElements", element.mapElements);
+			JsonFields.writeList(out, "Fields", element.fields, dataFieldAdapter);
+			JsonFields.writeList(out, "ArrayObjects", element.arrayObjects, this);
+			if (element.hcStruct != null) {
+				out.name("HCStruct");
+				hcStructAdapter.write(out, element.hcStruct);
+			}
+			out.endObject();
+		}
+		
+		@Override
+		public SBinDataElement read(JsonReader in) throws IOException {
+			SBinDataElement element = new SBinDataElement();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "OrderHexId": element.orderHexId = JsonFields.readString(in); break;
+				case "OHDRPadRemainder": element.ohdrPadRemainder = JsonFields.readString(in); break;
+				case "HexValue": element.hexValue = JsonFields.readString(in); break;
+				case "HexValueBlob": element.hexValueBlob = blobRefAdapter.read(in); break;
+				case "ExtraHexValue": element.extraHexValue = JsonFields.readString(in); break;
+				case "StructName": element.structName = JsonFields.readString(in); break;
+				case "StructBaseName": element.structBaseName = JsonFields.readString(in); break;
+				case "GlobalType": element.globalType = JsonFields.readEnum(in, SBinDataGlobalType.class); break;
+				case "MapElements": element.mapElements = JsonFields.readStringList(in); break;
+				case "Fields": element.fields = JsonFields.readList(in, dataFieldAdapter); break;
+				case "ArrayObjects": element.arrayObjects = JsonFields.readList(in, this); break;
+				case "HCStruct": element.hcStruct = hcStructAdapter.read(in); break;
+				default: in.skipValue(); break;
+				}
+			}
+			in.endObject();
+			return element;
+		}
+	}
+	
+	static class SBinDataFieldAdapter extends TypeAdapter<SBinDataField> {
+		@Override
+		public void write(JsonWriter out, SBinDataField dataField) throws IOException {
+			out.beginObject();
+			JsonFields.writeString(out, "Name", dataField.name);
+			JsonFields.writeString(out, "Type", dataField.type);
+			JsonFields.writeString(out, "SubStruct", dataField.subStruct);
+			JsonFields.writeString(out, "Enum_JsonPreview", dataField.enumJsonPreview);
+			if (dataField.enumDataMapIdJsonPreview != null) {
+				out.name("EnumDataMapId_JsonPreview").value(dataField.enumDataMapIdJsonPreview);
+			}
+			out.name("ForcedHexValue").value(dataField.forcedHexValue);
+			out.name("FieldSize").value(dataField.fieldSize);
+			JsonFields.writeString(out, "Value", dataField.value);
+			JsonFields.writeList(out, "SubFields", dataField.subFields, this);
+			out.endObject();
+		}
+		
+		@Override
+		public SBinDataField read(JsonReader in) throws IOException {
+			SBinDataField dataField = new SBinDataField();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "Name": dataField.name = JsonFields.readString(in); break;
+				case "Type": dataField.type = JsonFields.readString(in); break;
+				case "SubStruct": dataField.subStruct = JsonFields.readString(in); break;
+				case "Enum_JsonPreview": dataField.enumJsonPreview = JsonFields.readString(in); break;
+				case "EnumDataMapId_JsonPreview": dataField.enumDataMapIdJsonPreview = JsonFields.readLong(in); break;
+				case "ForcedHexValue": dataField.forcedHexValue = JsonFields.readBoolean(in, dataField.forcedHexValue); break;
+				case "FieldSize": dataField.fieldSize = JsonFields.readInt(in, dataField.fieldSize); break;
+				case "Value": dataField.value = JsonFields.readString(in); break;
+				case "SubFields": dataField.subFields = JsonFields.readList(in, this); break;
+				default: in.skipValue(); break;
+				}
+			}
+			in.endObject();
+			return dataField;
+		}
+	}
+	
 }
@@ -1,7 +1,6 @@
 package util;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import util.DataClasses.SBinCDATEntry;
@@ -13,75 +12,71 @@ import util.DataClasses.SBinStruct;
 public class DataUtils {
 	private DataUtils() {}
 	
-	public static byte[] processStringInCDAT(String string) {
-		for (SBinCDATEntry cdatEntry : SBJson.get().getCDATStrings()) {
-			if (cdatEntry.getString().contentEquals(string)) {
-				return HEXUtils.decodeHexStr(cdatEntry.getChdrHexId());
-			}
+	public static byte[] processStringInCDAT(SBinContext ctx, String string) {
+		SBinCDATEntry cdatEntry = ctx.getSBinJson().getCDATEntryByString(string);
+		if (cdatEntry != null) {
+			return HEXUtils.decodeHexStr(cdatEntry.getChdrHexId());
+		}
+		if (ctx.isCDATFrozen()) {
+			throw new IllegalStateException("!!! CDAT string is missed before the parallel DATA encoding: " + string + ".");
 		}
-		byte[] newCHDRId = HEXUtils.setDataEntryHexIdBytes(SBJson.get().getCDATStrings().size(), SBJson.get().isDataLongElementIds());
+		// CHDR Ids are always 2 bytes, same as on unpack: long Ids are used only for DATA elements
+		byte[] newCHDRId = HEXUtils.setDataEntryHexIdBytes(ctx.getSBinJson().getCDATStrings().size(), false);
 		SBinCDATEntry newEntry = new SBinCDATEntry();
 		newEntry.setString(string);
 		newEntry.setChdrHexId(HEXUtils.hexToString(newCHDRId));
-		SBJson.get().getCDATStrings().add(newEntry);
+		ctx.getSBinJson().addCDATEntry(newEntry);
 		return newCHDRId;
 	}
 	
-	public static String getCDATStringByShortCHDRId(byte[] bytes, int startIndex, int endIndex) {
-		int hexCHDRId = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(bytes, startIndex, endIndex));
-		return SBJson.get().getCDATStrings().get(hexCHDRId).getString();
+	public static String getCDATStringByShortCHDRId(SBinContext ctx, ByteSlice bytes, int startIndex, int endIndex) {
+		int hexCHDRId = bytes.slice(startIndex, endIndex).getUShort(0);
+		return ctx.getSBinJson().getCDATStrings().get(hexCHDRId).getString();
 	}
 	
-	public static SBinCDATEntry getCDATEntryByEnumCHDRId(byte[] bytes) {
-		int hexCHDRId = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(bytes, 0, 2));
-		return SBJson.get().getCDATStrings().get(hexCHDRId);
+	public static SBinCDATEntry getCDATEntryByEnumCHDRId(SBinContext ctx, ByteSlice bytes) {
+		int hexCHDRId = bytes.slice(0, 2).getUShort(0);
+		return ctx.getSBinJson().getCDATStrings().get(hexCHDRId);
 	}
 	
-	public static SBinDataElement getDataElementByStructName(String structName) {
-		for (SBinDataElement dataElement : SBJson.get().getDataElements()) {
-			if (dataElement.getStructName() != null &&
-					dataElement.getStructName().contentEquals(structName)) {
-				return dataElement;
-			}
-		}
-		return null;
+	public static SBinDataElement getDataElementByStructName(SBinContext ctx, String structName) {
+		List<SBinDataElement> elements = ctx.getSBinJson().getDataElementsByStructName(structName);
+		return elements.isEmpty() ? null : elements.get(0);
 	}
 	
-	public static List<SBinDataElement> getAllDataElementsByStructName(String structName) {
-		List<SBinDataElement> elements = new ArrayList<>();
-		for (SBinDataElement dataElement : SBJson.get().getDataElements()) {
-			if (dataElement.getStructName() != null && 
-					dataElement.getStructName().contentEquals(structName)) {
-				elements.add(dataElement);
-			}
-		}
-		return elements;
+	public static List<SBinDataElement> getAllDataElementsByStructName(SBinContext ctx, String structName) {
+		return new ArrayList<>(ctx.getSBinJson().getDataElementsByStructName(structName));
 	}
 	
 	public static SBinDataField getDataFieldByName(SBinDataElement dataElement, String name) {
-		for (SBinDataField field : dataElement.getFields()) {
-			if (field.getName().contentEquals(name)) {
-				return field;
+		return dataElement.getFieldByName(name);
+	}
+	
+	// Streamed repack keeps only the DATA elements referenced by others, same for the unpack with the repack cache
+	public static SBinDataElement getDataElementById(SBinContext ctx, int id) {
+		if (ctx.getJsonReader() != null) {
+			return ctx.getJsonReader().getDataElementById(id);
+		}
+		if (ctx.getReferencedElements() != null) {
+			SBinDataElement element = ctx.getReferencedElements().get(id);
+			if (element == null) {
+				throw new IndexOutOfBoundsException("!!! Referenced DATA element " + id + " cannot be found.");
 			}
+			return element;
 		}
-		return null;
+		return ctx.getSBinJson().getDataElements().get(id);
 	}
 	
-	public static SBinDataElement getDataElementFromValueId(SBinDataElement dataElement, String fieldName) {
+	public static SBinDataElement getDataElementFromValueId(SBinContext ctx, SBinDataElement dataElement, String fieldName) {
 		SBinDataField lookForElement = DataUtils.getDataFieldByName(dataElement, fieldName);
 		if (lookForElement != null) {
-			return SBJson.get().getDataElements().get(HEXUtils.strHexToInt(lookForElement.getValue()));
+			return ctx.getSBinJson().getDataElements().get(HEXUtils.strHexToInt(lookForElement.getValue()));
 		}
 		return null;
 	}
 	
-	public static SBinStruct getStructByName(String name) {
-		for (SBinStruct struct : SBJson.get().getStructs()) {
-			if (struct.getName().contentEquals(name)) {
-				return struct;
-			}
-		}
-		return null;
+	public static SBinStruct getStructByName(SBinContext ctx, String name) {
+		return ctx.getSBinJson().getStructByName(name);
 	}
 	
 }
@@ -1,4 +1,7 @@
 package util;
+
+import java.nio.ByteBuffer;
+
 /**
  *   Copyright 2014 Prasanth Jayachandran
  *
@@ -54,6 +57,22 @@ public class FNV1 {
 		return hash;
 	}
 
+	/**
+	 * FNV1 32 bit variant.
+	 *
+	 * @param data - input buffer, hashed from position to limit
+	 * @return - hashcode
+	 */
+	public static int hash32(ByteBuffer data) {
+		int hash = FNV1_32_INIT;
+		for (int i = data.position(); i < data.limit(); i++) {
+			hash *= FNV1_PRIME_32;
+			hash ^= (data.get(i) & 0xff);
+		}
+
+		return hash;
+	}
+
 	/**
 	 * FNV1 64 bit variant.
 	 *
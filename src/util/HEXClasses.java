@@ -17,7 +17,6 @@ public final class HEXClasses {
 	
 	private static final byte[] SHORT_EMPTYBYTES = new byte[2];
 	private static final byte[] INT_EMPTYBYTES = new byte[4];
-	private static final int OHDR_MULTIPLIER = 0x8;
 	
 	public static class SBinBlockObj {
 		private byte[] header;
@@ -25,16 +24,12 @@ public final class HEXClasses {
 		private int blockSizeInt = 0;
 		private byte[] fnv1Hash;
 		private int blockEmptyBytesCount = 0;
-		private byte[] blockBytes = new byte[0];
-		private List<byte[]> blockElements;
+		private ByteSlice blockData = ByteSlice.EMPTY;
+		private List<ByteSlice> blockElements;
 		private boolean lastBlock = false;
-		private List<SBinOHDREntry> ohdrMapTemplate = new ArrayList<>();
+		private ByteSlice ohdrData; // Recorded during DATA repack
 		private byte[] bulkMap;
 		
-		public void addToOHDRMapTemplate(Integer entrySize, Integer remainder) {
-			this.ohdrMapTemplate.add(new SBinOHDREntry(entrySize, remainder));
-		}
-		
 		public byte[] getHeader() {
 			return header;
 		}
@@ -70,17 +65,20 @@ public final class HEXClasses {
 			this.blockEmptyBytesCount = blockEmptyBytesCount;
 		}
 		
-		public byte[] getBlockBytes() {
-			return blockBytes;
+		public ByteSlice getBlockData() {
+			return blockData;
+		}
+		public void setBlockData(ByteSlice blockData) {
+			this.blockData = blockData;
 		}
 		public void setBlockBytes(byte[] blockBytes) {
-			this.blockBytes = blockBytes;
+			this.blockData = ByteSlice.wrap(blockBytes);
 		}
 		
-		public List<byte[]> getBlockElements() {
+		public List<ByteSlice> getBlockElements() {
 			return blockElements;
 		}
-		public void setBlockElements(List<byte[]> blockElements) {
+		public void setBlockElements(List<ByteSlice> blockElements) {
 			this.blockElements = blockElements;
 		}
 
@@ -91,11 +89,11 @@ public final class HEXClasses {
 			this.lastBlock = lastBlock;
 		}
 
-		public List<SBinOHDREntry> getOHDRMapTemplate() {
-			return ohdrMapTemplate;
+		public ByteSlice getOHDRData() {
+			return ohdrData;
 		}
-		public void setOHDRMapTemplate(List<SBinOHDREntry> ohdrMapTemplate) {
-			this.ohdrMapTemplate = ohdrMapTemplate;
+		public void setOHDRData(ByteSlice ohdrData) {
+			this.ohdrData = ohdrData;
 		}
 
 		public byte[] getBULKMap() {
@@ -106,30 +104,6 @@ public final class HEXClasses {
 		}
 	}
 	
-	public static class SBinOHDREntry {
-		private int value;
-		private int remainder;
-		
-		public SBinOHDREntry(int value, int remainder) {
-			this.value = value * OHDR_MULTIPLIER;
-			this.remainder = remainder;
-		}
-		
-		public int getValue() {
-			return value;
-		}
-		public void setValue(int value) {
-			this.value = value * OHDR_MULTIPLIER;
-		}
-		
-		public int getRemainder() {
-			return remainder;
-		}
-		public void setRemainder(int remainder) {
-			this.remainder = remainder;
-		}
-	}
-	
 	public static class SBinStructureEntryHex {
 		private byte[] header = INT_EMPTYBYTES;
 		private byte[] size = INT_EMPTYBYTES;
@@ -351,19 +325,19 @@ public final class HEXClasses {
 		private byte[] checksum;
 		
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			LEWriter bytes = new LEWriter();
 			for (M3GObject obj : objectArray) {
-				bytes.write(obj.toByteArray());
+				bytes.writeBytes(obj.toByteArray());
 			}
-			bytes.write(this.checksum);
+			bytes.writeBytes(this.checksum);
 			
-			byte[] newFileSize = HEXUtils.intToByteArrayLE(bytes.size() + 0x9); // compress byte + file sizes
-			ByteArrayOutputStream finalBytes = new ByteArrayOutputStream();
-			finalBytes.write(this.header);
-			finalBytes.write(this.isCompressed);
-			finalBytes.write(newFileSize); // fileSize
-			finalBytes.write(newFileSize); // uncompressedFileSize
-			finalBytes.write(bytes.toByteArray());
+			int newFileSize = bytes.size() + 0x9; // compress byte + file sizes
+			LEWriter finalBytes = new LEWriter(this.header.length + newFileSize);
+			finalBytes.writeBytes(this.header);
+			finalBytes.writeByte(this.isCompressed);
+			finalBytes.writeInt(newFileSize); // fileSize
+			finalBytes.writeInt(newFileSize); // uncompressedFileSize
+			finalBytes.writeSlice(bytes.toSlice());
 			return finalBytes.toByteArray();
 		}
 		
@@ -440,19 +414,19 @@ public final class HEXClasses {
 		private transient int size;
 		
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(getTypeByte());
-			bytes.write(new byte[4]); // calculated under each object type
+			LEWriter bytes = new LEWriter();
+			bytes.writeByte(getTypeByte());
+			bytes.writeZeros(4); // calculated under each object type
 			return bytes.toByteArray();
 		}
 		public void assignUUIDWithOrderIds(Map<UUID, Integer> revOrderMap) {
 			// specific under each object type
 		}
-		public byte[] getFullObjBytes(ByteArrayOutputStream bytes2) throws IOException {
-			ByteArrayOutputStream bytes1 = new ByteArrayOutputStream();
-			bytes1.write(getTypeByte());
-			bytes1.write(HEXUtils.intToByteArrayLE(bytes2.size()));
-			bytes1.write(bytes2.toByteArray());
+		public byte[] getFullObjBytes(LEWriter bytes2) throws IOException {
+			LEWriter bytes1 = new LEWriter(bytes2.size() + 0x5);
+			bytes1.writeByte(getTypeByte());
+			bytes1.writeInt(bytes2.size());
+			bytes1.writeSlice(bytes2.toSlice());
 			return bytes1.toByteArray();
 		}
 
@@ -490,11 +464,8 @@ public final class HEXClasses {
 		public int getSize() {
 			return size;
 		}
-		public byte[] getSizeBytes() {
-			return HEXUtils.intToByteArrayLE(size);
-		}
-		public void setSize(byte[] size) {
-			this.size = HEXUtils.byteArrayToInt(size);
+		public void setSize(int size) {
+			this.size = size;
 		}
 	}
 	
@@ -505,11 +476,11 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(getTypeByte());
-			bytes.write(HEXUtils.intToByteArrayLE(getData().length));
+			LEWriter bytes = new LEWriter();
+			bytes.writeByte(getTypeByte());
+			bytes.writeInt(getData().length);
 			//
-			bytes.write(getData());
+			bytes.writeBytes(getData());
 			return bytes.toByteArray();
 		}
 
@@ -528,11 +499,11 @@ public final class HEXClasses {
 		private String property;
 		
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(getObjLabelOffsetByte());
-			bytes.write(getObjLabelBytes());
-			bytes.write(getPropertyLabelOffsetBytes());
-			bytes.write(getPropertyBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeByte(getObjLabelOffsetByte());
+			bytes.writeBytes(getObjLabelBytes());
+			bytes.writeInt(getPropertyLabelOffset());
+			bytes.writeBytes(getPropertyBytes());
 			return bytes.toByteArray();
 		}
 		
@@ -559,11 +530,8 @@ public final class HEXClasses {
 		public int getPropertyLabelOffset() {
 			return propertyLabelOffset;
 		}
-		public byte[] getPropertyLabelOffsetBytes() {
-			return HEXUtils.intToByteArrayLE(propertyLabelOffset);
-		}
-		public void setPropertyLabelOffset(byte[] propertyLabelOffset) {
-			this.propertyLabelOffset = HEXUtils.byteArrayToInt(propertyLabelOffset);
+		public void setPropertyLabelOffset(int propertyLabelOffset) {
+			this.propertyLabelOffset = propertyLabelOffset;
 		}
 		
 		public String getProperty() {
@@ -586,25 +554,25 @@ public final class HEXClasses {
 		private byte[] unkBytes;
 		
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(getTypeBytes());
-			bytes.write(getSizeBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeInt(getType());
+			bytes.writeInt(getSize());
 			
 			switch(this.type) {
 			case 0x0: case 0x384:
-				bytes.write(getStrValueBytes());
+				bytes.writeBytes(getStrValueBytes());
 				break;
 			case 0x2:
-				bytes.write(this.propertyObj.toByteArray());
+				bytes.writeBytes(this.propertyObj.toByteArray());
 				break;
 			case 0x259:
-				bytes.write(HEXUtils.floatToBytes(this.rgbaColorValue[0]));
-				bytes.write(HEXUtils.floatToBytes(this.rgbaColorValue[1]));
-				bytes.write(HEXUtils.floatToBytes(this.rgbaColorValue[2]));
-				bytes.write(HEXUtils.floatToBytes(this.rgbaColorValue[3]));
+				bytes.writeFloat(this.rgbaColorValue[0]);
+				bytes.writeFloat(this.rgbaColorValue[1]);
+				bytes.writeFloat(this.rgbaColorValue[2]);
+				bytes.writeFloat(this.rgbaColorValue[3]);
 				break;
 			default:
-				bytes.write(this.unkBytes);
+				bytes.writeBytes(this.unkBytes);
 				break;
 			}
 			return bytes.toByteArray();
@@ -613,21 +581,15 @@ public final class HEXClasses {
 		public int getType() {
 			return type;
 		}
-		public byte[] getTypeBytes() {
-			return HEXUtils.intToByteArrayLE(type);
-		}
-		public void setType(byte[] type) {
-			this.type = HEXUtils.byteArrayToInt(type);
+		public void setType(int type) {
+			this.type = type;
 		}
 		
 		public int getSize() {
 			return size;
 		}
-		public byte[] getSizeBytes() {
-			return HEXUtils.intToByteArrayLE(size);
-		}
-		public void setSize(byte[] size) {
-			this.size = HEXUtils.byteArrayToInt(size);
+		public void setSize(int size) {
+			this.size = size;
 		}
 		
 		public String getStrValue() {
@@ -671,17 +633,17 @@ public final class HEXClasses {
 		private float orientationAxisZ;
 		
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(HEXUtils.floatToBytes(this.translation[0]));
-			bytes.write(HEXUtils.floatToBytes(this.translation[1]));
-			bytes.write(HEXUtils.floatToBytes(this.translation[2]));
-			bytes.write(HEXUtils.floatToBytes(this.scale[0]));
-			bytes.write(HEXUtils.floatToBytes(this.scale[1]));
-			bytes.write(HEXUtils.floatToBytes(this.scale[2]));
-			bytes.write(getOrientationAngleBytes());
-			bytes.write(getOrientationAxisXBytes());
-			bytes.write(getOrientationAxisYBytes());
-			bytes.write(getOrientationAxisZBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeFloat(this.translation[0]);
+			bytes.writeFloat(this.translation[1]);
+			bytes.writeFloat(this.translation[2]);
+			bytes.writeFloat(this.scale[0]);
+			bytes.writeFloat(this.scale[1]);
+			bytes.writeFloat(this.scale[2]);
+			bytes.writeFloat(getOrientationAngle());
+			bytes.writeFloat(getOrientationAxisX());
+			bytes.writeFloat(getOrientationAxisY());
+			bytes.writeFloat(getOrientationAxisZ());
 			return bytes.toByteArray();
 		}
 		
@@ -702,41 +664,29 @@ public final class HEXClasses {
 		public float getOrientationAngle() {
 			return orientationAngle;
 		}
-		public byte[] getOrientationAngleBytes() {
-			return HEXUtils.floatToBytes(orientationAngle);
-		}
-		public void setOrientationAngle(byte[] orientationAngle) {
-			this.orientationAngle = HEXUtils.bytesToFloat(orientationAngle);
+		public void setOrientationAngle(float orientationAngle) {
+			this.orientationAngle = orientationAngle;
 		}
 		
 		public float getOrientationAxisX() {
 			return orientationAxisX;
 		}
-		public byte[] getOrientationAxisXBytes() {
-			return HEXUtils.floatToBytes(orientationAxisX);
-		}
-		public void setOrientationAxisX(byte[] orientationAxisX) {
-			this.orientationAxisX = HEXUtils.bytesToFloat(orientationAxisX);
+		public void setOrientationAxisX(float orientationAxisX) {
+			this.orientationAxisX = orientationAxisX;
 		}
 		
 		public float getOrientationAxisY() {
 			return orientationAxisY;
 		}
-		public byte[] getOrientationAxisYBytes() {
-			return HEXUtils.floatToBytes(orientationAxisY);
-		}
-		public void setOrientationAxisY(byte[] orientationAxisY) {
-			this.orientationAxisY = HEXUtils.bytesToFloat(orientationAxisY);
+		public void setOrientationAxisY(float orientationAxisY) {
+			this.orientationAxisY = orientationAxisY;
 		}
 		
 		public float getOrientationAxisZ() {
 			return orientationAxisZ;
 		}
-		public byte[] getOrientationAxisZBytes() {
-			return HEXUtils.floatToBytes(orientationAxisZ);
-		}
-		public void setOrientationAxisZ(byte[] orientationAxisZ) {
-			this.orientationAxisZ = HEXUtils.bytesToFloat(orientationAxisZ);
+		public void setOrientationAxisZ(float orientationAxisZ) {
+			this.orientationAxisZ = orientationAxisZ;
 		}
 	}
 	
@@ -748,28 +698,25 @@ public final class HEXClasses {
 		private float textureCoordScale;
 		
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(getTextureCoordObjIndexBytes());
-			bytes.write(HEXUtils.floatToBytes(this.textureCoordBias[0]));
-			bytes.write(HEXUtils.floatToBytes(this.textureCoordBias[1]));
-			bytes.write(HEXUtils.floatToBytes(this.textureCoordBias[2]));
-			bytes.write(getTextureCoordScaleBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeInt(getTextureCoordObjIndex());
+			bytes.writeFloat(this.textureCoordBias[0]);
+			bytes.writeFloat(this.textureCoordBias[1]);
+			bytes.writeFloat(this.textureCoordBias[2]);
+			bytes.writeFloat(getTextureCoordScale());
 			return bytes.toByteArray();
 		}
 		
 		public void assignUUIDWithOrderIds(Map<UUID, Integer> revOrderMap) {
-			setTextureCoordObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getTextureCoordObjUUID())));
+			setTextureCoordObjIndex(
+					revOrderMap.get(getTextureCoordObjUUID()));
 		}
 		
 		public int getTextureCoordObjIndex() {
 			return textureCoordObjIndex;
 		}
-		public byte[] getTextureCoordObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(textureCoordObjIndex);
-		}
-		public void setTextureCoordObjIndex(byte[] textureCoordObjIndex) {
-			this.textureCoordObjIndex = HEXUtils.byteArrayToInt(textureCoordObjIndex);
+		public void setTextureCoordObjIndex(int textureCoordObjIndex) {
+			this.textureCoordObjIndex = textureCoordObjIndex;
 		}
 		public UUID getTextureCoordObjUUID() {
 			return textureCoordObjUUID;
@@ -789,11 +736,8 @@ public final class HEXClasses {
 		public float getTextureCoordScale() {
 			return textureCoordScale;
 		}
-		public byte[] getTextureCoordScaleBytes() {
-			return HEXUtils.floatToBytes(textureCoordScale);
-		}
-		public void setTextureCoordScale(byte[] textureCoordScale) {
-			this.textureCoordScale = HEXUtils.bytesToFloat(textureCoordScale);
+		public void setTextureCoordScale(float textureCoordScale) {
+			this.textureCoordScale = textureCoordScale;
 		}
 	}
 	
@@ -808,11 +752,11 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(this.padding);
-			bytes.write(getValue1Bytes());
-			bytes.write(getValue2Bytes());
-			bytes.write(this.unkPart);
+			LEWriter bytes = new LEWriter();
+			bytes.writeBytes(this.padding);
+			bytes.writeFloat(getValue1());
+			bytes.writeFloat(getValue2());
+			bytes.writeBytes(this.unkPart);
 			return getFullObjBytes(bytes);
 		}
 
@@ -826,21 +770,15 @@ public final class HEXClasses {
 		public float getValue1() {
 			return value1;
 		}
-		public byte[] getValue1Bytes() {
-			return HEXUtils.floatToBytes(value1);
-		}
-		public void setValue1(byte[] value1) {
-			this.value1 = HEXUtils.bytesToFloat(value1);
+		public void setValue1(float value1) {
+			this.value1 = value1;
 		}
 
 		public float getValue2() {
 			return value2;
 		}
-		public byte[] getValue2Bytes() {
-			return HEXUtils.floatToBytes(value2);
-		}
-		public void setValue2(byte[] value2) {
-			this.value2 = HEXUtils.bytesToFloat(value2);
+		public void setValue2(float value2) {
+			this.value2 = value2;
 		}
 
 		public byte[] getUnkPart() {
@@ -867,20 +805,20 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(this.padding);
-			bytes.write(getAnimationBufferObjIndexBytes());
-			bytes.write(getAnimationTrackSettingsObjIndexBytes());
-			bytes.write(this.unkPart);
+			LEWriter bytes = new LEWriter();
+			bytes.writeBytes(this.padding);
+			bytes.writeInt(getAnimationBufferObjIndex());
+			bytes.writeInt(getAnimationTrackSettingsObjIndex());
+			bytes.writeBytes(this.unkPart);
 			return getFullObjBytes(bytes);
 		}
 		
 		@Override
 		public void assignUUIDWithOrderIds(Map<UUID, Integer> revOrderMap) {
-			setAnimationBufferObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getAnimationBufferObjUUID())));
-			setAnimationTrackSettingsObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getAnimationTrackSettingsObjUUID())));
+			setAnimationBufferObjIndex(
+					revOrderMap.get(getAnimationBufferObjUUID()));
+			setAnimationTrackSettingsObjIndex(
+					revOrderMap.get(getAnimationTrackSettingsObjUUID()));
 		}
 
 		public byte[] getPadding() {
@@ -893,11 +831,8 @@ public final class HEXClasses {
 		public int getAnimationBufferObjIndex() {
 			return animationBufferObjIndex;
 		}
-		public byte[] getAnimationBufferObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(animationBufferObjIndex);
-		}
-		public void setAnimationBufferObjIndex(byte[] animationBufferObjIndex) {
-			this.animationBufferObjIndex = HEXUtils.byteArrayToInt(animationBufferObjIndex);
+		public void setAnimationBufferObjIndex(int animationBufferObjIndex) {
+			this.animationBufferObjIndex = animationBufferObjIndex;
 		}
 		public UUID getAnimationBufferObjUUID() {
 			return animationBufferObjUUID;
@@ -909,11 +844,8 @@ public final class HEXClasses {
 		public int getAnimationTrackSettingsObjIndex() {
 			return animationTrackSettingsObjIndex;
 		}
-		public byte[] getAnimationTrackSettingsObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(animationTrackSettingsObjIndex);
-		}
-		public void setAnimationTrackSettingsObjIndex(byte[] animationTrackSettingsObjIndex) {
-			this.animationTrackSettingsObjIndex = HEXUtils.byteArrayToInt(animationTrackSettingsObjIndex);
+		public void setAnimationTrackSettingsObjIndex(int animationTrackSettingsObjIndex) {
+			this.animationTrackSettingsObjIndex = animationTrackSettingsObjIndex;
 		}
 		public UUID getAnimationTrackSettingsObjUUID() {
 			return animationTrackSettingsObjUUID;
@@ -963,24 +895,24 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(this.animationControllers);
-			bytes.write(getAnimationTracksBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeBytes(this.animationControllers);
+			bytes.writeInt(getAnimationTracks());
 			for (Integer id : getAnimationArray()) {
-				bytes.write(HEXUtils.intToByteArrayLE(id));
+				bytes.writeInt(id);
 			}
-			bytes.write(getParameterCountBytes());
+			bytes.writeInt(getParameterCount());
 			for (M3GSubObjParameter paramObj : getParameterArray()) {
-				bytes.write(paramObj.toByteArray());
+				bytes.writeBytes(paramObj.toByteArray());
 			}
-			bytes.write(getLayerByte());
-			bytes.write(getCompositingModeObjIndexBytes());
-			bytes.write(getFogObjIndexBytes());
-			bytes.write(getPolygonModeObjIndexBytes());
-			bytes.write(getMaterialObjIndexBytes());
-			bytes.write(getTextureRefCountBytes());
+			bytes.writeByte(getLayerByte());
+			bytes.writeInt(getCompositingModeObjIndex());
+			bytes.writeInt(getFogObjIndex());
+			bytes.writeInt(getPolygonModeObjIndex());
+			bytes.writeInt(getMaterialObjIndex());
+			bytes.writeInt(getTextureRefCount());
 			for (Integer id2 : getTextureRefObjIndexArray()) {
-				bytes.write(HEXUtils.intToByteArrayLE(id2));
+				bytes.writeInt(id2);
 			}
 			return getFullObjBytes(bytes);
 		}
@@ -990,14 +922,14 @@ public final class HEXClasses {
 			for (UUID arrayId : getAnimationArrayObjUUIDArray()) {
 				addToAnimationArray(revOrderMap.get(arrayId));
 			}
-			setCompositingModeObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getCompositingModeObjUUID())));
-			setFogObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getFogObjUUID())));
-			setPolygonModeObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getPolygonModeObjUUID())));
-			setMaterialObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getMaterialObjUUID())));
+			setCompositingModeObjIndex(
+					revOrderMap.get(getCompositingModeObjUUID()));
+			setFogObjIndex(
+					revOrderMap.get(getFogObjUUID()));
+			setPolygonModeObjIndex(
+					revOrderMap.get(getPolygonModeObjUUID()));
+			setMaterialObjIndex(
+					revOrderMap.get(getMaterialObjUUID()));
 			for (UUID arrayId : getTextureRefObjUUIDArray()) {
 				addToTextureRefObjIndexArray(revOrderMap.get(arrayId));
 			}
@@ -1013,11 +945,8 @@ public final class HEXClasses {
 		public int getAnimationTracks() {
 			return animationTracks;
 		}
-		public byte[] getAnimationTracksBytes() {
-			return HEXUtils.intToByteArrayLE(animationTracks);
-		}
-		public void setAnimationTracks(byte[] animationTracks) {
-			this.animationTracks = HEXUtils.byteArrayToInt(animationTracks);
+		public void setAnimationTracks(int animationTracks) {
+			this.animationTracks = animationTracks;
 		}
 		
 		public void addToAnimationArray(int objId) {
@@ -1043,11 +972,8 @@ public final class HEXClasses {
 		public int getParameterCount() {
 			return parameterCount;
 		}
-		public byte[] getParameterCountBytes() {
-			return HEXUtils.intToByteArrayLE(parameterCount);
-		}
-		public void setParameterCount(byte[] parameterCount) {
-			this.parameterCount = HEXUtils.byteArrayToInt(parameterCount);
+		public void setParameterCount(int parameterCount) {
+			this.parameterCount = parameterCount;
 		}
 		
 		public void addToParameterArray(M3GSubObjParameter obj) {
@@ -1073,11 +999,8 @@ public final class HEXClasses {
 		public int getCompositingModeObjIndex() {
 			return compositingModeObjIndex;
 		}
-		public byte[] getCompositingModeObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(compositingModeObjIndex);
-		}
-		public void setCompositingModeObjIndex(byte[] compositingModeObjIndex) {
-			this.compositingModeObjIndex = HEXUtils.byteArrayToInt(compositingModeObjIndex);
+		public void setCompositingModeObjIndex(int compositingModeObjIndex) {
+			this.compositingModeObjIndex = compositingModeObjIndex;
 		}
 		public UUID getCompositingModeObjUUID() {
 			return compositingModeObjUUID;
@@ -1089,11 +1012,8 @@ public final class HEXClasses {
 		public int getFogObjIndex() {
 			return fogObjIndex;
 		}
-		public byte[] getFogObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(fogObjIndex);
-		}
-		public void setFogObjIndex(byte[] fogObjIndex) {
-			this.fogObjIndex = HEXUtils.byteArrayToInt(fogObjIndex);
+		public void setFogObjIndex(int fogObjIndex) {
+			this.fogObjIndex = fogObjIndex;
 		}
 		public UUID getFogObjUUID() {
 			return fogObjUUID;
@@ -1105,11 +1025,8 @@ public final class HEXClasses {
 		public int getPolygonModeObjIndex() {
 			return polygonModeObjIndex;
 		}
-		public byte[] getPolygonModeObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(polygonModeObjIndex);
-		}
-		public void setPolygonModeObjIndex(byte[] polygonModeObjIndex) {
-			this.polygonModeObjIndex = HEXUtils.byteArrayToInt(polygonModeObjIndex);
+		public void setPolygonModeObjIndex(int polygonModeObjIndex) {
+			this.polygonModeObjIndex = polygonModeObjIndex;
 		}
 		public UUID getPolygonModeObjUUID() {
 			return polygonModeObjUUID;
@@ -1121,11 +1038,8 @@ public final class HEXClasses {
 		public int getMaterialObjIndex() {
 			return materialObjIndex;
 		}
-		public byte[] getMaterialObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(materialObjIndex);
-		}
-		public void setMaterialObjIndex(byte[] materialObjIndex) {
-			this.materialObjIndex = HEXUtils.byteArrayToInt(materialObjIndex);
+		public void setMaterialObjIndex(int materialObjIndex) {
+			this.materialObjIndex = materialObjIndex;
 		}
 		public UUID getMaterialObjUUID() {
 			return materialObjUUID;
@@ -1137,11 +1051,8 @@ public final class HEXClasses {
 		public int getTextureRefCount() {
 			return textureRefCount;
 		}
-		public byte[] getTextureRefCountBytes() {
-			return HEXUtils.intToByteArrayLE(textureRefCount);
-		}
-		public void setTextureRefCount(byte[] textureRefCount) {
-			this.textureRefCount = HEXUtils.byteArrayToInt(textureRefCount);
+		public void setTextureRefCount(int textureRefCount) {
+			this.textureRefCount = textureRefCount;
 		}
 		
 		public void addToTextureRefObjIndexArray(int objId) {
@@ -1183,30 +1094,30 @@ public final class HEXClasses {
 		// here must be something related to unknown functional part
 		// ... additional content here from extended types
 
-		public byte[] toGroupByteArray(ByteArrayOutputStream bytes2) throws IOException {
-			ByteArrayOutputStream bytes1 = new ByteArrayOutputStream();
-			bytes1.write(this.animationControllers);
-			bytes1.write(getAnimationTracksBytes());
+		public byte[] toGroupByteArray(LEWriter bytes2) throws IOException {
+			LEWriter bytes1 = new LEWriter();
+			bytes1.writeBytes(this.animationControllers);
+			bytes1.writeInt(getAnimationTracks());
 			for (Integer id : getAnimationArray()) {
-				bytes1.write(HEXUtils.intToByteArrayLE(id));
+				bytes1.writeInt(id);
 			}
-			bytes1.write(getParameterCountBytes());
+			bytes1.writeInt(getParameterCount());
 			for (M3GSubObjParameter paramObj : getParameterArray()) {
-				bytes1.write(paramObj.toByteArray());
+				bytes1.writeBytes(paramObj.toByteArray());
 			}
-			bytes1.write(getHasComponentTransformByte());
+			bytes1.writeByte(getHasComponentTransformByte());
 			if (this.hasComponentTransform != 0) {
-				bytes1.write(this.componentTransform.toByteArray());
+				bytes1.writeBytes(this.componentTransform.toByteArray());
 			}
-			bytes1.write(getHasGeneralTransformByte());
+			bytes1.writeByte(getHasGeneralTransformByte());
 			if (this.hasGeneralTransform != 0) {
-				bytes1.write(this.generalTransformBytes);
+				bytes1.writeBytes(this.generalTransformBytes);
 			}
-			bytes1.write(this.unkPart);
-			bytes1.write(getHasUnkFuncPartByte());
+			bytes1.writeBytes(this.unkPart);
+			bytes1.writeByte(getHasUnkFuncPartByte());
 			
 			// ... additional content here from extended types
-			bytes1.write(bytes2.toByteArray());
+			bytes1.writeSlice(bytes2.toSlice());
 			
 			return getFullObjBytes(bytes1);
 		}
@@ -1228,11 +1139,8 @@ public final class HEXClasses {
 		public int getAnimationTracks() {
 			return animationTracks;
 		}
-		public byte[] getAnimationTracksBytes() {
-			return HEXUtils.intToByteArrayLE(animationTracks);
-		}
-		public void setAnimationTracks(byte[] animationTracks) {
-			this.animationTracks = HEXUtils.byteArrayToInt(animationTracks);
+		public void setAnimationTracks(int animationTracks) {
+			this.animationTracks = animationTracks;
 		}
 
 		public void addToAnimationArray(int objId) {
@@ -1258,11 +1166,8 @@ public final class HEXClasses {
 		public int getParameterCount() {
 			return parameterCount;
 		}
-		public byte[] getParameterCountBytes() {
-			return HEXUtils.intToByteArrayLE(parameterCount);
-		}
-		public void setParameterCount(byte[] parameterCount) {
-			this.parameterCount = HEXUtils.byteArrayToInt(parameterCount);
+		public void setParameterCount(int parameterCount) {
+			this.parameterCount = parameterCount;
 		}
 
 		public void addToParameterArray(M3GSubObjParameter obj) {
@@ -1338,10 +1243,10 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(getChildCountBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeInt(getChildCount());
 			for (Integer id : getChildObjIndexArray()) {
-				bytes.write(HEXUtils.intToByteArrayLE(id));
+				bytes.writeInt(id);
 			}
 			return toGroupByteArray(bytes);
 		}
@@ -1357,11 +1262,8 @@ public final class HEXClasses {
 		public int getChildCount() {
 			return childCount;
 		}
-		public byte[] getChildCountBytes() {
-			return HEXUtils.intToByteArrayLE(childCount);
-		}
-		public void setChildCount(byte[] childCount) {
-			this.childCount = HEXUtils.byteArrayToInt(childCount);
+		public void setChildCount(int childCount) {
+			this.childCount = childCount;
 		}
 		
 		public void addToChildObjIndexArray(int objId) {
@@ -1402,19 +1304,19 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(this.padding);
-			bytes.write(getParameterCountBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeBytes(this.padding);
+			bytes.writeInt(getParameterCount());
 			for (M3GSubObjParameter paramObj : getParameterArray()) {
-				bytes.write(paramObj.toByteArray());
+				bytes.writeBytes(paramObj.toByteArray());
 			}
-			bytes.write(this.unkPostParamByte);
-			bytes.write(getTexFormatTypeByte());
-			bytes.write(getTexWidthBytes());
-			bytes.write(getTexHeightBytes());
-			bytes.write(this.texMetadataUnkBytes);
-			bytes.write(getTexMetadataSizeBytes());
-			bytes.write(this.texMetadata);
+			bytes.writeByte(this.unkPostParamByte);
+			bytes.writeByte(getTexFormatTypeByte());
+			bytes.writeInt(getTexWidth());
+			bytes.writeInt(getTexHeight());
+			bytes.writeBytes(this.texMetadataUnkBytes);
+			bytes.writeInt(getTexMetadataSize());
+			bytes.writeBytes(this.texMetadata);
 			return getFullObjBytes(bytes);
 		}
 		
@@ -1432,11 +1334,8 @@ public final class HEXClasses {
 		public int getParameterCount() {
 			return parameterCount;
 		}
-		public byte[] getParameterCountBytes() {
-			return HEXUtils.intToByteArrayLE(parameterCount);
-		}
-		public void setParameterCount(byte[] parameterCount) {
-			this.parameterCount = HEXUtils.byteArrayToInt(parameterCount);
+		public void setParameterCount(int parameterCount) {
+			this.parameterCount = parameterCount;
 		}
 		
 		public void addToParameterArray(M3GSubObjParameter obj) {
@@ -1469,21 +1368,15 @@ public final class HEXClasses {
 		public int getTexWidth() {
 			return texWidth;
 		}
-		public byte[] getTexWidthBytes() {
-			return HEXUtils.intToByteArrayLE(texWidth);
-		}
-		public void setTexWidth(byte[] texWidth) {
-			this.texWidth = HEXUtils.byteArrayToInt(texWidth);
+		public void setTexWidth(int texWidth) {
+			this.texWidth = texWidth;
 		}
 		
 		public int getTexHeight() {
 			return texHeight;
 		}
-		public byte[] getTexHeightBytes() {
-			return HEXUtils.intToByteArrayLE(texHeight);
-		}
-		public void setTexHeight(byte[] texHeight) {
-			this.texHeight = HEXUtils.byteArrayToInt(texHeight);
+		public void setTexHeight(int texHeight) {
+			this.texHeight = texHeight;
 		}
 		
 		public byte[] getTexMetadataUnkBytes() {
@@ -1496,11 +1389,8 @@ public final class HEXClasses {
 		public int getTexMetadataSize() {
 			return texMetadataSize;
 		}
-		public byte[] getTexMetadataSizeBytes() {
-			return HEXUtils.intToByteArrayLE(texMetadataSize);
-		}
-		public void setTexMetadataSize(byte[] texMetadataSize) {
-			this.texMetadataSize = HEXUtils.byteArrayToInt(texMetadataSize);
+		public void setTexMetadataSize(int texMetadataSize) {
+			this.texMetadataSize = texMetadataSize;
 		}
 
 		public byte[] getTexMetadata() {
@@ -1527,21 +1417,21 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(this.padding);
-			bytes.write(this.unkPart);
-			bytes.write(getVertexBufferObjIndexBytes());
-			bytes.write(getSubMeshCountBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeBytes(this.padding);
+			bytes.writeBytes(this.unkPart);
+			bytes.writeInt(getVertexBufferObjIndex());
+			bytes.writeInt(getSubMeshCount());
 			for (Integer id : getSubMeshObjIndexArray()) {
-				bytes.write(HEXUtils.intToByteArrayLE(id));
+				bytes.writeInt(id);
 			}
 			return getFullObjBytes(bytes);
 		}
 		
 		@Override
 		public void assignUUIDWithOrderIds(Map<UUID, Integer> revOrderMap) {
-			setVertexBufferObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getVertexBufferObjUUID())));
+			setVertexBufferObjIndex(
+					revOrderMap.get(getVertexBufferObjUUID()));
 			for (UUID arrayId : getSubMeshObjUUIDArray()) {
 				addToSubMeshObjIndexArray(revOrderMap.get(arrayId));
 			}
@@ -1564,11 +1454,8 @@ public final class HEXClasses {
 		public int getVertexBufferObjIndex() {
 			return vertexBufferObjIndex;
 		}
-		public byte[] getVertexBufferObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(vertexBufferObjIndex);
-		}
-		public void setVertexBufferObjIndex(byte[] vertexBufferObjIndex) {
-			this.vertexBufferObjIndex = HEXUtils.byteArrayToInt(vertexBufferObjIndex);
+		public void setVertexBufferObjIndex(int vertexBufferObjIndex) {
+			this.vertexBufferObjIndex = vertexBufferObjIndex;
 		}
 		public UUID getVertexBufferObjUUID() {
 			return vertexBufferObjUUID;
@@ -1580,11 +1467,8 @@ public final class HEXClasses {
 		public int getSubMeshCount() {
 			return subMeshCount;
 		}
-		public byte[] getSubMeshCountBytes() {
-			return HEXUtils.intToByteArrayLE(subMeshCount);
-		}
-		public void setSubMeshCount(byte[] subMeshCount) {
-			this.subMeshCount = HEXUtils.byteArrayToInt(subMeshCount);
+		public void setSubMeshCount(int subMeshCount) {
+			this.subMeshCount = subMeshCount;
 		}
 		
 		public void addToSubMeshObjIndexArray(int objId) {
@@ -1635,18 +1519,18 @@ public final class HEXClasses {
 
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(getCommonVertexBufferObjIndexBytes());
-			bytes.write(getObjLODCountBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeInt(getCommonVertexBufferObjIndex());
+			bytes.writeInt(getObjLODCount());
 			for (Integer id : getObjLODIndexArray()) {
-				bytes.write(HEXUtils.intToByteArrayLE(id));
+				bytes.writeInt(id);
 			}
-			bytes.write(getGroupObjIndexBytes());
-			bytes.write(getVertexArray1ObjIndexBytes());
-			bytes.write(getVertexArray2ObjIndexBytes());
-			bytes.write(getMountGroupsObjCountBytes());
+			bytes.writeInt(getGroupObjIndex());
+			bytes.writeInt(getVertexArray1ObjIndex());
+			bytes.writeInt(getVertexArray2ObjIndex());
+			bytes.writeInt(getMountGroupsObjCount());
 			for (Integer id : getMountGroupsObjIndexArray()) {
-				bytes.write(HEXUtils.intToByteArrayLE(id));
+				bytes.writeInt(id);
 			}
 			
 			return toGroupByteArray(bytes);
@@ -1654,17 +1538,17 @@ public final class HEXClasses {
 
 		@Override
 		public void assignUUIDWithOrderIds(Map<UUID, Integer> revOrderMap) {
-			setCommonVertexBufferObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getCommonVertexBufferObjUUID())));
+			setCommonVertexBufferObjIndex(
+					revOrderMap.get(getCommonVertexBufferObjUUID()));
 			for (UUID arrayId : getObjLODUUIDArray()) {
 				addToObjLODIndexArray(revOrderMap.get(arrayId));
 			}
-			setGroupObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getGroupObjUUID())));
-			setVertexArray1ObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getVertexArray1ObjUUID())));
-			setVertexArray2ObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getVertexArray2ObjUUID())));
+			setGroupObjIndex(
+					revOrderMap.get(getGroupObjUUID()));
+			setVertexArray1ObjIndex(
+					revOrderMap.get(getVertexArray1ObjUUID()));
+			setVertexArray2ObjIndex(
+					revOrderMap.get(getVertexArray2ObjUUID()));
 			for (UUID arrayId : getMountGroupsObjUUIDArray()) {
 				addToMountGroupsObjIndexArray(revOrderMap.get(arrayId));
 			}
@@ -1675,11 +1559,8 @@ public final class HEXClasses {
 		public int getCommonVertexBufferObjIndex() {
 			return commonVertexBufferObjIndex;
 		}
-		public byte[] getCommonVertexBufferObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(commonVertexBufferObjIndex);
-		}
-		public void setCommonVertexBufferObjIndex(byte[] commonVertexBufferObjIndex) {
-			this.commonVertexBufferObjIndex = HEXUtils.byteArrayToInt(commonVertexBufferObjIndex);
+		public void setCommonVertexBufferObjIndex(int commonVertexBufferObjIndex) {
+			this.commonVertexBufferObjIndex = commonVertexBufferObjIndex;
 		}
 		public UUID getCommonVertexBufferObjUUID() {
 			return commonVertexBufferObjUUID;
@@ -1691,11 +1572,8 @@ public final class HEXClasses {
 		public int getObjLODCount() {
 			return objLODCount;
 		}
-		public byte[] getObjLODCountBytes() {
-			return HEXUtils.intToByteArrayLE(objLODCount);
-		}
-		public void setObjLODCount(byte[] objLODCount) {
-			this.objLODCount = HEXUtils.byteArrayToInt(objLODCount);
+		public void setObjLODCount(int objLODCount) {
+			this.objLODCount = objLODCount;
 		}
 		
 		public void addToObjLODIndexArray(int objId) {
@@ -1721,11 +1599,8 @@ public final class HEXClasses {
 		public int getGroupObjIndex() {
 			return groupObjIndex;
 		}
-		public byte[] getGroupObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(groupObjIndex);
-		}
-		public void setGroupObjIndex(byte[] groupObjIndex) {
-			this.groupObjIndex = HEXUtils.byteArrayToInt(groupObjIndex);
+		public void setGroupObjIndex(int groupObjIndex) {
+			this.groupObjIndex = groupObjIndex;
 		}
 		public UUID getGroupObjUUID() {
 			return groupObjUUID;
@@ -1737,11 +1612,8 @@ public final class HEXClasses {
 		public int getVertexArray1ObjIndex() {
 			return vertexArray1ObjIndex;
 		}
-		public byte[] getVertexArray1ObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(vertexArray1ObjIndex);
-		}
-		public void setVertexArray1ObjIndex(byte[] vertexArray1ObjIndex) {
-			this.vertexArray1ObjIndex = HEXUtils.byteArrayToInt(vertexArray1ObjIndex);
+		public void setVertexArray1ObjIndex(int vertexArray1ObjIndex) {
+			this.vertexArray1ObjIndex = vertexArray1ObjIndex;
 		}
 		public UUID getVertexArray1ObjUUID() {
 			return vertexArray1ObjUUID;
@@ -1753,11 +1625,8 @@ public final class HEXClasses {
 		public int getVertexArray2ObjIndex() {
 			return vertexArray2ObjIndex;
 		}
-		public byte[] getVertexArray2ObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(vertexArray2ObjIndex);
-		}
-		public void setVertexArray2ObjIndex(byte[] vertexArray2ObjIndex) {
-			this.vertexArray2ObjIndex = HEXUtils.byteArrayToInt(vertexArray2ObjIndex);
+		public void setVertexArray2ObjIndex(int vertexArray2ObjIndex) {
+			this.vertexArray2ObjIndex = vertexArray2ObjIndex;
 		}
 		public UUID getVertexArray2ObjUUID() {
 			return vertexArray2ObjUUID;
@@ -1769,11 +1638,8 @@ public final class HEXClasses {
 		public int getMountGroupsObjCount() {
 			return mountGroupsObjCount;
 		}
-		public byte[] getMountGroupsObjCountBytes() {
-			return HEXUtils.intToByteArrayLE(mountGroupsObjCount);
-		}
-		public void setMountGroupsObjCount(byte[] mountGroupsObjCount) {
-			this.mountGroupsObjCount = HEXUtils.byteArrayToInt(mountGroupsObjCount);
+		public void setMountGroupsObjCount(int mountGroupsObjCount) {
+			this.mountGroupsObjCount = mountGroupsObjCount;
 		}
 		
 		public void addToMountGroupsObjIndexArray(int objId) {
@@ -1811,18 +1677,18 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(this.padding);
-			bytes.write(this.unkPart);
-			bytes.write(getImage2DObjIndexBytes());
-			bytes.write(this.unkPart2);
+			LEWriter bytes = new LEWriter();
+			bytes.writeBytes(this.padding);
+			bytes.writeBytes(this.unkPart);
+			bytes.writeInt(getImage2DObjIndex());
+			bytes.writeBytes(this.unkPart2);
 			return getFullObjBytes(bytes);
 		}
 		
 		@Override
 		public void assignUUIDWithOrderIds(Map<UUID, Integer> revOrderMap) {
-			setImage2DObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getImage2DObjUUID())));
+			setImage2DObjIndex(
+					revOrderMap.get(getImage2DObjUUID()));
 		}
 		
 		public byte[] getPadding() {
@@ -1842,11 +1708,8 @@ public final class HEXClasses {
 		public int getImage2DObjIndex() {
 			return image2DObjIndex;
 		}
-		public byte[] getImage2DObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(image2DObjIndex);
-		}
-		public void setImage2DObjIndex(byte[] image2DObjIndex) {
-			this.image2DObjIndex = HEXUtils.byteArrayToInt(image2DObjIndex);
+		public void setImage2DObjIndex(int image2DObjIndex) {
+			this.image2DObjIndex = image2DObjIndex;
 		}
 		public UUID getImage2DObjUUID() {
 			return image2DObjUUID;
@@ -1876,23 +1739,23 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(this.padding);
-			bytes.write(getComponentSizeByte());
-			bytes.write(getComponentCountByte());
-			bytes.write(getEncodingByte());
-			bytes.write(getVertexCountBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeBytes(this.padding);
+			bytes.writeByte(getComponentSizeByte());
+			bytes.writeByte(getComponentCountByte());
+			bytes.writeByte(getEncodingByte());
+			bytes.writeShort(getVertexCount());
 			for (float[] vertexObj : getVertexArray()) {
-				for (Float value : vertexObj) {
+				for (float value : vertexObj) {
 					switch(getComponentSize()) {
 					case 0x1:
-						bytes.write(value.byteValue());
+						bytes.writeByte((byte)value);
 						break;
 					case 0x2:
-						bytes.write(HEXUtils.shortToBytes(value.shortValue()));
+						bytes.writeShort((short)value);
 						break;
 					case 0x4: default:
-						bytes.write(HEXUtils.floatToBytes(value));
+						bytes.writeFloat(value);
 						break;
 					}
 				}
@@ -1940,11 +1803,8 @@ public final class HEXClasses {
 		public int getVertexCount() {
 			return vertexCount;
 		}
-		public byte[] getVertexCountBytes() {
-			return HEXUtils.shortToBytes(vertexCount);
-		}
-		public void setVertexCount(byte[] vertexCount) {
-			this.vertexCount = HEXUtils.twoLEByteArrayToInt(vertexCount);
+		public void setVertexCount(int vertexCount) {
+			this.vertexCount = vertexCount;
 		}
 		
 		public void addToVertexArray(float[] obj) {
@@ -1988,40 +1848,40 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(this.padding);
-			bytes.write(this.colorRGBA);
-			bytes.write(getPositionVertexArrayObjIndexBytes());
-			bytes.write(HEXUtils.floatToBytes(this.positionBias[0]));
-			bytes.write(HEXUtils.floatToBytes(this.positionBias[1]));
-			bytes.write(HEXUtils.floatToBytes(this.positionBias[2]));
-			bytes.write(getPositionScaleBytes());
-			bytes.write(getNormalsVertexArrayObjIndexBytes());
-			bytes.write(getColorsObjIndexBytes());
-			bytes.write(getTextureCoordArrayCountBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeBytes(this.padding);
+			bytes.writeBytes(this.colorRGBA);
+			bytes.writeInt(getPositionVertexArrayObjIndex());
+			bytes.writeFloat(this.positionBias[0]);
+			bytes.writeFloat(this.positionBias[1]);
+			bytes.writeFloat(this.positionBias[2]);
+			bytes.writeFloat(getPositionScale());
+			bytes.writeInt(getNormalsVertexArrayObjIndex());
+			bytes.writeInt(getColorsObjIndex());
+			bytes.writeInt(getTextureCoordArrayCount());
 			for (M3GSubObjTextureCoord texCoordObj : getTextureCoordArray()) {
-				bytes.write(texCoordObj.toByteArray());
+				bytes.writeBytes(texCoordObj.toByteArray());
 			}
-			bytes.write(getTangentsVertexArrayObjIndexBytes());
-			bytes.write(getBinormalsVertexArrayObjIndexBytes());
+			bytes.writeInt(getTangentsVertexArrayObjIndex());
+			bytes.writeInt(getBinormalsVertexArrayObjIndex());
 			return getFullObjBytes(bytes);
 		}
 		
 		@Override
 		public void assignUUIDWithOrderIds(Map<UUID, Integer> revOrderMap) {
-			setPositionVertexArrayObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getPositionVertexArrayObjUUID())));
-			setNormalsVertexArrayObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getNormalsVertexArrayObjUUID())));
-			setColorsObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getColorsObjUUID())));
+			setPositionVertexArrayObjIndex(
+					revOrderMap.get(getPositionVertexArrayObjUUID()));
+			setNormalsVertexArrayObjIndex(
+					revOrderMap.get(getNormalsVertexArrayObjUUID()));
+			setColorsObjIndex(
+					revOrderMap.get(getColorsObjUUID()));
 			for (M3GSubObjTextureCoord texCoordObj : getTextureCoordArray()) {
 				texCoordObj.assignUUIDWithOrderIds(revOrderMap);
 			}
-			setTangentsVertexArrayObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getTangentsVertexArrayObjUUID())));
-			setBinormalsVertexArrayObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getBinormalsVertexArrayObjUUID())));
+			setTangentsVertexArrayObjIndex(
+					revOrderMap.get(getTangentsVertexArrayObjUUID()));
+			setBinormalsVertexArrayObjIndex(
+					revOrderMap.get(getBinormalsVertexArrayObjUUID()));
 		}
 		
 		public byte[] getPadding() {
@@ -2041,11 +1901,8 @@ public final class HEXClasses {
 		public int getPositionVertexArrayObjIndex() {
 			return positionVertexArrayObjIndex;
 		}
-		public byte[] getPositionVertexArrayObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(positionVertexArrayObjIndex);
-		}
-		public void setPositionVertexArrayObjIndex(byte[] positionVertexArrayObjIndex) {
-			this.positionVertexArrayObjIndex = HEXUtils.byteArrayToInt(positionVertexArrayObjIndex);
+		public void setPositionVertexArrayObjIndex(int positionVertexArrayObjIndex) {
+			this.positionVertexArrayObjIndex = positionVertexArrayObjIndex;
 		}
 		public UUID getPositionVertexArrayObjUUID() {
 			return positionVertexArrayObjUUID;
@@ -2064,21 +1921,15 @@ public final class HEXClasses {
 		public float getPositionScale() {
 			return positionScale;
 		}
-		public byte[] getPositionScaleBytes() {
-			return HEXUtils.floatToBytes(positionScale);
-		}
-		public void setPositionScale(byte[] positionScale) {
-			this.positionScale = HEXUtils.bytesToFloat(positionScale);
+		public void setPositionScale(float positionScale) {
+			this.positionScale = positionScale;
 		}
 		
 		public int getNormalsVertexArrayObjIndex() {
 			return normalsVertexArrayObjIndex;
 		}
-		public byte[] getNormalsVertexArrayObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(normalsVertexArrayObjIndex);
-		}
-		public void setNormalsVertexArrayObjIndex(byte[] normalsVertexArrayObjIndex) {
-			this.normalsVertexArrayObjIndex = HEXUtils.byteArrayToInt(normalsVertexArrayObjIndex);
+		public void setNormalsVertexArrayObjIndex(int normalsVertexArrayObjIndex) {
+			this.normalsVertexArrayObjIndex = normalsVertexArrayObjIndex;
 		}
 		public UUID getNormalsVertexArrayObjUUID() {
 			return normalsVertexArrayObjUUID;
@@ -2090,11 +1941,8 @@ public final class HEXClasses {
 		public int getColorsObjIndex() {
 			return colorsObjIndex;
 		}
-		public byte[] getColorsObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(colorsObjIndex);
-		}
-		public void setColorsObjIndex(byte[] colorsObjIndex) {
-			this.colorsObjIndex = HEXUtils.byteArrayToInt(colorsObjIndex);
+		public void setColorsObjIndex(int colorsObjIndex) {
+			this.colorsObjIndex = colorsObjIndex;
 		}
 		public UUID getColorsObjUUID() {
 			return colorsObjUUID;
@@ -2106,11 +1954,8 @@ public final class HEXClasses {
 		public int getTextureCoordArrayCount() {
 			return textureCoordArrayCount;
 		}
-		public byte[] getTextureCoordArrayCountBytes() {
-			return HEXUtils.intToByteArrayLE(textureCoordArrayCount);
-		}
-		public void setTextureCoordArrayCount(byte[] textureCoordArrayCount) {
-			this.textureCoordArrayCount = HEXUtils.byteArrayToInt(textureCoordArrayCount);
+		public void setTextureCoordArrayCount(int textureCoordArrayCount) {
+			this.textureCoordArrayCount = textureCoordArrayCount;
 		}
 		
 		public void addToTextureCoordArray(M3GSubObjTextureCoord obj) {
@@ -2126,11 +1971,8 @@ public final class HEXClasses {
 		public int getTangentsVertexArrayObjIndex() {
 			return tangentsVertexArrayObjIndex;
 		}
-		public byte[] getTangentsVertexArrayObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(tangentsVertexArrayObjIndex);
-		}
-		public void setTangentsVertexArrayObjIndex(byte[] tangentsVertexArrayObjIndex) {
-			this.tangentsVertexArrayObjIndex = HEXUtils.byteArrayToInt(tangentsVertexArrayObjIndex);
+		public void setTangentsVertexArrayObjIndex(int tangentsVertexArrayObjIndex) {
+			this.tangentsVertexArrayObjIndex = tangentsVertexArrayObjIndex;
 		}
 		public UUID getTangentsVertexArrayObjUUID() {
 			return tangentsVertexArrayObjUUID;
@@ -2142,11 +1984,8 @@ public final class HEXClasses {
 		public int getBinormalsVertexArrayObjIndex() {
 			return binormalsVertexArrayObjIndex;
 		}
-		public byte[] getBinormalsVertexArrayObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(binormalsVertexArrayObjIndex);
-		}
-		public void setBinormalsVertexArrayObjIndex(byte[] binormalsVertexArrayObjIndex) {
-			this.binormalsVertexArrayObjIndex = HEXUtils.byteArrayToInt(binormalsVertexArrayObjIndex);
+		public void setBinormalsVertexArrayObjIndex(int binormalsVertexArrayObjIndex) {
+			this.binormalsVertexArrayObjIndex = binormalsVertexArrayObjIndex;
 		}
 		public UUID getBinormalsVertexArrayObjUUID() {
 			return binormalsVertexArrayObjUUID;
@@ -2172,23 +2011,23 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(this.padding);
-			bytes.write(getParameterCountBytes());
+			LEWriter bytes = new LEWriter();
+			bytes.writeBytes(this.padding);
+			bytes.writeInt(getParameterCount());
 			for (M3GSubObjParameter paramObj : getParameterArray()) {
-				bytes.write(paramObj.toByteArray());
+				bytes.writeBytes(paramObj.toByteArray());
 			}
-			bytes.write(getIndexBufferObjIndexBytes());
-			bytes.write(getAppearanceObjIndexBytes());
+			bytes.writeInt(getIndexBufferObjIndex());
+			bytes.writeInt(getAppearanceObjIndex());
 			return getFullObjBytes(bytes);
 		}
 		
 		@Override
 		public void assignUUIDWithOrderIds(Map<UUID, Integer> revOrderMap) {
-			setIndexBufferObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getIndexBufferObjUUID())));
-			setAppearanceObjIndex(HEXUtils.intToByteArrayLE(
-					revOrderMap.get(getAppearanceObjUUID())));
+			setIndexBufferObjIndex(
+					revOrderMap.get(getIndexBufferObjUUID()));
+			setAppearanceObjIndex(
+					revOrderMap.get(getAppearanceObjUUID()));
 		}
 		
 		public byte[] getPadding() {
@@ -2201,11 +2040,8 @@ public final class HEXClasses {
 		public int getParameterCount() {
 			return parameterCount;
 		}
-		public byte[] getParameterCountBytes() {
-			return HEXUtils.intToByteArrayLE(parameterCount);
-		}
-		public void setParameterCount(byte[] parameterCount) {
-			this.parameterCount = HEXUtils.byteArrayToInt(parameterCount);
+		public void setParameterCount(int parameterCount) {
+			this.parameterCount = parameterCount;
 		}
 		
 		public void addToParameterArray(M3GSubObjParameter obj) {
@@ -2221,11 +2057,8 @@ public final class HEXClasses {
 		public int getIndexBufferObjIndex() {
 			return indexBufferObjIndex;
 		}
-		public byte[] getIndexBufferObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(indexBufferObjIndex);
-		}
-		public void setIndexBufferObjIndex(byte[] indexBufferObjIndex) {
-			this.indexBufferObjIndex = HEXUtils.byteArrayToInt(indexBufferObjIndex);
+		public void setIndexBufferObjIndex(int indexBufferObjIndex) {
+			this.indexBufferObjIndex = indexBufferObjIndex;
 		}
 		public UUID getIndexBufferObjUUID() {
 			return indexBufferObjUUID;
@@ -2237,11 +2070,8 @@ public final class HEXClasses {
 		public int getAppearanceObjIndex() {
 			return appearanceObjIndex;
 		}
-		public byte[] getAppearanceObjIndexBytes() {
-			return HEXUtils.intToByteArrayLE(appearanceObjIndex);
-		}
-		public void setAppearanceObjIndex(byte[] appearanceObjIndex) {
-			this.appearanceObjIndex = HEXUtils.byteArrayToInt(appearanceObjIndex);
+		public void setAppearanceObjIndex(int appearanceObjIndex) {
+			this.appearanceObjIndex = appearanceObjIndex;
 		}
 		public UUID getAppearanceObjUUID() {
 			return appearanceObjUUID;
@@ -2265,53 +2095,53 @@ public final class HEXClasses {
 		
 		@Override
 		public byte[] toByteArray() throws IOException {
-			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-			bytes.write(this.padding);
-			bytes.write(getEncodingByte());
+			LEWriter bytes = new LEWriter();
+			bytes.writeBytes(this.padding);
+			bytes.writeByte(getEncodingByte());
 			
 			switch(getEncoding()) {
 			case 0x0:
-				bytes.write(getStartIndexBytes());
-				bytes.write(getStripLengthsCountBytes());
+				bytes.writeInt(getStartIndex());
+				bytes.writeInt(getStripLengthsCount());
 				for (Integer id : getIndexArray()) {
-					bytes.write(HEXUtils.intToByteArrayLE(id));
+					bytes.writeInt(id);
 				}
 				break;
 			case 0x1:
-				bytes.write(getStartIndex().byteValue());
-				bytes.write(getStripLengthsCountBytes());
+				bytes.writeByte(getStartIndex().byteValue());
+				bytes.writeInt(getStripLengthsCount());
 				for (Integer id : getIndexArray()) {
-					bytes.write(HEXUtils.intToByteArrayLE(id));
+					bytes.writeInt(id);
 				}
 				break;
 			case 0x2:
-				bytes.write(HEXUtils.shortToBytes(getStartIndex()));
-				bytes.write(getStripLengthsCountBytes());
+				bytes.writeShort(getStartIndex());
+				bytes.writeInt(getStripLengthsCount());
 				for (Integer id : getIndexArray()) {
-					bytes.write(HEXUtils.intToByteArrayLE(id));
+					bytes.writeInt(id);
 				}
 				break;
 			case 0x80:
-				bytes.write(getIndexCountBytes());
+				bytes.writeInt(getIndexCount());
 				for (Integer id : getIndexArray()) {
-					bytes.write(HEXUtils.intToByteArrayLE(id));
+					bytes.writeInt(id);
 				}
 				break;
 			case 0x81:
-				bytes.write(getIndexCountBytes());
+				bytes.writeInt(getIndexCount());
 				for (Integer id : getIndexArray()) {
-					bytes.write(id.byteValue());
+					bytes.writeByte(id.byteValue());
 				}
 				break;
 			case 0x82:
-				bytes.write(getIndexCountBytes());
+				bytes.writeInt(getIndexCount());
 				for (Integer id : getIndexArray()) {
-					bytes.write(HEXUtils.shortToBytes(id));
+					bytes.writeShort(id);
 				}
 				break;
 			}
 
-			bytes.write(getUnkIntValueBytes());
+			bytes.writeInt(getUnkIntValue());
 			return getFullObjBytes(bytes);
 		}
 		
@@ -2335,37 +2165,28 @@ public final class HEXClasses {
 		public int getIndexCount() {
 			return indexCount;
 		}
-		public byte[] getIndexCountBytes() {
-			return HEXUtils.intToByteArrayLE(indexCount);
-		}
-		public void setIndexCount(byte[] indexCount) {
-			this.indexCount = HEXUtils.byteArrayToInt(indexCount);
+		public void setIndexCount(int indexCount) {
+			this.indexCount = indexCount;
 		}
 		
 		public Integer getStartIndex() {
 			return startIndex;
 		}
-		public byte[] getStartIndexBytes() {
-			return HEXUtils.intToByteArrayLE(startIndex);
-		}
-		public void setStartIndex(byte[] startIndex) {
-			this.startIndex = HEXUtils.byteArrayToInt(startIndex);
+		public void setStartIndex(int startIndex) {
+			this.startIndex = startIndex;
 		}
 		public void setStartIndexByte(byte startIndex) {
 			this.startIndex = Byte.toUnsignedInt(startIndex);
 		}
-		public void setStartIndexShort(byte[] startIndex) {
-			this.startIndex = HEXUtils.twoLEByteArrayToInt(startIndex);
+		public void setStartIndexShort(int startIndex) {
+			this.startIndex = startIndex;
 		}
 		
 		public int getStripLengthsCount() {
 			return stripLengthsCount;
 		}
-		public byte[] getStripLengthsCountBytes() {
-			return HEXUtils.intToByteArrayLE(stripLengthsCount);
-		}
-		public void setStripLengthsCount(byte[] stripLengthsCount) {
-			this.stripLengthsCount = HEXUtils.byteArrayToInt(stripLengthsCount);
+		public void setStripLengthsCount(int stripLengthsCount) {
+			this.stripLengthsCount = stripLengthsCount;
 		}
 		
 		public void addToIndexArray(int objId) {
@@ -2381,11 +2202,8 @@ public final class HEXClasses {
 		public int getUnkIntValue() {
 			return unkIntValue;
 		}
-		public byte[] getUnkIntValueBytes() {
-			return HEXUtils.intToByteArrayLE(unkIntValue);
-		}
-		public void setUnkIntValue(byte[] unkIntValue) {
-			this.unkIntValue = HEXUtils.byteArrayToInt(unkIntValue);
+		public void setUnkIntValue(int unkIntValue) {
+			this.unkIntValue = unkIntValue;
 		}
 	}
 }
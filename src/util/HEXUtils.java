@@ -2,8 +2,6 @@ package util;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,23 +31,53 @@ public final class HEXUtils {
 		hexStream.write(intToByteArrayLE(baseValue + addition));
 	}
 
+	// Little-Endian values read in place from any position of the array, without ByteBuffer wraps or copies
+	public static int getUShortLE(byte[] bytes, int offset) {
+		return ((bytes[offset + 1] & 0xFF) << 8) | (bytes[offset] & 0xFF);
+	}
+	public static int getIntLE(byte[] bytes, int offset) {
+		return ((bytes[offset + 3] & 0xFF) << 24) | 
+				((bytes[offset + 2] & 0xFF) << 16) | 
+				((bytes[offset + 1] & 0xFF) << 8) | 
+				(bytes[offset] & 0xFF);
+	}
+	public static long getLongLE(byte[] bytes, int offset) {
+		return (getIntLE(bytes, offset) & 0xFFFFFFFFL) | ((long)getIntLE(bytes, offset + 4) << 32);
+	}
+	public static float getFloatLE(byte[] bytes, int offset) {
+		return Float.intBitsToFloat(getIntLE(bytes, offset));
+	}
+	public static double getDoubleLE(byte[] bytes, int offset) {
+		return Double.longBitsToDouble(getLongLE(bytes, offset));
+	}
+	
+	// Same in reverse, for the fixed-size arrays
+	public static void putShortLE(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte)value;
+		bytes[offset + 1] = (byte)(value >>> 8);
+	}
+	public static void putIntLE(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte)value;
+		bytes[offset + 1] = (byte)(value >>> 8);
+		bytes[offset + 2] = (byte)(value >>> 16);
+		bytes[offset + 3] = (byte)(value >>> 24);
+	}
+	
 	public static int byteArrayToInt(byte[] bytes) {
-		int beInt = ((bytes[0] & 0xFF) << 24) | 
-				((bytes[1] & 0xFF) << 16) | 
-				((bytes[2] & 0xFF) << 8) | 
-				((bytes[3] & 0xFF) << 0);
-		return hexRev(beInt);
+		return getIntLE(bytes, 0);
 	}
 
 	public static int twoLEByteArrayToInt(byte[] bytes) {
-		return ((bytes[1] & 0xFF) << 8) | (bytes[0] & 0xFF);
+		return getUShortLE(bytes, 0);
 	}
 
-	public static byte[] intToByteArrayLE(int data) {    
-		return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(data).array(); 
+	public static byte[] intToByteArrayLE(int data) {
+		byte[] bytes = new byte[4];
+		putIntLE(bytes, 0, data);
+		return bytes;
 	}
-	public static byte[] intToByteArrayBE(int data) {    
-		return ByteBuffer.allocate(4).order(ByteOrder.BIG_ENDIAN).putInt(data).array(); 
+	public static byte[] intToByteArrayBE(int data) {
+		return intToByteArrayLE(Integer.reverseBytes(data));
 	}
 	
 	public static String byteToHexString(byte value) {
@@ -57,31 +85,45 @@ public final class HEXUtils {
 	}
 
 	public static short bytesToShort(byte[] bytes) {
-		return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getShort();
+		return (short)getUShortLE(bytes, 0);
 	}
 	public static byte[] shortToBytes(int data) {
-		return ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN).putShort((short)data).array();
+		byte[] bytes = new byte[2];
+		putShortLE(bytes, 0, data);
+		return bytes;
 	}
 	public static byte[] shortToBytesBE(int data) {
-		return ByteBuffer.allocate(2).order(ByteOrder.BIG_ENDIAN).putShort((short)data).array();
+		return shortToBytes(Short.reverseBytes((short)data));
 	}
 	
 	public static float bytesToFloat(byte[] bytes) {
-		return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getFloat();
+		return getFloatLE(bytes, 0);
 	}
-	public static byte[] floatToBytes(float value) {  
-	    return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putFloat(value).array();
+	public static byte[] floatToBytes(float value) {
+		return intToByteArrayLE(Float.floatToRawIntBits(value));
 	}
 	
 	public static double bytesToDouble(byte[] bytes) {
-	    return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getDouble();
+		return getDoubleLE(bytes, 0);
 	}
-	public static byte[] doubleToBytes(double value) {  
-	     return ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putDouble(value).array();
+	public static byte[] doubleToBytes(double value) {
+		long bits = Double.doubleToRawLongBits(value);
+		byte[] bytes = new byte[8];
+		putIntLE(bytes, 0, (int)bits);
+		putIntLE(bytes, 4, (int)(bits >>> 32));
+		return bytes;
 	}
 	
+	// Same as HEX string of LE bytes, without the temporary arrays
 	public static String setDataEntryHexId(int i, boolean longDataElementIds) {
-		return HEXUtils.hexToString(longDataElementIds ? HEXUtils.intToByteArrayLE(i) : HEXUtils.shortToBytes(i));
+		int byteCount = longDataElementIds ? 0x4 : 0x2;
+		byte[] hexChars = new byte[byteCount * 2];
+		for (int j = 0; j < byteCount; j++) {
+			int v = (i >>> (j * 8)) & 0xFF;
+			hexChars[j * 2] = HEX_ARRAY[v >>> 4];
+			hexChars[j * 2 + 1] = HEX_ARRAY[v & 0x0F];
+		}
+		return new String(hexChars, StandardCharsets.US_ASCII);
 	}
 	
 	public static byte[] setDataEntryHexIdBytes(int i, boolean longDataElementIds) {
@@ -96,7 +138,7 @@ public final class HEXUtils {
 			hexChars[j * 2] = HEX_ARRAY[v >>> 4];
 			hexChars[j * 2 + 1] = HEX_ARRAY[v & 0x0F];
 		}
-		return new String(hexChars, StandardCharsets.UTF_8).toUpperCase();
+		return new String(hexChars, StandardCharsets.US_ASCII); // HEX_ARRAY is upper-case already
 	}
 
 	public static byte[] decodeHexStr(String str) {
@@ -117,9 +159,15 @@ public final class HEXUtils {
 		return new String(value, StandardCharsets.UTF_8);
 	}
 	
+	// LE value of the first 2 bytes, or of all 4 ones
 	public static int strHexToInt(String hexStr) {
-		byte[] bytes = decodeHexStr(hexStr);
-		return bytes.length != 4 ? twoLEByteArrayToInt(bytes) : byteArrayToInt(bytes);
+		int byteCount = hexStr.length() / 2 != 4 ? 0x2 : 0x4;
+		int value = 0;
+		for (int i = (byteCount - 1) * 2; i >= 0; i -= 2) {
+			value = (value << 8) | (Character.digit(hexStr.charAt(i), 16) << 4) 
+					| Character.digit(hexStr.charAt(i + 1), 16);
+		}
+		return value;
 	}
 
 	// https://stackoverflow.com/a/66638297
@@ -0,0 +1,132 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Growable Little-Endian buffer for the repacked SBin & M3G contents. All the values are written in place,
+// without the per-value byte arrays, and the finished contents are shared as ByteSlice without another copy
+public class LEWriter {
+
+	private byte[] data;
+	private int size = 0x0;
+	private int[] marks; // Offsets saved by mark(), only if enabled
+	private int marksCount = 0x0;
+
+	public LEWriter() {
+		this(0x20);
+	}
+
+	public LEWriter(int initialCapacity) {
+		this.data = new byte[Math.max(initialCapacity, 0x10)];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void writeByte(int value) {
+		ensureCapacity(1);
+		data[size++] = (byte)value;
+	}
+
+	public void writeShort(int value) {
+		ensureCapacity(2);
+		data[size++] = (byte)value;
+		data[size++] = (byte)(value >>> 8);
+	}
+
+	public void writeInt(int value) {
+		ensureCapacity(4);
+		data[size++] = (byte)value;
+		data[size++] = (byte)(value >>> 8);
+		data[size++] = (byte)(value >>> 16);
+		data[size++] = (byte)(value >>> 24);
+	}
+
+	public void writeFloat(float value) {
+		writeInt(Float.floatToRawIntBits(value));
+	}
+
+	public void writeDouble(double value) {
+		writeLong(Double.doubleToRawLongBits(value));
+	}
+
+	public void writeLong(long value) {
+		writeInt((int)value);
+		writeInt((int)(value >>> 32));
+	}
+
+	public void writeBytes(byte[] bytes) {
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, data, size, bytes.length);
+		size += bytes.length;
+	}
+
+	public void writeSlice(ByteSlice slice) {
+		ensureCapacity(slice.length());
+		slice.asByteBuffer().get(data, size, slice.length());
+		size += slice.length();
+	}
+
+	// Same as writing new byte[count]
+	public void writeZeros(int count) {
+		if (count < 0) {
+			throw new NegativeArraySizeException(String.valueOf(count));
+		}
+		ensureCapacity(count);
+		size += count; // Buffer is never re-used, so it's already empty there
+	}
+
+	// Same as HEXUtils.decodeHexStr, but decoded right into the buffer
+	public void writeHexStr(String str) {
+		int len = str.length() / 2;
+		ensureCapacity(len);
+		for (int i = 0; i < len * 2; i += 2) {
+			data[size++] = (byte) ((Character.digit(str.charAt(i), 16) << 4)
+					+ Character.digit(str.charAt(i + 1), 16));
+		}
+	}
+
+	// Offsets of the values to be replaced later, like CHDR Ids of the cached DATA elements
+	public void enableMarks() {
+		if (marks == null) {
+			marks = new int[0x10];
+		}
+	}
+
+	public void mark() {
+		if (marks == null) {return;}
+		if (marksCount == marks.length) {
+			marks = Arrays.copyOf(marks, marksCount * 2);
+		}
+		marks[marksCount++] = size;
+	}
+
+	public int getMarksCount() {
+		return marksCount;
+	}
+
+	// Marks from the given one, relative to the given offset
+	public int[] getMarks(int fromMark, int offset) {
+		int[] result = new int[marksCount - fromMark];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = marks[fromMark + i] - offset;
+		}
+		return result;
+	}
+
+	// View on the written contents, buffer must not be changed after that
+	public ByteSlice toSlice() {
+		return new ByteSlice(ByteBuffer.wrap(data), 0, size);
+	}
+
+	public byte[] toByteArray() {
+		return Arrays.copyOf(data, size);
+	}
+
+	private void ensureCapacity(int addition) {
+		if (size + addition > data.length) {
+			data = Arrays.copyOf(data, Math.max(data.length * 2, size + addition));
+		}
+	}
+}
@@ -10,10 +10,19 @@ public class LaunchParameters {
 	
 	// SBin parameters
 	private static final String DISABLE_MIPMAP_UNPACK_STR = "-disableMipmapUnpack";
-	private static boolean disableMipmapUnpack = false;
-	
 	private static final String DISABLE_DATA_OBJECTS_UNPACK_STR = "-disableDATAObjectsUnpack";
-	private static boolean disableDATAObjectsUnpack = false;
+	private static final String SBX_OUTPUT_STR = "-sbx";
+	private static final String BLOB_OUTPUT_STR = "-blob";
+	private static final String STRUCT_CACHE_STR = "-structCache";
+	private static final String INCREMENTAL_STR = "-incremental";
+	private static final String UNPACK_CACHE_STR = "-unpackCache";
+	
+	// Batch parameters
+	private static final String THREADS_STR = "-threads";
+	
+	// Benchmark parameters
+	private static final String ITERATIONS_STR = "-iterations";
+	private static final int DEFAULT_ITERATIONS = 5;
 	
 	// M3G parameters
 	private static final String OUTPUT_VERTEX_INDEXES_STR = "-outputVertexAndIndexes";
@@ -22,27 +31,84 @@ public class LaunchParameters {
 	private static final String M3G_READER_CHECK_STR = "-check";
 	private static boolean m3gReaderCheck = false;
 	
-	public static void checkSBinLaunchParameters(String[] args) {
+	public static void checkSBinLaunchParameters(String[] args, SBinContext ctx) {
 		if (!args[0].contentEquals("unpack")) {return;}
 		
-		SBJson.get().setSBinType(getSBinTypeByFileName(args[1]));
-		
-		if (args.length != 3) {return;}
+		ctx.getSBinJson().setSBinType(getSBinTypeByFileName(args[1]));
 		
-		switch(args[2]) {
+		for (int i = 2; i < args.length; i++) { // Parameters could be combined, like '-disableDATAObjectsUnpack -sbx'
+			applySBinParameter(args[i], ctx);
+		}
+	}
+	
+	// Batch commands: optional parameters goes in any order, starting from the given argument
+	public static int checkBatchLaunchParameters(String[] args, int firstParam, SBinContext ctx) {
+		int threads = Runtime.getRuntime().availableProcessors();
+		for (int i = firstParam; i < args.length; i++) {
+			if (args[i].contentEquals(THREADS_STR) && i + 1 < args.length) {
+				i++;
+				threads = Math.max(1, Integer.parseInt(args[i]));
+			} else {
+				applySBinParameter(args[i], ctx);
+			}
+		}
+		return threads;
+	}
+	
+	// Benchmark: count of measurement iterations, same way as threads for the batch commands
+	public static int checkBenchLaunchParameters(String[] args, int firstParam, SBinContext ctx) {
+		int iterations = DEFAULT_ITERATIONS;
+		for (int i = firstParam; i < args.length; i++) {
+			if (args[i].contentEquals(ITERATIONS_STR) && i + 1 < args.length) {
+				i++;
+				iterations = Math.max(1, Integer.parseInt(args[i]));
+			} else {
+				applySBinParameter(args[i], ctx);
+			}
+		}
+		return iterations;
+	}
+	
+	private static void applySBinParameter(String param, SBinContext ctx) {
+		switch(param) {
 		case DISABLE_DATA_OBJECTS_UNPACK_STR:
 			jl.log(Level.INFO, "Launch Parameter: DATA objects unpacking disabled. \nAll DATA objects will be properly"
 					+ "splitted according by OHDR table, but without any Object parsing. 1-to-1 repacking still should be possible.");
-			disableDATAObjectsUnpack();
+			ctx.disableDATAObjectsUnpack();
 			break;
 		case DISABLE_MIPMAP_UNPACK_STR:
 			jl.log(Level.INFO, "Launch Parameter: Mipmaps unpacking disabled. \nNote that the DATA objects "
 					+ "could still contain Mipmaps information, so you must generate all Mipmaps manually, "
 					+ "or edit .sba Json accordingly.");
-			disableMipmapUnpack();
+			ctx.disableMipmapUnpack();
+			break;
+		case SBX_OUTPUT_STR:
+			jl.log(Level.INFO, "Launch Parameter: binary .sbx output instead of Json. \nThe file contains the same objects "
+					+ "as Json, but it's not human-readable. Repack it the same way as Json.");
+			ctx.enableSBXOutput();
+			break;
+		case BLOB_OUTPUT_STR:
+			jl.log(Level.INFO, "Launch Parameter: large HEX values goes to the .blob file next to Json. \nJson keeps only "
+					+ "Offset & Length of each one, keep both files together for repack. Ignored for .sbx output.");
+			ctx.enableBlobOutput();
+			break;
+		case STRUCT_CACHE_STR:
+			jl.log(Level.INFO, "Launch Parameter: Struct tables are kept in the " + SBinStructCache.CACHE_FOLDER 
+					+ " folder. \nFiles with the same STRU, FIEL & ENUM blocks are unpacked faster next time.");
+			ctx.enableStructCacheOnDisk();
+			break;
+		case INCREMENTAL_STR:
+			jl.log(Level.INFO, "Launch Parameter: encoded DATA elements goes to the " + SBinRepackCache.FILE_CACHE 
+					+ " file next to Json. \nRepack of the same Json encodes only the changed DATA elements, keep both files together.");
+			ctx.enableIncrementalRepack();
+			break;
+		case UNPACK_CACHE_STR:
+			jl.log(Level.INFO, "Launch Parameter: unpack results are kept in the " + SBinUnpackCache.CACHE_FOLDER 
+					+ " folder. \nThe same file with the same parameters is taken from there next time.");
+			ctx.enableUnpackCache();
 			break;
 		default: 
-			jl.log(Level.INFO, "Wrong Launch Parameter: {0}, ignored.", args[3]);
+			jl.log(Level.INFO, "Wrong Launch Parameter: {0}, ignored.", param);
 			break;
 		}
 	}
@@ -98,22 +164,6 @@ public class LaunchParameters {
 		
 	}
 	
-	// SBin parameter methods
-	
-	public static void disableDATAObjectsUnpack() {
-		disableDATAObjectsUnpack = true;
-	}
-	public static boolean isDATAObjectsUnpackDisabled() {
-		return disableDATAObjectsUnpack;
-	}
-	
-	public static void disableMipmapUnpack() {
-		disableMipmapUnpack = true;
-	}
-	public static boolean isMipmapUnpackDisabled() {
-		return disableMipmapUnpack;
-	}
-	
 	// M3G parameter methods
 	
 	public static void enableOutputVertexAndIndexes() {
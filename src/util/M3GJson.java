@@ -13,29 +13,29 @@ import com.google.gson.reflect.TypeToken;
 
 import util.HEXClasses.M3GModel;
 import util.HEXClasses.M3GObject;
-import util.json.PolymorphDeserializer;
+import util.json.PolymorphTypeAdapterFactory;
 
 public class M3GJson {
 	
 	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
 	
-	static Gson gson = new Gson();
+	// Made once, instead of a new Gson on each call
+	private static final Gson gsonReader = new GsonBuilder()
+			.registerTypeAdapterFactory(new PolymorphTypeAdapterFactory<>(M3GObject.class))
+			.create();
+	private static final Gson gsonWriter = new GsonBuilder().setPrettyPrinting().create();
 	
 	private M3GJson() {}
 	
 	public static M3GModel loadM3GJson(String filePath) throws IOException {
 		Reader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8);
-		gson = new GsonBuilder()
-				.registerTypeAdapter(M3GObject.class, new PolymorphDeserializer<M3GObject>())
-				.create();
-		M3GModel jsonObj = gson.fromJson(reader, new TypeToken<M3GModel>(){}.getType());
+		M3GModel jsonObj = gsonReader.fromJson(reader, new TypeToken<M3GModel>(){}.getType());
 		reader.close();
 		return jsonObj;
 	}
 	
 	public static void outputSBJson(M3GModel m3g, String filePath) throws IOException {
-		gson = new GsonBuilder().setPrettyPrinting().create();
-		String jsonString = gson.toJson(m3g);
+		String jsonString = gsonWriter.toJson(m3g);
 		Files.write(Paths.get(filePath + ".json"), jsonString.getBytes(StandardCharsets.UTF_8));
 	}
 }
@@ -1,8 +1,5 @@
 package util;
 
-import java.util.Arrays;
-import java.util.Optional;
-
 public enum M3GObjectType {
 	HEADER_ELEMENT(0x0),
 	ANIMATION_TRACK_SETTINGS(0x1),
@@ -22,6 +19,7 @@ public enum M3GObjectType {
 	INDEX_BUFFER(0x65);
 	
 	private int id;
+	private static final M3GObjectType[] BY_ID = createIdTable();
 
 	private M3GObjectType(int id) {
 		this.id = id;
@@ -30,8 +28,19 @@ public enum M3GObjectType {
 		return Integer.valueOf(id);
 	}
 	public static M3GObjectType valueOf(int value) {
-		Optional<M3GObjectType> type = 
-				Arrays.stream(values()).filter(legNo -> legNo.id == value).findFirst();
-		return type.isPresent() ? type.get() : null;
+		return value >= 0 && value < BY_ID.length ? BY_ID[value] : null;
+	}
+	
+	// Types indexed by their ids, with the empty gaps
+	private static M3GObjectType[] createIdTable() {
+		int maxId = 0;
+		for (M3GObjectType type : values()) {
+			maxId = Math.max(maxId, type.id);
+		}
+		M3GObjectType[] table = new M3GObjectType[maxId + 1];
+		for (M3GObjectType type : values()) {
+			table[type.id] = type;
+		}
+		return table;
 	}
 }
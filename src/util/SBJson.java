@@ -6,8 +6,6 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -18,41 +16,33 @@ import util.DataClasses.SBinHCStructFileArray;
 import util.DataClasses.SBinJson;
 import util.DataClasses.SBinStruct;
 import util.SBinHCStructs.SBinHCStruct;
-import util.json.PolymorphDeserializer;
+import util.json.PolymorphTypeAdapterFactory;
 
 public class SBJson {
 	
-	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
-	
-	static Gson gson = new Gson();
-	private static SBinJson sbinJsonEnt;
+	// Gson instances are thread-safe, so they are shared between all the jobs
+	private static final Gson gson = new Gson();
+	private static final Gson gsonReader = new GsonBuilder()
+			.registerTypeAdapterFactory(new PolymorphTypeAdapterFactory<>(SBinHCStruct.class))
+			.create();
+	// Read-only after loading, same for every file
 	private static SBinHCStructFileArray hcStructFileArray;
 	
 	private SBJson() {}
 	
-	public static SBinJson get() {
-		return sbinJsonEnt;
-	}
 	public static List<String> getHCStructFileArray() {
 		return hcStructFileArray.getFileNames();
 	}
 	
-	public static void initNewSBJson() throws IOException {
-		sbinJsonEnt = new SBinJson();
-		loadHCStructsFileArray();
-	}
-	
-	public static void loadSBJson(String filePath) throws IOException {
+	public static void loadSBJson(SBinContext ctx, String filePath) throws IOException {
 		Reader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8);
-		gson = new GsonBuilder()
-				.registerTypeAdapter(SBinHCStruct.class, new PolymorphDeserializer<SBinHCStruct>())
-				.create();
-		SBinJson sbinJsonObj = gson.fromJson(reader, new TypeToken<SBinJson>(){}.getType());
+		SBinJson sbinJsonObj = gsonReader.fromJson(reader, new TypeToken<SBinJson>(){}.getType());
 		reader.close();
-		sbinJsonEnt = sbinJsonObj;
+		ctx.setSBinJson(sbinJsonObj);
 	}
 	
-	private static void loadHCStructsFileArray() throws IOException {
+	public static synchronized void loadHCStructsFileArray() throws IOException {
+		if (hcStructFileArray != null) {return;}
 		Reader reader = Files.newBufferedReader(Paths.get("HCStructFileArray.json"), StandardCharsets.UTF_8);
 		SBinHCStructFileArray hcStructFiles = gson.fromJson(reader, new TypeToken<SBinHCStructFileArray>(){}.getType());
 		//System.out.println(hcStructFiles.getFileNames().size());
@@ -60,29 +50,29 @@ public class SBJson {
 		hcStructFileArray = hcStructFiles;
 	}
 	
-	public static void outputSBJson() throws IOException {
-		gson = new GsonBuilder().setPrettyPrinting().create();
-		String jsonOut = gson.toJson(SBJson.get());
-		Files.write(Paths.get(SBJson.get().getFileName() + ".json"), jsonOut.getBytes(StandardCharsets.UTF_8));
-		jl.log(Level.INFO, "Unpacked with {0} DATA objects.", SBJson.get().getDataElements().size());
+	// Same layout as the streamed unpack Json
+	public static void outputSBJson(SBinContext ctx) throws IOException {
+		try (SBJsonStreamWriter jsonStream = new SBJsonStreamWriter(ctx.getOutputPath(ctx.getSBinJson().getFileName() + ".json"))) {
+			jsonStream.writeSBinJson(ctx.getSBinJson());
+		}
 	}
 	
-	public static void clearJsonOutputStuff() {
-		for (SBinStruct struct : SBJson.get().getStructs()) {
+	public static void clearJsonOutputStuff(SBinContext ctx) {
+		for (SBinStruct struct : ctx.getSBinJson().getStructs()) {
 			if (!struct.getFieldsArray().isEmpty()) {
 				for (SBinField field : struct.getFieldsArray()) {
 					field.setFieldTypeEnum(null);
 				}
 			}
 		}
-		for (SBinField emptyField : SBJson.get().getEmptyFields()) {
+		for (SBinField emptyField : ctx.getSBinJson().getEmptyFields()) {
 			emptyField.setFieldTypeEnum(null);
 		}
 		// If we know the objects from all SBin blocks, we can properly re-build
 		// the entire CDAT strings order 1-to-1 like original file. 
 		// The first empty entry must be kept though, since it could be found on random blocks of the file
-		if (SBJson.get().isCDATAllStringsFromDATA()) {
-			SBJson.get().setCDATStrings(SBJson.get().getCDATStrings().subList(0, 1));
+		if (ctx.getSBinJson().isCDATAllStringsFromDATA()) {
+			ctx.getSBinJson().setCDATStrings(ctx.getSBinJson().getCDATStrings().subList(0, 1));
 		}
 	}
 }
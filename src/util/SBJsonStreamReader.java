@@ -0,0 +1,159 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import util.DataClasses.SBinDataElement;
+import util.DataClasses.SBinEnum;
+import util.DataClasses.SBinJson;
+import util.SBinHCStructs.SBinHCStruct;
+import util.json.PolymorphTypeAdapterFactory;
+
+// Repack Json read in passes: main fields without DATA elements, then the DATA elements referenced by others
+// (Enum maps, usually placed at the end), and then the rest of DATA elements one by one. So each of them
+// is encoded & dropped right away, instead of keeping the whole Json in memory
+public class SBJsonStreamReader implements Closeable, Iterator<SBinDataElement> {
+
+	private static final String DATA_ELEMENTS = "DATA_Elements";
+
+	private static final Gson gsonReader = new GsonBuilder()
+			.registerTypeAdapterFactory(new PolymorphTypeAdapterFactory<>(SBinHCStruct.class))
+			.create();
+	private static final Gson gsonMainFields = new GsonBuilder()
+			.registerTypeAdapterFactory(new PolymorphTypeAdapterFactory<>(SBinHCStruct.class))
+			.setExclusionStrategies(new DataElementsFilter())
+			.create();
+
+	private final JsonReader jsonReader;
+	private final Map<Integer, SBinDataElement> referencedElements;
+	private boolean hasElements;
+
+	private SBJsonStreamReader(JsonReader jsonReader, Map<Integer, SBinDataElement> referencedElements) throws IOException {
+		this.jsonReader = jsonReader;
+		this.referencedElements = referencedElements;
+		this.hasElements = findDataElements(jsonReader);
+	}
+
+	// Json main fields goes into the context. Returns null if the Json cannot be streamed:
+	// texture files works with all DATA elements at once
+	public static SBJsonStreamReader open(SBinContext ctx, Path filePath) throws IOException {
+		SBinJson sbinJson;
+		try (Reader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+			sbinJson = gsonMainFields.fromJson(reader, SBinJson.class);
+		}
+		if (sbinJson.getSBinType() == SBinType.TEXTURE 
+				|| sbinJson.getDATAHexStr() != null || sbinJson.getDATAHexBlob() != null) {return null;}
+		ctx.setSBinJson(sbinJson);
+		Map<Integer, SBinDataElement> referencedElements = readReferencedElements(filePath, sbinJson);
+
+		JsonReader reader = new JsonReader(Files.newBufferedReader(filePath, StandardCharsets.UTF_8));
+		try {
+			return new SBJsonStreamReader(reader, referencedElements);
+		} catch (IOException | RuntimeException ex) {
+			reader.close();
+			throw ex;
+		}
+	}
+
+	// Enum maps, plus the first element which is taken for the unknown Enums
+	private static Map<Integer, SBinDataElement> readReferencedElements(Path filePath, SBinJson sbinJson) throws IOException {
+		Set<Integer> referencedIds = new HashSet<>();
+		referencedIds.add(0x0);
+		for (SBinEnum enumObj : sbinJson.getEnums()) {
+			referencedIds.add(enumObj.getDataIdMapRefId());
+		}
+		Map<Integer, SBinDataElement> referencedElements = new HashMap<>();
+		try (JsonReader reader = new JsonReader(Files.newBufferedReader(filePath, StandardCharsets.UTF_8))) {
+			if (!findDataElements(reader)) {return referencedElements;}
+			for (int i = 0; reader.hasNext() && referencedElements.size() < referencedIds.size(); i++) {
+				if (referencedIds.contains(i)) {
+					referencedElements.put(i, gsonReader.fromJson(reader, SBinDataElement.class));
+				} else {
+					reader.skipValue();
+				}
+			}
+		}
+		return referencedElements;
+	}
+
+	// Moves the reader into DATA elements array, if there is any
+	private static boolean findDataElements(JsonReader reader) throws IOException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if (!reader.nextName().contentEquals(DATA_ELEMENTS)) {
+				reader.skipValue();
+			} else if (reader.peek() == JsonToken.NULL) {
+				return false;
+			} else {
+				reader.beginArray();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Same as the DATA elements list get(), only for the referenced elements
+	public SBinDataElement getDataElementById(int id) {
+		SBinDataElement element = referencedElements.get(id);
+		if (element == null) {
+			throw new IndexOutOfBoundsException("!!! Referenced DATA element " + id + " cannot be found.");
+		}
+		return element;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (!hasElements) {return false;}
+		try {
+			hasElements = jsonReader.hasNext();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return hasElements;
+	}
+
+	@Override
+	public SBinDataElement next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return gsonReader.fromJson(jsonReader, SBinDataElement.class);
+	}
+
+	@Override
+	public void close() throws IOException {
+		jsonReader.close();
+	}
+
+	private static class DataElementsFilter implements ExclusionStrategy {
+		@Override
+		public boolean shouldSkipField(FieldAttributes field) {
+			SerializedName name = field.getAnnotation(SerializedName.class);
+			return field.getDeclaringClass() == SBinJson.class && name != null && name.value().contentEquals(DATA_ELEMENTS);
+		}
+
+		@Override
+		public boolean shouldSkipClass(Class<?> clazz) {
+			return false;
+		}
+	}
+}
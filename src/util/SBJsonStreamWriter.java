@@ -0,0 +1,140 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonWriter;
+
+import util.DataClasses.SBinDataElement;
+import util.DataClasses.SBinJson;
+
+// Unpack Json written step by step: main fields before DATA block parsing, each DATA element right after it's parsed,
+// and the fields which depends on DATA contents at the end. DATA elements are not kept in memory.
+// Files without streaming (textures, Save files, DATA as one block) are written in the same layout
+public class SBJsonStreamWriter implements Closeable {
+
+	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
+
+	private static final String DATA_ELEMENTS = "DATA_Elements";
+	// Known only after all DATA elements are parsed
+	private static final Set<String> FINAL_FIELDS = new HashSet<>(Arrays.asList(
+			"HexBlobFile", "ENUM_MidDATAStringsOrdering", "CDAT_AllStringsFromDATA", "CDAT_Strings"));
+
+	private static final Gson gsonWriter = new GsonBuilder().setPrettyPrinting().create();
+	private static final Gson gsonMainFields = new GsonBuilder()
+			.setExclusionStrategies(new SBinJsonFieldsFilter(false)).create();
+	private static final Gson gsonFinalFields = new GsonBuilder()
+			.setExclusionStrategies(new SBinJsonFieldsFilter(true)).create();
+
+	private final Path filePath;
+	private final JsonWriter jsonWriter;
+	private int dataElementsCount = 0;
+	private boolean dataElementsStarted = false;
+	private boolean finished = false;
+
+	public SBJsonStreamWriter(Path filePath) throws IOException {
+		this.filePath = filePath;
+		this.jsonWriter = gsonWriter.newJsonWriter(Files.newBufferedWriter(filePath, StandardCharsets.UTF_8));
+	}
+
+	public void writeMainFields(SBinJson sbinJson) throws IOException {
+		writeMainFields(sbinJson, true);
+	}
+
+	// Whole Json from the memory. DATA elements are skipped if DATA is kept as HEX
+	public void writeSBinJson(SBinJson sbinJson) throws IOException {
+		writeMainFields(sbinJson, sbinJson.getDataElements() != null);
+		if (sbinJson.getDataElements() != null) {
+			for (SBinDataElement element : sbinJson.getDataElements()) {
+				writeDataElement(element);
+			}
+		}
+		writeFinalFields(sbinJson);
+	}
+
+	public void writeDataElement(SBinDataElement element) {
+		gsonWriter.toJson(element, SBinDataElement.class, jsonWriter);
+		dataElementsCount++;
+	}
+
+	public void writeFinalFields(SBinJson sbinJson) throws IOException {
+		if (dataElementsStarted) {
+			jsonWriter.endArray();
+		}
+		writeFields(gsonFinalFields.toJsonTree(sbinJson).getAsJsonObject());
+		jsonWriter.endObject();
+		jsonWriter.flush();
+		finished = true;
+		jl.log(Level.INFO, "Unpacked with {0} DATA objects.", dataElementsCount);
+	}
+
+	private void writeMainFields(SBinJson sbinJson, boolean withDataElements) throws IOException {
+		jsonWriter.beginObject();
+		writeFields(gsonMainFields.toJsonTree(sbinJson).getAsJsonObject());
+		if (withDataElements) {
+			jsonWriter.name(DATA_ELEMENTS);
+			jsonWriter.beginArray();
+			dataElementsStarted = true;
+		}
+	}
+
+	private void writeFields(JsonObject fields) throws IOException {
+		for (Map.Entry<String, JsonElement> field : fields.entrySet()) {
+			jsonWriter.name(field.getKey());
+			gsonWriter.toJson(field.getValue(), jsonWriter);
+		}
+	}
+
+	// Unfinished file is removed, in case of DATA parsing error. Json writer is closed anyway,
+	// but it fails on the incomplete document: that must not hide the parsing error itself
+	@Override
+	public void close() throws IOException {
+		if (finished) {
+			jsonWriter.close();
+			return;
+		}
+		try {
+			jsonWriter.close();
+		} catch (IOException ex) {
+			jl.log(Level.FINE, "Unfinished Json is closed: {0}", ex.getMessage());
+		}
+		Files.deleteIfExists(filePath);
+	}
+
+	private static class SBinJsonFieldsFilter implements ExclusionStrategy {
+		private final boolean finalFields;
+
+		public SBinJsonFieldsFilter(boolean finalFields) {
+			this.finalFields = finalFields;
+		}
+
+		@Override
+		public boolean shouldSkipField(FieldAttributes field) {
+			SerializedName name = field.getAnnotation(SerializedName.class);
+			if (field.getDeclaringClass() != SBinJson.class || name == null) {return false;}
+			boolean isFinalField = FINAL_FIELDS.contains(name.value());
+			return finalFields ? !isFinalField : isFinalField || name.value().contentEquals(DATA_ELEMENTS);
+		}
+
+		@Override
+		public boolean shouldSkipClass(Class<?> clazz) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,571 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import util.DataClasses.SBinCDATEntry;
+import util.DataClasses.SBinDataElement;
+import util.DataClasses.SBinDataField;
+import util.DataClasses.SBinEnum;
+import util.DataClasses.SBinField;
+import util.DataClasses.SBinJson;
+import util.DataClasses.SBinStruct;
+import util.SBinHCStructs.SBHCSIntegerMap;
+import util.SBinHCStructs.SBHCSPropertiesBase;
+import util.SBinHCStructs.SBHCSPropertyEntity;
+import util.SBinHCStructs.SBinHCStruct;
+
+// Binary alternative of the unpacked Json (.sbx), for caches & other machine use. Same SBinJson model,
+// fields goes in the Json order:
+// - "SBX" header + format version byte
+// - Integers: unsigned LEB128 varints, ZigZag-encoded
+// - Strings: 0 = null, 1 = new string (varint UTF-8 length + bytes, gets the next table Id), 2+ = table Id + 2.
+//   So all the repeated names, types & values are stored once
+// - HEX strings: 0 = null, 1 = raw bytes (varint length + bytes), 2 = String (not an upper-case HEX)
+// - Lists: 0 = null, otherwise varint size + 1 and the entries
+// - Enums: String of the constant name, booleans: 1 byte
+public class SBXFile {
+
+	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
+
+	public static final String FILE_SBX = ".sbx";
+	private static final byte[] SBX_HEADER = {'S', 'B', 'X'};
+	private static final int SBX_VERSION = 0x1;
+	private static final int SBX_SIZE_ESTIMATE = 0x100000;
+
+	private static final int HEX_RAW = 0x1;
+	private static final int HEX_STRING = 0x2;
+	private static final int HCSTRUCT_BASE = 0x1;
+	private static final int HCSTRUCT_INTMAP = 0x2;
+	private static final int HCSTRUCT_PROPSBASE = 0x3;
+	private static final int SUBFIELDS_MAX_DEPTH = 0x100; // Way above real sub-structs, stops a corrupt file early
+
+	private SBXFile() {}
+
+	public static void outputSBX(SBinContext ctx) throws IOException {
+		SBXWriter writer = new SBXWriter();
+		writer.writeSBinJson(ctx.getSBinJson());
+		Files.write(ctx.getOutputPath(ctx.getSBinJson().getFileName() + FILE_SBX), writer.out.toByteArray());
+		jl.log(Level.INFO, "Unpacked with {0} DATA objects.", ctx.getSBinJson().getDataElements().size());
+	}
+
+	public static void loadSBX(SBinContext ctx, String filePath) throws IOException {
+		byte[] data = Files.readAllBytes(Paths.get(filePath));
+		for (int i = 0; i < SBX_HEADER.length; i++) {
+			if (data.length <= SBX_HEADER.length || data[i] != SBX_HEADER[i]) {
+				throw new IOException("!!! File is not a .sbx: " + filePath);
+			}
+		}
+		if (data[SBX_HEADER.length] != SBX_VERSION) {
+			throw new IOException("!!! Unsupported .sbx version: " + data[SBX_HEADER.length]);
+		}
+		SBXReader reader = new SBXReader(data, SBX_HEADER.length + 1);
+		ctx.setSBinJson(reader.readSBinJson());
+	}
+
+	public static boolean isSBXFile(Path filePath) {
+		return filePath.getFileName().toString().endsWith(FILE_SBX);
+	}
+
+	//
+	// Writer
+	//
+
+	private static class SBXWriter {
+		private final LEWriter out = new LEWriter(SBX_SIZE_ESTIMATE);
+		private final Map<String, Integer> stringTable = new HashMap<>();
+
+		private void writeSBinJson(SBinJson sbinJson) {
+			out.writeBytes(SBX_HEADER);
+			out.writeByte(SBX_VERSION);
+			writeString(sbinJson.getFileName());
+			writeInt(sbinJson.getSBinVersion());
+			writeEnum(sbinJson.getSBinType());
+			writeHex(sbinJson.getENUMHexStr());
+			writeBoolean(sbinJson.isENUMMidDATAStringsOrdering());
+			writeHex(sbinJson.getSTRUHexStr());
+			writeHex(sbinJson.getFIELHexStr());
+			writeHex(sbinJson.getOHDRHexStr());
+			writeHex(sbinJson.getDATAHexStr());
+			writeBoolean(sbinJson.isDataLongElementIds());
+			writeHex(sbinJson.getCHDRHexStr());
+			writeHex(sbinJson.getCDATHexStr());
+			writeHex(sbinJson.getBULKHexStr());
+			writeHex(sbinJson.getBARGHexStr());
+			writeBoolean(sbinJson.isCDATAllStringsFromDATA());
+			if (writeListSize(sbinJson.getEnums())) {
+				for (SBinEnum enumObj : sbinJson.getEnums()) {
+					writeInt(enumObj.getId());
+					writeString(enumObj.getName());
+					writeHex(enumObj.getDataIdMapRef());
+				}
+			}
+			writeFields(sbinJson.getEmptyFields());
+			if (writeListSize(sbinJson.getStructs())) {
+				for (SBinStruct struct : sbinJson.getStructs()) {
+					writeInt(struct.getId());
+					writeString(struct.getName());
+					writeInt(struct.getSize());
+					writeFields(struct.getFieldsArray());
+				}
+			}
+			writeDataElements(sbinJson.getDataElements());
+			if (writeListSize(sbinJson.getCDATStrings())) {
+				for (SBinCDATEntry cdatEntry : sbinJson.getCDATStrings()) {
+					writeHex(cdatEntry.getChdrHexId());
+					writeString(cdatEntry.getString());
+				}
+			}
+		}
+
+		private void writeFields(List<SBinField> fields) {
+			if (!writeListSize(fields)) {return;}
+			for (SBinField field : fields) {
+				writeString(field.getName());
+				writeString(field.getType());
+				writeString(field.getSubStruct());
+				writeHex(field.getHexValue());
+				writeString(field.getEnumJsonPreview());
+				writeInt(field.getStartOffset());
+				writeInt(field.getFieldSize());
+				writeBoolean(field.isDynamicSize());
+				writeInt(field.getSpecOrderId());
+			}
+		}
+
+		private void writeDataElements(List<SBinDataElement> elements) {
+			if (!writeListSize(elements)) {return;}
+			for (SBinDataElement element : elements) {
+				writeHex(element.getOrderHexId());
+				writeBoolean(element.isOHDRPadRemainderHidden());
+				if (!element.isOHDRPadRemainderHidden()) {
+					writeInt(element.getOHDRPadRemainder());
+				}
+				writeHex(element.getHexValue());
+				writeHex(element.getExtraHexValue());
+				writeString(element.getStructName());
+				writeString(element.getStructBaseName());
+				writeEnum(element.getGlobalType());
+				if (writeListSize(element.getMapElements())) {
+					for (String mapElement : element.getMapElements()) {
+						writeString(mapElement);
+					}
+				}
+				writeDataFields(element.getFields());
+				writeDataElements(element.getArrayObjects());
+				writeHCStruct(element.getHCStruct());
+			}
+		}
+
+		private void writeDataFields(List<SBinDataField> dataFields) {
+			if (!writeListSize(dataFields)) {return;}
+			for (SBinDataField dataField : dataFields) {
+				writeString(dataField.getName());
+				writeString(dataField.getType());
+				writeString(dataField.getSubStruct());
+				writeString(dataField.getEnumJsonPreview());
+				Long enumDataMapId = dataField.getEnumDataMapIdJsonPreview();
+				writeBoolean(enumDataMapId != null);
+				if (enumDataMapId != null) {
+					writeLong(enumDataMapId);
+				}
+				writeBoolean(dataField.isForcedHexValue());
+				writeInt(dataField.getFieldSize());
+				writeString(dataField.getValue());
+				writeDataFields(dataField.getSubFields());
+			}
+		}
+
+		private void writeHCStruct(SBinHCStruct hcStruct) {
+			if (hcStruct == null) {
+				out.writeByte(0x0);
+			} else if (hcStruct instanceof SBHCSIntegerMap) {
+				out.writeByte(HCSTRUCT_INTMAP);
+				writeString(hcStruct.getType());
+				List<Integer> intMap = ((SBHCSIntegerMap)hcStruct).getIntegerMap();
+				if (writeListSize(intMap)) {
+					for (Integer value : intMap) {
+						writeInt(value);
+					}
+				}
+			} else if (hcStruct instanceof SBHCSPropertiesBase) {
+				out.writeByte(HCSTRUCT_PROPSBASE);
+				writeString(hcStruct.getType());
+				List<SBHCSPropertyEntity> properties = ((SBHCSPropertiesBase)hcStruct).getProperties();
+				if (writeListSize(properties)) {
+					for (SBHCSPropertyEntity property : properties) {
+						writeHex(property.getPropertyNameCHDR());
+						writeEnum(property.getValueType());
+						writeInt(property.getOffsetCounter());
+						writeString(property.getValue());
+					}
+				}
+			} else {
+				out.writeByte(HCSTRUCT_BASE);
+				writeString(hcStruct.getType());
+			}
+		}
+
+		private boolean writeListSize(List<?> list) {
+			writeVarLong(list != null ? list.size() + 1 : 0);
+			return list != null;
+		}
+
+		private void writeString(String value) {
+			if (value == null) {
+				out.writeByte(0x0);
+				return;
+			}
+			Integer tableId = stringTable.get(value);
+			if (tableId != null) {
+				writeVarLong(tableId + 2L);
+				return;
+			}
+			stringTable.put(value, stringTable.size());
+			out.writeByte(0x1);
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarLong(bytes.length);
+			out.writeBytes(bytes);
+		}
+
+		// Only upper-case HEX goes as raw bytes, so the same string is restored on load
+		private void writeHex(String value) {
+			if (value == null) {
+				out.writeByte(0x0);
+			} else if (isUpperCaseHex(value)) {
+				out.writeByte(HEX_RAW);
+				writeVarLong(value.length() / 2);
+				out.writeHexStr(value);
+			} else {
+				out.writeByte(HEX_STRING);
+				writeString(value);
+			}
+		}
+
+		private void writeEnum(Enum<?> value) {
+			writeString(value != null ? value.name() : null);
+		}
+
+		private void writeBoolean(boolean value) {
+			out.writeByte(value ? 0x1 : 0x0);
+		}
+
+		private void writeInt(int value) {
+			writeVarLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+		}
+
+		private void writeLong(long value) {
+			writeVarLong((value << 1) ^ (value >> 63));
+		}
+
+		private void writeVarLong(long value) {
+			while ((value & ~0x7FL) != 0) {
+				out.writeByte((int)(value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			out.writeByte((int)value);
+		}
+
+		private static boolean isUpperCaseHex(String value) {
+			if (value.length() % 2 != 0) {return false;}
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if ((c < '0' || c > '9') && (c < 'A' || c > 'F')) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	//
+	// Reader
+	//
+
+	private static class SBXReader {
+		private final byte[] data;
+		private int curPos;
+		private final List<String> stringTable = new ArrayList<>();
+
+		private SBXReader(byte[] data, int curPos) {
+			this.data = data;
+			this.curPos = curPos;
+		}
+
+		private SBinJson readSBinJson() throws IOException {
+			SBinJson sbinJson = new SBinJson();
+			sbinJson.setFileName(readString());
+			sbinJson.setSBinVersion(readInt());
+			sbinJson.setSBinType(readEnum(SBinType.class));
+			sbinJson.setENUMHexStr(readHex());
+			sbinJson.setENUMMidDATAStringsOrdering(readBoolean());
+			sbinJson.setSTRUHexStr(readHex());
+			sbinJson.setFIELHexStr(readHex());
+			sbinJson.setOHDRHexStr(readHex());
+			sbinJson.setDATAHexStr(readHex());
+			sbinJson.setDataLongElementIds(readBoolean());
+			sbinJson.setCHDRHexStr(readHex());
+			sbinJson.setCDATHexStr(readHex());
+			sbinJson.setBULKHexStr(readHex());
+			sbinJson.setBARGHexStr(readHex());
+			sbinJson.setCDATAllStringsFromDATA(readBoolean());
+			int enumsCount = readListSize();
+			List<SBinEnum> enums = enumsCount != -1 ? new ArrayList<>(enumsCount) : null;
+			for (int i = 0; i < enumsCount; i++) {
+				SBinEnum enumObj = new SBinEnum();
+				enumObj.setId(readInt());
+				enumObj.setName(readString());
+				enumObj.setDataIdMapRef(readHex());
+				enums.add(enumObj);
+			}
+			sbinJson.setEnums(enums);
+			sbinJson.setEmptyFields(readFields());
+			int structsCount = readListSize();
+			List<SBinStruct> structs = structsCount != -1 ? new ArrayList<>(structsCount) : null;
+			for (int i = 0; i < structsCount; i++) {
+				SBinStruct struct = new SBinStruct();
+				struct.setId(readInt());
+				struct.setName(readString());
+				struct.setSize(readInt());
+				struct.setFieldsArray(readFields());
+				structs.add(struct);
+			}
+			sbinJson.setStructs(structs);
+			sbinJson.setDataElements(readDataElements());
+			int cdatCount = readListSize();
+			List<SBinCDATEntry> cdatStrings = cdatCount != -1 ? new ArrayList<>(cdatCount) : null;
+			for (int i = 0; i < cdatCount; i++) {
+				SBinCDATEntry cdatEntry = new SBinCDATEntry();
+				cdatEntry.setChdrHexId(readHex());
+				cdatEntry.setString(readString());
+				cdatStrings.add(cdatEntry);
+			}
+			sbinJson.setCDATStrings(cdatStrings);
+			if (curPos != data.length) {
+				throw new IOException("!!! Unexpected data at the end of .sbx, offset " + curPos);
+			}
+			return sbinJson;
+		}
+
+		private List<SBinField> readFields() throws IOException {
+			int count = readListSize();
+			if (count == -1) {return null;}
+			List<SBinField> fields = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				SBinField field = new SBinField();
+				field.setName(readString());
+				field.setType(readString());
+				field.setSubStruct(readString());
+				field.setHexValue(readHex());
+				field.setEnumJsonPreview(readString());
+				field.setStartOffset(readInt());
+				field.setFieldSize(readInt());
+				field.setDynamicSize(readBoolean());
+				field.setSpecOrderId(readInt());
+				fields.add(field);
+			}
+			return fields;
+		}
+
+		private List<SBinDataElement> readDataElements() throws IOException {
+			int count = readListSize();
+			if (count == -1) {return null;}
+			List<SBinDataElement> elements = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				SBinDataElement element = new SBinDataElement();
+				element.setOrderHexId(readHex());
+				if (readBoolean()) {
+					element.hideOHDRPadRemainder();
+				} else {
+					element.setOHDRPadRemainder(readInt());
+				}
+				element.setHexValue(readHex());
+				element.setExtraHexValue(readHex());
+				element.setStructName(readString());
+				element.setStructBaseName(readString());
+				element.setGlobalType(readEnum(SBinDataGlobalType.class));
+				int mapCount = readListSize();
+				List<String> mapElements = mapCount != -1 ? new ArrayList<>(mapCount) : null;
+				for (int j = 0; j < mapCount; j++) {
+					mapElements.add(readString());
+				}
+				element.setMapElements(mapElements);
+				element.setFields(readDataFields(0));
+				element.setArrayObjects(readDataElements());
+				element.setHCStruct(readHCStruct());
+				elements.add(element);
+			}
+			return elements;
+		}
+
+		private List<SBinDataField> readDataFields(int depth) throws IOException {
+			if (depth > SUBFIELDS_MAX_DEPTH) {
+				throw new IOException("!!! Too deep sub-fields in .sbx, offset " + curPos);
+			}
+			int count = readListSize();
+			if (count == -1) {return null;}
+			List<SBinDataField> dataFields = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				SBinDataField dataField = new SBinDataField();
+				dataField.setName(readString());
+				dataField.setType(readString());
+				dataField.setSubStruct(readString());
+				dataField.setEnumJsonPreview(readString());
+				if (readBoolean()) {
+					dataField.setEnumDataMapIdJsonPreview(readLong());
+				}
+				dataField.setForcedHexValue(readBoolean());
+				dataField.setFieldSize(readInt());
+				dataField.setValue(readString());
+				dataField.setSubFields(readDataFields(depth + 1));
+				dataFields.add(dataField);
+			}
+			return dataFields;
+		}
+
+		private SBinHCStruct readHCStruct() throws IOException {
+			int hcStructType = readByte();
+			if (hcStructType == 0x0) {return null;}
+			SBinHCStruct hcStruct;
+			switch(hcStructType) {
+			case HCSTRUCT_INTMAP:
+				SBHCSIntegerMap intMapObj = new SBHCSIntegerMap();
+				intMapObj.setType(readString());
+				int mapCount = readListSize();
+				List<Integer> intMap = mapCount != -1 ? new ArrayList<>(mapCount) : null;
+				for (int i = 0; i < mapCount; i++) {
+					intMap.add(readInt());
+				}
+				intMapObj.setIntegerMap(intMap);
+				hcStruct = intMapObj;
+				break;
+			case HCSTRUCT_PROPSBASE:
+				SBHCSPropertiesBase propsObj = new SBHCSPropertiesBase();
+				propsObj.setType(readString());
+				int propsCount = readListSize();
+				List<SBHCSPropertyEntity> properties = propsCount != -1 ? new ArrayList<>(propsCount) : null;
+				for (int i = 0; i < propsCount; i++) {
+					SBHCSPropertyEntity property = new SBHCSPropertyEntity();
+					property.setPropertyNameCHDR(readHex());
+					property.setValueType(readEnum(SBinFieldType.class));
+					property.setOffsetCounter(readInt());
+					property.setValue(readString());
+					properties.add(property);
+				}
+				propsObj.setProperties(properties);
+				hcStruct = propsObj;
+				break;
+			case HCSTRUCT_BASE:
+				hcStruct = new SBinHCStruct();
+				hcStruct.setType(readString());
+				break;
+			default:
+				throw new IOException("!!! Unknown HCStruct type in .sbx: " + hcStructType);
+			}
+			return hcStruct;
+		}
+
+		// -1 for null list. Each item takes at least one byte, so size is limited by the remaining data
+		private int readListSize() throws IOException {
+			int sizePos = curPos;
+			long count = readVarLong() - 1;
+			if (count < -1 || count > data.length - curPos) {
+				throw new IOException("!!! Wrong list size in .sbx, offset " + sizePos);
+			}
+			return (int)count;
+		}
+
+		private String readString() throws IOException {
+			int tagPos = curPos;
+			long tag = readVarLong();
+			if (tag == 0x0) {return null;}
+			if (tag != 0x1) {
+				if (tag < 0 || tag - 2 >= stringTable.size()) {
+					throw new IOException("!!! Wrong string reference in .sbx, offset " + tagPos);
+				}
+				return stringTable.get((int)(tag - 2));
+			}
+			int length = (int)readVarLong();
+			checkRemaining(length);
+			String value = new String(data, curPos, length, StandardCharsets.UTF_8);
+			curPos += length;
+			stringTable.add(value);
+			return value;
+		}
+
+		private String readHex() throws IOException {
+			switch(readByte()) {
+			case 0x0:
+				return null;
+			case HEX_RAW:
+				int length = (int)readVarLong();
+				checkRemaining(length);
+				String value = new ByteSlice(ByteBuffer.wrap(data), curPos, length).toHexString().toUpperCase();
+				curPos += length;
+				return value;
+			case HEX_STRING:
+				return readString();
+			default:
+				throw new IOException("!!! Wrong HEX string in .sbx, offset " + (curPos - 1));
+			}
+		}
+
+		private <E extends Enum<E>> E readEnum(Class<E> enumClass) throws IOException {
+			int namePos = curPos;
+			String name = readString();
+			if (name == null) {return null;}
+			try {
+				return Enum.valueOf(enumClass, name);
+			} catch (IllegalArgumentException ex) {
+				throw new IOException("!!! Unknown " + enumClass.getSimpleName() + " value in .sbx, offset " + namePos);
+			}
+		}
+
+		private boolean readBoolean() throws IOException {
+			return readByte() != 0x0;
+		}
+
+		private int readInt() throws IOException {
+			long value = readVarLong();
+			return (int)(value >>> 1) ^ -(int)(value & 0x1);
+		}
+
+		private long readLong() throws IOException {
+			long value = readVarLong();
+			return (value >>> 1) ^ -(value & 0x1);
+		}
+
+		private long readVarLong() throws IOException {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				int b = readByte();
+				value |= (long)(b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new IOException("!!! Wrong varint in .sbx, offset " + curPos);
+		}
+
+		private int readByte() throws IOException {
+			checkRemaining(1);
+			return data[curPos++] & 0xFF;
+		}
+
+		private void checkRemaining(int length) throws IOException {
+			if (length < 0 || curPos + length > data.length) {
+				throw new IOException("!!! Unexpected end of .sbx, offset " + curPos);
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import util.DataClasses.SBinBlobRef;
+
+// Sidecar file for the large opaque payloads of the unpacked SBin (HEX-only blocks & DATA elements).
+// Bytes are copied there as they are, and Json keeps only the offset & length of each payload.
+// File is created with the first payload, so nothing is left if all of them are short
+public class SBinBlobFile implements Closeable {
+
+	public static final String FILE_BLOB = ".blob";
+	private static final int BLOB_MIN_SIZE = 0x40; // Shorter payloads stays in Json as HEX
+
+	private final Path filePath;
+	private FileChannel channel;
+	private int size = 0x0;
+
+	public SBinBlobFile(Path filePath) {
+		this.filePath = filePath;
+	}
+
+	// Returns null for the short payloads, they must be written as HEX
+	public SBinBlobRef write(ByteSlice data) throws IOException {
+		if (data.length() < BLOB_MIN_SIZE) {return null;}
+		if (channel == null) {
+			channel = FileChannel.open(filePath, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		}
+		ByteBuffer buffer = data.asByteBuffer();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		SBinBlobRef blobRef = new SBinBlobRef(size, data.length());
+		size += data.length();
+		return blobRef;
+	}
+
+	// Mapping stays valid after the channel is closed
+	public static ByteSlice mapFile(Path filePath) throws IOException {
+		try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+			return new ByteSlice(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), 0, (int)channel.size());
+		}
+	}
+
+	public static ByteSlice getSlice(ByteSlice blobData, SBinBlobRef blobRef) {
+		if (blobData == null) {
+			throw new IllegalStateException("!!! Json refers to the .blob file, but it's not loaded.");
+		}
+		return blobData.slice(blobRef.getOffset(), blobRef.getOffset() + blobRef.getLength());
+	}
+
+	// Json refers to the file only if it's created
+	public boolean isCreated() {
+		return channel != null;
+	}
+
+	public String getFileName() {
+		return filePath.getFileName().toString();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package util;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import jogl.DDSImage;
+import util.DataClasses.SBinDataElement;
+import util.DataClasses.SBinJson;
+
+// Everything one SBin unpack or repack job works with: Json contents, file reader, launch options & texture state.
+// Each job gets its own context, so several files can be processed at the same time
+public class SBinContext {
+
+	private SBinJson sbinJson = new SBinJson();
+	private SBinReader reader;
+	private SBJsonStreamReader jsonReader; // Set only for the streamed repack
+	private SBinBlobFile blobFile; // Unpack with .blob output
+	private ByteSlice blobData; // Repack of Json with .blob file
+	private SBinProfiler profiler; // Set only by the benchmark
+	private boolean cdatFrozen = false; // Set while DATA elements are encoded on several threads, CDAT must not grow
+	private Path repackCachePath; // Encoded DATA elements file, for the incremental repack
+	private Map<Integer, SBinDataElement> referencedElements; // Set only for the streamed unpack with the repack cache
+
+	// Launch options
+	private boolean disableMipmapUnpack = false;
+	private boolean disableDATAObjectsUnpack = false;
+	private boolean sbxOutput = false;
+	private boolean blobOutput = false;
+	private boolean structCacheOnDisk = false;
+	private boolean incrementalRepack = false;
+	private boolean unpackCache = false;
+	// Folders are set only for batch commands, single file commands works with the current folder
+	private Path inputDir;
+	private Path outputDir;
+	private final Set<String> outputFiles = new LinkedHashSet<>(); // Everything the job writes, for the unpack cache
+
+	// Texture state
+	private int imageFormatId = DDSImage.D3DFMT_A8R8G8B8;
+	private String formatName = "!pls fix!";
+	private SBinTextureFormat curTexFormat;
+	private boolean isETCToRGB = false;
+
+	public SBinJson getSBinJson() {
+		return sbinJson;
+	}
+	public void setSBinJson(SBinJson sbinJson) {
+		this.sbinJson = sbinJson;
+	}
+
+	public SBinReader getReader() {
+		return reader;
+	}
+	public void setReader(SBinReader reader) {
+		this.reader = reader;
+	}
+
+	public SBJsonStreamReader getJsonReader() {
+		return jsonReader;
+	}
+	public void setJsonReader(SBJsonStreamReader jsonReader) {
+		this.jsonReader = jsonReader;
+	}
+
+	public SBinBlobFile getBlobFile() {
+		return blobFile;
+	}
+	public void setBlobFile(SBinBlobFile blobFile) {
+		this.blobFile = blobFile;
+	}
+
+	public ByteSlice getBlobData() {
+		return blobData;
+	}
+	public void setBlobData(ByteSlice blobData) {
+		this.blobData = blobData;
+	}
+
+	public SBinProfiler getProfiler() {
+		return profiler;
+	}
+	public void setProfiler(SBinProfiler profiler) {
+		this.profiler = profiler;
+	}
+	
+	public boolean isCDATFrozen() {
+		return cdatFrozen;
+	}
+	public void setCDATFrozen(boolean cdatFrozen) {
+		this.cdatFrozen = cdatFrozen;
+	}
+	
+	public Path getRepackCachePath() {
+		return repackCachePath;
+	}
+	public void setRepackCachePath(Path repackCachePath) {
+		this.repackCachePath = repackCachePath;
+	}
+	
+	public Map<Integer, SBinDataElement> getReferencedElements() {
+		return referencedElements;
+	}
+	public void setReferencedElements(Map<Integer, SBinDataElement> referencedElements) {
+		this.referencedElements = referencedElements;
+	}
+	
+	public void disableMipmapUnpack() {
+		this.disableMipmapUnpack = true;
+	}
+	public boolean isMipmapUnpackDisabled() {
+		return disableMipmapUnpack;
+	}
+
+	public void disableDATAObjectsUnpack() {
+		this.disableDATAObjectsUnpack = true;
+	}
+	public boolean isDATAObjectsUnpackDisabled() {
+		return disableDATAObjectsUnpack;
+	}
+
+	public void enableSBXOutput() {
+		this.sbxOutput = true;
+	}
+	public boolean isSBXOutput() {
+		return sbxOutput;
+	}
+
+	public void enableBlobOutput() {
+		this.blobOutput = true;
+	}
+	public boolean isBlobOutput() {
+		return blobOutput;
+	}
+
+	public void enableStructCacheOnDisk() {
+		this.structCacheOnDisk = true;
+	}
+	public boolean isStructCacheOnDisk() {
+		return structCacheOnDisk;
+	}
+
+	public void enableIncrementalRepack() {
+		this.incrementalRepack = true;
+	}
+	public boolean isIncrementalRepack() {
+		return incrementalRepack;
+	}
+
+	public void enableUnpackCache() {
+		this.unpackCache = true;
+	}
+	public boolean isUnpackCache() {
+		return unpackCache;
+	}
+	
+	// Fresh context for the next file of the same batch: only launch options are kept
+	public SBinContext newJobContext() {
+		SBinContext jobCtx = new SBinContext();
+		jobCtx.disableMipmapUnpack = disableMipmapUnpack;
+		jobCtx.disableDATAObjectsUnpack = disableDATAObjectsUnpack;
+		jobCtx.sbxOutput = sbxOutput;
+		jobCtx.blobOutput = blobOutput;
+		jobCtx.structCacheOnDisk = structCacheOnDisk;
+		jobCtx.incrementalRepack = incrementalRepack;
+		jobCtx.unpackCache = unpackCache;
+		return jobCtx;
+	}
+
+	public void setInputDir(Path inputDir) {
+		this.inputDir = inputDir;
+	}
+	public void setOutputDir(Path outputDir) {
+		this.outputDir = outputDir;
+	}
+
+	// Additional files (like textures) are placed next to the Json
+	public Path getInputPath(String fileName) {
+		return inputDir != null ? inputDir.resolve(fileName) : Paths.get(fileName);
+	}
+	public Path getOutputPath(String fileName) {
+		outputFiles.add(fileName);
+		return outputDir != null ? outputDir.resolve(fileName) : Paths.get(fileName);
+	}
+	public Set<String> getOutputFiles() {
+		return outputFiles;
+	}
+	// Target folder keeps the original name, otherwise the prefix prevents overwriting of the original file
+	public Path getRepackedFilePath(String fileName) {
+		return outputDir != null ? outputDir.resolve(fileName) : Paths.get("new_" + fileName);
+	}
+
+	public int getImageFormatId() {
+		return imageFormatId;
+	}
+	public void setImageFormatId(int imageFormatId) {
+		this.imageFormatId = imageFormatId;
+	}
+
+	public String getFormatName() {
+		return formatName;
+	}
+	public void setFormatName(String formatName) {
+		this.formatName = formatName;
+	}
+
+	public SBinTextureFormat getCurTexFormat() {
+		return curTexFormat;
+	}
+	public void setCurTexFormat(SBinTextureFormat curTexFormat) {
+		this.curTexFormat = curTexFormat;
+	}
+
+	public boolean isETCToRGB() {
+		return isETCToRGB;
+	}
+	public void setETCToRGB(boolean isETCToRGB) {
+		this.isETCToRGB = isETCToRGB;
+	}
+}
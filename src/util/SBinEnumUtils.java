@@ -1,11 +1,9 @@
 package util;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import util.DataClasses.SBinDataElement;
 import util.DataClasses.SBinDataField;
 import util.DataClasses.SBinEnum;
 import util.DataClasses.SBinField;
@@ -42,11 +40,11 @@ public class SBinEnumUtils {
 		return size;
 	}
 	
-	public static String formatFieldValueUnpack(SBinField field, SBinDataField dataField, byte[] valueHex) {
+	public static String formatFieldValueUnpack(SBinContext ctx, SBinField field, SBinDataField dataField, ByteSlice valueHex) {
 		if (field.getFieldTypeEnum() != null) {
 			int fieldStandardSize = getFieldStandardSize(field.getFieldTypeEnum());
 			// Try to handle values with weird field size - probably the object or type has been detected wrong
-			if (fieldStandardSize != 0x0 && fieldStandardSize != valueHex.length) {
+			if (fieldStandardSize != 0x0 && fieldStandardSize != valueHex.length()) {
 				return getDefaultHEXString(valueHex, dataField);
 			}
 		} else {
@@ -58,19 +56,19 @@ public class SBinEnumUtils {
 		case INT32: case U_INT32: case ENUM_ID_INT32: case BULK_OFFSET_ID:
 			// ENUM_ID_INT32: Enum stores all values on the last elements of DATA block, 
 			// so we read their values on other function.
-			strValue = String.valueOf(HEXUtils.byteArrayToInt(valueHex));
+			strValue = String.valueOf(valueHex.getInt(0));
 			break;
 		case INT16: case U_INT16:
-			strValue = String.valueOf(HEXUtils.bytesToShort(valueHex));
+			strValue = String.valueOf(valueHex.getShort(0));
 			break;
 		case FLOAT:
-			strValue = String.valueOf(HEXUtils.bytesToFloat(valueHex));
+			strValue = String.valueOf(valueHex.getFloat(0));
 			break;
 		case DOUBLE:
-			strValue = String.valueOf(HEXUtils.bytesToDouble(valueHex));
+			strValue = String.valueOf(valueHex.getDouble(0));
 			break;
 		case BOOLEAN: // Boolean sizes can be really different
-			int valueInt = valueHex.length == 1 ? valueHex[0] : HEXUtils.twoLEByteArrayToInt(valueHex);
+			int valueInt = valueHex.length() == 1 ? valueHex.get(0) : valueHex.getUShort(0);
 			if (valueInt < 2) { // Precaution in case of unknown value type
 				strValue = Boolean.toString(valueInt == 1);
 			} else {
@@ -78,12 +76,11 @@ public class SBinEnumUtils {
 			}
 			break;
 		case CHAR: // Char being stored on DATA block
-			strValue = String.valueOf((char)valueHex[0]);
+			strValue = String.valueOf((char)valueHex.get(0));
 			break;
 		case CHDR_ID_REF: case CHDR_SYMBOL_ID_REF:
 			// CHDR usually is 2 bytes long. Symbol CHDR can be up to 4 bytes
-			byte[] firstTwoBytes = Arrays.copyOfRange(valueHex, 0, 2);
-			strValue = SBJson.get().getCDATStrings().get(HEXUtils.twoLEByteArrayToInt(firstTwoBytes)).getString();
+			strValue = ctx.getSBinJson().getCDATStrings().get(valueHex.getUShort(0)).getString();
 			break;
 		case INT8: case U_INT8: case DATA_ID_REF: case DATA_ID_MAP: default: 
 			// U_INT8: Primarily used for HEX colors, left as it is
@@ -94,60 +91,52 @@ public class SBinEnumUtils {
 		return strValue;
 	}
 	
-	public static byte[] convertValueByType(
-			SBinFieldType type, SBinDataField dataField, int fieldRealSize) throws IOException {
-		byte[] value = new byte[0];
+	// Value goes right into the DATA buffer, without the temporary arrays
+	public static void writeValueByType(SBinContext ctx, SBinFieldType type, 
+			SBinDataField dataField, int fieldRealSize, LEWriter writer) {
 		switch(type) {
 		case INT32: case U_INT32: case BULK_OFFSET_ID:
-			value = HEXUtils.intToByteArrayLE(Integer.parseInt(dataField.getValue()));
+			writer.writeInt(Integer.parseInt(dataField.getValue()));
 			break;
 		case FLOAT:
-			value = HEXUtils.floatToBytes(Float.parseFloat(dataField.getValue()));
+			writer.writeFloat(Float.parseFloat(dataField.getValue()));
 			break;
 		case DOUBLE:
-			value = HEXUtils.doubleToBytes(Double.parseDouble(dataField.getValue()));
+			writer.writeDouble(Double.parseDouble(dataField.getValue()));
 			break;
 		case BOOLEAN: 
 			boolean bool = Boolean.parseBoolean(dataField.getValue());
-			int boolInt = bool ? 1 : 0;
-			ByteArrayOutputStream boolValueStream = new ByteArrayOutputStream();
-			boolValueStream.write((byte)boolInt);
-			boolValueStream.write(new byte[fieldRealSize - 0x1]);
-			value = boolValueStream.toByteArray();
+			writer.writeByte(bool ? 1 : 0);
+			writer.writeZeros(fieldRealSize - 0x1);
 			break;
 		case CHAR: // Char being stored on DATA block
-			char valueChar = dataField.getValue().charAt(0);
-			ByteArrayOutputStream charValueStream = new ByteArrayOutputStream();
-			charValueStream.write(valueChar);
-			charValueStream.write(new byte[fieldRealSize - 0x1]);
-			value = charValueStream.toByteArray();
+			writer.writeByte(dataField.getValue().charAt(0));
+			writer.writeZeros(fieldRealSize - 0x1);
 			break;
 		case CHDR_ID_REF: case CHDR_SYMBOL_ID_REF:
-			value = DataUtils.processStringInCDAT(dataField.getValue());
+			byte[] value = DataUtils.processStringInCDAT(ctx, dataField.getValue());
+			writer.mark();
+			writer.writeBytes(value);
 			if (fieldRealSize > 0x2) {
-				ByteArrayOutputStream valueStream = new ByteArrayOutputStream();
-				valueStream.write(value);
-				valueStream.write(new byte[fieldRealSize - value.length]);
-				value = valueStream.toByteArray();
+				writer.writeZeros(fieldRealSize - value.length);
 			}
 			break;
 		case ENUM_ID_INT32:
-			value = getEnumValueBytes(dataField);
+			writeEnumValue(writer, ctx, dataField);
 			break;
 		case INT8: case U_INT8: case DATA_ID_REF: case DATA_ID_MAP: default: 
-			value = HEXUtils.decodeHexStr(dataField.getValue());
+			writer.writeHexStr(dataField.getValue());
 			break;
 		}
-		return value;
 	}
 	
 	//
 	//
 	//
 	
-	private static String getDefaultHEXString(byte[] valueHex, SBinDataField dataField) {
+	private static String getDefaultHEXString(ByteSlice valueHex, SBinDataField dataField) {
 		dataField.setForcedHexValue(true);
-		return HEXUtils.hexToString(valueHex);
+		return valueHex.toHexString();
 	}
 	
 	public static int getIdByStringName(String enumStr) {
@@ -161,23 +150,37 @@ public class SBinEnumUtils {
 		}
 	}
 	
-	private static byte[] getEnumValueBytes(SBinDataField dataField) {
-		int enumMapId = 0;
-		for (SBinEnum enumObj : SBJson.get().getEnums()) {
-			if (enumObj.getName().contentEquals(dataField.getEnumJsonPreview())) {
-				enumMapId = HEXUtils.twoLEByteArrayToInt(
-						HEXUtils.decodeHexStr(enumObj.getDataIdMapRef()));
+	// CDAT strings of writeValueByType, added in the same order. Enum values index is made here as well.
+	// CHDR Ids goes to chdrIds, if it's set
+	public static void collectValueStrings(SBinContext ctx, SBinFieldType type, SBinDataField dataField, LEWriter chdrIds) {
+		switch(type) {
+		case CHDR_ID_REF: case CHDR_SYMBOL_ID_REF:
+			byte[] value = DataUtils.processStringInCDAT(ctx, dataField.getValue());
+			if (chdrIds != null) {
+				chdrIds.writeBytes(value);
 			}
+			break;
+		case ENUM_ID_INT32:
+			getEnumMapElement(ctx, dataField).getMapElementOrdinal(dataField.getValue());
+			break;
+		default: break;
 		}
-		int i = 0;
-		for (String mapElement : SBJson.get().getDataElements().get(enumMapId).getMapElements()) {
-			if (mapElement.contentEquals(dataField.getValue())) {
-				return HEXUtils.intToByteArrayLE(i);
-			}
-			i++;
+	}
+	
+	private static SBinDataElement getEnumMapElement(SBinContext ctx, SBinDataField dataField) {
+		SBinEnum enumObj = ctx.getSBinJson().getEnumByName(dataField.getEnumJsonPreview());
+		int enumMapId = enumObj != null ? enumObj.getDataIdMapRefId() : 0;
+		return DataUtils.getDataElementById(ctx, enumMapId);
+	}
+	
+	private static void writeEnumValue(LEWriter writer, SBinContext ctx, SBinDataField dataField) {
+		int ordinal = getEnumMapElement(ctx, dataField).getMapElementOrdinal(dataField.getValue());
+		if (ordinal != -1) {
+			writer.writeInt(ordinal);
+			return;
 		}
 		jl.log(Level.WARNING, "Unable to getEnumValueBytes for Enum {0}: "
 				+ "default 2 empty bytes is applied instead.", dataField.getEnumJsonPreview());
-		return new byte[2];
+		writer.writeZeros(0x2);
 	}
 }
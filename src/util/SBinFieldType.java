@@ -1,8 +1,5 @@
 package util;
 
-import java.util.Arrays;
-import java.util.Optional;
-
 // Order according by libapp.so
 public enum SBinFieldType {
 	UNK_0X0(0x0),
@@ -29,6 +26,7 @@ public enum SBinFieldType {
 	BULK_OFFSET_ID(0x16);
 	
 	private int id;
+	private static final SBinFieldType[] BY_ID = createIdTable();
 
 	private SBinFieldType(int id) {
 		this.id = id;
@@ -37,8 +35,19 @@ public enum SBinFieldType {
 		return Integer.valueOf(id);
 	}
 	public static SBinFieldType valueOf(int value) {
-		Optional<SBinFieldType> type = 
-				Arrays.stream(values()).filter(legNo -> legNo.id == value).findFirst();
-		return type.isPresent() ? type.get() : null;
+		return value >= 0 && value < BY_ID.length ? BY_ID[value] : null;
+	}
+	
+	// Types indexed by their ids, with the empty gaps
+	private static SBinFieldType[] createIdTable() {
+		int maxId = 0;
+		for (SBinFieldType type : values()) {
+			maxId = Math.max(maxId, type.id);
+		}
+		SBinFieldType[] table = new SBinFieldType[maxId + 1];
+		for (SBinFieldType type : values()) {
+			table[type.id] = type;
+		}
+		return table;
 	}
 }
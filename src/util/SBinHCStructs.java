@@ -1,9 +1,7 @@
 package util;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import com.google.gson.annotations.SerializedName;
@@ -28,13 +26,13 @@ public class SBinHCStructs {
 	//
 	//
 	
-	public static boolean unpackHCStructs(byte[] elementHex, SBinDataElement element, int structId, int i) {
+	public static boolean unpackHCStructs(SBinContext ctx, ByteSlice elementHex, SBinDataElement element, int structId, int i) {
 		boolean isHCStruct = false;
 		
-		switch(SBJson.get().getSBinType()) {
+		switch(ctx.getSBinJson().getSBinType()) {
 		case CAR_CONFIG: case HCSTRUCTS_COMMON:
 			if (!checkForDataIdMap(structId, elementHex)) { // Regular Map Array?
-				unpackPropertiesBaseObj(elementHex, element);
+				unpackPropertiesBaseObj(ctx, elementHex, element);
 				isHCStruct = true;
 			}
  			break;
@@ -42,12 +40,12 @@ public class SBinHCStructs {
 			
 			switch(structId) {
 			case 0x1: case 0xC:
-				unpackPropertiesBaseObj(elementHex, element);
+				unpackPropertiesBaseObj(ctx, elementHex, element);
 				isHCStruct = true;
 				break;
 			case 0x2:
-				if (elementHex.length > 0x8) {
-					unpackPropertiesBaseObj(elementHex, element);
+				if (elementHex.length() > 0x8) {
+					unpackPropertiesBaseObj(ctx, elementHex, element);
 					isHCStruct = true;
 				}
 				break;
@@ -66,19 +64,19 @@ public class SBinHCStructs {
 				unpackIntegerMap(elementHex, element);
 				isHCStruct = true;
 			} else if (!checkForDataIdMap(structId, elementHex)) { // Regular Map Array?
-				unpackPropertiesBaseObj(elementHex, element);
+				unpackPropertiesBaseObj(ctx, elementHex, element);
 				isHCStruct = true;
 			}
 			break;
 		case FONTS: case REGIONS: case LOCALES:
 			if (i == 0 || structId == 0x1) { 
-				unpackPropertiesBaseObj(elementHex, element);
+				unpackPropertiesBaseObj(ctx, elementHex, element);
 				isHCStruct = true;
 			}
  			break;
 		default: 
 			if (structId == 0x1 && i == 0) {
-				unpackPropertiesBaseObj(elementHex, element);
+				unpackPropertiesBaseObj(ctx, elementHex, element);
 				isHCStruct = true;
 			}
 			break;
@@ -86,9 +84,9 @@ public class SBinHCStructs {
 		return isHCStruct;
 	}
 	
-	public static byte[] repackHCStructs(SBinDataElement element) throws IOException {
+	public static byte[] repackHCStructs(SBinContext ctx, SBinDataElement element) throws IOException {
 		byte[] hcStructBytes = null;
-		switch(SBJson.get().getSBinType()) {
+		switch(ctx.getSBinJson().getSBinType()) {
 		case CAR_CONFIG: case HCSTRUCTS_COMMON: case TWEAKS: case LAYOUTS: case FONTS:
 			
 			switch(element.getHCStruct().getType()) {
@@ -96,14 +94,14 @@ public class SBinHCStructs {
 				hcStructBytes = repackIntegerMapObj(element);
 				break;
 			default: 
-				hcStructBytes = repackPropertiesBaseObj(element);
+				hcStructBytes = repackPropertiesBaseObj(ctx, element);
 				break;
 			}
 			
  			break;
 		default: 
 			if (element.getHCStruct().getType().contentEquals(HCS_TYPE_PROPSBASE)) {
-				hcStructBytes = repackPropertiesBaseObj(element);
+				hcStructBytes = repackPropertiesBaseObj(ctx, element);
 			}
 			break;
 		}
@@ -115,17 +113,17 @@ public class SBinHCStructs {
 	
 	// Sometimes one Struct Id could be re-used for both SBin & Hardcoded structs in the same file
 	// Values include possible 1/2 byte padding
-	public static boolean isExceptionForHCStructs(byte[] elementHex, int structIdCount, int i) {
+	public static boolean isExceptionForHCStructs(SBinContext ctx, ByteSlice elementHex, int structIdCount, int i) {
 		boolean notHCStruct = false;
-		switch(SBJson.get().getSBinType()) {
+		switch(ctx.getSBinJson().getSBinType()) {
 		case CAR_CONFIG:
 			
 			switch(structIdCount) {
 			case 0x0: case 0x1:
-				notHCStruct = elementHex.length < 0xD;
+				notHCStruct = elementHex.length() < 0xD;
 				break;
 			case 0x2:
-				notHCStruct = elementHex.length < 0x9;
+				notHCStruct = elementHex.length() < 0x9;
 				break;
 			default: break;
 			}
@@ -135,10 +133,10 @@ public class SBinHCStructs {
 			
 			switch(structIdCount) {
 			case 0x1:
-				notHCStruct = elementHex.length < 0xD;
+				notHCStruct = elementHex.length() < 0xD;
 				break;
 			case 0xC:
-				notHCStruct = elementHex.length < 0x13;
+				notHCStruct = elementHex.length() < 0x13;
 				break;
 			default: break;
 			}
@@ -146,9 +144,9 @@ public class SBinHCStructs {
  			break;
 		default: 
 			if (structIdCount == 0x1) {
-				notHCStruct = (elementHex.length != 0x10 && elementHex.length != 0x12)
-						|| HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(elementHex, 2, 4)) > 0xFF // ... too big?
-						|| elementHex[6] > 0x16; // ... too high field type?
+				notHCStruct = (elementHex.length() != 0x10 && elementHex.length() != 0x12)
+						|| elementHex.slice(2, 4).getUShort(0) > 0xFF // ... too big?
+						|| elementHex.get(6) > 0x16; // ... too high field type?
 			} // Exists in many other SBin files, usually on first slot
 			break;
 		}
@@ -159,32 +157,32 @@ public class SBinHCStructs {
 	//
 	//
 	
-	private static void unpackPropertiesBaseObj(byte[] elementHex, SBinDataElement element) {
+	private static void unpackPropertiesBaseObj(SBinContext ctx, ByteSlice elementHex, SBinDataElement element) {
 		SBHCSPropertiesBase propsObj = 
 				(SBHCSPropertiesBase)setHCStructObjParameters(element, new SBHCSPropertiesBase());
 		propsObj.setType(HCS_TYPE_PROPSBASE);
-		int byteSize = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(elementHex, 2, 4));
+		int byteSize = elementHex.slice(2, 4).getUShort(0);
 		checkDATAPadding(elementHex, byteSize, element);
 		
-		propsObj.setProperties(readPropertyList(PROPSBASE_HEADER_SIZE, byteSize, elementHex));
+		propsObj.setProperties(readPropertyList(ctx, PROPSBASE_HEADER_SIZE, byteSize, elementHex));
 	}
 	
 	private static List<SBHCSPropertyEntity> readPropertyList(
-			int headerSize, int elementRealSize, byte[] elementHex) {
+			SBinContext ctx, int headerSize, int elementRealSize, ByteSlice elementHex) {
 		List<SBHCSPropertyEntity> props = new ArrayList<>();
 		int bytesTaken = headerSize; // First byte is objects counter
 		
 		while (bytesTaken < elementRealSize) {
 			SBHCSPropertyEntity entryObj = new SBHCSPropertyEntity();
 
-			entryObj.setPropertyNameCHDR(DataUtils.getCDATStringByShortCHDRId(elementHex, bytesTaken, bytesTaken + 2));
+			entryObj.setPropertyNameCHDR(DataUtils.getCDATStringByShortCHDRId(ctx, elementHex, bytesTaken, bytesTaken + 2));
 			bytesTaken += 2;
 			//
 			entryObj.setValueType(SBinFieldType.valueOf(
-					HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(elementHex, bytesTaken, bytesTaken + 2))));
+					elementHex.slice(bytesTaken, bytesTaken + 2).getUShort(0)));
 			bytesTaken += 2;
 			//
-			int offsetCounter = HEXUtils.byteArrayToInt(Arrays.copyOfRange(elementHex, bytesTaken, bytesTaken + 4));
+			int offsetCounter = elementHex.slice(bytesTaken, bytesTaken + 4).getInt(0);
 			entryObj.setOffsetCounter(offsetCounter);
 			bytesTaken += 4;
 			if (bytesTaken != offsetCounter) { // ... padding can happen here for some reason
@@ -193,24 +191,24 @@ public class SBinHCStructs {
 			
 			switch(entryObj.getValueType()) {
 			case INT32: case U_INT32:
-				entryObj.setValue(String.valueOf(HEXUtils.byteArrayToInt(Arrays.copyOfRange(elementHex, bytesTaken, bytesTaken + 4))));
+				entryObj.setValue(String.valueOf(elementHex.slice(bytesTaken, bytesTaken + 4).getInt(0)));
 				bytesTaken += 4;
 				break;
 			case FLOAT:
-				entryObj.setValue(String.valueOf(HEXUtils.bytesToFloat(Arrays.copyOfRange(elementHex, bytesTaken, bytesTaken + 4))));
+				entryObj.setValue(String.valueOf(elementHex.slice(bytesTaken, bytesTaken + 4).getFloat(0)));
 				bytesTaken += 4;
 				break;
 			case BOOLEAN:
-				int valueInt = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(elementHex, bytesTaken, bytesTaken + 4));
+				int valueInt = elementHex.slice(bytesTaken, bytesTaken + 4).getUShort(0);
 				entryObj.setValue(Boolean.toString(valueInt == 1));
 				bytesTaken += 2;
 				break;
 			case CHDR_ID_REF:
-				entryObj.setValue(DataUtils.getCDATStringByShortCHDRId(elementHex, bytesTaken, bytesTaken + 2)); 
+				entryObj.setValue(DataUtils.getCDATStringByShortCHDRId(ctx, elementHex, bytesTaken, bytesTaken + 2)); 
 				bytesTaken += 2;
 				break;
 			default: 
-				entryObj.setValue(HEXUtils.hexToString(Arrays.copyOfRange(elementHex, bytesTaken, bytesTaken + 4))); 
+				entryObj.setValue(elementHex.slice(bytesTaken, bytesTaken + 4).toHexString()); 
 				bytesTaken += 4; // DATA Id reference or other stuff
 				break;
 			}
@@ -220,17 +218,17 @@ public class SBinHCStructs {
 		return props;
 	}
 	
-	private static void unpackIntegerMap(byte[] elementHex, SBinDataElement element) {
+	private static void unpackIntegerMap(ByteSlice elementHex, SBinDataElement element) {
 		SBHCSIntegerMap intMapObj = 
 				(SBHCSIntegerMap)setHCStructObjParameters(element, new SBHCSIntegerMap());
 		intMapObj.setType(HCS_TYPE_INTMAP);
-		int mapSize = HEXUtils.byteArrayToInt(Arrays.copyOfRange(elementHex, 4, 8));
+		int mapSize = elementHex.slice(4, 8).getInt(0);
 		checkDATAPadding(elementHex, INTMAP_HEADER_SIZE + (mapSize * 0x4), element);
 		
 		List<Integer> intMap = new ArrayList<>();
 		for (int i = 0; i < mapSize; i++) {
 			int startPos = INTMAP_HEADER_SIZE + (0x4 * i);
-			intMap.add(HEXUtils.byteArrayToInt(Arrays.copyOfRange(elementHex, startPos, startPos + 0x4)));
+			intMap.add(elementHex.slice(startPos, startPos + 0x4).getInt(0));
 		}
 		intMapObj.setIntegerMap(intMap);
 	}
@@ -239,63 +237,73 @@ public class SBinHCStructs {
 	//
 	//
 	
-	private static byte[] repackPropertiesBaseObj(SBinDataElement element) throws IOException {
+	// CDAT strings of repackPropertiesBaseObj, added in the same order. Other HC Structs have no strings
+	public static void collectHCStructStrings(SBinContext ctx, SBinDataElement element) {
+		if (!(element.getHCStruct() instanceof SBHCSPropertiesBase)) {return;}
+		for (SBHCSPropertyEntity property : ((SBHCSPropertiesBase)element.getHCStruct()).getProperties()) {
+			DataUtils.processStringInCDAT(ctx, property.getPropertyNameCHDR());
+			if (property.getValueType() == SBinFieldType.CHDR_ID_REF) {
+				DataUtils.processStringInCDAT(ctx, property.getValue());
+			}
+		}
+	}
+	
+	private static byte[] repackPropertiesBaseObj(SBinContext ctx, SBinDataElement element) throws IOException {
 		SBHCSPropertiesBase propsJson = (SBHCSPropertiesBase)element.getHCStruct();
 		
 		int bytesTaken = PROPSBASE_HEADER_SIZE; // First byte is objects counter
-		ByteArrayOutputStream propsBytes = new ByteArrayOutputStream();
+		LEWriter propsBytes = new LEWriter();
 		for (SBHCSPropertyEntity property : propsJson.getProperties()) {
-			propsBytes.write(DataUtils.processStringInCDAT(property.getPropertyNameCHDR()));
-			propsBytes.write(HEXUtils.shortToBytes(property.getValueType().getId()));
-			propsBytes.write(HEXUtils.intToByteArrayLE(property.getOffsetCounter()));
+			propsBytes.writeBytes(DataUtils.processStringInCDAT(ctx, property.getPropertyNameCHDR()));
+			propsBytes.writeShort(property.getValueType().getId());
+			propsBytes.writeInt(property.getOffsetCounter());
 			bytesTaken += 8; // 2 + 2 + 4
 			if (property.getOffsetCounter() != bytesTaken) {
 				int pad = property.getOffsetCounter() - bytesTaken;
-				propsBytes.write(new byte[pad]);
+				propsBytes.writeZeros(pad);
 				bytesTaken += pad;
 			}
 			
 			switch(property.getValueType()) {
 			case INT32: case U_INT32:
-				propsBytes.write(HEXUtils.intToByteArrayLE(Integer.parseInt(property.getValue())));
+				propsBytes.writeInt(Integer.parseInt(property.getValue()));
 				bytesTaken += 4;
 				break;
 			case FLOAT:
-				propsBytes.write(HEXUtils.floatToBytes(Float.parseFloat(property.getValue())));
+				propsBytes.writeFloat(Float.parseFloat(property.getValue()));
 				bytesTaken += 4;
 				break;
 			case BOOLEAN:
-				int bool = Boolean.parseBoolean(property.getValue()) ? 0x1 : 0x0;
-				propsBytes.write(new byte[] {(byte)bool, 0x0});
+				propsBytes.writeShort(Boolean.parseBoolean(property.getValue()) ? 0x1 : 0x0);
 				bytesTaken += 2;
 				break;
 			case CHDR_ID_REF:
-				propsBytes.write(DataUtils.processStringInCDAT(property.getValue()));
+				propsBytes.writeBytes(DataUtils.processStringInCDAT(ctx, property.getValue()));
 				bytesTaken += 2;
 				break;
 			default:
-				propsBytes.write(HEXUtils.decodeHexStr(property.getValue()));
+				propsBytes.writeHexStr(property.getValue());
 				bytesTaken += 4;
 				break;
 			}
 		}
 		
-		ByteArrayOutputStream finalPropsBytes = new ByteArrayOutputStream();
-		finalPropsBytes.write(HEXUtils.shortToBytes(propsJson.getProperties().size()));
-		finalPropsBytes.write(HEXUtils.shortToBytes(PROPSBASE_HEADER_SIZE + propsBytes.size())); // Full element size
-		finalPropsBytes.write(propsBytes.toByteArray());
+		LEWriter finalPropsBytes = new LEWriter(PROPSBASE_HEADER_SIZE + propsBytes.size());
+		finalPropsBytes.writeShort(propsJson.getProperties().size());
+		finalPropsBytes.writeShort(PROPSBASE_HEADER_SIZE + propsBytes.size()); // Full element size
+		finalPropsBytes.writeSlice(propsBytes.toSlice());
 		return finalPropsBytes.toByteArray();
 	}
 	
 	private static byte[] repackIntegerMapObj(SBinDataElement element) throws IOException {
 		SBHCSIntegerMap intMapJson = (SBHCSIntegerMap)element.getHCStruct();
 		
-		ByteArrayOutputStream mapBytes = new ByteArrayOutputStream();
-		mapBytes.write(HEXUtils.intToByteArrayLE(INTMAP_HEADER_ID));
-		mapBytes.write(HEXUtils.intToByteArrayLE(intMapJson.getIntegerMap().size()));
+		LEWriter mapBytes = new LEWriter(INTMAP_HEADER_SIZE + (0x4 * intMapJson.getIntegerMap().size()));
+		mapBytes.writeInt(INTMAP_HEADER_ID);
+		mapBytes.writeInt(intMapJson.getIntegerMap().size());
 		
 		for (Integer intObj : intMapJson.getIntegerMap()) {
-			mapBytes.write(HEXUtils.intToByteArrayLE(intObj));
+			mapBytes.writeInt(intObj);
 		}
 		return mapBytes.toByteArray();
 	}
@@ -310,21 +318,20 @@ public class SBinHCStructs {
 		return element.getHCStruct();
 	}
 	
-	private static boolean checkForIntegerMap(int structId, byte[] elementHex) {
+	private static boolean checkForIntegerMap(int structId, ByteSlice elementHex) {
 		return structId == 0x5 
-				&& elementHex.length > 7
-				&& HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(elementHex, 2, 4)) == 0x00
-				&& HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(elementHex, 6, 8)) == 0x00;
+				&& elementHex.length() > 7
+				&& elementHex.slice(2, 4).getUShort(0) == 0x00
+				&& elementHex.slice(6, 8).getUShort(0) == 0x00;
 	}
 	
-	private static boolean checkForDataIdMap(int structId, byte[] elementHex) {
+	private static boolean checkForDataIdMap(int structId, ByteSlice elementHex) {
 		return structId == 0xF && SBinMapUtils.isMapPropertiesValid(elementHex);
 	}
 	
-	private static void checkDATAPadding(byte[] elementHex, int bytesTaken, SBinDataElement element) {
-		if (bytesTaken != elementHex.length) {
-			element.setExtraHexValue(HEXUtils.hexToString(Arrays.copyOfRange(
-					elementHex, bytesTaken, elementHex.length)));
+	private static void checkDATAPadding(ByteSlice elementHex, int bytesTaken, SBinDataElement element) {
+		if (bytesTaken != elementHex.length()) {
+			element.setExtraHexValue(elementHex.slice(bytesTaken, elementHex.length()).toHexString());
 		}
 	}
 	
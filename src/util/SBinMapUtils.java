@@ -1,6 +1,6 @@
 package util;
 
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -11,39 +11,50 @@ public class SBinMapUtils {
 	
 	public static final int HEADERENTRY_SIZE = 0x4;
 	public static final int HEADERFULL_SIZE = 0x8;
-	private static final byte[] SHORTBYTE_EMPTY = new byte[2];
 	public static final String STRUCT_ARRAY_RULE = "StructArrayRule";
 	
-	private static Map<Integer, SBinMapType> mapTypes = new HashMap<>();
+	// Same for every file, never changed after the class is loaded
+	private static final Map<Integer, SBinMapType> mapTypes = initMapTypes();
+	private static final Map<String, SBinMapType> mapTypesByName = initMapTypesByName();
 	
-	public static void initMapTypes() {
-		addMapType(new SBinMapType(0xD, "EnumMap", 0x2, true, false, true));
-		addMapType(new SBinMapType(0xF, "DataIdsMap", 0x4, false, false, false));
-		addMapType(new SBinMapType(0x10, "StructArray", 0x8, false, true, false));
+	private static Map<Integer, SBinMapType> initMapTypes() {
+		Map<Integer, SBinMapType> types = new HashMap<>();
+		addMapType(types, new SBinMapType(0xD, "EnumMap", 0x2, true, false, true));
+		addMapType(types, new SBinMapType(0xF, "DataIdsMap", 0x4, false, false, false));
+		addMapType(types, new SBinMapType(0x10, "StructArray", 0x8, false, true, false));
+		return Collections.unmodifiableMap(types);
 	}
 	
-	private static void addMapType(SBinMapType mapType) {
-		mapTypes.putIfAbsent(mapType.getTypeId(), mapType);
+	private static Map<String, SBinMapType> initMapTypesByName() {
+		Map<String, SBinMapType> types = new HashMap<>();
+		for (SBinMapType type : mapTypes.values()) {
+			types.putIfAbsent(type.getTypeName(), type);
+		}
+		return Collections.unmodifiableMap(types);
+	}
+	
+	private static void addMapType(Map<Integer, SBinMapType> types, SBinMapType mapType) {
+		types.putIfAbsent(mapType.getTypeId(), mapType);
 	}
 	
-	public static SBinMapType getMapType(byte[] elementHex) {
-		int id = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(elementHex, 0, 2));
+	public static SBinMapType getMapType(SBinContext ctx, ByteSlice elementHex) {
+		int id = elementHex.slice(0, 2).getUShort(0);
 		SBinMapType type = mapTypes.getOrDefault(id, null);
 		if (type == null) {return type;}
 		
 		// Different files can have a varied header rules
-		if (!type.isStructArray() && !Arrays.equals(Arrays.copyOfRange(elementHex, 2, 4), SHORTBYTE_EMPTY)) {
+		if (!type.isStructArray() && elementHex.slice(2, 4).getUShort(0) != 0x0) {
 			return null; // Struct Array header is 2 bytes, with other 2 bytes indicating Struct Id
 		}
 		if (type.getTypeId() == 0xF && !isMapPropertiesValid(elementHex)) {
 			return null; 
 		}	
-		if (type.isEnumMap() && SBJson.get().getEnums().isEmpty()) {
+		if (type.isEnumMap() && ctx.getSBinJson().getEnums().isEmpty()) {
 			return null; 
 		}
 		if (type.isStructArray()) {
-			boolean structsExists = SBJson.get().getStructs() != null;
-			if (!structsExists || !checkForArrayRuleField(elementHex)) {
+			boolean structsExists = ctx.getSBinJson().getStructs() != null;
+			if (!structsExists || !checkForArrayRuleField(ctx, elementHex)) {
 				return null; // SubStruct enum is chosen just because of the same Id
 			}
 		}
@@ -51,21 +62,16 @@ public class SBinMapUtils {
 	}
 	
 	public static SBinMapType getMapType(String typeName) {
-		for (SBinMapType type : mapTypes.values()) {
-			if (type.getTypeName().contentEquals(typeName)) {
-				return type;
-			}
-		}
-		return null;
+		return mapTypesByName.get(typeName);
 	}
 	
-	public static boolean checkForArrayRuleField(byte[] elementHex) {
-		if (SBJson.get().getSBinType().equals(SBinType.REGIONS) ||
-				SBJson.get().getSBinType().equals(SBinType.LOCALES)) {return true;}
+	public static boolean checkForArrayRuleField(SBinContext ctx, ByteSlice elementHex) {
+		if (ctx.getSBinJson().getSBinType().equals(SBinType.REGIONS) ||
+				ctx.getSBinJson().getSBinType().equals(SBinType.LOCALES)) {return true;}
 		if (!isMapPropertiesValid(elementHex)) {return false;}
 		
-		int structBaseId = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(elementHex, 2, 4));
-		for (SBinField field : SBJson.get().getEmptyFields()) {
+		int structBaseId = elementHex.slice(2, 4).getUShort(0);
+		for (SBinField field : ctx.getSBinJson().getEmptyFields()) {
 			if (field.getName().contentEquals(STRUCT_ARRAY_RULE) && field.getSpecOrderId() == structBaseId) {
 				return true;
 			}
@@ -73,19 +79,19 @@ public class SBinMapUtils {
 		return false;
 	}
 	
-	public static boolean isMapPropertiesValid(byte[] elementHex) {
-		if (elementHex.length < 0x5) {return false;} // ???
-		int arrayCount = HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(elementHex, 4, 6));
-		if (HEXUtils.twoLEByteArrayToInt(Arrays.copyOfRange(elementHex, 6, 8)) != 0x0
+	public static boolean isMapPropertiesValid(ByteSlice elementHex) {
+		if (elementHex.length() < 0x5) {return false;} // ???
+		int arrayCount = elementHex.slice(4, 6).getUShort(0);
+		if (elementHex.slice(6, 8).getUShort(0) != 0x0
 				|| arrayCount > 0x1000  
-				|| (arrayCount == 0x0 && elementHex.length > 0xA) ) {
+				|| (arrayCount == 0x0 && elementHex.length() > 0xA) ) {
 			return false; // Object of Struct? Something else?
 		}
 		return true;
 	}
 	
-	public static boolean structArrayExceptions() {
-		SBinType type = SBJson.get().getSBinType();
+	public static boolean structArrayExceptions(SBinContext ctx) {
+		SBinType type = ctx.getSBinJson().getSBinType();
 		return type.equals(SBinType.STRING_DATA)
 				|| type.equals(SBinType.FAKE_NAMES)
 				|| type.equals(SBinType.REGIONS)
@@ -0,0 +1,80 @@
+package util;
+
+import java.lang.management.ManagementFactory;
+
+// Time & allocated bytes of the SBin unpack stages, summed over the runs. Turned on by the benchmark only,
+// stages are not nested. Allocation is taken from all threads, DATA elements are decoded on the pool workers too
+public class SBinProfiler {
+
+	public enum Stage {
+		PROCESS_SBIN_BLOCK("unpack.processSBinBlock"),
+		PREPARE_CDAT_STRINGS("unpack.prepareCDATStrings"),
+		PARSE_DATA_BLOCK("unpack.parseDATABlock");
+
+		private final String benchName;
+
+		private Stage(String benchName) {
+			this.benchName = benchName;
+		}
+		public String getBenchName() {
+			return benchName;
+		}
+	}
+
+	private static final com.sun.management.ThreadMXBean threadBean = getThreadBean();
+
+	private final int[] calls = new int[Stage.values().length];
+	private final long[] nanos = new long[Stage.values().length];
+	private final long[] allocBytes = new long[Stage.values().length];
+	private final long[] startNanos = new long[Stage.values().length];
+	private final long[] startAllocBytes = new long[Stage.values().length];
+
+	public void begin(Stage stage) {
+		startAllocBytes[stage.ordinal()] = getAllocatedBytes();
+		startNanos[stage.ordinal()] = System.nanoTime();
+	}
+
+	public void end(Stage stage) {
+		int i = stage.ordinal();
+		nanos[i] += System.nanoTime() - startNanos[i];
+		allocBytes[i] += getAllocatedBytes() - startAllocBytes[i];
+		calls[i]++;
+	}
+
+	public void reset() {
+		for (int i = 0; i < calls.length; i++) {
+			calls[i] = 0;
+			nanos[i] = 0;
+			allocBytes[i] = 0;
+		}
+	}
+
+	public int getCalls(Stage stage) {
+		return calls[stage.ordinal()];
+	}
+	public long getNanos(Stage stage) {
+		return nanos[stage.ordinal()];
+	}
+	public long getAllocBytes(Stage stage) {
+		return allocBytes[stage.ordinal()];
+	}
+
+	// Same counter as the one used by JMH GC profiler, summed over all live threads. -1 if the JVM does not provide it.
+	// Threads finished during the measurement are lost, but the common pool keeps its workers between the runs
+	public static long getAllocatedBytes() {
+		if (threadBean == null) {return -1;}
+		long allocatedBytes = 0;
+		for (long threadBytes : threadBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+			if (threadBytes > 0) { // -1 for the threads finished after the Ids are taken
+				allocatedBytes += threadBytes;
+			}
+		}
+		return allocatedBytes;
+	}
+
+	private static com.sun.management.ThreadMXBean getThreadBean() {
+		if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {return null;}
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		return bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+	}
+}
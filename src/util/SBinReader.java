@@ -0,0 +1,86 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+// Cursor-based reader over the SBin file contents. The file is memory-mapped instead of being
+// loaded on heap, and all the values are read in place (Little-Endian) without any per-read copies
+public class SBinReader {
+
+	private final ByteBuffer data;
+	private int curPos = 0x0;
+
+	public SBinReader(ByteBuffer data) {
+		this.data = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	public static SBinReader mapFile(Path filePath) throws IOException {
+		try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+			// Mapping stays valid after the channel is closed
+			return new SBinReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	public int getCurPos() {
+		return curPos;
+	}
+	public void setCurPos(int newPos) {
+		curPos = newPos;
+	}
+	public void changeCurPos(int addition) {
+		curPos = curPos + addition;
+	}
+
+	public int size() {
+		return data.capacity();
+	}
+
+	public byte getByte(int pos) {
+		return data.get(pos);
+	}
+
+	public int getInt(int pos) {
+		return data.getInt(pos);
+	}
+
+	public int getIntFromCurPos() {
+		return data.getInt(curPos);
+	}
+
+	// Compares the header in place, also returns false if there is not enough bytes left
+	public boolean isHeaderOnCurPos(byte[] header) {
+		if (curPos + header.length > data.capacity()) {return false;}
+		for (int i = 0; i < header.length; i++) {
+			if (data.get(curPos + i) != header[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// View on any part of the file, cursor is not changed
+	public ByteSlice getSlice(int pos, int length) {
+		return new ByteSlice(data, pos, length);
+	}
+
+	// View on the requested part without any copies, cursor is moved after it
+	public ByteSlice readSliceFromCurPos(int length) {
+		ByteSlice slice = new ByteSlice(data, curPos, length);
+		changeCurPos(length);
+		return slice;
+	}
+
+	public Checksum getChecksum() {
+		CRC32 crc = new CRC32();
+		ByteBuffer part = data.duplicate();
+		part.clear();
+		crc.update(part);
+		return crc;
+	}
+}
@@ -0,0 +1,378 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import util.DataClasses.SBinCDATEntry;
+import util.DataClasses.SBinDataElement;
+import util.DataClasses.SBinDataField;
+import util.DataClasses.SBinEnum;
+import util.DataClasses.SBinField;
+import util.DataClasses.SBinJson;
+import util.DataClasses.SBinStruct;
+
+// Encoded bytes of each DATA element, kept in the file next to Json. Element is found by the hash of its Json contents,
+// so the next repack encodes only the changed elements. CHDR Ids are replaced in the cached bytes by the offsets,
+// since new CDAT strings could change them. Struct Ids & Enum values are part of the file hash: any change there drops all entries.
+// ENUM, STRU, FIEL, CHDR & CDAT blocks are kept as well, with their hashes. Block is taken as it is, if the Json contents
+// it's made from (fingerprint) are the same, and CDAT strings added by the block goes to CDAT again
+public class SBinRepackCache {
+
+	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
+
+	public static final String FILE_CACHE = ".cache";
+	public static final long NO_HASH = 0L; // Element is always encoded
+	private static final byte[] CACHE_MAGIC = {'S', 'B', 'R', 'C'};
+	private static final int CACHE_VERSION = 2;
+	private static final int CHDR_ID_SIZE = 0x2;
+	// FNV1 64-bit, over the chars of Json values
+	private static final long FNV1_64_INIT = 0xcbf29ce484222325L;
+	private static final long FNV1_PRIME_64 = 1099511628211L;
+	private static final int NULL_MARK = 0x10000; // Outside of char range, separates the values
+	private static final int END_MARK = 0x10001;
+
+	private final Path filePath;
+	private final long layoutHash;
+	private final Map<Long, SBinCachedElement> loadedElements = new HashMap<>();
+	private final Map<Long, SBinCachedElement> savedElements = new LinkedHashMap<>(); // Elements of the current Json
+	private int newElementsCount = 0;
+	private final Map<SBinBlockType, SBinCachedBlock> loadedBlocks = new EnumMap<>(SBinBlockType.class);
+	private final Map<SBinBlockType, SBinCachedBlock> savedBlocks = new EnumMap<>(SBinBlockType.class);
+	private int newBlocksCount = 0;
+
+	private static class SBinCachedElement {
+		private final ByteSlice bytes;
+		private final int[] chdrOffsets;
+
+		private SBinCachedElement(ByteSlice bytes, int[] chdrOffsets) {
+			this.bytes = bytes;
+			this.chdrOffsets = chdrOffsets;
+		}
+	}
+
+	public static class SBinCachedBlock {
+		private final long fingerprint;
+		private final ByteSlice blockData;
+		private final byte[] fnv1Hash;
+		private final List<String> cdatStrings; // Added to CDAT by this block
+
+		private SBinCachedBlock(long fingerprint, ByteSlice blockData, byte[] fnv1Hash, List<String> cdatStrings) {
+			this.fingerprint = fingerprint;
+			this.blockData = blockData;
+			this.fnv1Hash = fnv1Hash;
+			this.cdatStrings = cdatStrings;
+		}
+
+		public ByteSlice getBlockData() {
+			return blockData;
+		}
+		public byte[] getFnv1Hash() {
+			return fnv1Hash;
+		}
+		public List<String> getCDATStrings() {
+			return cdatStrings;
+		}
+	}
+
+	private SBinRepackCache(Path filePath, long layoutHash) {
+		this.filePath = filePath;
+		this.layoutHash = layoutHash;
+	}
+
+	// Null if the cache file is not used for this job
+	public static SBinRepackCache open(SBinContext ctx) {
+		if (ctx.getRepackCachePath() == null) {return null;}
+		SBinRepackCache cache = new SBinRepackCache(ctx.getRepackCachePath(), getLayoutHash(ctx));
+		try {
+			cache.load(ByteSlice.wrap(Files.readAllBytes(cache.filePath)));
+		} catch (NoSuchFileException ex) { // Made from scratch on unpack
+		} catch (IOException | RuntimeException ex) { // Broken file is replaced on save
+			jl.log(Level.WARNING, "Repack cache file {0} cannot be read, ignored: {1}", new Object[] {cache.filePath, ex.getMessage()});
+			cache.loadedElements.clear();
+			cache.loadedBlocks.clear();
+		}
+		return cache;
+	}
+
+	// Null if the block was changed, or it's not cached
+	public SBinCachedBlock useBlock(SBinBlockType type, long fingerprint) {
+		if (fingerprint == NO_HASH) {return null;}
+		SBinCachedBlock block = loadedBlocks.get(type);
+		if (block == null || block.fingerprint != fingerprint) {return null;}
+		savedBlocks.put(type, block);
+		return block;
+	}
+
+	public void recordBlock(SBinBlockType type, long fingerprint, ByteSlice blockData, byte[] fnv1Hash, List<String> cdatStrings) {
+		if (fingerprint == NO_HASH || savedBlocks.containsKey(type)) {return;}
+		savedBlocks.put(type, new SBinCachedBlock(fingerprint, ByteSlice.wrap(blockData.toByteArray()), fnv1Hash, cdatStrings));
+		newBlocksCount++;
+	}
+
+	// Main thread only: cached element goes to the saved file as well
+	public boolean use(long hash) {
+		if (hash == NO_HASH) {return false;}
+		SBinCachedElement element = loadedElements.get(hash);
+		if (element == null) {return false;}
+		savedElements.put(hash, element);
+		return true;
+	}
+
+	// Cached bytes with the current CHDR Ids, written in the same order as the encoder gives them
+	public boolean writeCached(long hash, ByteSlice chdrIds, LEWriter writer) {
+		SBinCachedElement element = loadedElements.get(hash);
+		if (element == null || chdrIds.length() != element.chdrOffsets.length * CHDR_ID_SIZE) {return false;}
+		int pos = 0;
+		for (int i = 0; i < element.chdrOffsets.length; i++) {
+			int offset = element.chdrOffsets[i];
+			writer.writeSlice(element.bytes.slice(pos, offset));
+			writer.writeSlice(chdrIds.slice(i * CHDR_ID_SIZE, (i + 1) * CHDR_ID_SIZE));
+			pos = offset + CHDR_ID_SIZE;
+		}
+		writer.writeSlice(element.bytes.slice(pos, element.bytes.length()));
+		return true;
+	}
+
+	// Main thread only, bytes are copied
+	public void record(long hash, ByteSlice bytes, int[] chdrOffsets) {
+		if (hash == NO_HASH || savedElements.containsKey(hash)) {return;}
+		savedElements.put(hash, new SBinCachedElement(ByteSlice.wrap(bytes.toByteArray()), chdrOffsets));
+		newElementsCount++;
+	}
+
+	public void save() {
+		jl.log(Level.INFO, "Repack cache: {0} of {1} DATA elements & {2} of {3} blocks are taken from the cache.",
+				new Object[] {savedElements.size() - newElementsCount, savedElements.size(), 
+						savedBlocks.size() - newBlocksCount, savedBlocks.size()});
+		if (newElementsCount == 0 && savedElements.size() == loadedElements.size()
+				&& newBlocksCount == 0 && savedBlocks.size() == loadedBlocks.size()) {return;}
+		LEWriter writer = new LEWriter(0x100);
+		writer.writeBytes(CACHE_MAGIC);
+		writer.writeInt(CACHE_VERSION);
+		writer.writeLong(layoutHash);
+		writer.writeInt(savedElements.size());
+		for (Map.Entry<Long, SBinCachedElement> entry : savedElements.entrySet()) {
+			SBinCachedElement element = entry.getValue();
+			writer.writeLong(entry.getKey());
+			writer.writeInt(element.bytes.length());
+			writer.writeInt(element.chdrOffsets.length);
+			for (int offset : element.chdrOffsets) {
+				writer.writeInt(offset);
+			}
+			writer.writeSlice(element.bytes);
+		}
+		writer.writeInt(savedBlocks.size());
+		for (Map.Entry<SBinBlockType, SBinCachedBlock> entry : savedBlocks.entrySet()) {
+			SBinCachedBlock block = entry.getValue();
+			writer.writeBytes(SBinBlockType.getBytes(entry.getKey()));
+			writer.writeLong(block.fingerprint);
+			writer.writeBytes(block.fnv1Hash);
+			writer.writeInt(block.cdatStrings.size());
+			for (String string : block.cdatStrings) {
+				byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+				writer.writeInt(stringBytes.length);
+				writer.writeBytes(stringBytes);
+			}
+			writer.writeInt(block.blockData.length());
+			writer.writeSlice(block.blockData);
+		}
+		try {
+			Files.write(filePath, writer.toByteArray());
+		} catch (IOException ex) { // Cache is optional
+			jl.log(Level.WARNING, "Repack cache file cannot be saved: {0}", ex.getMessage());
+		}
+	}
+
+	//
+
+	private void load(ByteSlice data) {
+		if (!data.slice(0, CACHE_MAGIC.length).contentEquals(ByteSlice.wrap(CACHE_MAGIC))
+				|| data.getInt(0x4) != CACHE_VERSION || getLong(data, 0x8) != layoutHash) {return;}
+		int count = data.getInt(0x10);
+		int pos = 0x14;
+		for (int i = 0; i < count; i++) {
+			long hash = getLong(data, pos);
+			int length = data.getInt(pos + 0x8);
+			int[] chdrOffsets = new int[data.getInt(pos + 0xC)];
+			pos += 0x10;
+			for (int j = 0; j < chdrOffsets.length; j++) {
+				chdrOffsets[j] = data.getInt(pos);
+				pos += 0x4;
+			}
+			loadedElements.put(hash, new SBinCachedElement(data.slice(pos, pos + length), chdrOffsets));
+			pos += length;
+		}
+		int blocksCount = data.getInt(pos);
+		pos += 0x4;
+		for (int i = 0; i < blocksCount; i++) {
+			SBinBlockType type = SBinBlockType.valueOf(new String(data.toByteArray(pos, pos + 0x4), StandardCharsets.US_ASCII));
+			long fingerprint = getLong(data, pos + 0x4);
+			byte[] fnv1Hash = data.toByteArray(pos + 0xC, pos + 0x10);
+			int stringsCount = data.getInt(pos + 0x10);
+			List<String> cdatStrings = new ArrayList<>(stringsCount);
+			pos += 0x14;
+			for (int j = 0; j < stringsCount; j++) {
+				int length = data.getInt(pos);
+				cdatStrings.add(new String(data.toByteArray(pos + 0x4, pos + 0x4 + length), StandardCharsets.UTF_8));
+				pos += 0x4 + length;
+			}
+			int length = data.getInt(pos);
+			pos += 0x4;
+			loadedBlocks.put(type, new SBinCachedBlock(fingerprint, data.slice(pos, pos + length), fnv1Hash, cdatStrings));
+			pos += length;
+		}
+	}
+
+	private static long getLong(ByteSlice data, int index) {
+		return (data.getInt(index) & 0xFFFFFFFFL) | ((long)data.getInt(index + 0x4) << 32);
+	}
+
+	// Everything the element bytes depends on, besides the element itself
+	private static long getLayoutHash(SBinContext ctx) {
+		long hash = hashInt(FNV1_64_INIT, CACHE_VERSION);
+		for (SBinStruct struct : ctx.getSBinJson().getStructs()) {
+			hash = hashString(hash, struct.getName());
+			hash = hashInt(hash, struct.getId());
+		}
+		for (SBinEnum enumObj : ctx.getSBinJson().getEnums()) {
+			hash = hashString(hash, enumObj.getName());
+			hash = hashInt(hash, enumObj.getDataIdMapRefId());
+			hash = hashEnumMap(ctx, hash, enumObj.getDataIdMapRefId());
+		}
+		return hashEnumMap(ctx, hash, 0x0); // Taken for the unknown Enums
+	}
+
+	private static long hashEnumMap(SBinContext ctx, long hash, int dataId) {
+		try {
+			return hashStrings(hash, DataUtils.getDataElementById(ctx, dataId).getMapElements());
+		} catch (IndexOutOfBoundsException ex) { // Reported by the encoder
+			return hashInt(hash, NULL_MARK);
+		}
+	}
+
+	// CDAT strings from the given one. Continues the hash of the strings before, so the whole list gets the same hash
+	public static long getCDATFingerprint(long hash, List<SBinCDATEntry> cdatStrings, int from) {
+		for (int i = from; i < cdatStrings.size(); i++) {
+			hash = hashString(hash, cdatStrings.get(i).getChdrHexId());
+			hash = hashString(hash, cdatStrings.get(i).getString());
+		}
+		return hash;
+	}
+	public static long getCDATFingerprint(List<SBinCDATEntry> cdatStrings) {
+		return getCDATFingerprint(hashInt(FNV1_64_INIT, CACHE_VERSION), cdatStrings, 0);
+	}
+
+	// CHDR Ids of Enum names depends on CDAT strings before the block
+	public static long getENUMFingerprint(SBinContext ctx, long cdatFingerprint) {
+		SBinJson sbinJson = ctx.getSBinJson();
+		if (sbinJson.getENUMHexBlob() != null) {return NO_HASH;}
+		long hash = hashString(cdatFingerprint, sbinJson.getENUMHexStr());
+		for (SBinEnum enumObj : sbinJson.getEnums()) {
+			hash = hashString(hash, enumObj.getName());
+			hash = hashString(hash, enumObj.getDataIdMapRef());
+		}
+		return hashInt(hash, END_MARK);
+	}
+
+	// Same for the Struct & Field names, which goes after Enum names
+	public static long getSTRUFIELFingerprint(SBinContext ctx, long enumFingerprint) {
+		SBinJson sbinJson = ctx.getSBinJson();
+		if (enumFingerprint == NO_HASH || sbinJson.getSTRUHexBlob() != null || sbinJson.getFIELHexBlob() != null) {return NO_HASH;}
+		long hash = hashString(enumFingerprint, sbinJson.getSTRUHexStr());
+		hash = hashString(hash, sbinJson.getFIELHexStr());
+		for (SBinField emptyField : sbinJson.getEmptyFields()) {
+			hash = hashString(hash, emptyField.getHexValue());
+		}
+		for (SBinStruct struct : sbinJson.getStructs()) {
+			hash = hashString(hash, struct.getName());
+			hash = hashInt(hash, struct.getSize());
+			for (SBinField field : struct.getFieldsArray()) {
+				hash = hashString(hash, field.getName());
+				hash = hashString(hash, field.getType());
+				hash = hashInt(hash, field.getStartOffset());
+				hash = hashInt(hash, field.getSpecOrderId());
+			}
+			hash = hashInt(hash, END_MARK);
+		}
+		return hashInt(hash, END_MARK);
+	}
+
+	// Json contents of the element, without the info-only values. Hard-coded & .blob elements are not cached
+	public static long getContentHash(SBinDataElement element) {
+		if (element.getGlobalType() == SBinDataGlobalType.HC_STRUCT || element.getHexValueBlob() != null) {return NO_HASH;}
+		long hash = hashElement(FNV1_64_INIT, element);
+		return hash != NO_HASH ? hash : 1L;
+	}
+
+	private static long hashElement(long hash, SBinDataElement element) {
+		hash = hashString(hash, element.getGlobalType().name());
+		hash = hashString(hash, element.getHexValue());
+		hash = hashString(hash, element.getExtraHexValue());
+		hash = hashString(hash, element.getStructName());
+		hash = hashString(hash, element.getStructBaseName());
+		hash = hashStrings(hash, element.getMapElements());
+		hash = hashFields(hash, element.getFields());
+		if (element.getArrayObjects() == null) {
+			return hashInt(hash, NULL_MARK);
+		}
+		for (SBinDataElement arrayElement : element.getArrayObjects()) {
+			hash = hashElement(hash, arrayElement);
+		}
+		return hashInt(hash, END_MARK);
+	}
+
+	private static long hashFields(long hash, List<SBinDataField> fields) {
+		if (fields == null) {
+			return hashInt(hash, NULL_MARK);
+		}
+		for (SBinDataField field : fields) {
+			hash = hashString(hash, field.getName());
+			hash = hashString(hash, field.getType());
+			hash = hashString(hash, field.getSubStruct());
+			hash = hashString(hash, field.getEnumJsonPreview());
+			hash = hashInt(hash, field.isForcedHexValue() ? 1 : 0);
+			hash = hashInt(hash, field.getFieldSize());
+			hash = hashString(hash, field.getValue());
+			hash = hashFields(hash, field.getSubFields());
+		}
+		return hashInt(hash, END_MARK);
+	}
+
+	private static long hashStrings(long hash, List<String> values) {
+		if (values == null) {
+			return hashInt(hash, NULL_MARK);
+		}
+		for (String value : values) {
+			hash = hashString(hash, value);
+		}
+		return hashInt(hash, END_MARK);
+	}
+
+	private static long hashString(long hash, String value) {
+		if (value == null) {
+			return hashInt(hash, NULL_MARK);
+		}
+		for (int i = 0; i < value.length(); i++) {
+			hash *= FNV1_PRIME_64;
+			hash ^= value.charAt(i);
+		}
+		return hashInt(hash, END_MARK);
+	}
+
+	private static long hashInt(long hash, int value) {
+		hash *= FNV1_PRIME_64;
+		hash ^= value;
+		return hash;
+	}
+}
@@ -0,0 +1,171 @@
+package util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+
+import util.DataClasses.SBinEnum;
+import util.DataClasses.SBinField;
+import util.DataClasses.SBinStruct;
+import util.HEXClasses.SBinBlockObj;
+
+// Struct tables (Enums, Structs & empty Fields) of the already unpacked files. Prefabs, races & many others
+// shares the same STRU, FIEL & ENUM blocks, so each layout is read only once per batch run, or once at all with the disk cache.
+// Key is made of the FNV1 hashes from the block headers, and of CHDR & CDAT parts with the names
+public class SBinStructCache {
+	private SBinStructCache() {}
+
+	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
+
+	public static final String CACHE_FOLDER = "struct_cache";
+	private static final String FILE_JSON = ".json";
+	private static final int MAX_ENTRIES = 0x400; // Layouts above that are read as usual
+
+	private static final Map<String, SBinStructTable> memoryCache = new ConcurrentHashMap<>();
+
+	private static class SBinStructTable {
+		@SerializedName("Enums")
+		private List<SBinEnum> enums = new ArrayList<>();
+		@SerializedName("EmptyFields")
+		private List<SBinField> emptyFields = new ArrayList<>();
+		@SerializedName("Structs")
+		private List<SBinStruct> structs = new ArrayList<>();
+	}
+
+	public static String createKey(SBinBlockObj enumBlock, SBinBlockObj struBlock, SBinBlockObj fielBlock,
+			SBinBlockObj chdrBlock, SBinBlockObj cdatBlock) {
+		int namesCount = 1 + Math.max(getMaxNameId(enumBlock), Math.max(getMaxNameId(struBlock), getMaxNameId(fielBlock)));
+		namesCount = Math.min(namesCount, chdrBlock.getBlockElements() != null ? chdrBlock.getBlockElements().size() : 0);
+		int cdatNamesEnd = 0;
+		for (int i = 0; i < namesCount; i++) {
+			ByteSlice chdrEntry = chdrBlock.getBlockElements().get(i);
+			cdatNamesEnd = Math.max(cdatNamesEnd, chdrEntry.getInt(0) + chdrEntry.getInt(4));
+		}
+		cdatNamesEnd = Math.min(cdatNamesEnd, cdatBlock.getBlockData().length());
+		return getBlockKey(enumBlock) + getBlockKey(struBlock) + getBlockKey(fielBlock)
+				+ String.format("%08X%08X", FNV1.hash32(chdrBlock.getBlockData().asByteBuffer(0, namesCount * 0x8)),
+						FNV1.hash32(cdatBlock.getBlockData().asByteBuffer(0, cdatNamesEnd)));
+	}
+
+	// Copy of the cached table goes to the Json, since it's changed before the output
+	public static boolean load(SBinContext ctx, String key) {
+		SBinStructTable table = memoryCache.get(key);
+		if (table == null && ctx.isStructCacheOnDisk()) {
+			table = loadFromDisk(key);
+			if (table != null) {
+				putToMemory(key, table);
+			}
+		}
+		if (table == null) {return false;}
+
+		for (SBinEnum enumObj : table.enums) {
+			ctx.getSBinJson().addEnum(enumObj.copy());
+		}
+		for (SBinField emptyField : table.emptyFields) {
+			ctx.getSBinJson().addEmptyField(emptyField.copy());
+		}
+		for (SBinStruct struct : table.structs) {
+			ctx.getSBinJson().addStruct(struct.copy());
+		}
+		return true;
+	}
+
+	public static void store(SBinContext ctx, String key) {
+		SBinStructTable table = new SBinStructTable();
+		for (SBinEnum enumObj : ctx.getSBinJson().getEnums()) {
+			table.enums.add(enumObj.copy());
+		}
+		for (SBinField emptyField : ctx.getSBinJson().getEmptyFields()) {
+			table.emptyFields.add(emptyField.copy());
+		}
+		for (SBinStruct struct : ctx.getSBinJson().getStructs()) {
+			table.structs.add(struct.copy());
+		}
+		putToMemory(key, table);
+		if (ctx.isStructCacheOnDisk()) {
+			saveToDisk(key, table);
+		}
+	}
+
+	//
+
+	// Hash of the block data, as it's stored in SBin, with the block size
+	private static String getBlockKey(SBinBlockObj block) {
+		return String.format("%08X%08X", block.getBlockSizeInt(),
+				block.getFnv1Hash() != null ? ByteSlice.wrap(block.getFnv1Hash()).getInt(0) : 0);
+	}
+
+	// Name is the first CHDR Id of each entry, on all of these blocks
+	private static int getMaxNameId(SBinBlockObj block) {
+		int maxId = -1;
+		if (block.getBlockElements() == null) {return maxId;}
+		for (ByteSlice entry : block.getBlockElements()) {
+			maxId = Math.max(maxId, entry.getUShort(0));
+		}
+		return maxId;
+	}
+
+	private static void putToMemory(String key, SBinStructTable table) {
+		if (memoryCache.size() < MAX_ENTRIES) {
+			memoryCache.putIfAbsent(key, table);
+		}
+	}
+
+	private static SBinStructTable loadFromDisk(String key) {
+		Path filePath = Paths.get(CACHE_FOLDER, key + FILE_JSON);
+		if (!Files.exists(filePath)) {return null;}
+		try (Reader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+			SBinStructTable table = new Gson().fromJson(reader, SBinStructTable.class);
+			restoreFieldTypes(table.emptyFields);
+			for (SBinStruct struct : table.structs) {
+				restoreFieldTypes(struct.getFieldsArray());
+			}
+			return table;
+		} catch (IOException | RuntimeException ex) { // Broken file is replaced by the next store
+			jl.log(Level.WARNING, "Struct cache file {0} cannot be read, ignored: {1}", new Object[] {filePath, ex.getMessage()});
+			return null;
+		}
+	}
+
+	// Field type enum does not go to Json, it's taken back from the type name
+	private static void restoreFieldTypes(List<SBinField> fields) {
+		for (SBinField field : fields) {
+			field.setFieldTypeEnum(field.getType().startsWith("UNK_") ? null : SBinFieldType.valueOf(field.getType()));
+		}
+	}
+
+	private static void saveToDisk(String key, SBinStructTable table) {
+		try {
+			writeCacheFile(Paths.get(CACHE_FOLDER, key + FILE_JSON), new Gson().toJson(table).getBytes(StandardCharsets.UTF_8));
+		} catch (IOException ex) { // Cache is optional
+			jl.log(Level.WARNING, "Struct cache file cannot be saved: {0}", ex.getMessage());
+		}
+	}
+
+	// Written into the temporary file first, other batch threads could read the same file at the moment.
+	// Temporary file is removed if the write or move fails. Used by the unpack cache as well
+	static void writeCacheFile(Path filePath, byte[] data) throws IOException {
+		Path folder = Files.createDirectories(filePath.getParent());
+		Path tempPath = Files.createTempFile(folder, filePath.getFileName().toString(), ".tmp");
+		try {
+			Files.write(tempPath, data);
+			Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException ex) {
+			Files.deleteIfExists(tempPath);
+			throw ex;
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Unpack results of the already unpacked files: all output files of the job (Json, .sbx, .blob, textures...) in one binary file.
+// Key is made of CRC32 & FNV1 of the SBin file, its name, tool version & output revision, and unpack options,
+// so the same file is unpacked only once.
+// Last use time is the file modification time, the least recently used files are removed above the size limit
+public class SBinUnpackCache {
+	private SBinUnpackCache() {}
+
+	private static final Logger jl = Logger.getLogger(LogEntity.class.getSimpleName());
+
+	public static final String CACHE_FOLDER = "unpack_cache";
+	private static final String FILE_ENTRY = ".unpack";
+	private static final byte[] CACHE_MAGIC = {'S', 'B', 'U', 'C'};
+	private static final int CACHE_VERSION = 1;
+	public static final long DEFAULT_MAX_SIZE = 1024L * 1024 * 1024; // Checked after each unpack command
+
+	public static String createKey(SBinContext ctx, String fileName, SBinReader sbinData) {
+		ByteSlice fileData = sbinData.getSlice(0, sbinData.size());
+		String options = fileName + "|" + ToolVersion.VERSION + "|" + ToolVersion.OUTPUT_REVISION
+				+ "|" + ctx.getSBinJson().getSBinType() + "|" + ctx.isMipmapUnpackDisabled() + "|" + ctx.isDATAObjectsUnpackDisabled()
+				+ "|" + ctx.isSBXOutput() + "|" + ctx.isBlobOutput() + "|" + ctx.isIncrementalRepack();
+		return String.format("%08X%08X%08X%08X", sbinData.getChecksum().getValue(),
+				FNV1.hash32(fileData.asByteBuffer()), fileData.length(), FNV1.hash32(options.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	// Output files are written as they were on the first unpack. False if there is no such result
+	public static boolean restore(SBinContext ctx, String key) {
+		Path entryPath = Paths.get(CACHE_FOLDER, key + FILE_ENTRY);
+		try {
+			ByteSlice data = ByteSlice.wrap(Files.readAllBytes(entryPath));
+			if (!data.slice(0, CACHE_MAGIC.length).contentEquals(ByteSlice.wrap(CACHE_MAGIC))
+					|| data.getInt(0x4) != CACHE_VERSION) {return false;}
+			int filesCount = data.getInt(0x8);
+			int pos = 0xC;
+			for (int i = 0; i < filesCount; i++) {
+				int nameLength = data.getInt(pos);
+				String fileName = new String(data.toByteArray(pos + 0x4, pos + 0x4 + nameLength), StandardCharsets.UTF_8);
+				pos += 0x4 + nameLength;
+				int length = data.getInt(pos);
+				pos += 0x4;
+				Files.write(ctx.getOutputPath(fileName), data.toByteArray(pos, pos + length));
+				pos += length;
+			}
+			Files.setLastModifiedTime(entryPath, FileTime.fromMillis(System.currentTimeMillis()));
+			return true;
+		} catch (NoSuchFileException ex) {
+			return false;
+		} catch (IOException | RuntimeException ex) { // Broken file is replaced by the next store
+			jl.log(Level.WARNING, "Unpack cache file {0} cannot be read, ignored: {1}", new Object[] {entryPath, ex.getMessage()});
+			return false;
+		}
+	}
+
+	// Written into the temporary file first, other batch threads could read the same file at the moment
+	public static void store(SBinContext ctx, String key) {
+		LEWriter writer = new LEWriter(0x1000);
+		writer.writeBytes(CACHE_MAGIC);
+		writer.writeInt(CACHE_VERSION);
+		try {
+			List<String> outputFiles = new ArrayList<>();
+			for (String fileName : ctx.getOutputFiles()) {
+				if (Files.exists(ctx.getOutputPath(fileName))) {
+					outputFiles.add(fileName);
+				}
+			}
+			writer.writeInt(outputFiles.size());
+			for (String fileName : outputFiles) {
+				byte[] nameBytes = fileName.getBytes(StandardCharsets.UTF_8);
+				byte[] fileBytes = Files.readAllBytes(ctx.getOutputPath(fileName));
+				writer.writeInt(nameBytes.length);
+				writer.writeBytes(nameBytes);
+				writer.writeInt(fileBytes.length);
+				writer.writeBytes(fileBytes);
+			}
+			SBinStructCache.writeCacheFile(Paths.get(CACHE_FOLDER, key + FILE_ENTRY), writer.toByteArray());
+		} catch (IOException ex) { // Cache is optional
+			jl.log(Level.WARNING, "Unpack cache file cannot be saved: {0}", ex.getMessage());
+		}
+	}
+
+	// Least recently used files goes first, until the cache fits into the size. Returns the count of removed files
+	public static int prune(long maxSize) throws IOException {
+		List<Path> entries = listEntries();
+		long totalSize = 0;
+		for (Path entry : entries) {
+			totalSize += Files.size(entry);
+		}
+		int removedCount = 0;
+		for (Path entry : entries) {
+			if (totalSize <= maxSize) {break;}
+			long size = Files.size(entry);
+			if (Files.deleteIfExists(entry)) {
+				removedCount++;
+			}
+			totalSize -= size;
+		}
+		return removedCount;
+	}
+
+	public static void logStats() throws IOException {
+		List<Path> entries = listEntries();
+		long totalSize = 0;
+		for (Path entry : entries) {
+			totalSize += Files.size(entry);
+		}
+		jl.log(Level.INFO, "Unpack cache ({0} folder): {1} files, {2} MB, limit {3} MB.", new Object[] {CACHE_FOLDER,
+				entries.size(), String.format("%.2f", totalSize / (1024.0 * 1024.0)), DEFAULT_MAX_SIZE / (1024 * 1024)});
+		if (!entries.isEmpty()) {
+			jl.log(Level.INFO, "Least recently used: {0}, most recently used: {1}.", new Object[] {
+					Files.getLastModifiedTime(entries.get(0)), Files.getLastModifiedTime(entries.get(entries.size() - 1))});
+		}
+	}
+
+	// Oldest first
+	private static List<Path> listEntries() throws IOException {
+		Path folder = Paths.get(CACHE_FOLDER);
+		if (!Files.isDirectory(folder)) {return new ArrayList<>();}
+		List<Path> entries;
+		try (Stream<Path> stream = Files.list(folder)) {
+			entries = stream.filter(file -> file.getFileName().toString().endsWith(FILE_ENTRY)).collect(Collectors.toList());
+		}
+		Map<Path, FileTime> useTimes = new HashMap<>();
+		for (Path entry : entries) {
+			useTimes.put(entry, Files.getLastModifiedTime(entry));
+		}
+		entries.sort(Comparator.comparing(useTimes::get));
+		return entries;
+	}
+}
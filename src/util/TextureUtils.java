@@ -8,6 +8,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
@@ -35,40 +36,37 @@ public class TextureUtils {
 	private static final String PARAM_FORMAT = "format";
 	private static final String PARAM_TEXTURE = "Texture";
 	private static final String PARAM_MIPMAPS = "mipmaps";
-	private static final String ETC1_TEMP_PATH = "tools/etc1tex.bin";
+	private static final String ETC1_TEMP_DIR = "tools";
+	private static final String ETC1_TEMP_PREFIX = "etc1tex";
+	private static final String ETC1_TEMP_SUFFIX = ".bin";
 	
 	private static final String FILE_DDS = ".dds";
 	private static final String FILE_PNG = ".png";
 	private static final String FMT_R8G8B8 = "R8G8B8";
 	private static final String FMT_A8R8G8B8 = "A8R8G8B8";
 	
-	private static int imageFormatId = DDSImage.D3DFMT_A8R8G8B8;
-	private static String formatName = "!pls fix!";
-	private static SBinTextureFormat curTexFormat;
-	private static boolean isETCToRGB = false;
-	
-	public static void extractImage(SBinBlockObj bulkBlock, byte[] bargBlock) throws IOException, InterruptedException {
-		List<SBinDataElement> textures = DataUtils.getAllDataElementsByStructName(PARAM_TEXTURE);
+	public static void extractImage(SBinContext ctx, SBinBlockObj bulkBlock, ByteSlice bargBlock) throws IOException, InterruptedException {
+		List<SBinDataElement> textures = DataUtils.getAllDataElementsByStructName(ctx, PARAM_TEXTURE);
 		int i = 0;
 		for (SBinDataElement texParams : textures) {
 			int width = Integer.parseInt(DataUtils.getDataFieldByName(texParams, PARAM_WIDTH).getValue());
 			int height = Integer.parseInt(DataUtils.getDataFieldByName(texParams, PARAM_HEIGHT).getValue());
 			
-			if (!checkSBAImageFormat(texParams)) { // All Mipmap objects repeats the image format
+			if (!checkSBAImageFormat(ctx, texParams)) { // All Mipmap objects repeats the image format
 				jl.log(Level.WARNING, "This Image format is not supported for unpack ({0}). "
-						+ "File contents will be unpacked without the Image.", curTexFormat.toString());
+						+ "File contents will be unpacked without the Image.", ctx.getCurTexFormat().toString());
 				return;
 			}
 			
 			// MipMap map comes after the Texture object
-			SBinDataElement mmmap = DataUtils.getDataElementFromValueId(texParams, PARAM_MIPMAPS);
-			List<String> mipmapsList = processDATAMipmapsList(texParams, mmmap);
+			SBinDataElement mmmap = DataUtils.getDataElementFromValueId(ctx, texParams, PARAM_MIPMAPS);
+			List<String> mipmapsList = processDATAMipmapsList(ctx, texParams, mmmap);
 			ByteBuffer[] mipMaps = new ByteBuffer[mipmapsList.size()];
 			
 			int curMipmap = 0;
 			for (String dataMMId : mipmapsList) {
 				int dataId = HEXUtils.strHexToInt(dataMMId);
-				SBinDataElement mmLevel = SBJson.get().getDataElements().get(dataId);
+				SBinDataElement mmLevel = ctx.getSBinJson().getDataElements().get(dataId);
 				if (!mmLevel.getStructName().contentEquals("Image")) {
 					jl.log(Level.WARNING, "Mipmap level object structure is wrong or broken, DATA Id: {0}.", dataId);
 				}
@@ -76,26 +74,24 @@ public class TextureUtils {
 				int mmLevelHeight = Integer.parseInt(DataUtils.getDataFieldByName(mmLevel, PARAM_HEIGHT).getValue());
 				int bulkElementId = Integer.parseInt(DataUtils.getDataFieldByName(mmLevel, PARAM_DATA).getValue());
 				
-				int mmLevelStartOffset = HEXUtils.byteArrayToInt(
-						Arrays.copyOfRange(bulkBlock.getBlockElements().get(bulkElementId), 0, 4));
-				int mmLevelAdditionOffset = HEXUtils.byteArrayToInt(
-						Arrays.copyOfRange(bulkBlock.getBlockElements().get(bulkElementId), 4, 8));
-				byte[] mmData = Arrays.copyOfRange(
-						bargBlock, mmLevelStartOffset, mmLevelStartOffset + mmLevelAdditionOffset);
+				ByteSlice bulkEntry = bulkBlock.getBlockElements().get(bulkElementId);
+				int mmLevelStartOffset = bulkEntry.getInt(0);
+				int mmLevelAdditionOffset = bulkEntry.getInt(4);
+				byte[] mmData = bargBlock.toByteArray(mmLevelStartOffset, mmLevelStartOffset + mmLevelAdditionOffset);
 				mipMaps[curMipmap] = ByteBuffer.wrap(
-						processMipmapImageOperations(mmData, mmLevelWidth, mmLevelHeight, true));
+						processMipmapImageOperations(ctx, mmData, mmLevelWidth, mmLevelHeight, true));
 				curMipmap++;
 			}
-			writeImage(textures.size(), i, width, height, mipMaps, mmmap.getMapElements().size());
+			writeImage(ctx, textures.size(), i, width, height, mipMaps, mmmap.getMapElements().size());
 			i++;
 		}
 	}
 	
-	private static void writeImage(int texturesCount, int i, int width, int height, 
+	private static void writeImage(SBinContext ctx, int texturesCount, int i, int width, int height, 
 			ByteBuffer[] mipMaps, int mipmapsOriginalCount) throws IOException, InterruptedException {
-		String fileName = SBJson.get().getFileName() + (texturesCount > 1 ? "_" + i : "");
+		String fileName = ctx.getSBinJson().getFileName() + (texturesCount > 1 ? "_" + i : "");
 		// Assuming we have "etc1tool" from Android SDK
-		if (curTexFormat.equals(SBinTextureFormat.ETC_RGB)) {
+		if (ctx.getCurTexFormat().equals(SBinTextureFormat.ETC_RGB)) {
 			ETC1PKMTexture etc1 = new ETC1PKMTexture();
 			etc1.setEncWidth(HEXUtils.shortToBytesBE(width));
 			etc1.setWidth(HEXUtils.shortToBytesBE(width));
@@ -106,32 +102,34 @@ public class TextureUtils {
 			mipMaps[0].get(mipmapBytes);
 			etc1.setImageData(mipmapBytes);
 			
-			Files.write(Paths.get(ETC1_TEMP_PATH), etc1.toByteArray(), StandardOpenOption.WRITE, 
+			// Unique name, other jobs can convert their textures at the same time
+			Path etc1TempPath = Files.createTempFile(Paths.get(ETC1_TEMP_DIR), ETC1_TEMP_PREFIX, ETC1_TEMP_SUFFIX);
+			Files.write(etc1TempPath, etc1.toByteArray(), StandardOpenOption.WRITE, 
 					StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+			fileName = fileName + FILE_PNG;
+			File pngFile = ctx.getOutputPath(fileName).toFile();
 			Process etc1Tool = new ProcessBuilder(
-					"tools/etc1tool.exe", ETC1_TEMP_PATH, "--decode", "-o", fileName + FILE_PNG).start();
+					"tools/etc1tool.exe", etc1TempPath.toString(), "--decode", "-o", pngFile.getPath()).start();
 			etc1Tool.waitFor();
 			
-			Files.deleteIfExists(Paths.get(ETC1_TEMP_PATH)); // Temporary file
-			fileName = fileName + FILE_PNG;
-			File pngFile = new File(fileName);
+			Files.deleteIfExists(etc1TempPath); // Temporary file
 			ImageIO.write(flipPNGPixelsVertically(ImageIO.read(pngFile)), "png", pngFile); 
 			jl.log(Level.INFO, "ETC1 texture is converted to .png. In order to repack it back for .sba, "
 					+ "please provide .dds with the same name in {0} format.", FMT_R8G8B8);
 		} else {
-			DDSImage image = DDSImage.createFromData(imageFormatId, width, height, mipMaps);
+			DDSImage image = DDSImage.createFromData(ctx.getImageFormatId(), width, height, mipMaps);
 			fileName = fileName + FILE_DDS;
-			image.write(new File(fileName));
+			image.write(ctx.getOutputPath(fileName).toFile());
 		}
 		jl.log(Level.INFO, "Texture unpacked: {0}, format: {1}, original format: {2}, "
 				+ "width: {3}, height: {4}, mipmaps: {5} (original count: {6})", 
-				new Object[] {fileName, formatName, curTexFormat.toString(), 
+				new Object[] {fileName, ctx.getFormatName(), ctx.getCurTexFormat().toString(), 
 						width, height, mipMaps.length, mipmapsOriginalCount});
 	}
 	
-	public static void repackImage(SBinBlockObj block) throws IOException {
-		List<SBinDataElement> textures = DataUtils.getAllDataElementsByStructName(PARAM_TEXTURE);
-		ByteArrayOutputStream bulkMapStream = new ByteArrayOutputStream();
+	public static void repackImage(SBinContext ctx, SBinBlockObj block) throws IOException {
+		List<SBinDataElement> textures = DataUtils.getAllDataElementsByStructName(ctx, PARAM_TEXTURE);
+		LEWriter bulkMapStream = new LEWriter();
 		ByteArrayOutputStream imageHexStream = new ByteArrayOutputStream();
 		int bulkStartOffset = 0;
 		
@@ -139,23 +137,23 @@ public class TextureUtils {
 		for (SBinDataElement texParams : textures) {
 			int width = Integer.parseInt(DataUtils.getDataFieldByName(texParams, PARAM_WIDTH).getValue());
 			int height = Integer.parseInt(DataUtils.getDataFieldByName(texParams, PARAM_HEIGHT).getValue());
-			SBinDataElement mmmap = DataUtils.getDataElementFromValueId(texParams, PARAM_MIPMAPS);
-			if (!checkSBAImageFormat(texParams)) { // All Mipmap objects repeats the image format
-				jl.log(Level.SEVERE, "This Image format is not supported for repack ({0}). Aborted.", curTexFormat.toString());
+			SBinDataElement mmmap = DataUtils.getDataElementFromValueId(ctx, texParams, PARAM_MIPMAPS);
+			if (!checkSBAImageFormat(ctx, texParams)) { // All Mipmap objects repeats the image format
+				jl.log(Level.SEVERE, "This Image format is not supported for repack ({0}). Aborted.", ctx.getCurTexFormat().toString());
 				return;
 			}
 			String nameAddition = textures.size() > 1 ? "_" + i : "";
-			DDSImage image = loadImageData(nameAddition, width, height, mmmap.getMapElements().size());	
+			DDSImage image = loadImageData(ctx, nameAddition, width, height, mmmap.getMapElements().size());	
 			
 			int curMipmap = 0;
 			for (String dataMMId : mmmap.getMapElements()) {
 				int dataId = HEXUtils.strHexToInt(dataMMId);
-				SBinDataElement mmLevel = SBJson.get().getDataElements().get(dataId);
+				SBinDataElement mmLevel = ctx.getSBinJson().getDataElements().get(dataId);
 				int mmLevelWidth = Integer.parseInt(DataUtils.getDataFieldByName(mmLevel, PARAM_WIDTH).getValue());
 				int mmLevelHeight = Integer.parseInt(DataUtils.getDataFieldByName(mmLevel, PARAM_HEIGHT).getValue());
 				String format = DataUtils.getDataFieldByName(mmLevel, PARAM_FORMAT).getValue();
 				
-				if (!checkImageFormat(format)) {
+				if (!checkImageFormat(ctx, format)) {
 					jl.log(Level.WARNING, "DDS Image format ({0}) is not equal with the SBin data - expect broken Output file.", format);
 				}
 				ImageInfo mipmapLevelInfo = image.getAllMipMaps()[curMipmap];
@@ -165,12 +163,12 @@ public class TextureUtils {
 				byte[] mipmapBytes = new byte[mipmapLevelInfo.getData().remaining()];
 				mipmapLevelInfo.getData().get(mipmapBytes);
 				imageHexStream.write(
-						processMipmapImageOperations(mipmapBytes, mmLevelWidth, mmLevelHeight, false));
+						processMipmapImageOperations(ctx, mipmapBytes, mmLevelWidth, mmLevelHeight, false));
 				
-				bulkMapStream.write(HEXUtils.intToByteArrayLE(bulkStartOffset));
+				bulkMapStream.writeInt(bulkStartOffset);
 				bulkStartOffset += mipmapBytes.length;
 				int offsetAddition = bulkStartOffset - (bulkStartOffset - mipmapBytes.length);
-				bulkMapStream.write(HEXUtils.intToByteArrayLE(offsetAddition));
+				bulkMapStream.writeInt(offsetAddition);
 				curMipmap++;
 			}
 			i++;
@@ -183,24 +181,24 @@ public class TextureUtils {
 	// Image operations
 	//
 	
-	private static DDSImage loadImageData(String nameAddition, int width, int height, int mmRequiredCount) throws IOException {
+	private static DDSImage loadImageData(SBinContext ctx, String nameAddition, int width, int height, int mmRequiredCount) throws IOException {
 		DDSImage image = null;
 		
-		if (isETCToRGB) { // PNG from ETC1
+		if (ctx.isETCToRGB()) { // PNG from ETC1
 			// Instead of converting ETC1 back, we're simply create a new RGB file
 			// It should be compatible for all cases, despite of the big texture file size & device RAM consumption
 			// Also we prevent the further Img compression loss done by converting textures back and forth
 			// TODO However making a proper ETC1 .sba is possible
 			jl.log(Level.INFO, ".sba format is {0}: save in RGB instead, looking for .dds file.", SBinTextureFormat.ETC_RGB);
 		}
-		String filePathStr = SBJson.get().getFileName() + nameAddition + FILE_DDS;
+		File imageFile = ctx.getInputPath(ctx.getSBinJson().getFileName() + nameAddition + FILE_DDS).toFile();
 		try {
-			image = DDSImage.read(new File(filePathStr));
+			image = DDSImage.read(imageFile);
 		} catch (FileNotFoundException noFile) {
-			jl.log(Level.SEVERE, "File cannot be found ({0}), aborted.", filePathStr);
-			System.exit(0);
+			jl.log(Level.SEVERE, "File cannot be found ({0}), aborted.", imageFile.getPath());
+			throw noFile; // Only this file is aborted on batch commands
 		}
-		setCurrentImageFormat(image.getPixelFormat());
+		setCurrentImageFormat(ctx, image.getPixelFormat());
 		if (image.getWidth() != width || image.getHeight() != height) {
 			jl.log(Level.WARNING, "Image width, height or format is not compatible with the SBin data - expect broken Output file.");
 		}
@@ -219,38 +217,38 @@ public class TextureUtils {
 	}
 	
 	private static byte[] processMipmapImageOperations(
-			byte[] mmData, int mmLevelWidth, int mmLevelHeight, boolean unpack) throws IOException {
-		if (curTexFormat.equals(SBinTextureFormat.ETC_RGB)) {
+			SBinContext ctx, byte[] mmData, int mmLevelWidth, int mmLevelHeight, boolean unpack) throws IOException {
+		if (ctx.getCurTexFormat().equals(SBinTextureFormat.ETC_RGB)) {
 			return mmData; // Do nothing
 		}
 		else if (unpack) {
-			return flipDDSPixelsVertically(interleaveHexImage(mmData), mmLevelWidth, mmLevelHeight);
+			return flipDDSPixelsVertically(ctx, interleaveHexImage(ctx, mmData), mmLevelWidth, mmLevelHeight);
 		} else {
-			return interleaveHexImage(flipDDSPixelsVertically(mmData, mmLevelWidth, mmLevelHeight));
+			return interleaveHexImage(ctx, flipDDSPixelsVertically(ctx, mmData, mmLevelWidth, mmLevelHeight));
 		}
 	}
 	
-	private static byte[] interleaveHexImage(byte[] imageHex) throws IOException {
-		ByteArrayOutputStream imageStream = new ByteArrayOutputStream();
-		if (imageFormatId == DDSImage.D3DFMT_A8R8G8B8) {
-			for (byte[] pixel : HEXUtils.splitByteArray(imageHex, 0x4)) {
-				imageStream.write(new byte[]{
-						pixel[2], pixel[1], pixel[0], pixel[3]
-				});
-			}
-		} else if (imageFormatId == DDSImage.D3DFMT_R8G8B8) {
-			for (byte[] pixel : HEXUtils.splitByteArray(imageHex, 0x3)) {
-				imageStream.write(new byte[]{
-						pixel[2], pixel[1], pixel[0]
-				});
-			}
+	// Swaps 1st & 3rd bytes of each pixel
+	private static byte[] interleaveHexImage(SBinContext ctx, byte[] imageHex) throws IOException {
+		int pixelSize;
+		if (ctx.getImageFormatId() == DDSImage.D3DFMT_A8R8G8B8) {
+			pixelSize = 0x4;
+		} else if (ctx.getImageFormatId() == DDSImage.D3DFMT_R8G8B8) {
+			pixelSize = 0x3;
+		} else {
+			return new byte[0];
 		}
-		return imageStream.toByteArray();
+		byte[] image = Arrays.copyOf(imageHex, imageHex.length - (imageHex.length % pixelSize));
+		for (int i = 0; i < image.length; i += pixelSize) {
+			image[i] = imageHex[i + 2];
+			image[i + 2] = imageHex[i];
+		}
+		return image;
 	}
 	
 	// https://stackoverflow.com/q/53660805
-	private static byte[] flipDDSPixelsVertically(byte[] imageHex, int width, int height) {
-		int pixelSize = imageFormatId == DDSImage.D3DFMT_A8R8G8B8 ? 4 : 3;
+	private static byte[] flipDDSPixelsVertically(SBinContext ctx, byte[] imageHex, int width, int height) {
+		int pixelSize = ctx.getImageFormatId() == DDSImage.D3DFMT_A8R8G8B8 ? 4 : 3;
 		
 		byte[] data = new byte[imageHex.length];
         for (int k = 0, j = height - 1; j >= 0 && k < height; j--, k++)
@@ -267,29 +265,29 @@ public class TextureUtils {
 	// Utils
 	//
 	
-	private static List<String> processDATAMipmapsList(SBinDataElement texParams, SBinDataElement mmmap) {
-		return LaunchParameters.isMipmapUnpackDisabled() 
-				|| curTexFormat.equals(SBinTextureFormat.ETC_RGB)
+	private static List<String> processDATAMipmapsList(SBinContext ctx, SBinDataElement texParams, SBinDataElement mmmap) {
+		return ctx.isMipmapUnpackDisabled() 
+				|| ctx.getCurTexFormat().equals(SBinTextureFormat.ETC_RGB)
 				? mmmap.getMapElements().subList(0, 1) : mmmap.getMapElements();
 	}
 	
-	private static boolean checkSBAImageFormat(SBinDataElement texParams) {
-		SBinDataElement mmmap = DataUtils.getDataElementFromValueId(texParams, PARAM_MIPMAPS);
+	private static boolean checkSBAImageFormat(SBinContext ctx, SBinDataElement texParams) {
+		SBinDataElement mmmap = DataUtils.getDataElementFromValueId(ctx, texParams, PARAM_MIPMAPS);
 		int dataId = HEXUtils.strHexToInt(mmmap.getMapElements().get(0));
-		SBinDataElement mmLevel = SBJson.get().getDataElements().get(dataId);
+		SBinDataElement mmLevel = ctx.getSBinJson().getDataElements().get(dataId);
 		String imageFormat = DataUtils.getDataFieldByName(mmLevel, PARAM_FORMAT).getValue();
 		
-		curTexFormat = SBinTextureFormat.valueOf(imageFormat);
+		ctx.setCurTexFormat(SBinTextureFormat.valueOf(imageFormat));
 		boolean isSupported = false;
 		switch(SBinTextureFormat.valueOf(imageFormat)) {
 		case RGB: case ETC_RGB: // ETC_RGB is placed here for repacking reasons
-			setCurrentImageFormat(DDSImage.D3DFMT_R8G8B8);
-			formatName = FMT_R8G8B8;
+			setCurrentImageFormat(ctx, DDSImage.D3DFMT_R8G8B8);
+			ctx.setFormatName(FMT_R8G8B8);
 			isSupported = true;
 			break;
 		case RGBA: 
-			setCurrentImageFormat(DDSImage.D3DFMT_A8R8G8B8);
-			formatName = FMT_A8R8G8B8;
+			setCurrentImageFormat(ctx, DDSImage.D3DFMT_A8R8G8B8);
+			ctx.setFormatName(FMT_A8R8G8B8);
 			isSupported = true;
 			break;
 		default: break;
@@ -297,31 +295,31 @@ public class TextureUtils {
 		return isSupported;
 	}
 	
-	private static void setCurrentImageFormat(int imageFormat) {
-		imageFormatId = imageFormat;
+	private static void setCurrentImageFormat(SBinContext ctx, int imageFormat) {
+		ctx.setImageFormatId(imageFormat);
 	}
 	
-	private static boolean checkImageFormat(String dataFormatInfo) {
+	private static boolean checkImageFormat(SBinContext ctx, String dataFormatInfo) {
 		boolean isCompatibleWithSBA = false;
-		if ( (imageFormatId == DDSImage.D3DFMT_A8R8G8B8 
+		if ( (ctx.getImageFormatId() == DDSImage.D3DFMT_A8R8G8B8 
 				&& SBinTextureFormat.valueOf(dataFormatInfo).equals(SBinTextureFormat.RGBA))
-				|| (imageFormatId == DDSImage.D3DFMT_R8G8B8 
+				|| (ctx.getImageFormatId() == DDSImage.D3DFMT_R8G8B8 
 				&& SBinTextureFormat.valueOf(dataFormatInfo).equals(SBinTextureFormat.RGB)) ) {
 			isCompatibleWithSBA = true;
 		}
 		return isCompatibleWithSBA;
 	}
 	
-	public static void checkForImageFormatOperations() {
+	public static void checkForImageFormatOperations(SBinContext ctx) {
 		// Replace ETC_RGB to RGB
 		boolean changeImgFormat = false;
-		List<SBinDataElement> textures = DataUtils.getAllDataElementsByStructName(PARAM_TEXTURE);
+		List<SBinDataElement> textures = DataUtils.getAllDataElementsByStructName(ctx, PARAM_TEXTURE);
 		
 		for (SBinDataElement texParams : textures) {
-			SBinDataElement mmmap = DataUtils.getDataElementFromValueId(texParams, PARAM_MIPMAPS);
+			SBinDataElement mmmap = DataUtils.getDataElementFromValueId(ctx, texParams, PARAM_MIPMAPS);
 			for (String dataMMId : mmmap.getMapElements()) {
 				int dataId = HEXUtils.strHexToInt(dataMMId);
-				SBinDataElement mmLevel = SBJson.get().getDataElements().get(dataId);
+				SBinDataElement mmLevel = ctx.getSBinJson().getDataElements().get(dataId);
 				SBinDataField formatField = DataUtils.getDataFieldByName(mmLevel, PARAM_FORMAT);
 				if (formatField.getValue().contentEquals(SBinTextureFormat.ETC_RGB.toString())) {
 					formatField.setValue(SBinTextureFormat.RGB.toString());
@@ -330,7 +328,7 @@ public class TextureUtils {
 			}
 		}
 		if (changeImgFormat) {
-			isETCToRGB = true;
+			ctx.setETCToRGB(true);
 		}
 	}
 	
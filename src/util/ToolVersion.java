@@ -0,0 +1,10 @@
+package util;
+
+// Tool version, shown in its description. Output revision must be raised with any change of the unpack output
+// (Json layout, .sbx or .blob format), even without a new version: unpack cache keeps the results of both
+public final class ToolVersion {
+	private ToolVersion() {}
+
+	public static final String VERSION = "0.16";
+	public static final int OUTPUT_REVISION = 2;
+}
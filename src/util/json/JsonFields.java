@@ -0,0 +1,131 @@
+package util.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+// Field values for the hand-written adapters, with the same rules as Gson reflective adapters:
+// Json null keeps the default value of primitive fields, and null fields are not written
+public final class JsonFields {
+	private JsonFields() {}
+
+	public static String readString(JsonReader in) throws IOException {
+		JsonToken token = in.peek();
+		if (token == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		return token == JsonToken.BOOLEAN ? Boolean.toString(in.nextBoolean()) : in.nextString();
+	}
+
+	public static int readInt(JsonReader in, int defaultValue) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return defaultValue;
+		}
+		try {
+			return in.nextInt();
+		} catch (NumberFormatException ex) {
+			throw new JsonSyntaxException(ex);
+		}
+	}
+
+	public static Long readLong(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		try {
+			return in.nextLong();
+		} catch (NumberFormatException ex) {
+			throw new JsonSyntaxException(ex);
+		}
+	}
+
+	public static boolean readBoolean(JsonReader in, boolean defaultValue) throws IOException {
+		JsonToken token = in.peek();
+		if (token == JsonToken.NULL) {
+			in.nextNull();
+			return defaultValue;
+		}
+		return token == JsonToken.STRING ? Boolean.parseBoolean(in.nextString()) : in.nextBoolean();
+	}
+
+	// Unknown names are taken as null
+	public static <E extends Enum<E>> E readEnum(JsonReader in, Class<E> enumClass) throws IOException {
+		String name = readString(in);
+		if (name == null) {return null;}
+		try {
+			return Enum.valueOf(enumClass, name);
+		} catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+	public static List<String> readStringList(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		List<String> list = new ArrayList<>();
+		in.beginArray();
+		while (in.hasNext()) {
+			list.add(readString(in));
+		}
+		in.endArray();
+		return list;
+	}
+
+	public static <T> List<T> readList(JsonReader in, TypeAdapter<T> adapter) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		List<T> list = new ArrayList<>();
+		in.beginArray();
+		while (in.hasNext()) {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				list.add(null);
+			} else {
+				list.add(adapter.read(in));
+			}
+		}
+		in.endArray();
+		return list;
+	}
+
+	public static void writeString(JsonWriter out, String name, String value) throws IOException {
+		if (value != null) {
+			out.name(name).value(value);
+		}
+	}
+
+	public static void writeStringList(JsonWriter out, String name, List<String> list) throws IOException {
+		if (list == null) {return;}
+		out.name(name).beginArray();
+		for (String value : list) {
+			out.value(value);
+		}
+		out.endArray();
+	}
+
+	public static <T> void writeList(JsonWriter out, String name, List<T> list, TypeAdapter<T> adapter) throws IOException {
+		if (list == null) {return;}
+		out.name(name).beginArray();
+		for (T value : list) {
+			if (value == null) {
+				out.nullValue();
+			} else {
+				adapter.write(out, value);
+			}
+		}
+		out.endArray();
+	}
+}
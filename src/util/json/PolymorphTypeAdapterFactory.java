@@ -0,0 +1,141 @@
+package util.json;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+// Polymorphic objects for the classes marked with JsonClassType. Sub-types are mapped by their names once,
+// so each object is dispatched by its type property without any class lookups or annotation scans.
+// Type property is written first, so the object is read by the sub-type adapter right from the stream
+public class PolymorphTypeAdapterFactory<T> implements TypeAdapterFactory {
+
+	private final Class<T> baseClass;
+	private final String property;
+	private final Map<String, Class<? extends T>> subTypes = new HashMap<>();
+
+	public PolymorphTypeAdapterFactory(Class<T> baseClass) {
+		JsonClassType jsonType = baseClass.getDeclaredAnnotation(JsonClassType.class);
+		this.baseClass = baseClass;
+		this.property = jsonType.property();
+		for (JsonClassSubType subType : jsonType.subTypes()) {
+			subTypes.put(subType.name(), subType.jsonClass().asSubclass(baseClass));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <R> TypeAdapter<R> create(Gson gson, TypeToken<R> type) {
+		if (type.getRawType() != baseClass) {return null;}
+		return (TypeAdapter<R>) new PolymorphTypeAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(baseClass))).nullSafe();
+	}
+
+	private class PolymorphTypeAdapter extends TypeAdapter<T> {
+		private final Gson gson;
+		private final TypeAdapter<T> baseAdapter;
+		private final TypeAdapter<JsonElement> jsonElementAdapter;
+		private final Map<Class<?>, TypeAdapter<?>> subTypeAdapters = new ConcurrentHashMap<>();
+		private final Map<Class<?>, Boolean> typeFirstClasses = new ConcurrentHashMap<>();
+
+		public PolymorphTypeAdapter(Gson gson, TypeAdapter<T> baseAdapter) {
+			this.gson = gson;
+			this.baseAdapter = baseAdapter;
+			this.jsonElementAdapter = gson.getAdapter(JsonElement.class);
+		}
+
+		// Type property after the other fields (Jsons of the older versions) needs the whole object first
+		@Override
+		public T read(JsonReader in) throws IOException {
+			in.beginObject();
+			String firstName = in.hasNext() ? in.nextName() : null;
+			if (property.equals(firstName) && in.peek() == JsonToken.STRING) {
+				String typeName = in.nextString();
+				return getSubTypeAdapter(getSubType(typeName)).read(new TypeFirstJsonReader(in, property, typeName));
+			}
+			JsonObject json = new JsonObject();
+			for (String name = firstName; name != null; name = in.hasNext() ? in.nextName() : null) {
+				json.add(name, JsonParser.parseReader(in));
+			}
+			in.endObject();
+			JsonElement typeName = json.get(property);
+			return getSubTypeAdapter(getSubType(typeName != null && typeName.isJsonPrimitive() ? typeName.getAsString() : null))
+					.fromJsonTree(json);
+		}
+
+		@Override
+		public void write(JsonWriter out, T value) throws IOException {
+			TypeAdapter<T> adapter = value.getClass() == baseClass ? baseAdapter : getSubTypeAdapter(value.getClass());
+			if (isTypeFirst(value.getClass())) {
+				adapter.write(out, value);
+				return;
+			}
+			// Type property is declared after the sub-type fields, so it's moved first on the Json tree
+			JsonObject json = adapter.toJsonTree(value).getAsJsonObject();
+			out.beginObject();
+			JsonElement typeName = json.remove(property);
+			if (typeName != null) {
+				out.name(property);
+				jsonElementAdapter.write(out, typeName);
+			}
+			for (Map.Entry<String, JsonElement> field : json.entrySet()) {
+				out.name(field.getKey());
+				jsonElementAdapter.write(out, field.getValue());
+			}
+			out.endObject();
+		}
+
+		private Class<? extends T> getSubType(String typeName) {
+			Class<? extends T> subType = typeName != null ? subTypes.get(typeName) : null;
+			if (subType == null) {
+				throw new JsonParseException("!!! Failed to deserialize Json: unknown " + property + " " + typeName);
+			}
+			return subType;
+		}
+
+		@SuppressWarnings("unchecked")
+		private TypeAdapter<T> getSubTypeAdapter(Class<?> subType) {
+			TypeAdapter<?> adapter = subTypeAdapters.get(subType);
+			if (adapter == null) {
+				adapter = gson.getAdapter(subType);
+				subTypeAdapters.putIfAbsent(subType, adapter);
+			}
+			return (TypeAdapter<T>) adapter;
+		}
+
+		// Gson writes the fields of the class itself first, then the fields of its super classes
+		private boolean isTypeFirst(Class<?> valueClass) {
+			Boolean typeFirst = typeFirstClasses.get(valueClass);
+			if (typeFirst == null) {
+				typeFirst = property.equals(getFirstFieldName(valueClass));
+				typeFirstClasses.putIfAbsent(valueClass, typeFirst);
+			}
+			return typeFirst;
+		}
+
+		private String getFirstFieldName(Class<?> valueClass) {
+			for (Class<?> type = valueClass; type != Object.class; type = type.getSuperclass()) {
+				for (Field field : type.getDeclaredFields()) {
+					if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) != 0 || field.isSynthetic()) {continue;}
+					SerializedName name = field.getAnnotation(SerializedName.class);
+					return name != null ? name.value() : field.getName();
+				}
+			}
+			return null;
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package util.json;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+// Polymorphic object, which begin & type property are already taken from the source reader to pick the sub-type.
+// Both are given again to the sub-type adapter, and the rest of the object goes right from the source
+class TypeFirstJsonReader extends JsonReader {
+
+	private enum State {BEGIN_OBJECT, TYPE_NAME, TYPE_VALUE, SOURCE}
+
+	private final JsonReader source;
+	private final String property;
+	private final String typeName;
+	private State state = State.BEGIN_OBJECT;
+
+	public TypeFirstJsonReader(JsonReader source, String property, String typeName) {
+		super(new StringReader(""));
+		this.source = source;
+		this.property = property;
+		this.typeName = typeName;
+	}
+
+	@Override
+	public JsonToken peek() throws IOException {
+		switch(state) {
+		case BEGIN_OBJECT: return JsonToken.BEGIN_OBJECT;
+		case TYPE_NAME: return JsonToken.NAME;
+		case TYPE_VALUE: return JsonToken.STRING;
+		default: return source.peek();
+		}
+	}
+
+	@Override
+	public void beginObject() throws IOException {
+		if (state == State.BEGIN_OBJECT) {
+			state = State.TYPE_NAME;
+			return;
+		}
+		checkSource(JsonToken.BEGIN_OBJECT);
+		source.beginObject();
+	}
+
+	@Override
+	public boolean hasNext() throws IOException {
+		return state != State.SOURCE || source.hasNext();
+	}
+
+	@Override
+	public String nextName() throws IOException {
+		if (state == State.TYPE_NAME) {
+			state = State.TYPE_VALUE;
+			return property;
+		}
+		checkSource(JsonToken.NAME);
+		return source.nextName();
+	}
+
+	@Override
+	public String nextString() throws IOException {
+		if (state == State.TYPE_VALUE) {
+			state = State.SOURCE;
+			return typeName;
+		}
+		checkSource(JsonToken.STRING);
+		return source.nextString();
+	}
+
+	// Whole object is skipped as well: the rest of its fields are in the source
+	@Override
+	public void skipValue() throws IOException {
+		switch(state) {
+		case BEGIN_OBJECT:
+			state = State.SOURCE;
+			while (source.hasNext()) {
+				source.nextName();
+				source.skipValue();
+			}
+			source.endObject();
+			break;
+		case TYPE_VALUE:
+			state = State.SOURCE;
+			break;
+		default:
+			checkSource(JsonToken.NAME);
+			source.skipValue();
+			break;
+		}
+	}
+
+	@Override
+	public void endObject() throws IOException {
+		checkSource(JsonToken.END_OBJECT);
+		source.endObject();
+	}
+
+	@Override
+	public void beginArray() throws IOException {
+		checkSource(JsonToken.BEGIN_ARRAY);
+		source.beginArray();
+	}
+
+	@Override
+	public void endArray() throws IOException {
+		checkSource(JsonToken.END_ARRAY);
+		source.endArray();
+	}
+
+	@Override
+	public boolean nextBoolean() throws IOException {
+		checkSource(JsonToken.BOOLEAN);
+		return source.nextBoolean();
+	}
+
+	@Override
+	public void nextNull() throws IOException {
+		checkSource(JsonToken.NULL);
+		source.nextNull();
+	}
+
+	@Override
+	public double nextDouble() throws IOException {
+		checkSource(JsonToken.NUMBER);
+		return source.nextDouble();
+	}
+
+	@Override
+	public long nextLong() throws IOException {
+		checkSource(JsonToken.NUMBER);
+		return source.nextLong();
+	}
+
+	@Override
+	public int nextInt() throws IOException {
+		checkSource(JsonToken.NUMBER);
+		return source.nextInt();
+	}
+
+	@Override
+	public String getPath() {
+		return source.getPath();
+	}
+
+	// Source reader stays open, it's closed by its owner
+	@Override
+	public void close() throws IOException {
+		state = State.SOURCE;
+	}
+
+	private void checkSource(JsonToken expected) throws IOException {
+		if (state != State.SOURCE) {
+			throw new IllegalStateException("Expected " + expected + " but was " + peek() + " at path " + getPath());
+		}
+	}
+}